@@ -0,0 +1,259 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import com.predixcode.sortvisualizer.core.ConcurrentStepCallback;
+import com.predixcode.sortvisualizer.core.SynchronizedStepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Base class for algorithms that sort on a ForkJoinPool rather than one step at a time.
+ * The first nextStep() submits the root task; later steps only let the controller repaint while the workers run.
+ * With an animation delay of zero (headless and bulk runs) nextStep() simply waits for the pool to finish.
+ *
+ * Workers report through a ConcurrentStepCallback. Fine-grained reports and sleeps are only made while
+ * isPaced() is true, so unpaced runs measure the parallel sort itself rather than the reporting.
+ */
+public abstract class AbstractParallelSortAlgorithm extends AbstractSortAlgorithm {
+
+    // Polling delay for workers while the sort is paused, matching the controller's own
+    private static final int PAUSE_POLL_MS = 100;
+
+    protected final int parallelism;
+    protected int n;
+    protected ConcurrentStepCallback workerCallback;
+
+    private ForkJoinPool pool;
+    private ForkJoinTask<?> rootTask;
+    private final Map<Thread, Integer> workerIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextWorkerId = new AtomicInteger();
+    private volatile int workerDelayMs;
+    private volatile boolean cancelled;
+    private boolean isSortedFlag = false;
+
+    /**
+     * @param parallelism The number of worker threads in the pool.
+     */
+    protected AbstractParallelSortAlgorithm(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Resets the algorithm-specific state. Called from reset() after any running sort has been cancelled.
+     */
+    protected abstract void resetParallelState();
+
+    /**
+     * Creates the task that sorts the whole array. Called on the controller thread by the first nextStep().
+     * @return The root task to submit to the pool.
+     */
+    protected abstract ForkJoinTask<?> createRootTask();
+
+    /**
+     * Called on the controller thread once the root task has completed, before the elements are marked sorted.
+     * Algorithms that sort a private array copy it back into elements here.
+     */
+    protected void onSortFinished() {
+    }
+
+    /**
+     * Gets the lines to show over the bars while the workers run, such as live statistics.
+     * Called on the controller thread after every step and once more when the sort has finished.
+     * @return The overlay lines, or null for no overlay.
+     */
+    protected List<String> overlayLines() {
+        return null;
+    }
+
+    @Override
+    public void reset() {
+        cancelAndAwaitWorkers();
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.isSortedFlag = (n <= 1);
+        this.cancelled = false;
+        this.rootTask = null;
+        this.workerIds.clear();
+        this.nextWorkerId.set(0);
+        resetParallelState();
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                cancelAndAwaitWorkers();
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        workerDelayMs = callback.getAnimationDelayMs();
+        if (rootTask == null) {
+            workerCallback = SynchronizedStepCallback.wrap(callback);
+            pool = new ForkJoinPool(parallelism);
+            rootTask = pool.submit(createRootTask());
+            publishOverlay();
+            return true;
+        }
+        if (workerDelayMs > 0 && !rootTask.isDone()) {
+            // Workers are still running; the controller repaints after this step and sleeps for the delay
+            publishOverlay();
+            return true;
+        }
+
+        rootTask.join(); // Rethrows anything a worker threw
+        onSortFinished();
+        publishOverlay();
+        for (int id = 0; id < nextWorkerId.get(); id++) {
+            workerCallback.clearWorkerRegion(id);
+        }
+        shutdownPool();
+        for (SortElement el : elements) el.setState(ElementState.SORTED);
+        callback.requestVisualUpdate();
+        isSortedFlag = true;
+        return false;
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    /**
+     * Gets a small, stable id for the calling worker thread, assigned in order of first use.
+     * @return The worker id, starting at 0.
+     */
+    protected int workerId() {
+        return workerIds.computeIfAbsent(Thread.currentThread(), t -> nextWorkerId.getAndIncrement());
+    }
+
+    /**
+     * Gets the number of distinct workers that have called workerId() since the last reset.
+     * @return The number of workers seen.
+     */
+    protected int workersSeen() {
+        return nextWorkerId.get();
+    }
+
+    /**
+     * Checks whether workers should give up: the sort was stopped or reset.
+     * Workers should check this once per task, not per element.
+     * @return true if the running sort is being cancelled.
+     */
+    protected boolean isCancelled() {
+        return cancelled || workerCallback.isStopRequested();
+    }
+
+    /**
+     * Checks whether workers should report individual accesses and pause between them.
+     * @return true while the sort is being animated.
+     */
+    protected boolean isPaced() {
+        return workerDelayMs > 0;
+    }
+
+    /**
+     * Sleeps for the animation delay when paced, and for as long as the sort is paused.
+     * Called by workers after each reported access.
+     */
+    protected void workerPause() {
+        int delay = workerDelayMs;
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+            while (workerCallback.isPaused() && !isCancelled()) {
+                Thread.sleep(PAUSE_POLL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Reports the region the calling worker is working on.
+     * @param startIndex Inclusive start index.
+     * @param endIndex Inclusive end index.
+     */
+    protected void reportRegion(int startIndex, int endIndex) {
+        workerCallback.reportWorkerRegion(workerId(), startIndex, endIndex);
+    }
+
+    /**
+     * Gets the first index of a chunk when the n elements are split into chunks of nearly equal size.
+     * @param chunk The chunk index; chunk == chunks gives n.
+     * @param chunks The number of chunks.
+     * @return The first index of the chunk.
+     */
+    protected int chunkStart(int chunk, int chunks) {
+        return (int) ((long) chunk * n / chunks);
+    }
+
+    /**
+     * Runs body(0) .. body(count - 1) as parallel tasks in the worker pool and waits for all of them. Must be called
+     * from a worker. Blocks not yet started when the sort is cancelled are skipped.
+     * @param count The number of blocks.
+     * @param body The work for one block, given its index.
+     */
+    protected void forEachBlock(int count, IntConsumer body) {
+        List<RecursiveAction> tasks = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            final int block = k;
+            tasks.add(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    if (!isCancelled()) body.accept(block);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private void publishOverlay() {
+        List<String> lines = overlayLines();
+        if (lines != null) callback.reportOverlay(lines);
+    }
+
+    private void cancelAndAwaitWorkers() {
+        cancelled = true;
+        if (rootTask != null) {
+            try {
+                rootTask.join();
+            } catch (RuntimeException e) {
+                // The sort is being abandoned; a failure in it no longer matters
+            }
+        }
+        shutdownPool();
+    }
+
+    private void shutdownPool() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.predixcode.sortvisualizer.algorithms;
 
+import com.predixcode.sortvisualizer.core.BulkStepCallback;
 import com.predixcode.sortvisualizer.core.StepCallback;
 import com.predixcode.sortvisualizer.ui.SortElement;
 
@@ -14,6 +15,13 @@ public abstract class AbstractSortAlgorithm implements Algorithm {
     protected StepCallback callback;
     protected boolean isSorted;
 
+    // Stands in for callback while runSteps() executes without FULL reporting
+    private final BulkStepCallback bulkCallback = new BulkStepCallback();
+    private CallbackMode callbackMode = CallbackMode.FULL;
+
+    // nanoTime is only sampled every this many steps inside runSteps()
+    private static final int TIME_CHECK_INTERVAL = 256;
+
     @Override
     public void initialize(List<SortElement> elements, StepCallback callback) {
         if (elements == null) {
@@ -25,9 +33,57 @@ public abstract class AbstractSortAlgorithm implements Algorithm {
         this.elements = elements;
         this.callback = callback;
         this.isSorted = false; // Initially not sorted
+        this.bulkCallback.resetCounts();
         reset(); // Call specific algorithm reset
     }
 
+    @Override
+    public boolean runSteps(long maxSteps, long timeBudgetNanos, CallbackMode mode) {
+        StepCallback realCallback = this.callback;
+        bulkCallback.attach(realCallback, mode == CallbackMode.COUNT_ONLY);
+        if (mode != CallbackMode.FULL) {
+            this.callback = bulkCallback;
+        }
+        this.callbackMode = mode;
+
+        long start = System.nanoTime();
+        boolean moreSteps = true;
+        try {
+            for (long executed = 0; executed < maxSteps; executed++) {
+                moreSteps = nextStep();
+                if (!moreSteps) {
+                    break;
+                }
+                bulkCallback.countStep();
+                if (executed % TIME_CHECK_INTERVAL == TIME_CHECK_INTERVAL - 1
+                        && System.nanoTime() - start >= timeBudgetNanos) {
+                    break;
+                }
+            }
+        } finally {
+            this.callback = realCallback;
+            this.callbackMode = CallbackMode.FULL;
+        }
+        return moreSteps;
+    }
+
+    /**
+     * Checks whether purely visual work, such as resetting the state of every element, should be skipped.
+     * True while runSteps() runs without FULL reporting; the caller repaints once the bulk run returns.
+     * @return true if visual bookkeeping can be skipped.
+     */
+    protected boolean isVisualSuppressed() {
+        return callbackMode != CallbackMode.FULL;
+    }
+
+    /**
+     * Gets the reports counted by runSteps() in COUNT_ONLY mode since the last initialize().
+     * @return The bulk run counters.
+     */
+    public BulkStepCallback getBulkCounts() {
+        return bulkCallback;
+    }
+
     /**
      * Helper method to swap two elements in the list.
      * This also informs the callback about the swap for visualization.
@@ -10,6 +10,18 @@ import com.predixcode.sortvisualizer.ui.SortElement;
  */
 public interface Algorithm {
 
+    /**
+     * How reports to the StepCallback are handled while runSteps() executes steps in bulk.
+     */
+    enum CallbackMode {
+        /** Every report reaches the StepCallback, exactly as with repeated nextStep() calls. */
+        FULL,
+        /** Reports are counted but not forwarded. Stop requests are still honoured. */
+        COUNT_ONLY,
+        /** Reports are dropped without counting. Stop requests are still honoured. */
+        SUPPRESSED
+    }
+
     /**
      * Initializes the algorithm with the data to be sorted and a callback mechanism.
      * This should be called before any calls to nextStep().
@@ -25,6 +37,16 @@ public interface Algorithm {
      */
     boolean nextStep();
 
+    /**
+     * Executes steps in a tight loop until the algorithm completes, maxSteps steps have run,
+     * or timeBudgetNanos has elapsed, whichever comes first. Used for fast-forward and "skip to end".
+     * @param maxSteps The maximum number of steps to execute.
+     * @param timeBudgetNanos The maximum time to spend, in nanoseconds.
+     * @param mode Whether reports reach the StepCallback, are only counted, or are dropped.
+     * @return true if there are more steps to perform, false if the algorithm has completed sorting.
+     */
+    boolean runSteps(long maxSteps, long timeBudgetNanos, CallbackMode mode);
+
     /**
      * Resets the internal state of the algorithm.
      * Called when a sort is stopped or a new array is generated.
@@ -0,0 +1,306 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Tree sort on an AVL tree, so sorted and nearly sorted input cost O(n log n) instead of degenerating into a list.
+ * Nodes live in parallel int arrays allocated once in reset(): node i is the element at index i of the input, which
+ * stays in place while the tree is built, so each comparison and rotation highlights the bars of the nodes involved.
+ * Equal values go to the right, which keeps the sort stable.
+ *
+ * Each insertion walks down one level per step, then walks back up one ancestor per step updating heights, and
+ * stops after the first rotation (single or double), since that restores the subtree's old height. The tree height
+ * and the rotation counts are shown as an overlay. An in-order traversal then writes the elements back.
+ */
+public class BalancedTreeSort extends AbstractSortAlgorithm {
+
+    private static final int NIL = -1;
+
+    // AVL height is below 1.45 log2(n + 2), so this covers any int-sized array
+    private static final int MAX_HEIGHT = 64;
+
+    // The node pool: node i holds the input element at index i
+    private SortElement[] nodeElement;
+    private int[] left;
+    private int[] right;
+    private int[] height;
+    private int root;
+
+    // Path from the root to the current insertion point, reused for the in-order traversal stack
+    private final int[] path = new int[MAX_HEIGHT];
+    private int pathLen;
+
+    private int insertIndex;
+    private int current;
+    private int outputIndex;
+
+    // Nodes highlighted by the last rotation, reset on the next step
+    private final int[] rotated = new int[3];
+    private int rotatedCount;
+    private int singleRotations, doubleRotations;
+    private boolean isSortedFlag = false;
+
+    private enum BalancedTreeSortInternalState {
+        PICKING,       // Taking the next element to insert
+        DESCENDING,    // Comparing with one node per step on the way down to a free child slot
+        REBALANCING,   // Updating one ancestor's height per step and rotating where it is out of balance
+        TRAVERSING     // Writing the next in-order element back to the list
+    }
+    private BalancedTreeSortInternalState currentState;
+    private int n;
+
+    public BalancedTreeSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.nodeElement = (this.elements != null) ? this.elements.toArray(new SortElement[0]) : new SortElement[0];
+        this.left = new int[n];
+        this.right = new int[n];
+        this.height = new int[n];
+        this.root = NIL;
+        this.pathLen = 0;
+        this.insertIndex = 0;
+        this.outputIndex = 0;
+        this.rotatedCount = 0;
+        this.singleRotations = 0;
+        this.doubleRotations = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = BalancedTreeSortInternalState.PICKING;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Balanced Tree Sort (AVL)";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        if (rotatedCount > 0) {
+            for (int k = 0; k < rotatedCount; k++) callback.reportElementStateChange(rotated[k], ElementState.NORMAL);
+            rotatedCount = 0;
+        }
+
+        switch (currentState) {
+            case PICKING -> {
+                return handlePicking();
+            }
+            case DESCENDING -> {
+                return handleDescending();
+            }
+            case REBALANCING -> {
+                return handleRebalancing();
+            }
+            case TRAVERSING -> {
+                return handleTraversing();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    /**
+     * Gets the height of the tree built during the last run.
+     * @return The number of levels, 0 for an empty tree.
+     */
+    public int getTreeHeight() {
+        return h(root);
+    }
+
+    public int getRotationCount() {
+        return singleRotations + doubleRotations;
+    }
+
+    private boolean handlePicking() {
+        if (insertIndex == n) {
+            // All inserted: start the in-order traversal from the root
+            for (SortElement el : elements) el.setState(ElementState.NORMAL);
+            pathLen = 0;
+            current = root;
+            currentState = BalancedTreeSortInternalState.TRAVERSING;
+            callback.requestVisualUpdate();
+            return true;
+        }
+        left[insertIndex] = NIL;
+        right[insertIndex] = NIL;
+        height[insertIndex] = 1;
+        if (root == NIL) {
+            root = insertIndex++;
+            return true;
+        }
+        callback.reportElementStateChange(insertIndex, ElementState.PIVOT);
+        pathLen = 0;
+        current = root;
+        currentState = BalancedTreeSortInternalState.DESCENDING;
+        callback.requestVisualUpdate();
+        return true;
+    }
+
+    private boolean handleDescending() {
+        path[pathLen++] = current;
+        callback.reportCompare(insertIndex, current);
+        boolean goLeft = nodeElement[insertIndex].getValue() < nodeElement[current].getValue();
+        int child = goLeft ? left[current] : right[current];
+        if (child != NIL) {
+            current = child;
+            return true;
+        }
+        if (goLeft) left[current] = insertIndex;
+        else right[current] = insertIndex;
+        callback.reportElementStateChange(insertIndex, ElementState.NORMAL);
+        currentState = BalancedTreeSortInternalState.REBALANCING;
+        return true;
+    }
+
+    private boolean handleRebalancing() {
+        if (pathLen == 0) {
+            return insertionDone();
+        }
+        int node = path[--pathLen];
+        int oldHeight = height[node];
+        updateHeight(node);
+        int balance = h(left[node]) - h(right[node]);
+
+        if (balance > 1 || balance < -1) {
+            int newTop = rebalance(node, balance);
+            int parent = (pathLen > 0) ? path[pathLen - 1] : NIL;
+            if (parent == NIL) root = newTop;
+            else if (left[parent] == node) left[parent] = newTop;
+            else right[parent] = newTop;
+            // The rotated subtree is back at its height from before the insertion, so nothing above changes
+            publishOverlay();
+            return insertionDone();
+        }
+        if (height[node] == oldHeight) {
+            return insertionDone();
+        }
+        return true;
+    }
+
+    private boolean insertionDone() {
+        insertIndex++;
+        currentState = BalancedTreeSortInternalState.PICKING;
+        return true;
+    }
+
+    // Restores the AVL balance at node with one or two rotations and returns the subtree's new top
+    private int rebalance(int node, int balance) {
+        rotatedCount = 0;
+        if (balance > 1) {
+            int child = left[node];
+            if (h(left[child]) < h(right[child])) {
+                highlight(right[child]);
+                left[node] = rotateLeft(child);
+                doubleRotations++;
+            } else {
+                singleRotations++;
+            }
+            highlight(node);
+            highlight(child);
+            return rotateRight(node);
+        }
+        int child = right[node];
+        if (h(right[child]) < h(left[child])) {
+            highlight(left[child]);
+            right[node] = rotateRight(child);
+            doubleRotations++;
+        } else {
+            singleRotations++;
+        }
+        highlight(node);
+        highlight(child);
+        return rotateLeft(node);
+    }
+
+    private int rotateRight(int y) {
+        int x = left[y];
+        left[y] = right[x];
+        right[x] = y;
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private int rotateLeft(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        left[y] = x;
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    private void updateHeight(int node) {
+        height[node] = 1 + Math.max(h(left[node]), h(right[node]));
+    }
+
+    private int h(int node) {
+        return node == NIL ? 0 : height[node];
+    }
+
+    // Shows the nodes a rotation moves; during the build every node is still at its input index
+    private void highlight(int node) {
+        rotated[rotatedCount++] = node;
+        callback.reportElementStateChange(node, ElementState.SWAP);
+    }
+
+    private boolean handleTraversing() {
+        while (current != NIL) {
+            path[pathLen++] = current;
+            current = left[current];
+        }
+        if (pathLen == 0) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            return false;
+        }
+        int node = path[--pathLen];
+        elements.set(outputIndex, nodeElement[node]);
+        callback.reportWrite(outputIndex);
+        callback.reportElementStateChange(outputIndex, ElementState.SORTED);
+        outputIndex++;
+        current = right[node];
+        return true;
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(List.of(
+                String.format("AVL: %d nodes, height %d", insertIndex + 1, h(root)),
+                String.format("rotations: %d single, %d double", singleRotations, doubleRotations)));
+    }
+}
@@ -0,0 +1,214 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Iterative bottom-up merge sort: runs of width 1, 2, 4, ... are merged pairwise across the whole array, one pass
+ * per width, until one run remains. Each pass merges from the list into a buffer allocated once in reset() or back,
+ * so nothing is copied back between passes and nothing is allocated while sorting. When the number of passes is
+ * odd, the first pass (merging single elements into pairs) is done in place with swaps instead, so that the last
+ * pass always lands in the list.
+ *
+ * Passes into the list show their writes; passes into the buffer show their comparisons and reads. During a pass
+ * into the list, the buffer holds the whole previous pass, so a sort stopped part way copies every pair not yet
+ * merged back from the buffer.
+ */
+public class BottomUpMergeSort extends AbstractSortAlgorithm {
+
+    private SortElement[] buffer;
+    private int width;
+    private int pass, passes;
+    private boolean mergeIntoList;
+
+    // State for current merge operation
+    private int mergeLo; // Start of the pair of runs being merged, or of the next pair between merges
+    private int mergeMid, mergeHi;
+    private int i_merge; // Index into the left run
+    private int j_merge; // Index into the right run
+    private int k_merge; // Index of the next output position
+    private boolean isSortedFlag = false;
+
+    private enum BottomUpInternalState {
+        PAIRING,            // In-place first pass: ordering each pair with one compare and at most one swap
+        NEXT_MERGE,         // Moving to the next pair of runs in this pass, or to the next pass
+        MERGING_COMPARE,    // Comparing the heads of both runs and outputting the smaller
+        MERGING_COPY_REST   // Outputting what is left of the run that was not exhausted
+    }
+    private BottomUpInternalState currentState;
+    private int n;
+
+    public BottomUpMergeSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.buffer = new SortElement[n];
+        this.passes = (n > 1) ? 32 - Integer.numberOfLeadingZeros(n - 1) : 0;
+        this.pass = 0;
+        this.width = 1;
+        this.mergeIntoList = true; // Flipped as each ping-pong pass starts, so the first one reads the list
+        this.isSortedFlag = (n <= 1);
+        if (passes % 2 == 1) {
+            this.mergeLo = 0;
+            this.currentState = BottomUpInternalState.PAIRING;
+        } else {
+            this.mergeLo = n;
+            this.currentState = BottomUpInternalState.NEXT_MERGE;
+        }
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Bottom-Up Merge Sort";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                restoreUnmergedPairs();
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case PAIRING -> {
+                return handlePairing();
+            }
+            case NEXT_MERGE -> {
+                return handleNextMerge();
+            }
+            case MERGING_COMPARE -> {
+                return handleMergingCompare();
+            }
+            case MERGING_COPY_REST -> {
+                return handleMergingCopyRest();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handlePairing() {
+        if (mergeLo + 1 < n) {
+            callback.reportCompare(mergeLo, mergeLo + 1);
+            if (elements.get(mergeLo).getValue() > elements.get(mergeLo + 1).getValue()) {
+                swap(mergeLo, mergeLo + 1);
+            }
+            mergeLo += 2;
+            return true;
+        }
+        // The in-place pass is done; the remaining (even number of) passes ping-pong starting from the list
+        pass = 1;
+        mergeLo = n;
+        currentState = BottomUpInternalState.NEXT_MERGE;
+        return true;
+    }
+
+    private boolean handleNextMerge() {
+        if (mergeLo >= n) {
+            if (pass == passes) {
+                isSortedFlag = true;
+                for (SortElement el : elements) el.setState(ElementState.SORTED);
+                callback.reportOverlay(List.of());
+                return false;
+            }
+            pass++;
+            width = 1 << (pass - 1);
+            mergeLo = 0;
+            mergeIntoList = !mergeIntoList;
+            publishOverlay();
+        }
+
+        mergeMid = Math.min(mergeLo + width - 1, n - 1);
+        mergeHi = Math.min(mergeLo + 2 * width - 1, n - 1);
+        i_merge = mergeLo;
+        j_merge = mergeMid + 1;
+        k_merge = mergeLo;
+        currentState = BottomUpInternalState.MERGING_COMPARE;
+        return handleMergingCompare();
+    }
+
+    private boolean handleMergingCompare() {
+        if (i_merge <= mergeMid && j_merge <= mergeHi) {
+            callback.reportCompare(i_merge, j_merge);
+            if (source(i_merge).getValue() <= source(j_merge).getValue()) {
+                output(i_merge++);
+            } else {
+                output(j_merge++);
+            }
+            return true;
+        }
+        currentState = BottomUpInternalState.MERGING_COPY_REST;
+        return handleMergingCopyRest();
+    }
+
+    private boolean handleMergingCopyRest() {
+        if (i_merge <= mergeMid) {
+            output(i_merge++);
+            return true;
+        }
+        if (j_merge <= mergeHi) {
+            output(j_merge++);
+            return true;
+        }
+        mergeLo = mergeHi + 1;
+        currentState = BottomUpInternalState.NEXT_MERGE;
+        return true;
+    }
+
+    // Stopped part way through a pass into the list: puts back the pairs it has not finished as the buffer holds them
+    private void restoreUnmergedPairs() {
+        if (!mergeIntoList || currentState == BottomUpInternalState.PAIRING) return;
+        for (int k = mergeLo; k < n; k++) elements.set(k, buffer[k]);
+    }
+
+    private SortElement source(int index) {
+        return mergeIntoList ? buffer[index] : elements.get(index);
+    }
+
+    // Moves the source element at index to the next output position
+    private void output(int index) {
+        if (mergeIntoList) {
+            elements.set(k_merge, buffer[index]);
+            callback.reportWrite(k_merge);
+        } else {
+            callback.reportRead(index);
+            buffer[k_merge] = elements.get(index);
+        }
+        k_merge++;
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(List.of(String.format("pass %d/%d: runs of %d merged %s", pass, passes, width,
+                mergeIntoList ? "buffer -> list" : "list -> buffer")));
+    }
+}
@@ -0,0 +1,320 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Bucket sort: the range from the minimum to the maximum value is split into equal-width buckets, the elements
+ * are counted per bucket and distributed into a buffer so that each bucket is one contiguous range, copied back,
+ * and then each bucket is sorted on its own by a pluggable inner sort. With about as many buckets as distinct
+ * values, most buckets hold a single value and the inner sort only has to confirm it.
+ *
+ * The bucket fill is shown as a histogram overlay while distributing, and the buckets are shaded as regions while
+ * they are sorted, adjacent buckets merged so that at most MAX_REGIONS regions are drawn.
+ */
+public class BucketSort extends AbstractSortAlgorithm {
+
+    /**
+     * The sorts a bucket can be finished with, both run one step at a time on the bucket's range.
+     */
+    public enum InnerSort {
+        INSERTION("Insertion Sort"),
+        HEAP("Heap Sort");
+
+        private final String displayName;
+
+        InnerSort(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    // Picks the bucket count from n and the value range
+    public static final int AUTO_BUCKETS = 0;
+
+    // Automatic bucket counts aim for this many elements per bucket, but never more buckets than values
+    private static final int TARGET_BUCKET_SIZE = 8;
+
+    // Buckets are shaded in at most this many groups of adjacent buckets, so thousands of buckets stay readable
+    private static final int MAX_REGIONS = 16;
+
+    private final int requestedBuckets;
+    private final InnerSort innerSort;
+
+    private int bucketCount;
+    private int[] bucketStart; // First index of each bucket, with bucketStart[bucketCount] == n
+    private int[] fill; // Elements counted into, then placed into, each bucket so far
+    private SortElement[] buffer;
+    private int minValue;
+    private long range;
+    private int index;
+    private int bucket;
+    private int overlayInterval;
+    private int regionsShown;
+    private RangeInsertionSort insertionSort;
+    private RangeHeapSort heapSort;
+    private boolean isSortedFlag = false;
+
+    private enum BucketSortInternalState {
+        COUNTING,        // Reading each element and counting it into its bucket
+        PREFIX_SUM,      // Turning the bucket counts into bucket start indices
+        DISTRIBUTING,    // Reading each element and placing it at the next free slot of its bucket in the buffer
+        COPYING_BACK,    // Writing the buffer back into the list
+        NEXT_BUCKET,     // Starting the inner sort of the next bucket, or finishing
+        SORTING_BUCKET   // Running the inner sort of the current bucket
+    }
+    private BucketSortInternalState currentState;
+    private int n;
+
+    public BucketSort() {
+        this(AUTO_BUCKETS, InnerSort.INSERTION);
+    }
+
+    /**
+     * Creates a bucket sort.
+     * @param buckets The number of buckets, or AUTO_BUCKETS for about one per TARGET_BUCKET_SIZE elements.
+     * @param innerSort The sort each bucket is finished with.
+     */
+    public BucketSort(int buckets, InnerSort innerSort) {
+        if (buckets < 0) {
+            throw new IllegalArgumentException("Bucket count cannot be negative: " + buckets);
+        }
+        this.requestedBuckets = buckets;
+        this.innerSort = innerSort;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        int maxValue = 0;
+        this.minValue = 0;
+        if (n > 0) {
+            minValue = Integer.MAX_VALUE;
+            maxValue = Integer.MIN_VALUE;
+            for (SortElement el : elements) {
+                minValue = Math.min(minValue, el.getValue());
+                maxValue = Math.max(maxValue, el.getValue());
+            }
+        }
+        this.range = (long) maxValue - minValue + 1;
+        int buckets = (requestedBuckets == AUTO_BUCKETS) ? Math.max(1, n / TARGET_BUCKET_SIZE) : requestedBuckets;
+        this.bucketCount = (int) Math.min(buckets, range);
+        this.bucketStart = new int[bucketCount + 1];
+        this.fill = new int[bucketCount];
+        this.buffer = new SortElement[n];
+        this.index = 0;
+        this.bucket = 0;
+        this.overlayInterval = Math.max(1, n / 64);
+        this.regionsShown = 0;
+        this.insertionSort = new RangeInsertionSort(this);
+        this.heapSort = new RangeHeapSort(this);
+        this.isSortedFlag = (n <= 1);
+        this.currentState = BucketSortInternalState.COUNTING;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        if (requestedBuckets == AUTO_BUCKETS && innerSort == InnerSort.INSERTION) {
+            return "Bucket Sort";
+        }
+        String buckets = (requestedBuckets == AUTO_BUCKETS) ? "" : requestedBuckets + " buckets, ";
+        return "Bucket Sort (" + buckets + innerSort + ")";
+    }
+
+    public InnerSort getInnerSort() {
+        return innerSort;
+    }
+
+    /**
+     * Gets the number of buckets used by the last run.
+     * @return The bucket count, at most the number of distinct possible values.
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                clearRegions();
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case COUNTING -> {
+                return handleCounting();
+            }
+            case PREFIX_SUM -> {
+                return handlePrefixSum();
+            }
+            case DISTRIBUTING -> {
+                return handleDistributing();
+            }
+            case COPYING_BACK -> {
+                return handleCopyingBack();
+            }
+            case NEXT_BUCKET -> {
+                return handleNextBucket();
+            }
+            case SORTING_BUCKET -> {
+                return handleSortingBucket();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleCounting() {
+        callback.reportRead(index);
+        fill[bucketOf(elements.get(index))]++;
+        index++;
+        if (index == n) {
+            currentState = BucketSortInternalState.PREFIX_SUM;
+            publishOverlay("counted");
+        } else if (index % overlayInterval == 0) {
+            publishOverlay("counting");
+        }
+        return true;
+    }
+
+    private boolean handlePrefixSum() {
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] = bucketStart[b] + fill[b];
+            fill[b] = 0;
+        }
+        index = 0;
+        currentState = BucketSortInternalState.DISTRIBUTING;
+        publishOverlay("distributing");
+        return true;
+    }
+
+    private boolean handleDistributing() {
+        callback.reportRead(index);
+        SortElement el = elements.get(index);
+        int b = bucketOf(el);
+        buffer[bucketStart[b] + fill[b]++] = el;
+        index++;
+        if (index == n) {
+            index = 0;
+            currentState = BucketSortInternalState.COPYING_BACK;
+            publishOverlay("copying back");
+        } else if (index % overlayInterval == 0) {
+            publishOverlay("distributing");
+        }
+        return true;
+    }
+
+    private boolean handleCopyingBack() {
+        elements.set(index, buffer[index]);
+        callback.reportWrite(index);
+        index++;
+        if (index == n) {
+            bucket = 0;
+            currentState = BucketSortInternalState.NEXT_BUCKET;
+            showRegions();
+        }
+        return true;
+    }
+
+    private boolean handleNextBucket() {
+        // Buckets of one element need no sorting
+        while (bucket < bucketCount && bucketStart[bucket + 1] - bucketStart[bucket] <= 1) {
+            if (bucketStart[bucket + 1] > bucketStart[bucket]) {
+                callback.reportElementStateChange(bucketStart[bucket], ElementState.SORTED);
+            }
+            bucket++;
+        }
+        if (bucket == bucketCount) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            clearRegions();
+            isSortedFlag = true;
+            callback.requestVisualUpdate();
+            return false;
+        }
+        int lo = bucketStart[bucket], hi = bucketStart[bucket + 1];
+        if (innerSort == InnerSort.HEAP) {
+            heapSort.start(lo, hi);
+        } else {
+            insertionSort.start(lo, hi);
+        }
+        if (!isVisualSuppressed()) {
+            callback.reportOverlay(List.of(String.format("%d buckets, ~%d values each, sorting bucket %d (%d elements) with %s",
+                    bucketCount, bucketWidth(), bucket, hi - lo, innerSort)));
+        }
+        currentState = BucketSortInternalState.SORTING_BUCKET;
+        return true;
+    }
+
+    private boolean handleSortingBucket() {
+        boolean more = (innerSort == InnerSort.HEAP) ? heapSort.step() : insertionSort.step();
+        if (!more) {
+            bucket++;
+            currentState = BucketSortInternalState.NEXT_BUCKET;
+        }
+        return true;
+    }
+
+    // Equal-width buckets over [minValue, minValue + range), so bucket order is value order
+    private int bucketOf(SortElement el) {
+        return (int) ((el.getValue() - (long) minValue) * bucketCount / range);
+    }
+
+    private long bucketWidth() {
+        return (range + bucketCount - 1) / bucketCount;
+    }
+
+    private void publishOverlay(String phase) {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(HistogramOverlay.format(String.format("%d buckets, ~%d values each: %s",
+                bucketCount, bucketWidth(), phase), fill, 0));
+    }
+
+    // Shades the buckets as regions once they are in place, one region per non-empty group of adjacent buckets
+    private void showRegions() {
+        if (isVisualSuppressed()) return;
+        int groups = Math.min(bucketCount, MAX_REGIONS);
+        int shown = 0;
+        for (int g = 0; g < groups; g++) {
+            int lo = bucketStart[(int) ((long) g * bucketCount / groups)];
+            int hi = bucketStart[(int) ((long) (g + 1) * bucketCount / groups)];
+            if (hi > lo) callback.reportRegion(shown++, lo, hi - 1);
+        }
+        regionsShown = shown;
+    }
+
+    private void clearRegions() {
+        callback.reportOverlay(List.of());
+        for (int id = 0; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = 0;
+    }
+}
@@ -0,0 +1,173 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Comb sort: bubble sort over a gap that starts at n and is divided by a shrink factor after every pass. The wide
+ * early passes carry "turtles", small values near the end that bubble sort moves only one place per pass, most of
+ * the way to the front in a few swaps each. Once the gap reaches 1 the passes are ordinary bubble sort passes, and
+ * the sort ends with the first of them that makes no swap. Each pass at gap 1 also fixes the largest remaining
+ * element at the end, so those passes stop one element earlier every time.
+ *
+ * A shrink factor of about 1.3 works best; smaller factors make more passes, larger ones leave more turtles for
+ * the final bubble passes.
+ */
+public class CombSort extends AbstractSortAlgorithm {
+
+    public static final double DEFAULT_SHRINK = 1.3;
+
+    private final double shrink;
+
+    private int n;
+    private int gap;
+    private int i; // Left index of the next comparison
+    private int end; // Exclusive end of the left indices of the current pass
+    private boolean swappedInCurrentPass;
+    private int passes;
+    private long turtleSwaps; // Swaps at gaps above 1
+    private boolean isSortedFlag = false;
+
+    private enum CombSortInternalState {
+        COMPARING,  // Comparing, and if needed swapping, the elements at i and i + gap
+        NEXT_PASS   // Shrinking the gap and starting the next pass, or finishing
+    }
+    private CombSortInternalState currentState;
+
+    public CombSort() {
+        this(DEFAULT_SHRINK);
+    }
+
+    /**
+     * Creates a comb sort.
+     * @param shrink The factor the gap is divided by after each pass; must be greater than 1.
+     */
+    public CombSort(double shrink) {
+        if (!(shrink > 1.0)) {
+            throw new IllegalArgumentException("Shrink factor must be greater than 1: " + shrink);
+        }
+        this.shrink = shrink;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.gap = n;
+        this.end = n - 1;
+        this.passes = 0;
+        this.turtleSwaps = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = CombSortInternalState.NEXT_PASS;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return (shrink == DEFAULT_SHRINK) ? "Comb Sort" : "Comb Sort (shrink " + shrink + ")";
+    }
+
+    public double getShrink() {
+        return shrink;
+    }
+
+    /**
+     * Gets the number of passes of the last run, over all gaps.
+     * @return The pass count.
+     */
+    public int getPasses() {
+        return passes;
+    }
+
+    /**
+     * Gets the number of swaps the last run made at gaps above 1, before the bubble sort passes.
+     * @return The swap count of the gapped passes.
+     */
+    public long getTurtleSwaps() {
+        return turtleSwaps;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.reportOverlay(List.of());
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case COMPARING -> {
+                return handleComparing();
+            }
+            case NEXT_PASS -> {
+                return handleNextPass();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleComparing() {
+        callback.reportCompare(i, i + gap);
+        if (elements.get(i).getValue() > elements.get(i + gap).getValue()) {
+            swap(i, i + gap);
+            swappedInCurrentPass = true;
+            if (gap > 1) turtleSwaps++;
+        }
+        i++;
+        if (i == end) {
+            currentState = CombSortInternalState.NEXT_PASS;
+        }
+        return true;
+    }
+
+    private boolean handleNextPass() {
+        if (gap == 1 && passes > 0) {
+            // A bubble pass leaves the largest remaining element at its end
+            callback.reportElementStateChange(end, ElementState.SORTED);
+            if (!swappedInCurrentPass || end == 1) {
+                for (SortElement el : elements) el.setState(ElementState.SORTED);
+                callback.reportOverlay(List.of());
+                isSortedFlag = true;
+                callback.requestVisualUpdate();
+                return false;
+            }
+            end--;
+        } else {
+            gap = Math.max(1, (int) (gap / shrink));
+            end = n - gap;
+        }
+        i = 0;
+        swappedInCurrentPass = false;
+        passes++;
+        currentState = CombSortInternalState.COMPARING;
+        if (!isVisualSuppressed()) {
+            callback.reportOverlay(List.of(String.format("pass %d, gap %d, shrink %.2f, %d swaps at gaps above 1",
+                    passes, gap, shrink, turtleSwaps)));
+        }
+        return true;
+    }
+}
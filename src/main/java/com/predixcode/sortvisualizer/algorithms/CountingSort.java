@@ -0,0 +1,220 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Counting sort for a bounded range of values: one count per value from the minimum to the maximum, so it takes
+ * O(n + range) time and memory and makes no comparisons at all. The counts are turned into the end position of
+ * each value's run, and the elements are placed into a buffer from the last one backwards, which keeps equal
+ * values in their input order, then copied back. Each read and write is one step, and the count array is shown
+ * as a histogram overlay.
+ *
+ * Fit for the visualizer's values, which span only a couple of hundred. A range above MAX_RANGE would need too
+ * large a count array, so such inputs are sorted by heapsort instead, which is in place but not stable.
+ */
+public class CountingSort extends AbstractSortAlgorithm {
+
+    // The largest range of values the count array may cover
+    public static final int MAX_RANGE = 1 << 20;
+
+    private int[] counts; // counts[v - minValue] is the number of elements with value v
+    private int[] positions; // One past the next free slot of each value's run in the buffer
+    private SortElement[] buffer;
+    private int minValue;
+    private int index;
+    private int overlayInterval;
+    private long range;
+    private RangeHeapSort heapSort;
+    private boolean isSortedFlag = false;
+
+    private enum CountingSortInternalState {
+        COUNTING,     // Reading each element's value into the count array
+        PREFIX_SUM,   // Turning the counts into the end position of each value's run
+        SCATTERING,   // Reading the elements from the last one backwards and placing each at the end of its run
+        COPYING_BACK, // Writing the buffer back into the list
+        HEAP_SORTING  // Range above MAX_RANGE: heapsorting the whole list instead
+    }
+    private CountingSortInternalState currentState;
+    private int n;
+
+    public CountingSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        int maxValue = 0;
+        this.minValue = 0;
+        if (n > 0) {
+            minValue = Integer.MAX_VALUE;
+            maxValue = Integer.MIN_VALUE;
+            for (SortElement el : elements) {
+                minValue = Math.min(minValue, el.getValue());
+                maxValue = Math.max(maxValue, el.getValue());
+            }
+        }
+        this.range = (long) maxValue - minValue + 1;
+        this.index = 0;
+        this.overlayInterval = Math.max(1, n / 64);
+        this.isSortedFlag = (n <= 1);
+        if (range > MAX_RANGE) {
+            this.counts = new int[0];
+            this.positions = new int[0];
+            this.buffer = new SortElement[0];
+            this.heapSort = new RangeHeapSort(this);
+            this.heapSort.start(0, n);
+            this.currentState = CountingSortInternalState.HEAP_SORTING;
+        } else {
+            this.counts = new int[(int) range];
+            this.positions = new int[(int) range];
+            this.buffer = new SortElement[n];
+            this.currentState = CountingSortInternalState.COUNTING;
+        }
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Counting Sort";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case COUNTING -> {
+                return handleCounting();
+            }
+            case PREFIX_SUM -> {
+                return handlePrefixSum();
+            }
+            case SCATTERING -> {
+                return handleScattering();
+            }
+            case COPYING_BACK -> {
+                return handleCopyingBack();
+            }
+            case HEAP_SORTING -> {
+                return handleHeapSorting();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    /**
+     * Gets the range of values of the last run, which is the size of its count array unless it was above MAX_RANGE.
+     * @return The number of values from the minimum to the maximum.
+     */
+    public long getRange() {
+        return range;
+    }
+
+    /**
+     * Checks whether the last run heapsorted its input because the range was above MAX_RANGE.
+     * @return true if the last run fell back to heapsort.
+     */
+    public boolean isHeapSortFallback() {
+        return currentState == CountingSortInternalState.HEAP_SORTING;
+    }
+
+    private boolean handleCounting() {
+        callback.reportRead(index);
+        counts[elements.get(index).getValue() - minValue]++;
+        index++;
+        if (index == n) {
+            currentState = CountingSortInternalState.PREFIX_SUM;
+            publishOverlay("counted");
+        } else if (index % overlayInterval == 0) {
+            publishOverlay("counting");
+        }
+        return true;
+    }
+
+    private boolean handlePrefixSum() {
+        int sum = 0;
+        for (int v = 0; v < counts.length; v++) {
+            sum += counts[v];
+            positions[v] = sum;
+        }
+        index = n - 1;
+        currentState = CountingSortInternalState.SCATTERING;
+        publishOverlay("placing from the end");
+        return true;
+    }
+
+    private boolean handleScattering() {
+        callback.reportRead(index);
+        SortElement el = elements.get(index);
+        buffer[--positions[el.getValue() - minValue]] = el;
+        index--;
+        if (index < 0) {
+            index = 0;
+            currentState = CountingSortInternalState.COPYING_BACK;
+            publishOverlay("copying back");
+        }
+        return true;
+    }
+
+    private boolean handleCopyingBack() {
+        elements.set(index, buffer[index]);
+        callback.reportWrite(index);
+        callback.reportElementStateChange(index, ElementState.SORTED);
+        index++;
+        if (index < n) {
+            return true;
+        }
+        callback.reportOverlay(List.of());
+        isSortedFlag = true;
+        return false;
+    }
+
+    private boolean handleHeapSorting() {
+        if (index++ % overlayInterval == 0 && !isVisualSuppressed()) {
+            callback.reportOverlay(List.of(String.format("range of %d values from %d is above %d: heapsort instead",
+                    range, minValue, MAX_RANGE)));
+        }
+        if (heapSort.step()) {
+            return true;
+        }
+        callback.reportOverlay(List.of());
+        isSortedFlag = true;
+        return false;
+    }
+
+    private void publishOverlay(String phase) {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(HistogramOverlay.format(String.format("counts of %d values from %d: %s",
+                counts.length, minValue, phase), counts, minValue));
+    }
+}
@@ -0,0 +1,212 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Cycle sort: writes every element straight into its final position, so it makes the fewest writes possible,
+ * one for each element that is not already in place, at the price of O(n^2) comparisons. Starting at each index
+ * in turn, the element there is picked up, its final position is found by counting the smaller elements to the
+ * right, and it is written there; the element it displaces is picked up next, and so on until the cycle comes back
+ * to its start. Equal values are placed after the copies already placed.
+ *
+ * The element held between writes is not in the list, so each comparison with it reads only the scanned element;
+ * the cycle start, whose slot is free while the cycle is open, is marked as the pivot. Every placed element is final
+ * and marked sorted at once.
+ */
+public class CycleSort extends AbstractSortAlgorithm {
+
+    private int n;
+    private int cycleStart;
+    private SortElement held; // The element picked up and not yet written back
+    private int position; // Where the held element goes: cycleStart plus the smaller elements counted so far
+    private int scan; // Next element to compare with the held one
+    private long writes;
+    private long cycles;
+    private boolean isSortedFlag = false;
+
+    private enum CycleSortInternalState {
+        NEXT_CYCLE,     // Picking up the element at the next cycle start, or finishing
+        COUNTING,       // Comparing the held element with one element right of the cycle start per step
+        SKIPPING_EQUAL, // Moving the position past copies of the held value that are already placed
+        WRITING         // Writing the held element and picking up the one it displaces
+    }
+    private CycleSortInternalState currentState;
+
+    public CycleSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.cycleStart = 0;
+        this.held = null;
+        this.writes = 0;
+        this.cycles = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = CycleSortInternalState.NEXT_CYCLE;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Cycle Sort";
+    }
+
+    /**
+     * Gets the number of writes of the last run: one per element that did not start in its final position.
+     * @return The write count.
+     */
+    public long getWriteCount() {
+        return writes;
+    }
+
+    /**
+     * Gets the number of cycles of the last run that moved at least one element.
+     * @return The cycle count.
+     */
+    public long getCycleCount() {
+        return cycles;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                if (held != null && currentState != CycleSortInternalState.NEXT_CYCLE) {
+                    // Stopped mid-cycle: the held element goes back into the free slot at the cycle start
+                    elements.set(cycleStart, held);
+                    held = null;
+                }
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.reportOverlay(List.of());
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case NEXT_CYCLE -> {
+                return handleNextCycle();
+            }
+            case COUNTING -> {
+                return handleCounting();
+            }
+            case SKIPPING_EQUAL -> {
+                return handleSkippingEqual();
+            }
+            case WRITING -> {
+                return handleWriting();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleNextCycle() {
+        if (cycleStart >= n - 1) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            callback.requestVisualUpdate();
+            return false;
+        }
+        callback.reportRead(cycleStart);
+        held = elements.get(cycleStart);
+        callback.reportElementStateChange(cycleStart, ElementState.PIVOT);
+        startCounting();
+        return true;
+    }
+
+    private void startCounting() {
+        position = cycleStart;
+        scan = cycleStart + 1;
+        currentState = CycleSortInternalState.COUNTING;
+        publishOverlay();
+    }
+
+    private boolean handleCounting() {
+        callback.reportHeldCompare(scan);
+        if (value(scan) < held.getValue()) {
+            position++;
+        }
+        scan++;
+        if (scan == n) {
+            if (position == cycleStart && elements.get(cycleStart) == held) {
+                // Already in place: nothing to write, and no cycle starts here
+                callback.reportElementStateChange(cycleStart, ElementState.SORTED);
+                held = null;
+                cycleStart++;
+                currentState = CycleSortInternalState.NEXT_CYCLE;
+            } else {
+                currentState = (position == cycleStart)
+                        ? CycleSortInternalState.WRITING
+                        : CycleSortInternalState.SKIPPING_EQUAL;
+            }
+        }
+        return true;
+    }
+
+    private boolean handleSkippingEqual() {
+        callback.reportHeldCompare(position);
+        if (value(position) == held.getValue()) {
+            position++;
+            return true;
+        }
+        currentState = CycleSortInternalState.WRITING;
+        return true;
+    }
+
+    private boolean handleWriting() {
+        SortElement displaced = elements.get(position);
+        elements.set(position, held);
+        callback.reportWrite(position);
+        callback.reportElementStateChange(position, ElementState.SORTED);
+        writes++;
+        if (position == cycleStart) {
+            // The cycle is closed: the last element picked up went into the slot it started from
+            held = null;
+            cycles++;
+            cycleStart++;
+            currentState = CycleSortInternalState.NEXT_CYCLE;
+            callback.requestVisualUpdate();
+            return true;
+        }
+        held = displaced;
+        startCounting();
+        callback.requestVisualUpdate();
+        return true;
+    }
+
+    private int value(int index) {
+        return elements.get(index).getValue();
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(List.of(String.format("cycle from %d holding %d, %d writes in %d cycles so far",
+                cycleStart, held.getValue(), writes, cycles)));
+    }
+}
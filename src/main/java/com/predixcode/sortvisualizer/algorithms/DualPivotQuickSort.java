@@ -0,0 +1,350 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Dual-pivot quicksort along the lines of the JDK's DualPivotQuicksort (Yaroslavskiy's partitioning). Five
+ * evenly spaced samples are sorted and the second and fourth become the pivots p1 <= p2, which splits each range
+ * into three parts: < p1, between the pivots, and > p2. When the pivots are equal the middle part holds only
+ * copies of the pivot and needs no further sorting, which keeps inputs with many duplicates fast.
+ *
+ * Ranges of INSERTION_THRESHOLD elements or fewer are insertion sorted, and like IntroSort any range still being
+ * partitioned after 2 * log2(n) levels is heapsorted instead. As in the JDK, a middle part of more than 4/7 of its
+ * range gets one more pass that moves the copies of p1 and p2 out to its edges before it is queued; without that,
+ * a range holding only p1 and p2 would be partitioned into itself again and again.
+ */
+public class DualPivotQuickSort extends AbstractSortAlgorithm {
+
+    // The JDK 7 threshold below which ranges are insertion sorted
+    private static final int INSERTION_THRESHOLD = 47;
+
+    // A range still to be sorted, with the partitioning depth it has left
+    private static class DualPivotRange {
+        final int low, high, depthLeft; // inclusive
+
+        DualPivotRange(int low, int high, int depthLeft) {
+            this.low = low; this.high = high; this.depthLeft = depthLeft;
+        }
+
+        int size() {
+            return high - low + 1;
+        }
+    }
+
+    private Deque<DualPivotRange> rangeStack;
+    private DualPivotRange currentRange;
+    private RangeInsertionSort insertionSort;
+    private RangeHeapSort heapSort;
+    private int depthLimit;
+    private int maxStackSize;
+    private int insertionSorts;
+    private int heapSortFallbacks;
+
+    // Partition state: [low+1, less) < p1, [less, k) between, (great, high-1] > p2
+    private int pivot1, pivot2;
+    private int pivot1Index, pivot2Index;
+    private int less, great, k;
+    private boolean excludingEquals; // Second pass over a large middle part, splitting off copies of the pivots
+    private int middleLow, middleHigh, middleDepthLeft;
+    private boolean isSortedFlag = false;
+
+    private enum DualPivotInternalState {
+        NEXT_RANGE,         // Taking the next range off the stack and choosing how to sort it
+        CHOOSING_PIVOTS,    // Sorting five samples and moving the pivots to the ends of the range
+        PARTITIONING,       // Classifying the element at k against both pivots (or, excluding equals, as equal to either)
+        SCANNING_GREAT,     // Moving great left past elements that already belong in the right part
+        PLACING_PIVOTS,     // Swapping the pivots into their final places and queueing the three parts
+        INSERTION_SORTING,  // Finishing a small range
+        HEAP_SORTING        // Finishing a range that ran out of depth
+    }
+    private DualPivotInternalState currentState;
+    private int n;
+
+    public DualPivotQuickSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.rangeStack = new ArrayDeque<>();
+        this.currentRange = null;
+        this.insertionSort = new RangeInsertionSort(this);
+        this.heapSort = new RangeHeapSort(this);
+        this.depthLimit = (n > 0) ? 2 * (31 - Integer.numberOfLeadingZeros(n)) : 0;
+        this.maxStackSize = 0;
+        this.insertionSorts = 0;
+        this.heapSortFallbacks = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = DualPivotInternalState.NEXT_RANGE;
+        if (!isSortedFlag) {
+            rangeStack.push(new DualPivotRange(0, n - 1, depthLimit));
+        }
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Dual-Pivot Quick Sort";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case NEXT_RANGE -> {
+                return handleNextRange();
+            }
+            case CHOOSING_PIVOTS -> {
+                return handleChoosingPivots();
+            }
+            case PARTITIONING -> {
+                return handlePartitioning();
+            }
+            case SCANNING_GREAT -> {
+                return handleScanningGreat();
+            }
+            case PLACING_PIVOTS -> {
+                return handlePlacingPivots();
+            }
+            case INSERTION_SORTING -> {
+                if (!insertionSort.step()) currentState = DualPivotInternalState.NEXT_RANGE;
+                return true;
+            }
+            case HEAP_SORTING -> {
+                if (!heapSort.step()) currentState = DualPivotInternalState.NEXT_RANGE;
+                return true;
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleNextRange() {
+        if (rangeStack.isEmpty()) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            return false;
+        }
+        currentRange = rangeStack.pop();
+        if (currentRange.size() <= INSERTION_THRESHOLD) {
+            insertionSorts++;
+            insertionSort.start(currentRange.low, currentRange.high + 1);
+            currentState = DualPivotInternalState.INSERTION_SORTING;
+        } else if (currentRange.depthLeft == 0) {
+            heapSortFallbacks++;
+            heapSort.start(currentRange.low, currentRange.high + 1);
+            currentState = DualPivotInternalState.HEAP_SORTING;
+        } else {
+            currentState = DualPivotInternalState.CHOOSING_PIVOTS;
+        }
+        publishOverlay();
+        return true;
+    }
+
+    private boolean handleChoosingPivots() {
+        int low = currentRange.low, high = currentRange.high;
+        int length = currentRange.size();
+
+        // Five samples around the middle, spaced about a seventh of the range apart, as in the JDK
+        int seventh = (length >> 3) + (length >> 6) + 1;
+        int e3 = (low + high) >>> 1;
+        int e2 = e3 - seventh, e1 = e2 - seventh, e4 = e3 + seventh, e5 = e4 + seventh;
+        int[] samples = {e1, e2, e3, e4, e5};
+        for (int a = 1; a < samples.length; a++) {
+            for (int b = a; b > 0; b--) {
+                callback.reportCompare(samples[b - 1], samples[b]);
+                if (value(samples[b - 1]) <= value(samples[b])) break;
+                swap(samples[b - 1], samples[b]);
+            }
+        }
+
+        // The pivots stay at the ends of the range while it is partitioned
+        swap(e2, low);
+        swap(e4, high);
+        pivot1 = value(low);
+        pivot2 = value(high);
+        pivot1Index = low;
+        pivot2Index = high;
+        callback.reportElementStateChange(low, ElementState.PIVOT);
+        callback.reportElementStateChange(high, ElementState.PIVOT);
+        less = low + 1;
+        great = high - 1;
+        k = less;
+        excludingEquals = false;
+        currentState = DualPivotInternalState.PARTITIONING;
+        callback.requestVisualUpdate();
+        return true;
+    }
+
+    private boolean handlePartitioning() {
+        if (k > great) {
+            if (excludingEquals) return finishExcludingEquals();
+            currentState = DualPivotInternalState.PLACING_PIVOTS;
+            return true;
+        }
+        callback.reportCompare(k, pivot1Index);
+        if (belongsLeft(value(k))) {
+            if (k != less) swap(k, less);
+            less++;
+            k++;
+            return true;
+        }
+        callback.reportCompare(k, pivot2Index);
+        if (belongsRight(value(k))) {
+            currentState = DualPivotInternalState.SCANNING_GREAT;
+        } else {
+            k++;
+        }
+        return true;
+    }
+
+    // The element at k belongs in the right part: find the rightmost element that does not, and swap with it
+    private boolean handleScanningGreat() {
+        callback.reportCompare(great, pivot2Index);
+        if (belongsRight(value(great)) && k < great) {
+            great--;
+            return true;
+        }
+        swap(k, great);
+        great--;
+        callback.reportCompare(k, pivot1Index);
+        if (belongsLeft(value(k))) {
+            swap(k, less);
+            less++;
+        }
+        k++;
+        currentState = DualPivotInternalState.PARTITIONING;
+        return true;
+    }
+
+    private boolean handlePlacingPivots() {
+        int low = currentRange.low, high = currentRange.high;
+        less--;
+        great++;
+        swap(low, less);
+        swap(high, great);
+        if (!isVisualSuppressed()) {
+            for (int m = low; m <= high; m++) {
+                if (elements.get(m).getState() != ElementState.SORTED) elements.get(m).setState(ElementState.NORMAL);
+            }
+        }
+        elements.get(less).setState(ElementState.SORTED);
+        elements.get(great).setState(ElementState.SORTED);
+
+        int depthLeft = currentRange.depthLeft - 1;
+        DualPivotRange[] parts = {
+                new DualPivotRange(low, less - 1, depthLeft),
+                new DualPivotRange(great + 1, high, depthLeft),
+                new DualPivotRange(less + 1, great - 1, depthLeft)
+        };
+        // With equal pivots the middle part is all copies of the pivot, so it is already in place.
+        // A large middle part gets a second pass to split off copies of the pivots before it is queued.
+        boolean largeMiddle = parts[2].size() > currentRange.size() / 7 * 4;
+        int partCount = (pivot1 < pivot2 && !largeMiddle) ? 3 : 2;
+        if (pivot1 == pivot2) {
+            for (int m = less + 1; m < great; m++) elements.get(m).setState(ElementState.SORTED);
+        }
+
+        // Push the largest part first so the smallest is sorted next, which keeps the stack short
+        for (int a = 1; a < partCount; a++) {
+            for (int b = a; b > 0 && parts[b - 1].size() < parts[b].size(); b--) {
+                DualPivotRange t = parts[b];
+                parts[b] = parts[b - 1];
+                parts[b - 1] = t;
+            }
+        }
+        for (int p = 0; p < partCount; p++) {
+            if (parts[p].size() > 1) {
+                rangeStack.push(parts[p]);
+            } else if (parts[p].size() == 1) {
+                elements.get(parts[p].low).setState(ElementState.SORTED);
+            }
+        }
+        maxStackSize = Math.max(maxStackSize, rangeStack.size());
+        currentState = DualPivotInternalState.NEXT_RANGE;
+
+        if (pivot1 < pivot2 && largeMiddle) {
+            middleLow = less + 1;
+            middleHigh = great - 1;
+            middleDepthLeft = depthLeft;
+            pivot1Index = less - 1;
+            pivot2Index = great + 1;
+            less = middleLow;
+            great = middleHigh;
+            k = less;
+            excludingEquals = true;
+            currentState = DualPivotInternalState.PARTITIONING;
+        }
+        callback.requestVisualUpdate();
+        return true;
+    }
+
+    // [middleLow, less) holds copies of p1 and (great, middleHigh] copies of p2; only what lies between is queued
+    private boolean finishExcludingEquals() {
+        for (int m = middleLow; m < less; m++) elements.get(m).setState(ElementState.SORTED);
+        for (int m = great + 1; m <= middleHigh; m++) elements.get(m).setState(ElementState.SORTED);
+        if (great - less + 1 > 1) {
+            rangeStack.push(new DualPivotRange(less, great, middleDepthLeft));
+            maxStackSize = Math.max(maxStackSize, rangeStack.size());
+        } else if (great == less) {
+            elements.get(less).setState(ElementState.SORTED);
+        }
+        excludingEquals = false;
+        currentState = DualPivotInternalState.NEXT_RANGE;
+        return true;
+    }
+
+    private boolean belongsLeft(int value) {
+        return excludingEquals ? value == pivot1 : value < pivot1;
+    }
+
+    private boolean belongsRight(int value) {
+        return excludingEquals ? value == pivot2 : value > pivot2;
+    }
+
+    private int value(int index) {
+        return elements.get(index).getValue();
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(List.of(
+                String.format("depth limit %d, this range %d-%d at depth %d", depthLimit,
+                        currentRange.low, currentRange.high, depthLimit - currentRange.depthLeft),
+                String.format("pending ranges %d (max %d)", rangeStack.size(), maxStackSize),
+                String.format("insertion sorts %d, heapsort fallbacks %d", insertionSorts, heapSortFallbacks)));
+    }
+}
@@ -0,0 +1,535 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Simulation of an external merge sort, for data that does not fit in memory. Only a fraction of the array fits in
+ * "RAM": the input is read one chunk of that size at a time, each chunk is sorted in memory by a tournament through a
+ * LoserTree and spilled as a sorted run to its own temporary memory-mapped file. The runs are then merged k at a time
+ * (the fan-in) through a LoserTree into longer runs, pass after pass, until one pass can merge all that are left
+ * straight back into the array. With R initial runs that takes ceil(log_k(R)) merge passes, each of which reads and
+ * writes every record once, except for a run left over at the end of a pass, which goes on to the next as it is.
+ *
+ * A record is the element's value and its index in the input, RECORD_BYTES bytes. The array shows the data as it
+ * would be on disk: every record read from the input or a run file is reported as a read at its logical position,
+ * and every record written to a run file or the output is mirrored into the array and reported as a write there, so
+ * each pass sweeps across the bars. Comparisons in RAM are shown at the positions the records were loaded from. The
+ * chunk in RAM and the runs being merged are shaded as regions. Bytes read and written and the number of passes are
+ * kept for the overlay and the headless suites.
+ *
+ * Production sorts form runs by replacement selection, which makes them 2M long on average for M records of memory;
+ * here runs are exactly M long, so the run count is simply n / M.
+ */
+public class ExternalMergeSort extends AbstractSortAlgorithm {
+
+    public static final double DEFAULT_MEMORY_FRACTION = 1.0 / 16;
+    public static final int DEFAULT_FAN_IN = 4;
+    public static final int RECORD_BYTES = 8; // int value, int input index
+
+    private final double memoryFraction;
+    private final int fanIn;
+
+    private int n;
+    private int memoryRecords; // M, the records that fit in RAM
+    private SortElement[] input; // The input elements by index, to turn records back into elements
+    private int[] ramValues, ramIds;
+    private LoserTree ramTree, mergeTree, tree;
+    private boolean merging;
+
+    // Run formation
+    private int chunkLo, chunkHi; // The chunk in RAM: [chunkLo, chunkHi)
+    private int loaded;
+
+    // Merging
+    private List<RunFile> runs = new ArrayList<>(); // Input runs of the current pass
+    private List<RunFile> nextRuns = new ArrayList<>(); // Output runs of the current pass
+    private int nextGroup; // Index in runs of the first run of the next group
+    private final List<RunFile> group = new ArrayList<>();
+    private int groupLo, groupHi;
+    private RunFile outputRun; // null when the output is the array
+
+    private int out; // Next logical output position
+    private int initialRuns;
+    private int mergePasses;
+    private long bytesRead, bytesWritten;
+    private int regionsShown;
+    private boolean isSortedFlag = false;
+
+    private enum ExternalSortInternalState {
+        LOADING,    // Reading the next chunk of the input into RAM, one record per step
+        BUILDING,   // Playing the initial tournament of the chunk in RAM or of the merge group, one match per step
+        OUTPUT,     // Writing the winner to its run file or to the array, and reading the next record of a merged run
+        REPLAYING,  // Replaying the matches on the winner's path, one per step
+        NEXT_GROUP  // Starting the next group of runs to merge, the next merge pass, or finishing
+    }
+    private ExternalSortInternalState currentState;
+
+    public ExternalMergeSort() {
+        this(DEFAULT_MEMORY_FRACTION, DEFAULT_FAN_IN);
+    }
+
+    /**
+     * Creates an external merge sort.
+     * @param memoryFraction The fraction of the array that fits in RAM, greater than 0 and at most 1.
+     * @param fanIn The number of runs merged at a time, from 2 to KWayMergeSort.MAX_WAYS.
+     */
+    public ExternalMergeSort(double memoryFraction, int fanIn) {
+        if (!(memoryFraction > 0 && memoryFraction <= 1)) {
+            throw new IllegalArgumentException("Memory fraction must be in (0, 1]: " + memoryFraction);
+        }
+        if (fanIn < 2 || fanIn > KWayMergeSort.MAX_WAYS) {
+            throw new IllegalArgumentException("Fan-in must be between 2 and " + KWayMergeSort.MAX_WAYS + ": " + fanIn);
+        }
+        this.memoryFraction = memoryFraction;
+        this.fanIn = fanIn;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        closeRuns(); // Files left over from a run that was reset before it finished
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.memoryRecords = Math.max(1, (int) Math.min(n, Math.ceil(memoryFraction * n)));
+        this.input = (this.elements != null) ? this.elements.toArray(new SortElement[0]) : new SortElement[0];
+        this.ramValues = new int[memoryRecords];
+        this.ramIds = new int[memoryRecords];
+        this.ramTree = new LoserTree(memoryRecords, this::reportRamMatch);
+        this.mergeTree = new LoserTree(fanIn, this::reportMergeMatch);
+        this.tree = ramTree;
+        this.merging = false;
+        this.chunkLo = 0;
+        this.chunkHi = 0;
+        this.loaded = 0;
+        this.nextGroup = 0;
+        this.initialRuns = (n + memoryRecords - 1) / memoryRecords;
+        this.mergePasses = 0;
+        this.bytesRead = 0;
+        this.bytesWritten = 0;
+        this.regionsShown = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = ExternalSortInternalState.LOADING;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        if (memoryFraction == DEFAULT_MEMORY_FRACTION && fanIn == DEFAULT_FAN_IN) return "External Merge Sort";
+        double inverse = 1 / memoryFraction;
+        String memory = (inverse == Math.rint(inverse))
+                ? "1/" + (long) inverse
+                : String.format("%.1f%%", 100 * memoryFraction);
+        return "External Merge Sort (RAM " + memory + ", " + fanIn + "-way)";
+    }
+
+    public double getMemoryFraction() {
+        return memoryFraction;
+    }
+
+    public int getFanIn() {
+        return fanIn;
+    }
+
+    /**
+     * Gets the number of records that fit in RAM for the current array, which is also the length of the initial runs.
+     * @return M, the memory size in records.
+     */
+    public int getMemoryRecords() {
+        return memoryRecords;
+    }
+
+    /**
+     * Gets the number of sorted runs spilled by run formation.
+     * @return The initial run count.
+     */
+    public int getInitialRuns() {
+        return initialRuns;
+    }
+
+    /**
+     * Gets the number of passes over the data of the last run: run formation plus the merge passes.
+     * @return The pass count.
+     */
+    public int getPasses() {
+        return 1 + mergePasses;
+    }
+
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                restoreCurrentRange();
+                closeRuns();
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                clearRegions();
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case LOADING -> {
+                return handleLoading();
+            }
+            case BUILDING -> {
+                return handleBuilding();
+            }
+            case OUTPUT -> {
+                return handleOutput();
+            }
+            case REPLAYING -> {
+                return handleReplaying();
+            }
+            case NEXT_GROUP -> {
+                return handleNextGroup();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleLoading() {
+        if (loaded == 0) {
+            chunkHi = Math.min(n, chunkLo + memoryRecords);
+            out = chunkLo;
+            showRegions(List.of(new int[] {chunkLo, chunkHi}));
+        }
+        int index = chunkLo + loaded;
+        callback.reportRead(index);
+        bytesRead += RECORD_BYTES;
+        ramValues[loaded] = elements.get(index).getValue();
+        ramIds[loaded] = index; // Run formation reads every input position before anything is written there
+        loaded++;
+        if (chunkLo + loaded == chunkHi) {
+            for (int slot = 0; slot < memoryRecords; slot++) {
+                ramTree.setKey(slot, slot < loaded ? LoserTree.key(ramValues[slot], slot) : LoserTree.EXHAUSTED);
+            }
+            // A single chunk is the whole input: it is sorted in memory and written straight back
+            outputRun = (initialRuns == 1) ? null : RunFile.create(chunkLo, loaded);
+            ramTree.beginBuild();
+            currentState = ExternalSortInternalState.BUILDING;
+        }
+        publishOverlay();
+        return true;
+    }
+
+    private boolean handleBuilding() {
+        if (!tree.buildStep()) {
+            currentState = ExternalSortInternalState.OUTPUT;
+        }
+        publishOverlay();
+        return true;
+    }
+
+    private boolean handleOutput() {
+        if (tree.isExhausted()) {
+            return merging ? finishGroup() : finishChunk();
+        }
+        int winner = tree.winner();
+        if (merging) {
+            RunFile run = group.get(winner);
+            write(run.value(run.position), run.id(run.position));
+            run.position++;
+            tree.beginReplay(readHead(winner));
+        } else {
+            write(ramValues[winner], ramIds[winner]);
+            tree.beginReplay(LoserTree.EXHAUSTED);
+        }
+        currentState = ExternalSortInternalState.REPLAYING;
+        return handleReplaying();
+    }
+
+    private boolean handleReplaying() {
+        if (!tree.replayStep()) {
+            currentState = ExternalSortInternalState.OUTPUT;
+        }
+        publishOverlay();
+        return true;
+    }
+
+    private boolean finishChunk() {
+        if (outputRun != null) runs.add(outputRun);
+        outputRun = null;
+        chunkLo = chunkHi;
+        loaded = 0;
+        if (chunkLo < n) {
+            currentState = ExternalSortInternalState.LOADING;
+            return true;
+        }
+        if (runs.isEmpty()) {
+            return finish(); // Sorted in memory
+        }
+        merging = true;
+        tree = mergeTree;
+        nextGroup = 0;
+        mergePasses = 1;
+        currentState = ExternalSortInternalState.NEXT_GROUP;
+        return true;
+    }
+
+    private boolean finishGroup() {
+        for (RunFile run : group) run.close();
+        group.clear();
+        if (outputRun != null) nextRuns.add(outputRun);
+        outputRun = null;
+        currentState = ExternalSortInternalState.NEXT_GROUP;
+        return true;
+    }
+
+    private boolean handleNextGroup() {
+        if (nextGroup >= runs.size()) {
+            if (nextRuns.isEmpty()) {
+                return finish(); // The last pass wrote into the array
+            }
+            List<RunFile> merged = nextRuns;
+            nextRuns = runs;
+            nextRuns.clear();
+            runs = merged;
+            nextGroup = 0;
+            mergePasses++;
+        }
+
+        boolean finalPass = runs.size() <= fanIn;
+        int end = Math.min(runs.size(), nextGroup + fanIn);
+        if (!finalPass && end - nextGroup == 1) {
+            // A run left over at the end of a pass goes on to the next pass as it is, without being copied
+            nextRuns.add(runs.get(nextGroup));
+            nextGroup = end;
+            return true;
+        }
+        group.addAll(runs.subList(nextGroup, end));
+        nextGroup = end;
+        groupLo = group.get(0).start;
+        groupHi = group.get(group.size() - 1).start + group.get(group.size() - 1).length;
+        out = groupLo;
+        outputRun = finalPass ? null : RunFile.create(groupLo, groupHi - groupLo);
+
+        List<int[]> ranges = new ArrayList<>();
+        for (int r = 0; r < fanIn; r++) {
+            if (r < group.size()) {
+                group.get(r).position = 0;
+                ranges.add(new int[] {group.get(r).start, group.get(r).start + group.get(r).length});
+            }
+            mergeTree.setKey(r, readHead(r));
+        }
+        showRegions(ranges);
+        mergeTree.beginBuild();
+        currentState = ExternalSortInternalState.BUILDING;
+        return handleBuilding();
+    }
+
+    private boolean finish() {
+        isSortedFlag = true;
+        closeRuns();
+        for (SortElement el : elements) el.setState(ElementState.SORTED);
+        clearRegions();
+        callback.requestVisualUpdate();
+        return false;
+    }
+
+    // Reads the record at the head of run r of the group, giving its key in the merge, or EXHAUSTED
+    private long readHead(int r) {
+        if (r >= group.size() || group.get(r).position == group.get(r).length) return LoserTree.EXHAUSTED;
+        RunFile run = group.get(r);
+        callback.reportRead(run.start + run.position);
+        bytesRead += RECORD_BYTES;
+        return LoserTree.key(run.value(run.position), r);
+    }
+
+    // Writes a record to the current run file, or to the array on the last pass, and mirrors it into the array
+    private void write(int value, int id) {
+        if (outputRun != null) {
+            outputRun.write(out - outputRun.start, value, id);
+        }
+        bytesWritten += RECORD_BYTES;
+        elements.set(out, input[id]);
+        callback.reportWrite(out);
+        out++;
+    }
+
+    private void reportRamMatch(int slotA, int slotB) {
+        callback.reportCompare(chunkLo + slotA, chunkLo + slotB);
+    }
+
+    private void reportMergeMatch(int runA, int runB) {
+        RunFile a = group.get(runA), b = group.get(runB);
+        callback.reportCompare(a.start + a.position, b.start + b.position);
+    }
+
+    // Stopped part way: puts the records of the chunk or group being written back where they were before it
+    private void restoreCurrentRange() {
+        if (merging) {
+            for (RunFile run : group) {
+                for (int i = 0; i < run.length; i++) elements.set(run.start + i, input[run.id(i)]);
+            }
+        } else if (currentState != ExternalSortInternalState.LOADING) {
+            for (int slot = 0; slot < loaded; slot++) elements.set(chunkLo + slot, input[ramIds[slot]]);
+        }
+    }
+
+    private void closeRuns() {
+        for (RunFile run : runs) run.close();
+        for (RunFile run : nextRuns) run.close();
+        for (RunFile run : group) run.close();
+        if (outputRun != null) outputRun.close();
+        runs.clear();
+        nextRuns.clear();
+        group.clear();
+        outputRun = null;
+    }
+
+    // Shades each range [start, end) as a region
+    private void showRegions(List<int[]> ranges) {
+        if (isVisualSuppressed()) return;
+        for (int id = 0; id < ranges.size(); id++) {
+            callback.reportRegion(id, ranges.get(id)[0], ranges.get(id)[1] - 1);
+        }
+        for (int id = ranges.size(); id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = ranges.size();
+    }
+
+    private void clearRegions() {
+        callback.reportOverlay(List.of());
+        for (int id = 0; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = 0;
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        List<String> lines = new ArrayList<>();
+        if (merging) {
+            lines.add(String.format("merge pass %d: %d-way merge of runs %d..%d of %d into %s", mergePasses, fanIn,
+                    nextGroup - group.size() + 1, nextGroup, runs.size(), outputRun != null ? "a run file" : "the array"));
+        } else {
+            lines.add(String.format("run formation: %s run %d of %d, RAM holds %d records (%.1f%% of %d)",
+                    currentState == ExternalSortInternalState.LOADING ? "loading" : "sorting and spilling",
+                    chunkLo / memoryRecords + 1, initialRuns, memoryRecords, 100.0 * memoryRecords / n, n));
+        }
+        lines.add("I/O: " + formatBytes(bytesRead) + " read, " + formatBytes(bytesWritten) + " written");
+        if (currentState != ExternalSortInternalState.LOADING) lines.addAll(tree.describe());
+        callback.reportOverlay(lines);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KiB", bytes / 1024.0);
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024));
+    }
+
+    /**
+     * A sorted run spilled to a temporary file, mapped into memory. It holds the records of the logical range
+     * [start, start + length) of the array, and is deleted when closed. The file is opened with DELETE_ON_CLOSE, and
+     * close() deletes it as well but never fails: a file that is still mapped cannot be deleted on some systems
+     * (Windows), so it is then left for the mapping's cleanup or the JVM's exit to remove.
+     */
+    private static final class RunFile {
+
+        final int start;
+        final int length;
+        int position; // Next record to read while the run is being merged
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer map;
+
+        private RunFile(int start, int length, Path path, FileChannel channel, MappedByteBuffer map) {
+            this.start = start;
+            this.length = length;
+            this.path = path;
+            this.channel = channel;
+            this.map = map;
+        }
+
+        static RunFile create(int start, int length) {
+            Path path = null;
+            FileChannel channel = null;
+            try {
+                path = Files.createTempFile("sortvisualizer-run-", ".bin");
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) length * RECORD_BYTES);
+                return new RunFile(start, length, path, channel, map);
+            } catch (IOException e) {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                }
+                if (path != null) deleteQuietly(path);
+                throw new UncheckedIOException("Could not create a run file", e);
+            }
+        }
+
+        void write(int index, int value, int id) {
+            map.putInt(index * RECORD_BYTES, value);
+            map.putInt(index * RECORD_BYTES + Integer.BYTES, id);
+        }
+
+        int value(int index) {
+            return map.getInt(index * RECORD_BYTES);
+        }
+
+        int id(int index) {
+            return map.getInt(index * RECORD_BYTES + Integer.BYTES);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // The mapping holds the data, so there is nothing to flush; the file is still deleted below
+            }
+            deleteQuietly(path);
+        }
+
+        // Best effort: a file that cannot be deleted now is deleted when the JVM exits
+        private static void deleteQuietly(Path path) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Gnome sort: a single position walks through the array; where the pair before it is in order it steps forward,
+ * otherwise it swaps the pair and steps back. The classic gnome then walks forward again over everything it has
+ * just put in order, comparing each pair a second time. The optimized gnome remembers where it turned back and
+ * jumps straight there once the element it carried has arrived, which makes it an insertion sort done with
+ * adjacent swaps: the same comparisons as InsertionSort, but a swap (two writes) for every shift.
+ *
+ * Both are adaptive: on sorted input the gnome only walks forward, n - 1 comparisons.
+ */
+public class GnomeSort extends AbstractSortAlgorithm {
+
+    /**
+     * The two gnomes: the classic one walks back over the sorted prefix, the optimized one jumps.
+     */
+    public enum Mode {
+        CLASSIC("classic"),
+        OPTIMIZED("optimized");
+
+        private final String displayName;
+
+        Mode(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final Mode mode;
+
+    private int n;
+    private int position; // The gnome stands between position - 1 and position
+    private int resume; // Optimized: where to jump back to once the carried element has arrived
+    private boolean isSortedFlag = false;
+
+    private enum GnomeSortInternalState {
+        STEPPING,   // Comparing the pair before the gnome, then stepping forward or swapping and stepping back
+        JUMPING     // Optimized: the carried element has arrived, jumping forward to where the gnome turned back
+    }
+    private GnomeSortInternalState currentState;
+
+    public GnomeSort() {
+        this(Mode.CLASSIC);
+    }
+
+    /**
+     * Creates a gnome sort.
+     * @param mode Whether the gnome walks back over the sorted prefix or jumps to where it turned back.
+     */
+    public GnomeSort(Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.position = 1;
+        this.resume = 1;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = GnomeSortInternalState.STEPPING;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return (mode == Mode.CLASSIC) ? "Gnome Sort" : "Gnome Sort (" + mode + ")";
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case STEPPING -> {
+                return handleStepping();
+            }
+            case JUMPING -> {
+                return handleJumping();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleStepping() {
+        if (position == n) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            isSortedFlag = true;
+            callback.requestVisualUpdate();
+            return false;
+        }
+        callback.reportCompare(position - 1, position);
+        if (elements.get(position - 1).getValue() <= elements.get(position).getValue()) {
+            arrived();
+            return true;
+        }
+        swap(position - 1, position);
+        position--;
+        if (position == 0) {
+            arrived();
+        }
+        return true;
+    }
+
+    // The carried element is in place: the classic gnome steps forward, the optimized one jumps
+    private void arrived() {
+        if (mode == Mode.OPTIMIZED && position < resume) {
+            currentState = GnomeSortInternalState.JUMPING;
+            return;
+        }
+        position++;
+        resume = Math.max(resume, position);
+    }
+
+    private boolean handleJumping() {
+        callback.reportElementStateChange(position, ElementState.NORMAL);
+        position = resume + 1;
+        resume = position;
+        currentState = GnomeSortInternalState.STEPPING;
+        return true;
+    }
+}
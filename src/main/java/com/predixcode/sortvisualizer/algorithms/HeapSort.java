@@ -1,4 +1,3 @@
-
 package com.predixcode.sortvisualizer.algorithms;
 
 import java.util.List;
@@ -7,32 +6,73 @@ import com.predixcode.sortvisualizer.core.StepCallback;
 import com.predixcode.sortvisualizer.ui.SortElement;
 import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
 
+/**
+ * Heap sort on a d-ary max heap (d from 2 to 8), with either the classic sift-down or Floyd's bottom-up one.
+ *
+ * The classic sift-down compares the sifted element and all d children at every level, d comparisons per level.
+ * Floyd's variant first walks down to a leaf along the larger children, d - 1 comparisons per level and none
+ * against the sifted element, then climbs back up to where the sifted element belongs, which is usually only a
+ * level or two, and shifts the path up by one. Wider heaps are shallower, so sifts touch fewer, closer cache lines
+ * at the price of more comparisons per level.
+ *
+ * The heap's levels are shaded as regions, and the element being sifted is shown as the pivot.
+ */
 public class HeapSort extends AbstractSortAlgorithm {
 
+    public static final int MIN_ARITY = 2;
+    public static final int MAX_ARITY = 8;
+
+    // Deeper than any binary heap of an int-sized array
+    private static final int MAX_DEPTH = 64;
+
+    private final int arity;
+    private final boolean bottomUp;
+
     private int n; // Size of the array being sorted
     private int heapSize; // Current size of the heap
-    private int i; // Index for the current phase
-    private int largest; // Index of the largest element in heapify
-    private int sortedCount; // Number of elements sorted
+    private int buildIndex; // Next node to sift down while building the heap
+    private boolean building;
+
+    // Current sift-down
+    private int siftRoot; // Where the sifted element is (classic), or where the sift started (bottom-up)
+    private int largest; // Largest of siftRoot and the children seen so far (classic), or the larger child (bottom-up)
+    private int child; // Next child to compare
+    private int childEnd; // End of the current node's children
+
+    // Bottom-up sift: the path of larger children from siftRoot down to a leaf
+    private final int[] path = new int[MAX_DEPTH];
+    private int pathLen;
+    private int target; // Index into path where the sifted element ends up
+    private int shiftPos;
 
+    private int levelsShown;
     private boolean isSortedFlag = false;
 
     private enum HeapSortInternalState {
-        BUILD_HEAP, // Building the max heap
-        HEAPIFY, // Heapifying a subtree
-        EXTRACT_MAX, // Extracting the maximum element
-        COMPLETE // Sorting is complete
+        BUILD_HEAP,     // Starting the sift-down of the next inner node, from the last one up to the root
+        EXTRACT_MAX,    // Moving the root behind the heap and starting the sift-down of the new root
+        SIFTING,        // Classic sift-down: one comparison per step, then a swap one level down
+        DESCENDING,     // Bottom-up: following the larger child down to a leaf, one comparison per step
+        CLIMBING,       // Bottom-up: comparing the sifted element with the path from the leaf upwards
+        SHIFTING        // Bottom-up: moving the path up one level, one swap per step
     }
     private HeapSortInternalState currentState;
-    
-    // For heapify state
-    private int heapifyRoot; // Current root being heapified
-    private int heapifyLeft; // Left child of the root
-    private int heapifyRight; // Right child of the root
-    private boolean heapifySwapped; // Whether a swap occurred during heapify
 
     public HeapSort() {
-        // Constructor
+        this(2, false);
+    }
+
+    /**
+     * Creates a heap sort on a heap of the given arity.
+     * @param arity The number of children per node, from MIN_ARITY to MAX_ARITY.
+     * @param bottomUp Whether to use Floyd's bottom-up sift-down instead of the classic one.
+     */
+    public HeapSort(int arity, boolean bottomUp) {
+        if (arity < MIN_ARITY || arity > MAX_ARITY) {
+            throw new IllegalArgumentException("Heap arity must be between " + MIN_ARITY + " and " + MAX_ARITY + ": " + arity);
+        }
+        this.arity = arity;
+        this.bottomUp = bottomUp;
     }
 
     @Override
@@ -44,11 +84,12 @@ public class HeapSort extends AbstractSortAlgorithm {
     public void reset() {
         this.n = (this.elements != null) ? this.elements.size() : 0;
         this.heapSize = n;
-        this.i = n / 2 - 1; // Start from the last non-leaf node
-        this.sortedCount = 0;
+        this.buildIndex = (n - 2) / arity; // The last inner node: the parent of the last element
+        this.building = true;
+        this.levelsShown = 0;
         this.isSortedFlag = (n <= 1);
         this.currentState = HeapSortInternalState.BUILD_HEAP;
-        
+
         if (this.elements != null && this.callback != null) {
             for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
         }
@@ -56,7 +97,20 @@ public class HeapSort extends AbstractSortAlgorithm {
 
     @Override
     public String getName() {
-        return "Heap Sort";
+        if (arity == 2 && !bottomUp) {
+            return "Heap Sort";
+        }
+        String heap = (arity == 2) ? "" : arity + "-ary";
+        String sift = bottomUp ? "bottom-up" : "";
+        return "Heap Sort (" + heap + (heap.isEmpty() || sift.isEmpty() ? "" : ", ") + sift + ")";
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public boolean isBottomUp() {
+        return bottomUp;
     }
 
     @Override
@@ -66,6 +120,7 @@ public class HeapSort extends AbstractSortAlgorithm {
                 for (SortElement el : elements) {
                     if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
                 }
+                clearLevels();
                 callback.requestVisualUpdate();
             }
             isSortedFlag = true;
@@ -73,168 +128,190 @@ public class HeapSort extends AbstractSortAlgorithm {
         }
 
         switch (currentState) {
-            case BUILD_HEAP:
+            case BUILD_HEAP -> {
                 return handleBuildHeap();
-                
-            case HEAPIFY:
-                return handleHeapify();
-                
-            case EXTRACT_MAX:
+            }
+            case EXTRACT_MAX -> {
                 return handleExtractMax();
-                
-            case COMPLETE:
-                isSortedFlag = true;
-                return false;
-                
-            default:
+            }
+            case SIFTING -> {
+                return handleSifting();
+            }
+            case DESCENDING -> {
+                return handleDescending();
+            }
+            case CLIMBING -> {
+                return handleClimbing();
+            }
+            case SHIFTING -> {
+                return handleShifting();
+            }
+            default -> {
                 isSortedFlag = true;
                 return false;
+            }
         }
     }
 
     private boolean handleBuildHeap() {
-        if (i >= 0) {
-            // Start heapify for the current node
-            heapifyRoot = i;
-            heapifyLeft = 2 * i + 1;
-            heapifyRight = 2 * i + 2;
-            largest = heapifyRoot;
-            heapifySwapped = false;
-            
-            // Highlight the current subtree
-            callback.reportElementStateChange(heapifyRoot, ElementState.PIVOT);
-            if (heapifyLeft < heapSize) {
-                callback.reportElementStateChange(heapifyLeft, ElementState.COMPARE);
-            }
-            if (heapifyRight < heapSize) {
-                callback.reportElementStateChange(heapifyRight, ElementState.COMPARE);
-            }
-            
-            currentState = HeapSortInternalState.HEAPIFY;
-            callback.requestVisualUpdate();
+        if (buildIndex == (n - 2) / arity) {
+            showLevels();
+        }
+        if (buildIndex >= 0) {
+            startSift(buildIndex--);
             return true;
-        } else {
-            // Heap is built, start extracting max elements
-            i = heapSize - 1;
-            currentState = HeapSortInternalState.EXTRACT_MAX;
+        }
+        building = false;
+        currentState = HeapSortInternalState.EXTRACT_MAX;
+        return true;
+    }
+
+    private boolean handleExtractMax() {
+        if (heapSize > 1) {
+            // Move the maximum behind the heap and sift the element that replaced it
+            swap(0, heapSize - 1);
+            callback.reportElementStateChange(heapSize - 1, ElementState.SORTED);
+            heapSize--;
+            showLevels();
+            startSift(0);
             return true;
         }
+        callback.reportElementStateChange(0, ElementState.SORTED);
+        clearLevels();
+        isSortedFlag = true;
+        callback.requestVisualUpdate();
+        return false;
+    }
+
+    private void startSift(int root) {
+        siftRoot = root;
+        callback.reportElementStateChange(root, ElementState.PIVOT);
+        if (bottomUp) {
+            path[0] = root;
+            pathLen = 1;
+            beginDescent(root);
+            currentState = HeapSortInternalState.DESCENDING;
+        } else {
+            largest = root;
+            beginChildren(root);
+            currentState = HeapSortInternalState.SIFTING;
+        }
+        callback.requestVisualUpdate();
+    }
+
+    // Sets child and childEnd to the children of node that are still inside the heap
+    private void beginChildren(int node) {
+        long first = (long) arity * node + 1;
+        child = (int) Math.min(first, heapSize);
+        childEnd = (int) Math.min(first + arity, heapSize);
     }
 
-    private boolean handleHeapify() {
-        // Find the largest among root, left child and right child
-        if (heapifyLeft < heapSize && !heapifySwapped) {
-            callback.reportCompare(largest, heapifyLeft);
-            if (elements.get(heapifyLeft).getValue() > elements.get(largest).getValue()) {
-                largest = heapifyLeft;
+    private boolean handleSifting() {
+        if (child < childEnd) {
+            callback.reportCompare(largest, child);
+            if (value(child) > value(largest)) {
+                largest = child;
             }
-            callback.requestVisualUpdate();
-            heapifySwapped = true;
+            child++;
             return true;
-        } else if (heapifyRight < heapSize && heapifySwapped) {
-            callback.reportCompare(largest, heapifyRight);
-            if (elements.get(heapifyRight).getValue() > elements.get(largest).getValue()) {
-                largest = heapifyRight;
-            }
-            callback.requestVisualUpdate();
-            heapifySwapped = false;
-            
-            // If largest is not root, swap and continue heapifying
-            if (largest != heapifyRoot) {
-                swap(heapifyRoot, largest);
-                
-                // Continue heapifying the affected subtree
-                heapifyRoot = largest;
-                heapifyLeft = 2 * heapifyRoot + 1;
-                heapifyRight = 2 * heapifyRoot + 2;
-                largest = heapifyRoot;
-                
-                // Highlight the new subtree
-                for (int k = 0; k < heapSize; k++) {
-                    if (elements.get(k).getState() != ElementState.SORTED) {
-                        elements.get(k).setState(ElementState.NORMAL);
-                    }
-                }
-                callback.reportElementStateChange(heapifyRoot, ElementState.PIVOT);
-                if (heapifyLeft < heapSize) {
-                    callback.reportElementStateChange(heapifyLeft, ElementState.COMPARE);
-                }
-                if (heapifyRight < heapSize) {
-                    callback.reportElementStateChange(heapifyRight, ElementState.COMPARE);
-                }
-                callback.requestVisualUpdate();
-                return true;
-            } else {
-                // Reset states and move to the next node in build heap
-                for (int k = 0; k < heapSize; k++) {
-                    if (elements.get(k).getState() != ElementState.SORTED) {
-                        elements.get(k).setState(ElementState.NORMAL);
-                    }
-                }
-                i--;
-                currentState = HeapSortInternalState.BUILD_HEAP;
-                callback.requestVisualUpdate();
-                return true;
-            }
-        } else {
-            // This case should not be reached normally
-            i--;
-            currentState = HeapSortInternalState.BUILD_HEAP;
+        }
+        if (largest == siftRoot) {
+            // Larger than all its children (or a leaf): the sifted element has arrived
+            finishSift(siftRoot);
             return true;
         }
+        swap(siftRoot, largest);
+        siftRoot = largest;
+        beginChildren(siftRoot);
+        return true;
     }
 
-    private boolean handleExtractMax() {
-        if (i > 0) {
-            // Swap the root (maximum element) with the last element
-            callback.reportElementStateChange(0, ElementState.PIVOT);
-            callback.reportElementStateChange(i, ElementState.SWAP);
-            swap(0, i);
-            
-            // Mark the last element as sorted
-            callback.reportElementStateChange(i, ElementState.SORTED);
-            sortedCount++;
-            
-            // Reduce heap size and heapify the root
-            heapSize--;
-            heapifyRoot = 0;
-            heapifyLeft = 1;
-            heapifyRight = 2;
-            largest = heapifyRoot;
-            heapifySwapped = false;
-            
-            // Highlight the new subtree for heapify
-            for (int k = 0; k < heapSize; k++) {
-                if (elements.get(k).getState() != ElementState.SORTED) {
-                    elements.get(k).setState(ElementState.NORMAL);
-                }
-            }
-            callback.reportElementStateChange(heapifyRoot, ElementState.PIVOT);
-            if (heapifyLeft < heapSize) {
-                callback.reportElementStateChange(heapifyLeft, ElementState.COMPARE);
+    private boolean handleDescending() {
+        if (child < childEnd) {
+            callback.reportCompare(largest, child);
+            if (value(child) > value(largest)) {
+                largest = child;
             }
-            if (heapifyRight < heapSize) {
-                callback.reportElementStateChange(heapifyRight, ElementState.COMPARE);
-            }
-            
-            currentState = HeapSortInternalState.HEAPIFY;
-            i--;
-            callback.requestVisualUpdate();
+            child++;
             return true;
-        } else {
-            // Last element, mark it as sorted
-            callback.reportElementStateChange(0, ElementState.SORTED);
-            sortedCount++;
-            
-            // Check if all elements are sorted
-            if (sortedCount == n) {
-                currentState = HeapSortInternalState.COMPLETE;
-                isSortedFlag = true;
+        }
+        if (largest >= 0) {
+            path[pathLen++] = largest;
+            beginDescent(largest);
+            return true;
+        }
+        // A leaf: climb back up to where the sifted element belongs
+        target = pathLen - 1;
+        currentState = HeapSortInternalState.CLIMBING;
+        return true;
+    }
+
+    // The first child becomes the larger child for free; every further child costs a comparison
+    private void beginDescent(int node) {
+        beginChildren(node);
+        largest = (child < childEnd) ? child++ : -1;
+    }
+
+    private boolean handleClimbing() {
+        if (target > 0) {
+            callback.reportCompare(siftRoot, path[target]);
+            if (value(path[target]) < value(siftRoot)) {
+                target--;
+                return true;
             }
-            
-            callback.requestVisualUpdate();
-            return !isSortedFlag;
         }
+        shiftPos = 0;
+        currentState = HeapSortInternalState.SHIFTING;
+        return true;
+    }
+
+    // Moves path[1..target] up one level and the sifted element down to path[target]
+    private boolean handleShifting() {
+        if (shiftPos < target) {
+            swap(path[shiftPos], path[shiftPos + 1]);
+            shiftPos++;
+            return true;
+        }
+        finishSift(path[target]);
+        return true;
+    }
+
+    private void finishSift(int position) {
+        callback.reportElementStateChange(position, ElementState.NORMAL);
+        currentState = building ? HeapSortInternalState.BUILD_HEAP : HeapSortInternalState.EXTRACT_MAX;
+    }
+
+    private int value(int index) {
+        return elements.get(index).getValue();
+    }
+
+    // Shades each level of the heap as a region, only redrawn when the heap changes size
+    private void showLevels() {
+        if (isVisualSuppressed()) return;
+
+        int shown = 0;
+        long start = 0, width = 1;
+        while (start < heapSize) {
+            callback.reportRegion(shown++, (int) start, (int) Math.min(start + width, heapSize) - 1);
+            start += width;
+            width *= arity;
+        }
+        for (int id = shown; id < levelsShown; id++) callback.clearRegion(id);
+        levelsShown = shown;
+        callback.reportOverlay(List.of(String.format("%d-ary heap of %d, %d levels, %s sift-down",
+                arity, heapSize, levels(heapSize), bottomUp ? "bottom-up" : "classic")));
+    }
+
+    private void clearLevels() {
+        callback.reportOverlay(List.of());
+        for (int id = 0; id < levelsShown; id++) callback.clearRegion(id);
+        levelsShown = 0;
+    }
+
+    private int levels(int size) {
+        int levels = 0;
+        for (long start = 0, width = 1; start < size; start += width, width *= arity) levels++;
+        return levels;
     }
 
     @Override
@@ -0,0 +1,61 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Formats bucket counts as text bars for the SortPanel overlay. Large histograms are folded into
+ * at most MAX_ROWS rows, each row summing a run of adjacent buckets.
+ */
+final class HistogramOverlay {
+
+    private static final int MAX_ROWS = 16;
+    private static final int BAR_WIDTH = 30;
+
+    /**
+     * Formats a histogram below a title line.
+     * @param title The first line of the overlay.
+     * @param counts The bucket counts.
+     * @return The overlay lines.
+     */
+    static List<String> format(String title, int[] counts) {
+        return format(title, counts, Integer::toHexString);
+    }
+
+    /**
+     * Formats a histogram whose buckets stand for consecutive values, labelled with the values in decimal.
+     * @param title The first line of the overlay.
+     * @param counts The bucket counts.
+     * @param firstValue The value of bucket 0.
+     * @return The overlay lines.
+     */
+    static List<String> format(String title, int[] counts, int firstValue) {
+        return format(title, counts, b -> Integer.toString(firstValue + b));
+    }
+
+    private static List<String> format(String title, int[] counts, IntFunction<String> label) {
+        List<String> lines = new ArrayList<>();
+        lines.add(title);
+        int bucketsPerRow = (counts.length + MAX_ROWS - 1) / MAX_ROWS;
+        int rows = (counts.length + bucketsPerRow - 1) / bucketsPerRow;
+        long[] rowCounts = new long[rows];
+        long largest = 0;
+        for (int row = 0; row < rows; row++) {
+            int end = Math.min(counts.length, (row + 1) * bucketsPerRow);
+            for (int b = row * bucketsPerRow; b < end; b++) rowCounts[row] += counts[b];
+            largest = Math.max(largest, rowCounts[row]);
+        }
+        for (int row = 0; row < rows; row++) {
+            int first = row * bucketsPerRow;
+            int last = Math.min(counts.length, first + bucketsPerRow) - 1;
+            String rowLabel = (first == last) ? label.apply(first) : label.apply(first) + "-" + label.apply(last);
+            int bar = (largest == 0) ? 0 : (int) (rowCounts[row] * BAR_WIDTH / largest);
+            lines.add(String.format("%9s %7d %s", rowLabel, rowCounts[row], "#".repeat(bar)));
+        }
+        return lines;
+    }
+
+    // Private constructor to prevent instantiation
+    private HistogramOverlay() {}
+}
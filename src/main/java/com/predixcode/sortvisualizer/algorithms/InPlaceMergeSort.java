@@ -0,0 +1,320 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Stable merge sort without an element buffer. Blocks of BLOCK_SIZE elements are insertion sorted, and then
+ * blocks of doubling width are merged bottom-up with SymMerge (Kim and Kutzner), the rotation-based merge used by
+ * Go's sort.Stable: a binary search finds a split point such that rotating the middle of the two runs leaves two
+ * smaller, independent merges on either side of the center. Rotations are done with three reversals, so elements
+ * only ever move by swapping.
+ *
+ * The cost is O(n log^2 n) swaps instead of O(n log n) moves. The only extra memory is the stack of pending
+ * merges and rotations, a few ints per level of SymMerge's recursion.
+ */
+public class InPlaceMergeSort extends AbstractSortAlgorithm {
+
+    // Blocks of this size are insertion sorted before merging starts
+    private static final int BLOCK_SIZE = 20;
+
+    // Frame kinds
+    private static final int SYM_MERGE = 0;
+    private static final int ROTATE = 1;
+
+    // Initial capacity of the frame stack, which grows only if SymMerge recurses unusually deep
+    private static final int INITIAL_FRAMES = 64;
+
+    // Pending merges and rotations of [a, m) and [m, b)
+    private int[] frameKind;
+    private int[] frameA;
+    private int[] frameM;
+    private int[] frameB;
+    private int stackSize;
+    private int maxStackSize;
+
+    // Bottom-up driver
+    private int width;
+    private int nextMergeStart;
+
+    // Insertion sort of one block
+    private int blockStart, blockEnd;
+    private int index, j;
+
+    // Rotation as three reversals of [a, m), [m, b) and [a, b)
+    private int rotateA, rotateM, rotateB;
+    private int reversal;
+    private int reverseLo, reverseHi;
+    private boolean isSortedFlag = false;
+
+    private enum InPlaceMergeInternalState {
+        INSERTION_SORTING,  // Insertion sorting each block, one comparison (and swap) per step
+        NEXT_MERGE,         // Starting the merge of the next pair of runs at the current width
+        SYM_MERGING,        // Handling the next pending frame: a SymMerge split or the start of a rotation
+        ROTATING            // Reversing, one swap per step
+    }
+    private InPlaceMergeInternalState currentState;
+    private int n;
+
+    public InPlaceMergeSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.frameKind = new int[INITIAL_FRAMES];
+        this.frameA = new int[INITIAL_FRAMES];
+        this.frameM = new int[INITIAL_FRAMES];
+        this.frameB = new int[INITIAL_FRAMES];
+        this.stackSize = 0;
+        this.maxStackSize = 0;
+        this.width = BLOCK_SIZE;
+        this.nextMergeStart = 0;
+        this.blockStart = 0;
+        this.blockEnd = Math.min(BLOCK_SIZE, n);
+        this.index = 1;
+        this.j = 1;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = InPlaceMergeInternalState.INSERTION_SORTING;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "In-Place Merge Sort";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case INSERTION_SORTING -> {
+                return handleInsertionSorting();
+            }
+            case NEXT_MERGE -> {
+                return handleNextMerge();
+            }
+            case SYM_MERGING -> {
+                return handleSymMerging();
+            }
+            case ROTATING -> {
+                return handleRotating();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    /**
+     * Gets the largest number of pending merges and rotations during the last run, which is all the extra
+     * memory the sort needs besides a fixed handful of fields.
+     * @return The maximum frame stack size.
+     */
+    public int getMaxStackSize() {
+        return maxStackSize;
+    }
+
+    private boolean handleInsertionSorting() {
+        if (index < blockEnd) {
+            if (j > blockStart) {
+                callback.reportCompare(j - 1, j);
+                if (value(j - 1) > value(j)) {
+                    swap(j - 1, j);
+                    j--;
+                    return true;
+                }
+            }
+            index++;
+            j = index;
+            return true;
+        }
+        blockStart = blockEnd;
+        if (blockStart >= n) {
+            currentState = InPlaceMergeInternalState.NEXT_MERGE;
+            publishOverlay();
+            return true;
+        }
+        blockEnd = Math.min(blockStart + BLOCK_SIZE, n);
+        index = blockStart + 1;
+        j = index;
+        return true;
+    }
+
+    private boolean handleNextMerge() {
+        if (nextMergeStart + width >= n) {
+            // No right-hand run left at this width: move on to the next width, or finish
+            if (width >= n) {
+                for (SortElement el : elements) el.setState(ElementState.SORTED);
+                callback.reportOverlay(List.of());
+                isSortedFlag = true;
+                return false;
+            }
+            width *= 2;
+            nextMergeStart = 0;
+            publishOverlay();
+            return true;
+        }
+        int a = nextMergeStart, m = a + width, b = Math.min(a + 2 * width, n);
+        nextMergeStart = b;
+        push(SYM_MERGE, a, m, b);
+        currentState = InPlaceMergeInternalState.SYM_MERGING;
+        return true;
+    }
+
+    private boolean handleSymMerging() {
+        if (stackSize == 0) {
+            currentState = InPlaceMergeInternalState.NEXT_MERGE;
+            return true;
+        }
+        stackSize--;
+        int kind = frameKind[stackSize], a = frameA[stackSize], m = frameM[stackSize], b = frameB[stackSize];
+        if (kind == ROTATE) {
+            startRotation(a, m, b);
+        } else {
+            symMerge(a, m, b);
+        }
+        return true;
+    }
+
+    /**
+     * One level of SymMerge of the sorted runs [a, m) and [m, b): queues a rotation and the two smaller merges it
+     * leaves, or, when one run is a single element, a binary search and a one-place rotation.
+     */
+    private void symMerge(int a, int m, int b) {
+        if (m - a == 1) {
+            // Insert the lone left element after every right element that is smaller
+            int i = m, k = b;
+            while (i < k) {
+                int h = (i + k) >>> 1;
+                if (less(h, a)) i = h + 1;
+                else k = h;
+            }
+            if (i - 1 > a) push(ROTATE, a, a + 1, i);
+            return;
+        }
+        if (b - m == 1) {
+            // Insert the lone right element before every left element that is larger
+            int i = a, k = m;
+            while (i < k) {
+                int h = (i + k) >>> 1;
+                if (!less(m, h)) i = h + 1;
+                else k = h;
+            }
+            if (m > i) push(ROTATE, i, m, b);
+            return;
+        }
+
+        int mid = (a + b) >>> 1;
+        int total = mid + m;
+        int start, r;
+        if (m > mid) {
+            start = total - b;
+            r = mid;
+        } else {
+            start = a;
+            r = m;
+        }
+        int p = total - 1;
+        while (start < r) {
+            int c = (start + r) >>> 1;
+            if (!less(p - c, c)) start = c + 1;
+            else r = c;
+        }
+        int end = total - start;
+
+        // Popped in reverse: the rotation first, then the left merge, then the right merge
+        if (mid < end && end < b) push(SYM_MERGE, mid, end, b);
+        if (a < start && start < mid) push(SYM_MERGE, a, start, mid);
+        if (start < m && m < end) push(ROTATE, start, m, end);
+    }
+
+    private void startRotation(int a, int m, int b) {
+        rotateA = a;
+        rotateM = m;
+        rotateB = b;
+        reversal = 0;
+        reverseLo = a;
+        reverseHi = m - 1;
+        currentState = InPlaceMergeInternalState.ROTATING;
+    }
+
+    // [a, m) [m, b) becomes [m, b) [a, m) by reversing both parts and then the whole range
+    private boolean handleRotating() {
+        if (reverseLo < reverseHi) {
+            swap(reverseLo++, reverseHi--);
+            return true;
+        }
+        reversal++;
+        if (reversal == 1) {
+            reverseLo = rotateM;
+            reverseHi = rotateB - 1;
+        } else if (reversal == 2) {
+            reverseLo = rotateA;
+            reverseHi = rotateB - 1;
+        } else {
+            currentState = InPlaceMergeInternalState.SYM_MERGING;
+        }
+        return true;
+    }
+
+    private void push(int kind, int a, int m, int b) {
+        if (stackSize == frameKind.length) {
+            frameKind = Arrays.copyOf(frameKind, stackSize * 2);
+            frameA = Arrays.copyOf(frameA, stackSize * 2);
+            frameM = Arrays.copyOf(frameM, stackSize * 2);
+            frameB = Arrays.copyOf(frameB, stackSize * 2);
+        }
+        frameKind[stackSize] = kind;
+        frameA[stackSize] = a;
+        frameM[stackSize] = m;
+        frameB[stackSize] = b;
+        stackSize++;
+        maxStackSize = Math.max(maxStackSize, stackSize);
+    }
+
+    private boolean less(int a, int b) {
+        callback.reportCompare(a, b);
+        return value(a) < value(b);
+    }
+
+    private int value(int index) {
+        return elements.get(index).getValue();
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(List.of(
+                blockStart < n ? "insertion sorting blocks of " + BLOCK_SIZE : "merging runs of " + width + " in place",
+                "extra memory: " + maxStackSize + " pending frames at most, no element buffer"));
+    }
+}
@@ -6,23 +6,61 @@ import com.predixcode.sortvisualizer.core.StepCallback;
 import com.predixcode.sortvisualizer.ui.SortElement;
 import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
 
+/**
+ * Insertion sort, finding each key's place with a linear scan, a binary search or a galloping (exponential)
+ * search. The linear scan compares and shifts one element per step, as in the textbook version. The searches
+ * cut comparisons to O(n log n), or to about n on sorted input when galloping from the right end, and then shift
+ * the whole block between the key's place and its old position in one step. The number of moves stays the same:
+ * every shifted element and the key itself are reported as writes, and every comparison as a compare.
+ */
 public class InsertionSort extends AbstractSortAlgorithm {
 
+    /**
+     * How the place of each key in the sorted prefix is found.
+     */
+    public enum SearchMode {
+        LINEAR("linear"),      // Comparing and shifting from the key's position leftwards, one element per step
+        BINARY("binary"),      // Binary search over the whole sorted prefix
+        GALLOPING("galloping"); // Probing 1, 2, 4, 8, ... places left of the key, then a binary search in the last gap
+
+        private final String displayName;
+
+        SearchMode(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final SearchMode searchMode;
+
     private int i; // Outer loop index: current element to be inserted into sorted portion
     private int j; // Inner loop index: used for shifting elements in the sorted portion
     private SortElement keyElement; // The element currently being inserted
+    private int searchLo, searchHi; // Binary search bounds: the key's place is in [searchLo, searchHi]
+    private int gallopOffset; // Distance left of the key of the next galloping probe
     private boolean isSortedFlag = false;
 
     private enum InsertionSortInternalState {
         SELECTING_KEY,  // Picking the next element to insert
         SHIFTING_ELEMENTS, // Comparing key with sorted portion and shifting
+        GALLOPING,      // Probing ever farther left of the key until an element is not larger than it
+        BINARY_SEARCHING, // Halving the range the key's place can be in, one comparison per step
+        BLOCK_SHIFTING, // Shifting everything between the key's place and its old position right at once
         INSERTING_KEY   // Placing the key in its correct position
     }
     private InsertionSortInternalState currentState;
     private int n; // Size of the array
 
     public InsertionSort() {
-        // Constructor
+        this(SearchMode.LINEAR);
+    }
+
+    public InsertionSort(SearchMode searchMode) {
+        this.searchMode = searchMode;
     }
 
     @Override
@@ -51,13 +89,20 @@ public class InsertionSort extends AbstractSortAlgorithm {
 
     @Override
     public String getName() {
-        return "Insertion Sort";
+        return searchMode == SearchMode.LINEAR ? "Insertion Sort" : "Insertion Sort (" + searchMode + ")";
+    }
+
+    public SearchMode getSearchMode() {
+        return searchMode;
     }
 
     @Override
     public boolean nextStep() {
         if (isSortedFlag || callback.isStopRequested() || n == 0) {
             if (!isSortedFlag && n > 0) { // Stopped early or before completion
+                if (currentState != InsertionSortInternalState.SELECTING_KEY && keyElement != null) {
+                    elements.set(j + 1, keyElement); // Stopped mid-insertion: fill the hole with the key
+                }
                 for (SortElement el : elements) { // Reset non-sorted visual states
                     if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
                 }
@@ -74,6 +119,15 @@ public class InsertionSort extends AbstractSortAlgorithm {
             case SHIFTING_ELEMENTS -> {
                 return handleShiftingElements();
             }
+            case GALLOPING -> {
+                return handleGalloping();
+            }
+            case BINARY_SEARCHING -> {
+                return handleBinarySearching();
+            }
+            case BLOCK_SHIFTING -> {
+                return handleBlockShifting();
+            }
             case INSERTING_KEY -> {
                 return handleInsertingKey();
             }
@@ -85,12 +139,14 @@ public class InsertionSort extends AbstractSortAlgorithm {
     }
 
     private boolean handleSelectingKey() {
-        // Reset states from previous step (except already sorted ones)
-        for(int k=0; k < i && k < n; k++) { // Ensure elements up to i-1 are marked sorted
-            if(elements.get(k).getState() != ElementState.SORTED) elements.get(k).setState(ElementState.SORTED);
-        }
-        for(int k=i; k < n; k++) { // Reset elements yet to be processed
-             if(elements.get(k).getState() != ElementState.SORTED) elements.get(k).setState(ElementState.NORMAL);
+        // Reset states from previous step (except already sorted ones); skipped during bulk runs
+        if (!isVisualSuppressed()) {
+            for(int k=0; k < i && k < n; k++) { // Ensure elements up to i-1 are marked sorted
+                if(elements.get(k).getState() != ElementState.SORTED) elements.get(k).setState(ElementState.SORTED);
+            }
+            for(int k=i; k < n; k++) { // Reset elements yet to be processed
+                 if(elements.get(k).getState() != ElementState.SORTED) elements.get(k).setState(ElementState.NORMAL);
+            }
         }
 
 
@@ -98,7 +154,19 @@ public class InsertionSort extends AbstractSortAlgorithm {
             keyElement = elements.get(i); // Get the actual SortElement object
             callback.reportElementStateChange(i, ElementState.PIVOT); // Highlight key element
             j = i - 1;
-            currentState = InsertionSortInternalState.SHIFTING_ELEMENTS;
+            switch (searchMode) {
+                case BINARY -> {
+                    searchLo = 0;
+                    searchHi = i;
+                    currentState = InsertionSortInternalState.BINARY_SEARCHING;
+                }
+                case GALLOPING -> {
+                    searchHi = i;
+                    gallopOffset = 1;
+                    currentState = InsertionSortInternalState.GALLOPING;
+                }
+                default -> currentState = InsertionSortInternalState.SHIFTING_ELEMENTS;
+            }
             callback.requestVisualUpdate();
             return true;
         } else {
@@ -111,14 +179,16 @@ public class InsertionSort extends AbstractSortAlgorithm {
     }
 
     private boolean handleShiftingElements() {
-        if (j >= 0 && elements.get(j).getValue() > keyElement.getValue()) {
+        if (j >= 0) {
             // Highlight comparison
             callback.reportCompare(j, i); // Comparing element at 'j' with original position of keyElement 'i'
                                           // or with keyElement itself if we had a way to show that
-            
+        }
+        if (j >= 0 && elements.get(j).getValue() > keyElement.getValue()) {
             // Shift element at j to j+1
             SortElement elementToShift = elements.get(j);
             elements.set(j + 1, elementToShift); // Move the SortElement object
+            callback.reportWrite(j + 1);
             callback.reportElementStateChange(j + 1, ElementState.SWAP); // Mark as being moved/swapped
             if (j==i-1) { // If this is the first shift for the current keyElement
                  elements.get(i).setState(ElementState.NORMAL); // Original key position becomes "empty" or normal
@@ -136,18 +206,66 @@ public class InsertionSort extends AbstractSortAlgorithm {
         }
     }
 
+    // Everything at or right of searchHi is known to be larger than the key
+    private boolean handleGalloping() {
+        int probe = i - gallopOffset;
+        if (probe >= 0) {
+            callback.reportCompare(probe, i);
+            if (elements.get(probe).getValue() > keyElement.getValue()) {
+                searchHi = probe;
+                gallopOffset *= 2;
+                return true;
+            }
+        }
+        // The key goes after probe, and not after searchHi: search what is left in between
+        searchLo = Math.max(probe + 1, 0);
+        currentState = InsertionSortInternalState.BINARY_SEARCHING;
+        return true;
+    }
+
+    // Finds the first element of the sorted prefix that is larger than the key, so equal keys stay in order
+    private boolean handleBinarySearching() {
+        if (searchLo < searchHi) {
+            int mid = (searchLo + searchHi) >>> 1;
+            callback.reportCompare(mid, i);
+            if (elements.get(mid).getValue() > keyElement.getValue()) {
+                searchHi = mid;
+            } else {
+                searchLo = mid + 1;
+            }
+            return true;
+        }
+        currentState = InsertionSortInternalState.BLOCK_SHIFTING;
+        return true;
+    }
+
+    // Moves [searchLo, i) one place right in one step; the key then goes into searchLo
+    private boolean handleBlockShifting() {
+        for (int k = i; k > searchLo; k--) {
+            elements.set(k, elements.get(k - 1));
+            callback.reportWrite(k);
+        }
+        j = searchLo - 1;
+        currentState = InsertionSortInternalState.INSERTING_KEY;
+        callback.requestVisualUpdate();
+        return true;
+    }
+
     private boolean handleInsertingKey() {
         // Insert keyElement at arr[j + 1]
         elements.set(j + 1, keyElement);
+        callback.reportWrite(j + 1);
         callback.reportElementStateChange(j + 1, ElementState.SORTED); // Key element is now in sorted position
 
         // The element that was originally at i (keyElement) is now at j+1.
         // Other elements have been shifted.
         // All elements from 0 to 'i' are now sorted.
-        for (int k = 0; k <= i; k++) {
-             if (elements.get(k).getState() != ElementState.SORTED) { // Ensure they are marked sorted
-                elements.get(k).setState(ElementState.SORTED);
-             }
+        if (!isVisualSuppressed()) {
+            for (int k = 0; k <= i; k++) {
+                 if (elements.get(k).getState() != ElementState.SORTED) { // Ensure they are marked sorted
+                    elements.get(k).setState(ElementState.SORTED);
+                 }
+            }
         }
         
         i++; // Move to the next element to be inserted
@@ -0,0 +1,240 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.predixcode.sortvisualizer.core.InstrumentedList;
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Visualizes an ordinary, unmodified sort such as {@code List::sort} or a library sort.
+ * On the first step the sort is run once at full speed against an InstrumentedList over a copy of the
+ * elements, recording every read, write and comparison. The recording is then replayed one access per step
+ * on the real elements, so the sort appears in the visualizer like any other Algorithm.
+ */
+public class InstrumentedListSort extends AbstractSortAlgorithm {
+
+    private static final int OP_READ = 0;
+    private static final int OP_WRITE = 1;
+    private static final int OP_COMPARE = 2;
+
+    private final String name;
+    private final BiConsumer<List<SortElement>, Comparator<SortElement>> sorter;
+
+    // Recorded trace: one entry per access. For writes, operandB is the element's index before the sort.
+    private int[] opCodes;
+    private int[] operandA;
+    private int[] operandB;
+    private int traceLength;
+    private int replayIndex;
+    private SortElement[] initialOrder;
+    private boolean isSortedFlag = false;
+    private int n;
+
+    private enum InstrumentedListSortInternalState {
+        RECORDING,
+        REPLAYING
+    }
+    private InstrumentedListSortInternalState currentState;
+
+    /**
+     * Creates a visualizable wrapper around an ordinary sort.
+     * @param name The display name, for example "List.sort (TimSort)".
+     * @param sorter The sort to run. It receives the list to sort and a comparator on element values.
+     */
+    public InstrumentedListSort(String name, BiConsumer<List<SortElement>, Comparator<SortElement>> sorter) {
+        this.name = name;
+        this.sorter = sorter;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = InstrumentedListSortInternalState.RECORDING;
+        this.opCodes = new int[0];
+        this.operandA = new int[0];
+        this.operandB = new int[0];
+        this.traceLength = 0;
+        this.replayIndex = 0;
+        this.initialOrder = null;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case RECORDING -> {
+                return handleRecording();
+            }
+            case REPLAYING -> {
+                return handleReplaying();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleRecording() {
+        initialOrder = elements.toArray(new SortElement[0]);
+        Map<SortElement, Integer> initialIndex = new IdentityHashMap<>(n * 2);
+        for (int k = 0; k < n; k++) {
+            initialIndex.put(initialOrder[k], k);
+        }
+
+        // The sort works on a private copy; only the recording touches the real elements
+        List<SortElement> scratch = new ArrayList<>(Arrays.asList(initialOrder));
+        TraceRecorder recorder = new TraceRecorder(scratch, initialIndex);
+        InstrumentedList instrumented = new InstrumentedList(scratch, recorder);
+        sorter.accept(instrumented, instrumented.valueComparator());
+
+        replayIndex = 0;
+        currentState = InstrumentedListSortInternalState.REPLAYING;
+        return true;
+    }
+
+    private boolean handleReplaying() {
+        if (replayIndex >= traceLength) {
+            for (int k = 0; k < n; k++) {
+                callback.reportElementStateChange(k, ElementState.SORTED);
+            }
+            isSortedFlag = true;
+            callback.requestVisualUpdate();
+            return false;
+        }
+
+        int a = operandA[replayIndex];
+        int b = operandB[replayIndex];
+        switch (opCodes[replayIndex]) {
+            case OP_READ -> callback.reportRead(a);
+            case OP_COMPARE -> callback.reportCompare(a, b);
+            case OP_WRITE -> {
+                elements.set(a, initialOrder[b]);
+                callback.reportWrite(a);
+            }
+            default -> { }
+        }
+        replayIndex++;
+        callback.requestVisualUpdate();
+        return true;
+    }
+
+    private void record(int opCode, int a, int b) {
+        if (traceLength == opCodes.length) {
+            int newCapacity = Math.max(64, traceLength * 2);
+            opCodes = Arrays.copyOf(opCodes, newCapacity);
+            operandA = Arrays.copyOf(operandA, newCapacity);
+            operandB = Arrays.copyOf(operandB, newCapacity);
+        }
+        opCodes[traceLength] = opCode;
+        operandA[traceLength] = a;
+        operandB[traceLength] = b;
+        traceLength++;
+    }
+
+    /**
+     * Records the accesses an InstrumentedList reports while the wrapped sort runs.
+     */
+    private class TraceRecorder implements StepCallback {
+
+        private final List<SortElement> scratch;
+        private final Map<SortElement, Integer> initialIndex;
+
+        TraceRecorder(List<SortElement> scratch, Map<SortElement, Integer> initialIndex) {
+            this.scratch = scratch;
+            this.initialIndex = initialIndex;
+        }
+
+        @Override
+        public void reportCompare(int index1, int index2) {
+            record(OP_COMPARE, index1, index2);
+        }
+
+        @Override
+        public void reportSwap(int index1, int index2) {
+            // List sorts only read and write; swaps arrive as two writes
+        }
+
+        @Override
+        public void reportRead(int index) {
+            record(OP_READ, index, 0);
+        }
+
+        @Override
+        public void reportWrite(int index) {
+            record(OP_WRITE, index, initialIndex.get(scratch.get(index)));
+        }
+
+        @Override
+        public void reportElementStateChange(int index, ElementState newState) {
+        }
+
+        @Override
+        public void reportResetStates(int startIndex, int endIndex) {
+        }
+
+        @Override
+        public void reportResetStates(int... indices) {
+        }
+
+        @Override
+        public void reportOverlay(List<String> lines) {
+        }
+
+        @Override
+        public int getAnimationDelayMs() {
+            return 0;
+        }
+
+        @Override
+        public boolean isStopRequested() {
+            return false;
+        }
+
+        @Override
+        public void reportSortCompleted() {
+        }
+
+        @Override
+        public void requestVisualUpdate() {
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Introsort: quicksort with a median-of-three pivot and Hoare partitioning, which finishes ranges of
+ * INSERTION_THRESHOLD elements or fewer with insertion sort and falls back to heapsort for any range that is
+ * still being partitioned after 2 * log2(n) levels. That bounds the worst case at O(n log n), and since the
+ * smaller side is always processed first, the range stack stays at O(log n) entries.
+ *
+ * The depth budget, the pending ranges and how often each fallback was taken are shown as an overlay.
+ */
+public class IntroSort extends AbstractSortAlgorithm {
+
+    // Ranges at or below this size are insertion sorted
+    private static final int INSERTION_THRESHOLD = 16;
+
+    // A range still to be sorted, with the partitioning depth it has left
+    private static class IntroRange {
+        final int low, high, depthLeft; // inclusive
+
+        IntroRange(int low, int high, int depthLeft) {
+            this.low = low; this.high = high; this.depthLeft = depthLeft;
+        }
+    }
+
+    private Deque<IntroRange> rangeStack;
+    private IntroRange currentRange;
+    private RangeInsertionSort insertionSort;
+    private RangeHeapSort heapSort;
+    private int depthLimit;
+    private int maxStackSize;
+    private int insertionSorts;
+    private int heapSortFallbacks;
+
+    // Median-of-three and Hoare partition state
+    private int mid;
+    private int medianStep;
+    private int pivotValue;
+    private int i, j;
+    private boolean isSortedFlag = false;
+
+    private enum IntroSortInternalState {
+        NEXT_RANGE,         // Taking the next range off the stack and choosing how to sort it
+        MEDIAN_OF_THREE,    // Ordering the first, middle and last elements, one comparison per step
+        SCANNING_LEFT,      // Moving i right past elements smaller than the pivot
+        SCANNING_RIGHT,     // Moving j left past elements larger than the pivot, then swapping or splitting
+        INSERTION_SORTING,  // Finishing a small range
+        HEAP_SORTING        // Finishing a range that ran out of depth
+    }
+    private IntroSortInternalState currentState;
+    private int n;
+
+    public IntroSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.rangeStack = new ArrayDeque<>();
+        this.currentRange = null;
+        this.insertionSort = new RangeInsertionSort(this);
+        this.heapSort = new RangeHeapSort(this);
+        this.depthLimit = (n > 0) ? 2 * (31 - Integer.numberOfLeadingZeros(n)) : 0;
+        this.maxStackSize = 0;
+        this.insertionSorts = 0;
+        this.heapSortFallbacks = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = IntroSortInternalState.NEXT_RANGE;
+        if (!isSortedFlag) {
+            rangeStack.push(new IntroRange(0, n - 1, depthLimit));
+        }
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Intro Sort";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case NEXT_RANGE -> {
+                return handleNextRange();
+            }
+            case MEDIAN_OF_THREE -> {
+                return handleMedianOfThree();
+            }
+            case SCANNING_LEFT -> {
+                return handleScanningLeft();
+            }
+            case SCANNING_RIGHT -> {
+                return handleScanningRight();
+            }
+            case INSERTION_SORTING -> {
+                if (!insertionSort.step()) currentState = IntroSortInternalState.NEXT_RANGE;
+                return true;
+            }
+            case HEAP_SORTING -> {
+                if (!heapSort.step()) currentState = IntroSortInternalState.NEXT_RANGE;
+                return true;
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleNextRange() {
+        if (rangeStack.isEmpty()) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            return false;
+        }
+        currentRange = rangeStack.pop();
+        int size = currentRange.high - currentRange.low + 1;
+        if (size <= INSERTION_THRESHOLD) {
+            insertionSorts++;
+            insertionSort.start(currentRange.low, currentRange.high + 1);
+            currentState = IntroSortInternalState.INSERTION_SORTING;
+        } else if (currentRange.depthLeft == 0) {
+            heapSortFallbacks++;
+            heapSort.start(currentRange.low, currentRange.high + 1);
+            currentState = IntroSortInternalState.HEAP_SORTING;
+        } else {
+            mid = currentRange.low + (currentRange.high - currentRange.low) / 2;
+            medianStep = 0;
+            currentState = IntroSortInternalState.MEDIAN_OF_THREE;
+        }
+        publishOverlay();
+        return true;
+    }
+
+    // Sorts low, mid and high with three compare-and-swaps, leaving the median at mid
+    private boolean handleMedianOfThree() {
+        int low = currentRange.low, high = currentRange.high;
+        switch (medianStep++) {
+            case 0 -> compareAndSwap(low, mid);
+            case 1 -> compareAndSwap(mid, high);
+            default -> {
+                compareAndSwap(low, mid);
+                pivotValue = elements.get(mid).getValue();
+                callback.reportElementStateChange(mid, ElementState.PIVOT);
+                i = low;
+                j = high;
+                currentState = IntroSortInternalState.SCANNING_LEFT;
+            }
+        }
+        return true;
+    }
+
+    private boolean handleScanningLeft() {
+        callback.reportCompare(i, j);
+        if (elements.get(i).getValue() < pivotValue) {
+            i++;
+        } else {
+            currentState = IntroSortInternalState.SCANNING_RIGHT;
+        }
+        return true;
+    }
+
+    private boolean handleScanningRight() {
+        callback.reportCompare(i, j);
+        if (elements.get(j).getValue() > pivotValue) {
+            j--;
+            return true;
+        }
+        if (i < j) {
+            swap(i, j);
+            i++;
+            j--;
+            currentState = IntroSortInternalState.SCANNING_LEFT;
+            return true;
+        }
+
+        // [low, j] <= pivot <= [j + 1, high]; push the larger side first so the smaller one is sorted next
+        if (!isVisualSuppressed()) {
+            for (int k = currentRange.low; k <= currentRange.high; k++) {
+                if (elements.get(k).getState() != ElementState.SORTED) elements.get(k).setState(ElementState.NORMAL);
+            }
+        }
+        IntroRange left = new IntroRange(currentRange.low, j, currentRange.depthLeft - 1);
+        IntroRange right = new IntroRange(j + 1, currentRange.high, currentRange.depthLeft - 1);
+        boolean leftLarger = j - currentRange.low > currentRange.high - j - 1;
+        pushRange(leftLarger ? left : right);
+        pushRange(leftLarger ? right : left);
+        maxStackSize = Math.max(maxStackSize, rangeStack.size());
+        currentState = IntroSortInternalState.NEXT_RANGE;
+        callback.requestVisualUpdate();
+        return true;
+    }
+
+    private void pushRange(IntroRange range) {
+        if (range.low < range.high) {
+            rangeStack.push(range);
+        } else {
+            callback.reportElementStateChange(range.low, ElementState.SORTED);
+        }
+    }
+
+    private void compareAndSwap(int a, int b) {
+        callback.reportCompare(a, b);
+        if (elements.get(a).getValue() > elements.get(b).getValue()) swap(a, b);
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(List.of(
+                String.format("depth limit %d, this range %d-%d at depth %d", depthLimit,
+                        currentRange.low, currentRange.high, depthLimit - currentRange.depthLeft),
+                String.format("pending ranges %d (max %d)", rangeStack.size(), maxStackSize),
+                String.format("insertion sorts %d, heapsort fallbacks %d", insertionSorts, heapSortFallbacks)));
+    }
+}
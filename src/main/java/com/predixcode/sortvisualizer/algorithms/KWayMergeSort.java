@@ -0,0 +1,304 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Bottom-up k-way merge sort: runs of width 1, k, k^2, ... are merged k at a time across the whole array, one pass
+ * per width, until one run remains. Each group of k runs is merged through a loser tree (see LoserTree), which
+ * finds the next output element with about log2(k) comparisons, so a larger k needs fewer passes over the data for
+ * about the same number of comparisons: the trade an external sort makes to cut its I/O.
+ *
+ * Like BottomUpMergeSort, the passes ping-pong between the list and a buffer allocated in reset(). When the number
+ * of passes is odd the list is first copied into the buffer, which costs reads but no writes to the list, so that
+ * the last pass lands in the list. (Doing the first pass in place with insertion sort, as BottomUpMergeSort does
+ * for pairs, would cost O(k) comparisons per element for a large k.) During a pass into the list the buffer holds
+ * the whole previous pass, so a sort stopped part way copies every group not yet merged back from the buffer; the
+ * copy into the buffer and passes into the buffer leave the list complete. The runs of the group being merged are
+ * shaded as regions, and the tree is shown as an overlay with the match being played in brackets.
+ */
+public class KWayMergeSort extends AbstractSortAlgorithm {
+
+    public static final int DEFAULT_WAYS = 4;
+    public static final int MAX_WAYS = 64;
+
+    private final int ways;
+
+    private SortElement[] buffer;
+    private LoserTree tree;
+    private int n;
+    private long width;
+    private int pass, passes;
+    private boolean mergeIntoList;
+
+    // State for the current group of runs
+    private int groupLo; // Start of the group of runs being merged, or of the next group between groups
+    private int groupHi; // End (exclusive) of the current group
+    private final int[] runHead;
+    private final int[] runEnd;
+    private int out; // Index of the next output position
+    private int regionsShown;
+    private long mergedElements;
+    private boolean isSortedFlag = false;
+
+    private enum KWayMergeInternalState {
+        LOADING,    // Odd number of passes: copying the list into the buffer, one element per step
+        NEXT_GROUP, // Moving to the next group of runs in this pass, or to the next pass
+        BUILDING,   // Playing the initial tournament of the group, one match per step
+        OUTPUT,     // Moving the winner to the output and starting the replay of its path
+        REPLAYING   // Replaying the matches on the winner's path, one per step
+    }
+    private KWayMergeInternalState currentState;
+
+    public KWayMergeSort() {
+        this(DEFAULT_WAYS);
+    }
+
+    /**
+     * Creates a k-way merge sort.
+     * @param ways The number of runs merged at a time, from 2 to MAX_WAYS.
+     */
+    public KWayMergeSort(int ways) {
+        if (ways < 2 || ways > MAX_WAYS) {
+            throw new IllegalArgumentException("Ways must be between 2 and " + MAX_WAYS + ": " + ways);
+        }
+        this.ways = ways;
+        this.runHead = new int[ways];
+        this.runEnd = new int[ways];
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.buffer = new SortElement[n];
+        this.tree = new LoserTree(ways, this::reportMatch);
+        this.passes = 0;
+        for (long w = 1; w < n; w *= ways) passes++;
+        this.pass = 0;
+        this.width = 1;
+        this.mergeIntoList = (passes % 2 == 0); // Flipped as each pass starts, so the last one writes the list
+        this.mergedElements = 0;
+        this.regionsShown = 0;
+        this.isSortedFlag = (n <= 1);
+        if (passes % 2 == 1) {
+            this.out = 0;
+            this.currentState = KWayMergeInternalState.LOADING;
+        } else {
+            this.currentState = KWayMergeInternalState.NEXT_GROUP;
+        }
+        this.groupLo = n;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "K-Way Merge Sort (k=" + ways + ")";
+    }
+
+    public int getWays() {
+        return ways;
+    }
+
+    /**
+     * Gets the number of merging passes over the data, not counting the copy into the buffer if there is one.
+     * @return The pass count.
+     */
+    public int getPasses() {
+        return passes;
+    }
+
+    /**
+     * Gets the number of comparisons the last run made in its loser trees, which are all of its comparisons.
+     * @return The merge comparison count.
+     */
+    public long getMergeCompares() {
+        return tree == null ? 0 : tree.getMatches();
+    }
+
+    /**
+     * Gets the number of elements the last run output through its loser trees, over all merging passes.
+     * @return The merged element count.
+     */
+    public long getMergedElements() {
+        return mergedElements;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                restoreUnmergedGroups();
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                clearRuns();
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case LOADING -> {
+                return handleLoading();
+            }
+            case NEXT_GROUP -> {
+                return handleNextGroup();
+            }
+            case BUILDING -> {
+                return handleBuilding();
+            }
+            case OUTPUT -> {
+                return handleOutput();
+            }
+            case REPLAYING -> {
+                return handleReplaying();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleLoading() {
+        callback.reportRead(out);
+        buffer[out] = elements.get(out);
+        out++;
+        if (out == n) {
+            currentState = KWayMergeInternalState.NEXT_GROUP;
+        }
+        return true;
+    }
+
+    private boolean handleNextGroup() {
+        if (groupLo >= n) {
+            if (pass == passes) {
+                isSortedFlag = true;
+                for (SortElement el : elements) el.setState(ElementState.SORTED);
+                clearRuns();
+                callback.requestVisualUpdate();
+                return false;
+            }
+            pass++;
+            if (pass > 1) width *= ways;
+            groupLo = 0;
+            mergeIntoList = !mergeIntoList;
+        }
+
+        out = groupLo;
+        int runs = 0;
+        for (int r = 0; r < ways; r++) {
+            long start = groupLo + r * width;
+            runHead[r] = (int) Math.min(start, n);
+            runEnd[r] = (int) Math.min(start + width, n);
+            if (runHead[r] < runEnd[r]) runs = r + 1;
+            tree.setKey(r, headKey(r));
+        }
+        groupHi = runEnd[ways - 1];
+        showRuns(runs);
+        tree.beginBuild();
+        currentState = KWayMergeInternalState.BUILDING;
+        return handleBuilding();
+    }
+
+    private boolean handleBuilding() {
+        if (!tree.buildStep()) {
+            currentState = KWayMergeInternalState.OUTPUT;
+        }
+        publishOverlay();
+        return true;
+    }
+
+    private boolean handleOutput() {
+        if (tree.isExhausted()) {
+            groupLo = groupHi;
+            currentState = KWayMergeInternalState.NEXT_GROUP;
+            return true;
+        }
+        int run = tree.winner();
+        output(runHead[run]++);
+        mergedElements++;
+        tree.beginReplay(headKey(run));
+        currentState = KWayMergeInternalState.REPLAYING;
+        return handleReplaying();
+    }
+
+    private boolean handleReplaying() {
+        if (!tree.replayStep()) {
+            currentState = KWayMergeInternalState.OUTPUT;
+        }
+        publishOverlay();
+        return true;
+    }
+
+    // Stopped part way through a pass into the list: puts back the groups it has not finished as the buffer holds them
+    private void restoreUnmergedGroups() {
+        if (!mergeIntoList || currentState == KWayMergeInternalState.LOADING) return;
+        for (int k = groupLo; k < n; k++) elements.set(k, buffer[k]);
+    }
+
+    private long headKey(int run) {
+        return (runHead[run] < runEnd[run]) ? LoserTree.key(source(runHead[run]).getValue(), run) : LoserTree.EXHAUSTED;
+    }
+
+    private void reportMatch(int runA, int runB) {
+        callback.reportCompare(runHead[runA], runHead[runB]);
+    }
+
+    private SortElement source(int index) {
+        return mergeIntoList ? buffer[index] : elements.get(index);
+    }
+
+    // Moves the source element at index to the next output position
+    private void output(int index) {
+        if (mergeIntoList) {
+            elements.set(out, buffer[index]);
+            callback.reportWrite(out);
+        } else {
+            callback.reportRead(index);
+            buffer[out] = elements.get(index);
+        }
+        out++;
+    }
+
+    // Shades each run of the group as a region
+    private void showRuns(int runs) {
+        if (isVisualSuppressed()) return;
+        for (int r = 0; r < runs; r++) callback.reportRegion(r, runHead[r], runEnd[r] - 1);
+        for (int id = runs; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = runs;
+    }
+
+    private void clearRuns() {
+        callback.reportOverlay(List.of());
+        for (int id = 0; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = 0;
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("pass %d/%d: %d-way merge of runs of %d, %s, output %d/%d", pass, passes, ways,
+                width, mergeIntoList ? "buffer -> list" : "list -> buffer", out - groupLo, groupHi - groupLo));
+        lines.addAll(tree.describe());
+        callback.reportOverlay(lines);
+    }
+}
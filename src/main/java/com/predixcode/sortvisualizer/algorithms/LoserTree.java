@@ -0,0 +1,218 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tournament tree of losers over k sorted runs, the kernel of a k-way merge. Each internal node keeps the run that
+ * lost the match played there, and the overall winner is kept above the root, so after the winner's head is taken
+ * only the matches on the path from its leaf to the root are replayed: about log2(k) comparisons per output element
+ * whatever the other runs hold, instead of the k - 1 of a linear scan over the heads.
+ *
+ * Runs are identified by 0..k-1 and compete with a key per run: the value of their head together with the run index,
+ * so that equal values leave in run order and a merge of consecutive runs is stable. An exhausted run has the key
+ * EXHAUSTED, loses every match and costs no comparison. Matches are played one live match per step, so that an owner
+ * can show each one; build() and replay() play them all at once.
+ */
+final class LoserTree {
+
+    static final long EXHAUSTED = Long.MAX_VALUE;
+
+    /**
+     * Told about every match between two runs that are not exhausted, which is a comparison of their heads.
+     */
+    @FunctionalInterface
+    interface MatchListener {
+        void played(int runA, int runB);
+    }
+
+    private static final int MAX_OVERLAY_LEVELS = 4;
+
+    private final int k;
+    private final long[] keys;
+    private final int[] tree;    // tree[0] is the winner, tree[1..k-1] the loser of the match at each internal node
+    private final int[] winners; // Build only: the winner of the subtree under each internal node
+    private final MatchListener listener;
+
+    private int buildNode;       // Next internal node to play while building, counting down to 1, or 0 when built
+    private int replayNode;      // Next node on the winner's path to replay, or 0 when the path is done
+    private int candidate;       // The run going up the path
+    private int playedNode;      // The node of the last match, for the overlay
+    private long matches;
+
+    LoserTree(int k, MatchListener listener) {
+        if (k < 1) {
+            throw new IllegalArgumentException("A loser tree needs at least one run: " + k);
+        }
+        this.k = k;
+        this.keys = new long[k];
+        this.tree = new int[k];
+        this.winners = new int[k];
+        this.listener = listener;
+    }
+
+    /**
+     * Makes the key of a run, ordering by value and then by run.
+     * @param value The value at the head of the run.
+     * @param run The run.
+     * @return The key.
+     */
+    static long key(int value, int run) {
+        return ((long) value << 32) | run;
+    }
+
+    int size() {
+        return k;
+    }
+
+    /**
+     * Gets the number of matches between live runs since the tree was created, one comparison each.
+     * @return The match count.
+     */
+    long getMatches() {
+        return matches;
+    }
+
+    void setKey(int run, long key) {
+        keys[run] = key;
+    }
+
+    /**
+     * Starts a new tournament from the keys set for all runs.
+     */
+    void beginBuild() {
+        buildNode = k - 1;
+        replayNode = 0;
+        playedNode = 0;
+        if (k == 1) tree[0] = 0;
+    }
+
+    /**
+     * Plays build matches up to and including the next live one.
+     * @return true if more build steps are needed, false once the winner is known.
+     */
+    boolean buildStep() {
+        while (buildNode >= 1) {
+            int node = buildNode--;
+            int a = subtreeWinner(2 * node);
+            int b = subtreeWinner(2 * node + 1);
+            boolean live = play(node, a, b);
+            int winner = beats(a, b) ? a : b;
+            tree[node] = (winner == a) ? b : a;
+            winners[node] = winner;
+            if (node == 1) tree[0] = winner;
+            if (live) return buildNode >= 1;
+        }
+        return false;
+    }
+
+    void build() {
+        beginBuild();
+        while (buildStep()) {
+            // Plays every match
+        }
+    }
+
+    /**
+     * Gets the run whose head is the smallest, or any run if all are exhausted.
+     * @return The winning run.
+     */
+    int winner() {
+        return tree[0];
+    }
+
+    boolean isExhausted() {
+        return keys[tree[0]] == EXHAUSTED;
+    }
+
+    /**
+     * Gives the winner its next key and starts replaying the matches on its path.
+     * @param key The key of the winning run's new head, or EXHAUSTED.
+     */
+    void beginReplay(long key) {
+        candidate = tree[0];
+        keys[candidate] = key;
+        replayNode = (candidate + k) / 2;
+        playedNode = 0;
+    }
+
+    /**
+     * Replays matches on the winner's path up to and including the next live one.
+     * @return true if more replay steps are needed, false once the new winner is known.
+     */
+    boolean replayStep() {
+        while (replayNode >= 1) {
+            int node = replayNode;
+            replayNode /= 2;
+            boolean live = play(node, candidate, tree[node]);
+            if (beats(tree[node], candidate)) {
+                int loser = candidate;
+                candidate = tree[node];
+                tree[node] = loser;
+            }
+            if (replayNode == 0) tree[0] = candidate;
+            if (live) return replayNode >= 1;
+        }
+        tree[0] = candidate;
+        return false;
+    }
+
+    void replay(long key) {
+        beginReplay(key);
+        while (replayStep()) {
+            // Plays every match on the path
+        }
+    }
+
+    /**
+     * Formats the tree for an overlay, one line per level from the winner (or the run going up the path while a replay
+     * is under way) down, with the node of the last match in brackets and a dot for each match not yet built. Levels
+     * below MAX_OVERLAY_LEVELS are left out.
+     * @return The overlay lines.
+     */
+    List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        if (buildNode >= 1) {
+            lines.add("building, " + buildNode + " matches to go");
+        } else if (replayNode >= 1) {
+            lines.add("rising  " + label(candidate));
+        } else {
+            lines.add("winner  " + label(tree[0]));
+        }
+        int level = 0;
+        for (int first = 1; first < k; first *= 2, level++) {
+            if (level == MAX_OVERLAY_LEVELS) {
+                lines.add("        ... " + (k - first) + " more losers");
+                break;
+            }
+            StringBuilder line = new StringBuilder("losers ");
+            for (int node = first; node < Math.min(2 * first, k); node++) {
+                String label = (node <= buildNode) ? "." : label(tree[node]); // Not played yet
+                line.append(' ').append(node == playedNode ? "[" + label + "]" : label);
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private String label(int run) {
+        return "r" + run + ":" + (keys[run] == EXHAUSTED ? "--" : String.valueOf(keys[run] >> 32));
+    }
+
+    // A child index of k or more is the leaf of run index - k
+    private int subtreeWinner(int child) {
+        return (child >= k) ? child - k : winners[child];
+    }
+
+    private boolean beats(int runA, int runB) {
+        return keys[runA] < keys[runB];
+    }
+
+    private boolean play(int node, int runA, int runB) {
+        playedNode = node;
+        if (keys[runA] == EXHAUSTED || keys[runB] == EXHAUSTED) return false;
+        matches++;
+        listener.played(runA, runB);
+        return true;
+    }
+}
@@ -1,48 +1,52 @@
 package com.predixcode.sortvisualizer.algorithms;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
 import com.predixcode.sortvisualizer.core.StepCallback;
 import com.predixcode.sortvisualizer.ui.SortElement;
 import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
 
+/**
+ * Top-down merge sort that allocates nothing while it runs. The recursion is simulated with a fixed stack of
+ * int frames, and the auxiliary buffer is allocated once in reset() as a copy of the input. Instead of copying
+ * each merged range back, the list and the buffer swap roles at every level of the recursion (ping-pong):
+ * a range is sorted into the list by sorting its halves into the buffer and merging them back, and the other
+ * way round one level further down. The top level always merges into the list.
+ *
+ * Merges into the list show their writes; merges into the buffer show their comparisons and reads. The list only
+ * loses elements while a range is being merged into it, and the buffer then still holds that range's sorted halves,
+ * so a sort stopped part way copies the range back from the buffer.
+ */
 public class MergeSort extends AbstractSortAlgorithm {
 
-    // Structure to hold ranges for merging/sorting
-    private static class MergeRange {
-        int left, mid, right; // For merge operation
-        int start, end;      // For sort operation (recursive call simulation)
-        boolean forMerge;    // True if this range is for a merge, false for a sort call
+    // Enough frames for any int-sized array: depth is at most ceil(log2 n) + 1
+    private static final int MAX_DEPTH = 34;
 
-        MergeRange(int s, int e, boolean isMerge) {
-            this.start = s; this.end = e; this.forMerge = isMerge;
-        }
-        MergeRange(int l, int m, int r) {
-            this.left = l; this.mid = m; this.right = r; this.forMerge = true;
-        }
-    }
+    // Frame phases
+    private static final int SORT_LEFT = 0;
+    private static final int SORT_RIGHT = 1;
+    private static final int MERGE = 2;
+
+    // Simulated recursion: frame f sorts [frameLo[f], frameHi[f]] into the list if f is even, into the buffer if odd
+    private final int[] frameLo = new int[MAX_DEPTH];
+    private final int[] frameHi = new int[MAX_DEPTH];
+    private final int[] framePhase = new int[MAX_DEPTH];
+    private int stackSize;
 
-    private Deque<MergeRange> taskStack; // To simulate recursion iteratively
+    private SortElement[] buffer;
 
     // State for current merge operation
-    private List<SortElement> tempMergeArray;
-    private int k_merge; // Index for tempMergeArray
-    private int i_merge; // Index for left sub-array
-    private int j_merge; // Index for right sub-array
-    private MergeRange currentMergeOp; // Holds left, mid, right for current merge
+    private boolean mergeIntoList;
+    private int mergeLo, mergeMid, mergeHi;
+    private int i_merge; // Index into the left half
+    private int j_merge; // Index into the right half
+    private int k_merge; // Index of the next output position
     private boolean isSortedFlag = false;
 
     private enum MergeSortInternalState {
-        IDLE,               // Initial state or between major operations
-        SPLITTING,          // Simulating recursive calls by pushing to stack
-        PREPARING_MERGE,    // Setting up indices for a merge operation
-        MERGING_COMPARE,    // Comparing elements from two sub-arrays
-        MERGING_COPY_LEFT,  // Copying remaining from left
-        MERGING_COPY_RIGHT, // Copying remaining from right
-        COPYING_BACK        // Copying from temp array back to main elements list
+        SPLITTING,          // Walking the simulated recursion down to the next merge
+        MERGING_COMPARE,    // Comparing the heads of both halves and outputting the smaller
+        MERGING_COPY_REST   // Outputting what is left of the half that was not exhausted
     }
     private MergeSortInternalState currentState;
     private int n;
@@ -59,17 +63,15 @@ public class MergeSort extends AbstractSortAlgorithm {
     @Override
     public void reset() {
         this.n = (this.elements != null) ? this.elements.size() : 0;
-        this.taskStack = new ArrayDeque<>();
-        this.tempMergeArray = new ArrayList<>();
+        this.buffer = (this.elements != null) ? this.elements.toArray(new SortElement[0]) : new SortElement[0];
         this.isSortedFlag = (n <= 1);
-        this.currentState = MergeSortInternalState.IDLE;
-        this.currentMergeOp = null;
+        this.currentState = MergeSortInternalState.SPLITTING;
+        this.stackSize = 0;
 
         if (!isSortedFlag && n > 0) {
-            taskStack.push(new MergeRange(0, n - 1, false)); // Initial sort task for the whole array
-            currentState = MergeSortInternalState.SPLITTING;
+            pushFrame(0, n - 1); // Initial sort task for the whole array
         }
-        
+
         if (this.elements != null && this.callback != null) {
             for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
         }
@@ -84,6 +86,7 @@ public class MergeSort extends AbstractSortAlgorithm {
     public boolean nextStep() {
         if (isSortedFlag || callback.isStopRequested() || n == 0) {
             if (!isSortedFlag && n > 0) {
+                restoreCurrentRange();
                 for (SortElement el : elements) {
                      if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
                 }
@@ -94,31 +97,15 @@ public class MergeSort extends AbstractSortAlgorithm {
         }
 
         switch (currentState) {
-            case IDLE -> {
-                if (!taskStack.isEmpty()) currentState = MergeSortInternalState.SPLITTING;
-                else { isSortedFlag = true; return false;} // Should be caught by stack empty in SPLITTING
-                return true;
-            }
-
             case SPLITTING -> {
                 return handleSplitting();
             }
-
-            case PREPARING_MERGE -> {
-                return handlePreparingMerge();
-            }
-
             case MERGING_COMPARE -> {
                 return handleMergingCompare();
             }
-
-            case MERGING_COPY_LEFT, MERGING_COPY_RIGHT -> {
-                return handleMergingCopyRemaining();
+            case MERGING_COPY_REST -> {
+                return handleMergingCopyRest();
             }
-            case COPYING_BACK -> {
-                return handleCopyingBack();
-            }
-
             default -> {
                 isSortedFlag = true;
                 return false;
@@ -131,140 +118,99 @@ public class MergeSort extends AbstractSortAlgorithm {
         return this.isSortedFlag;
     }
 
+    // Unwinds the simulated recursion until a merge is due; splitting alone changes nothing on screen
     private boolean handleSplitting() {
-        if (taskStack.isEmpty()) {
-            // This means all sort tasks are done, and all necessary merge tasks should have been enqueued and processed.
-            // Or, if we started empty, it means we are done.
-            isSortedFlag = true;
-             for(SortElement el : elements) el.setState(ElementState.SORTED); // Final assurance
-            // callback.reportSortCompleted(); // Controller handles this
-            return false;
-        }
-
-        MergeRange task = taskStack.pop();
-
-        if (task.forMerge) { // This task was actually a placeholder to trigger merge after its children sorted
-            currentMergeOp = task; // It contains left, mid, right
-            currentState = MergeSortInternalState.PREPARING_MERGE;
-            return true;
-        }
-
-        // Else, it's a sort task (start, end)
-        int start = task.start;
-        int end = task.end;
-
-        if (start < end) {
-            int mid = start + (end - start) / 2;
-
-            // Crucial: Push merge task for (start, mid, end) *before* its children sort tasks.
-            // It will be popped *after* its children complete.
-            taskStack.push(new MergeRange(start, mid, end)); // This is forMerge=true implicitly by constructor
-
-            // Push right child sort task
-            taskStack.push(new MergeRange(mid + 1, end, false));
-            // Push left child sort task
-            taskStack.push(new MergeRange(start, mid, false));
-            
-            // Highlight the range being split (optional)
-            // for(int i=start; i<=end; i++) callback.reportElementStateChange(i, ElementState.PIVOT);
-            // callback.requestVisualUpdate();
-            // for(int i=start; i<=end; i++) callback.reportElementStateChange(i, ElementState.NORMAL);
-
-
-        } else {
-            // Single element or invalid range, effectively sorted in this context.
-            // If start == end, mark as sorted.
-            if (start == end && start >=0 && start < n) {
-                 elements.get(start).setState(ElementState.SORTED); // Base case of recursion
+        while (stackSize > 0) {
+            int f = stackSize - 1;
+            int lo = frameLo[f], hi = frameHi[f];
+            if (lo >= hi) {
+                stackSize--; // A single element is sorted in both the list and the buffer
+                continue;
+            }
+            int mid = lo + (hi - lo) / 2;
+            switch (framePhase[f]) {
+                case SORT_LEFT -> {
+                    framePhase[f] = SORT_RIGHT;
+                    pushFrame(lo, mid);
+                }
+                case SORT_RIGHT -> {
+                    framePhase[f] = MERGE;
+                    pushFrame(mid + 1, hi);
+                }
+                default -> {
+                    // Both halves are sorted in the other array; merge them into this frame's target
+                    stackSize--;
+                    mergeIntoList = (f % 2 == 0);
+                    mergeLo = lo;
+                    mergeMid = mid;
+                    mergeHi = hi;
+                    i_merge = lo;
+                    j_merge = mid + 1;
+                    k_merge = lo;
+                    currentState = MergeSortInternalState.MERGING_COMPARE;
+                    return true;
+                }
             }
         }
-        // Still in SPLITTING state, will pick up next task from stack or finish if stack is empty.
-        return true;
-    }
-
-    private boolean handlePreparingMerge() {
-        // currentMergeOp should be set from SPLITTING state (when a forMerge=true task was popped)
-        if (currentMergeOp == null) { // Should not happen
-            currentState = MergeSortInternalState.SPLITTING; return true;
-        }
-
-        tempMergeArray.clear();
-        i_merge = currentMergeOp.left;
-        j_merge = currentMergeOp.mid + 1;
-        k_merge = 0; // For our separate tempMergeArray
 
-        // Highlight ranges being merged
-        for (int k = currentMergeOp.left; k <= currentMergeOp.right; k++) {
-            callback.reportElementStateChange(k, ElementState.PIVOT); // Use PIVOT or a custom "MERGING_SOURCE" state
-        }
-        callback.requestVisualUpdate();
-        currentState = MergeSortInternalState.MERGING_COMPARE;
-        return true;
+        isSortedFlag = true;
+        for (SortElement el : elements) el.setState(ElementState.SORTED);
+        return false;
     }
 
     private boolean handleMergingCompare() {
-        if (i_merge <= currentMergeOp.mid && j_merge <= currentMergeOp.right) {
+        if (i_merge <= mergeMid && j_merge <= mergeHi) {
             callback.reportCompare(i_merge, j_merge);
-            if (elements.get(i_merge).getValue() <= elements.get(j_merge).getValue()) {
-                // Highlight elements.get(i_merge) as being chosen
-                callback.reportElementStateChange(i_merge, ElementState.SWAP); // SWAP state to indicate it's being moved
-                tempMergeArray.add(elements.get(i_merge));
-                i_merge++;
+            if (source(i_merge).getValue() <= source(j_merge).getValue()) {
+                output(i_merge++);
             } else {
-                callback.reportElementStateChange(j_merge, ElementState.SWAP);
-                tempMergeArray.add(elements.get(j_merge));
-                j_merge++;
+                output(j_merge++);
             }
-            callback.requestVisualUpdate();
-            return true;
-        } else {
-            // One of the sub-arrays is exhausted
-            currentState = (i_merge <= currentMergeOp.mid) ? MergeSortInternalState.MERGING_COPY_LEFT : MergeSortInternalState.MERGING_COPY_RIGHT;
             return true;
         }
+        currentState = MergeSortInternalState.MERGING_COPY_REST;
+        return handleMergingCopyRest();
     }
 
-    private boolean handleMergingCopyRemaining() {
-        if (currentState == MergeSortInternalState.MERGING_COPY_LEFT && i_merge <= currentMergeOp.mid) {
-            callback.reportElementStateChange(i_merge, ElementState.SWAP);
-            tempMergeArray.add(elements.get(i_merge));
-            i_merge++;
-            callback.requestVisualUpdate();
+    private boolean handleMergingCopyRest() {
+        if (i_merge <= mergeMid) {
+            output(i_merge++);
             return true;
-        } else if (currentState == MergeSortInternalState.MERGING_COPY_RIGHT && j_merge <= currentMergeOp.right) {
-            callback.reportElementStateChange(j_merge, ElementState.SWAP);
-            tempMergeArray.add(elements.get(j_merge));
-            j_merge++;
-            callback.requestVisualUpdate();
-            return true;
-        } else {
-            // All elements copied to tempMergeArray
-            currentState = MergeSortInternalState.COPYING_BACK;
-            k_merge = 0; // Reset for copying back
+        }
+        if (j_merge <= mergeHi) {
+            output(j_merge++);
             return true;
         }
+        currentState = MergeSortInternalState.SPLITTING;
+        return true;
     }
 
-    private boolean handleCopyingBack() {
-        if (k_merge < tempMergeArray.size()) {
-            int originalIndex = currentMergeOp.left + k_merge;
-            elements.set(originalIndex, tempMergeArray.get(k_merge));
-            // The elements in tempMergeArray were already SortElement objects.
-            // Their state was SWAP when copied. Now they are in place.
-            callback.reportElementStateChange(originalIndex, ElementState.SORTED); // Or NORMAL, then mark sorted later
-            k_merge++;
-            callback.requestVisualUpdate();
-            return true;
+    // Stopped part way through a merge into the list: puts back the range's halves as the buffer holds them
+    private void restoreCurrentRange() {
+        if (!mergeIntoList || currentState == MergeSortInternalState.SPLITTING) return;
+        for (int k = mergeLo; k <= mergeHi; k++) elements.set(k, buffer[k]);
+    }
+
+    private SortElement source(int index) {
+        return mergeIntoList ? buffer[index] : elements.get(index);
+    }
+
+    // Moves the source element at index to the next output position
+    private void output(int index) {
+        if (mergeIntoList) {
+            elements.set(k_merge, buffer[index]);
+            callback.reportWrite(k_merge);
         } else {
-            // Finished copying back for this merge operation
-            // Mark the entire merged range as sorted
-            for (int k_idx = currentMergeOp.left; k_idx <= currentMergeOp.right; k_idx++) {
-                 elements.get(k_idx).setState(ElementState.SORTED);
-            }
-            currentMergeOp = null;
-            currentState = MergeSortInternalState.SPLITTING; // Go back to see if more tasks on stack
-            callback.requestVisualUpdate();
-            return true;
+            callback.reportRead(index);
+            buffer[k_merge] = elements.get(index);
         }
+        k_merge++;
+    }
+
+    private void pushFrame(int lo, int hi) {
+        frameLo[stackSize] = lo;
+        frameHi[stackSize] = hi;
+        framePhase[stackSize] = SORT_LEFT;
+        stackSize++;
     }
 }
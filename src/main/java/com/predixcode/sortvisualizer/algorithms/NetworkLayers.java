@@ -0,0 +1,115 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+/**
+ * The comparator layers of a Batcher sorting network for n elements, as used by SortingNetwork and
+ * ParallelSortingNetwork. The network is built for the next power of two, size, as if the missing elements were
+ * larger than all others: every comparator puts the smaller value at the lower index, so those virtual elements
+ * would never move and every comparator that touches one is simply left out.
+ *
+ * Every layer is indexed as size / 2 comparator slots, which makes a layer easy to split across workers. A slot
+ * either holds a comparator, whose indices low(layer, slot) and high(layer, slot) no other slot in the layer
+ * touches, or is empty, in which case low() returns -1.
+ */
+final class NetworkLayers {
+
+    private final SortingNetwork.Network network;
+    private final int n;
+    private final int size;
+    private final int[] stageA; // Bitonic: the size of the blocks being merged; odd-even: p
+    private final int[] stageB; // Bitonic: the comparator distance; odd-even: k
+    // Both are powers of two, so slots are mapped to indices with shifts and masks rather than divisions
+    private final int[] shiftA;
+    private final int[] shiftB;
+
+    NetworkLayers(SortingNetwork.Network network, int n) {
+        this.network = network;
+        this.n = n;
+        this.size = (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+        int log = Integer.numberOfTrailingZeros(size);
+        int count = log * (log + 1) / 2;
+        this.stageA = new int[count];
+        this.stageB = new int[count];
+        this.shiftA = new int[count];
+        this.shiftB = new int[count];
+        int layer = 0;
+        if (network == SortingNetwork.Network.BITONIC) {
+            for (int block = 2; block <= size; block <<= 1) {
+                for (int distance = block / 2; distance >= 1; distance >>= 1) {
+                    stageA[layer] = block;
+                    stageB[layer++] = distance;
+                }
+            }
+        } else {
+            for (int p = 1; p < size; p <<= 1) {
+                for (int k = p; k >= 1; k >>= 1) {
+                    stageA[layer] = p;
+                    stageB[layer++] = k;
+                }
+            }
+        }
+        for (int l = 0; l < count; l++) {
+            shiftA[l] = Integer.numberOfTrailingZeros(stageA[l]);
+            shiftB[l] = Integer.numberOfTrailingZeros(stageB[l]);
+        }
+    }
+
+    int layerCount() {
+        return stageA.length;
+    }
+
+    int slotsPerLayer() {
+        return size / 2;
+    }
+
+    /**
+     * Gets the lower index of a comparator.
+     * @param layer The layer, from 0 to layerCount() - 1.
+     * @param slot The comparator slot, from 0 to slotsPerLayer() - 1.
+     * @return The lower index, or -1 if the slot holds no comparator.
+     */
+    int low(int layer, int slot) {
+        int a = stageA[layer], b = stageB[layer], sa = shiftA[layer], sb = shiftB[layer];
+        int group = slot >>> sb, offset = slot & (b - 1);
+        int low;
+        if (network == SortingNetwork.Network.BITONIC) {
+            // The first layer of each merge compares mirror images across the block, which sorts the two
+            // ascending halves like a bitonic sequence; the rest are half-cleaners at shrinking distances
+            low = (b == a >>> 1) ? (group << sa) + offset : (group << (sb + 1)) + offset;
+        } else {
+            // Pairs k apart, starting at k % p, that lie within the same merge of two runs of p
+            low = (b == a ? 0 : b) + (group << (sb + 1)) + offset;
+            int high = low + b;
+            if (high < n && (low >>> (sa + 1)) != (high >>> (sa + 1))) return -1;
+        }
+        return high(layer, slot, low) < n ? low : -1;
+    }
+
+    /**
+     * Gets the higher index of a comparator whose lower index low() returned.
+     * @param layer The layer.
+     * @param slot The comparator slot.
+     * @param low The lower index.
+     * @return The higher index.
+     */
+    int high(int layer, int slot, int low) {
+        int a = stageA[layer], b = stageB[layer];
+        if (network == SortingNetwork.Network.BITONIC && b == a >>> 1) {
+            return ((slot >>> shiftB[layer]) << shiftA[layer]) + a - 1 - (slot & (b - 1));
+        }
+        return low + b;
+    }
+
+    /**
+     * Describes a layer for the overlay.
+     * @param layer The layer.
+     * @return For example "merging blocks of 16, distance 4".
+     */
+    String describe(int layer) {
+        if (network == SortingNetwork.Network.BITONIC) {
+            return stageB[layer] == stageA[layer] / 2
+                    ? "merging blocks of " + stageA[layer] + ", mirrored"
+                    : "merging blocks of " + stageA[layer] + ", distance " + stageB[layer];
+        }
+        return "merging runs of " + stageA[layer] + ", distance " + stageB[layer];
+    }
+}
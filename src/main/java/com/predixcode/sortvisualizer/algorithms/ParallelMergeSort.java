@@ -0,0 +1,208 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Fork/join merge sort. The array is split recursively across the pool's workers, and each merge is itself
+ * split in two by binary search so that large merges run in parallel too. Both halves of a merge preserve
+ * the order of equal values, so the sort is stable.
+ *
+ * The sort works on a private array and a buffer of the same size, alternating between them by recursion
+ * depth so that no range is copied more than once per level. While paced, every write into the array is
+ * mirrored onto the visualized list and each worker's current range is reported as its region.
+ */
+public class ParallelMergeSort extends AbstractParallelSortAlgorithm {
+
+    // Ranges at or below this size are insertion sorted
+    private static final int INSERTION_THRESHOLD = 24;
+    // Ranges at or below this size are never split further across workers
+    private static final int MIN_LEAF_SIZE = 16;
+
+    private SortElement[] data;
+    private SortElement[] buffer;
+    private int leafSize;
+
+    public ParallelMergeSort() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism The number of worker threads to sort with.
+     */
+    public ParallelMergeSort(int parallelism) {
+        super(parallelism);
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel Merge Sort";
+    }
+
+    @Override
+    protected void resetParallelState() {
+        this.data = null;
+        this.buffer = null;
+    }
+
+    @Override
+    protected ForkJoinTask<?> createRootTask() {
+        data = elements.toArray(new SortElement[0]);
+        buffer = new SortElement[n];
+        // About four leaves per worker leaves room for work stealing to even out the load
+        leafSize = Math.max(MIN_LEAF_SIZE, n / (parallelism * 4));
+        return new SortTask(0, n, true);
+    }
+
+    @Override
+    protected void onSortFinished() {
+        for (int k = 0; k < n; k++) {
+            elements.set(k, data[k]);
+        }
+    }
+
+    /**
+     * Sorts [lo, hi) and leaves the result in data if intoData is set, otherwise in buffer.
+     */
+    private class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi;
+        private final boolean intoData;
+
+        SortTask(int lo, int hi, boolean intoData) {
+            this.lo = lo; this.hi = hi; this.intoData = intoData;
+        }
+
+        @Override
+        protected void compute() {
+            if (isCancelled()) return;
+            if (hi - lo <= leafSize) {
+                reportRegion(lo, hi - 1);
+                sortSequential(lo, hi);
+                if (!intoData) System.arraycopy(data, lo, buffer, lo, hi - lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(lo, mid, !intoData), new SortTask(mid, hi, !intoData));
+            SortElement[] src = intoData ? buffer : data;
+            SortElement[] dst = intoData ? data : buffer;
+            new MergeTask(src, dst, lo, mid, mid, hi, lo).compute();
+        }
+    }
+
+    /**
+     * Merges the sorted runs src[aLo, aHi) and src[bLo, bHi) into dst starting at out.
+     */
+    private class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SortElement[] src, dst;
+        private final int aLo, aHi, bLo, bHi, out;
+
+        MergeTask(SortElement[] src, SortElement[] dst, int aLo, int aHi, int bLo, int bHi, int out) {
+            this.src = src; this.dst = dst;
+            this.aLo = aLo; this.aHi = aHi; this.bLo = bLo; this.bHi = bHi; this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (isCancelled()) return;
+            int lenA = aHi - aLo;
+            int lenB = bHi - bLo;
+            if (lenA + lenB <= leafSize) {
+                reportRegion(out, out + lenA + lenB - 1);
+                mergeSequential(src, dst, aLo, aHi, bLo, bHi, out);
+                return;
+            }
+            // Split the longer run at its middle and the other run where that middle value would go.
+            // Equal values go left when they come from A and right when they come from B, which keeps the merge stable.
+            MergeTask left, right;
+            if (lenA >= lenB) {
+                int aMid = (aLo + aHi) >>> 1;
+                int bSplit = lowerBound(src, bLo, bHi, src[aMid].getValue());
+                left = new MergeTask(src, dst, aLo, aMid, bLo, bSplit, out);
+                right = new MergeTask(src, dst, aMid, aHi, bSplit, bHi, out + (aMid - aLo) + (bSplit - bLo));
+            } else {
+                int bMid = (bLo + bHi) >>> 1;
+                int aSplit = upperBound(src, aLo, aHi, src[bMid].getValue());
+                left = new MergeTask(src, dst, aLo, aSplit, bLo, bMid, out);
+                right = new MergeTask(src, dst, aSplit, aHi, bMid, bHi, out + (aSplit - aLo) + (bMid - bLo));
+            }
+            invokeAll(left, right);
+        }
+    }
+
+    // Sorts data[lo, hi) on the calling worker, using the same range of buffer as scratch space
+    private void sortSequential(int lo, int hi) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            insertionSort(lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        sortSequential(lo, mid);
+        sortSequential(mid, hi);
+        if (data[mid - 1].getValue() <= data[mid].getValue()) {
+            return; // Already in order, nothing to merge
+        }
+        System.arraycopy(data, lo, buffer, lo, hi - lo);
+        mergeSequential(buffer, data, lo, mid, mid, hi, lo);
+    }
+
+    private void insertionSort(int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            SortElement key = data[i];
+            int j = i - 1;
+            while (j >= lo && data[j].getValue() > key.getValue()) {
+                write(data, j + 1, data[j]);
+                j--;
+            }
+            if (j + 1 != i) write(data, j + 1, key);
+        }
+    }
+
+    private void mergeSequential(SortElement[] src, SortElement[] dst, int aLo, int aHi, int bLo, int bHi, int out) {
+        int i = aLo, j = bLo, k = out;
+        while (i < aHi && j < bHi) {
+            if (src[i].getValue() <= src[j].getValue()) {
+                write(dst, k++, src[i++]);
+            } else {
+                write(dst, k++, src[j++]);
+            }
+        }
+        while (i < aHi) write(dst, k++, src[i++]);
+        while (j < bHi) write(dst, k++, src[j++]);
+    }
+
+    // Stores into dst and, when paced and dst is the array being shown, mirrors the write onto the visualized list
+    private void write(SortElement[] dst, int index, SortElement value) {
+        dst[index] = value;
+        if (dst == data && isPaced()) {
+            elements.set(index, value);
+            workerCallback.reportWrite(index);
+            workerPause();
+        }
+    }
+
+    // First index in [lo, hi) whose value is not less than value
+    private static int lowerBound(SortElement[] a, int lo, int hi, int value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid].getValue() < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index in [lo, hi) whose value is greater than value
+    private static int upperBound(SortElement[] a, int lo, int hi, int value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid].getValue() <= value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,140 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.predixcode.sortvisualizer.core.WorkerTelemetry;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Fork/join quicksort. Each partition forks its smaller side as a new task and keeps partitioning the larger side
+ * itself, until a range is no larger than the cutoff, after which the worker finishes it sequentially. Forking only
+ * the smaller side keeps the nesting of tasks within a worker logarithmic. Partitioning and the sequential sort
+ * are a WorkerQuickSort: the pivot is the median of three, or Tukey's ninther on larger ranges, so sorted and
+ * reversed inputs split evenly, and the three-way partition keeps runs of equal values from degrading. Like
+ * IntroSort, a range that has used up its budget of 2 log2(n) partitions is heapsorted instead, so adversarial
+ * inputs stay O(n log n).
+ *
+ * Every task is recorded in a WorkerTelemetry, which is shown as a live overlay: tasks run, tasks stolen and
+ * busy/idle time per worker. Bad pivots show up as one worker doing the work while the others sit idle.
+ */
+public class ParallelQuickSort extends AbstractParallelSortAlgorithm {
+
+    public static final int DEFAULT_CUTOFF = 32;
+
+    private final int cutoff;
+    private final WorkerTelemetry telemetry;
+    private final WorkerQuickSort quickSort = new WorkerQuickSort(this);
+    private SortElement[] data;
+
+    public ParallelQuickSort() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CUTOFF);
+    }
+
+    /**
+     * @param parallelism The number of worker threads to sort with.
+     * @param cutoff Ranges at or below this size are sorted sequentially instead of being forked.
+     */
+    public ParallelQuickSort(int parallelism, int cutoff) {
+        super(parallelism);
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("Cutoff must be at least 1.");
+        }
+        this.cutoff = cutoff;
+        this.telemetry = new WorkerTelemetry(parallelism);
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel Quick Sort";
+    }
+
+    public int getCutoff() {
+        return cutoff;
+    }
+
+    /**
+     * Gets the statistics of the current or last run.
+     * @return The per-worker telemetry.
+     */
+    public WorkerTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    @Override
+    protected void resetParallelState() {
+        this.data = null;
+    }
+
+    @Override
+    protected ForkJoinTask<?> createRootTask() {
+        data = elements.toArray(new SortElement[0]);
+        telemetry.start();
+        return new QuickSortTask(0, n, WorkerQuickSort.depthLimit(n), WorkerTelemetry.NO_WORKER);
+    }
+
+    @Override
+    protected void onSortFinished() {
+        telemetry.stop();
+        for (int k = 0; k < n; k++) {
+            elements.set(k, data[k]);
+        }
+    }
+
+    @Override
+    protected List<String> overlayLines() {
+        return telemetry.toLines();
+    }
+
+    /**
+     * Sorts data[lo, hi) with at most depth more partitions before falling back to heapsort. Ranges at or below the
+     * cutoff are finished sequentially with whatever depth is left.
+     * forkedBy is the worker that created the task, used to detect steals.
+     */
+    private class QuickSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi, depth, forkedBy;
+
+        QuickSortTask(int lo, int hi, int depth, int forkedBy) {
+            this.lo = lo; this.hi = hi; this.depth = depth; this.forkedBy = forkedBy;
+        }
+
+        @Override
+        protected void compute() {
+            if (isCancelled()) return;
+            int self = workerId();
+            long start = System.nanoTime();
+            List<QuickSortTask> forked = new ArrayList<>();
+            int lo = this.lo, hi = this.hi, depth = this.depth;
+            while (hi - lo > cutoff && depth > 0 && !isCancelled()) {
+                reportRegion(lo, hi - 1);
+                int[] equal = quickSort.partition(data, lo, hi);
+                depth--;
+                // Fork the smaller side and carry on with the larger one
+                QuickSortTask smaller;
+                if (equal[0] - lo < hi - equal[1] - 1) {
+                    smaller = new QuickSortTask(lo, equal[0], depth, self);
+                    lo = equal[1] + 1;
+                } else {
+                    smaller = new QuickSortTask(equal[1] + 1, hi, depth, self);
+                    hi = equal[0];
+                }
+                if (smaller.hi - smaller.lo > 1) {
+                    smaller.fork();
+                    forked.add(smaller);
+                }
+            }
+            if (!isCancelled()) {
+                reportRegion(lo, Math.max(lo, hi - 1));
+                quickSort.sort(data, lo, hi, depth);
+            }
+            telemetry.recordTask(self, forkedBy, System.nanoTime() - start);
+            for (int k = forked.size() - 1; k >= 0; k--) {
+                forked.get(k).join();
+            }
+        }
+    }
+}
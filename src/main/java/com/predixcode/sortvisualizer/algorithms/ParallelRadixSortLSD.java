@@ -0,0 +1,230 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Multi-core least-significant-digit radix sort. The array is cut into one chunk per worker, and every pass runs
+ * three parallel phases: each worker counts the digits of its own chunk into a private histogram, a parallel
+ * prefix sum over all histograms (bucket-major, then chunk) gives every chunk its own write offset in every bucket,
+ * and the workers scatter their chunks concurrently into a shared buffer. Since each chunk writes to offsets no
+ * other chunk uses, the scatter needs no synchronization, and since chunks are scanned in order it stays stable.
+ *
+ * The animation is coarse: each worker's chunk is shown as its region during a phase, and the array is redrawn
+ * once per pass. The histogram of the current pass is shown as an overlay.
+ */
+public class ParallelRadixSortLSD extends AbstractParallelSortAlgorithm {
+
+    public static final int DEFAULT_RADIX_BITS = 8;
+
+    private final int radixBits;
+    private final int mask;
+
+    private SortElement[] data;
+    private SortElement[] buffer;
+    private SortElement[] result;
+    private int chunks;
+    private int[][] histograms; // [chunk][bucket]
+    private int[][] offsets;    // [chunk][bucket]
+    private int[] chunkMin;
+    private int[] chunkMax;
+    private int minValue;
+    private int shift;
+
+    // Read by the controller thread for the overlay
+    private volatile String phase = "";
+    private volatile int[] bucketTotals;
+
+    public ParallelRadixSortLSD() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_RADIX_BITS);
+    }
+
+    /**
+     * @param parallelism The number of worker threads, which is also the number of chunks.
+     * @param radixBits The number of bits per digit, from RadixSortLSD.MIN_RADIX_BITS to RadixSortLSD.MAX_RADIX_BITS.
+     */
+    public ParallelRadixSortLSD(int parallelism, int radixBits) {
+        super(parallelism);
+        if (radixBits < RadixSortLSD.MIN_RADIX_BITS || radixBits > RadixSortLSD.MAX_RADIX_BITS) {
+            throw new IllegalArgumentException("Radix must be between " + RadixSortLSD.MIN_RADIX_BITS
+                    + " and " + RadixSortLSD.MAX_RADIX_BITS + " bits.");
+        }
+        this.radixBits = radixBits;
+        this.mask = (1 << radixBits) - 1;
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel Radix Sort LSD (" + radixBits + "-bit)";
+    }
+
+    public int getRadixBits() {
+        return radixBits;
+    }
+
+    @Override
+    protected void resetParallelState() {
+        this.data = null;
+        this.buffer = null;
+        this.result = null;
+        this.histograms = null;
+        this.offsets = null;
+        this.phase = "";
+        this.bucketTotals = null;
+    }
+
+    @Override
+    protected ForkJoinTask<?> createRootTask() {
+        data = elements.toArray(new SortElement[0]);
+        buffer = new SortElement[n];
+        chunks = parallelism;
+        histograms = new int[chunks][1 << radixBits];
+        offsets = new int[chunks][1 << radixBits];
+        chunkMin = new int[chunks];
+        chunkMax = new int[chunks];
+        return new RecursiveAction() {
+            @Override
+            protected void compute() {
+                sortAllPasses();
+            }
+        };
+    }
+
+    @Override
+    protected void onSortFinished() {
+        for (int k = 0; k < n; k++) {
+            elements.set(k, result[k]);
+        }
+        phase = "";
+    }
+
+    @Override
+    protected List<String> overlayLines() {
+        int[] totals = bucketTotals;
+        String currentPhase = phase;
+        if (totals == null || currentPhase.isEmpty()) return List.of();
+        return HistogramOverlay.format(currentPhase, totals);
+    }
+
+    // Runs on a pool worker, which also takes part in each parallel phase
+    private void sortAllPasses() {
+        forEachChunk(this::findMinMax);
+        int maxValue = Integer.MIN_VALUE;
+        minValue = Integer.MAX_VALUE;
+        for (int c = 0; c < chunks; c++) {
+            minValue = Math.min(minValue, chunkMin[c]);
+            maxValue = Math.max(maxValue, chunkMax[c]);
+        }
+        int keyBits = 32 - Integer.numberOfLeadingZeros(maxValue - minValue);
+        int passes = (keyBits + radixBits - 1) / radixBits;
+
+        SortElement[] src = data;
+        SortElement[] dst = buffer;
+        for (int pass = 0; pass < passes && !isCancelled(); pass++) {
+            shift = pass * radixBits;
+            String passLabel = String.format("pass %d/%d, bits %d-%d", pass + 1, passes, shift, shift + radixBits - 1);
+            final SortElement[] from = src, to = dst;
+
+            phase = passLabel + ": per-worker histograms";
+            forEachChunk(c -> countChunk(c, from));
+            phase = passLabel + ": prefix sum";
+            prefixSum();
+            phase = passLabel + ": scatter";
+            forEachChunk(c -> scatterChunk(c, from, to));
+
+            src = to;
+            dst = from;
+            if (isPaced()) {
+                for (int k = 0; k < n; k++) elements.set(k, src[k]);
+                workerPause();
+            }
+        }
+        result = src;
+    }
+
+    private void findMinMax(int c) {
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int k = chunkStart(c, chunks); k < chunkStart(c + 1, chunks); k++) {
+            min = Math.min(min, data[k].getValue());
+            max = Math.max(max, data[k].getValue());
+        }
+        chunkMin[c] = min;
+        chunkMax[c] = max;
+    }
+
+    private void countChunk(int c, SortElement[] src) {
+        int lo = chunkStart(c, chunks), hi = chunkStart(c + 1, chunks);
+        if (hi > lo) reportRegion(lo, hi - 1);
+        int[] histogram = histograms[c];
+        Arrays.fill(histogram, 0);
+        for (int k = lo; k < hi; k++) {
+            histogram[digit(src[k])]++;
+        }
+        workerPause();
+    }
+
+    private void scatterChunk(int c, SortElement[] src, SortElement[] dst) {
+        int lo = chunkStart(c, chunks), hi = chunkStart(c + 1, chunks);
+        if (hi > lo) reportRegion(lo, hi - 1);
+        int[] next = offsets[c];
+        for (int k = lo; k < hi; k++) {
+            SortElement el = src[k];
+            dst[next[digit(el)]++] = el;
+        }
+        workerPause();
+    }
+
+    /**
+     * Exclusive prefix sum over all histogram entries in (bucket, chunk) order, written to offsets.
+     * The entries are split into one block per worker: each block is summed in parallel, the block sums are
+     * scanned sequentially (one value per block), and then each block is scanned in parallel from its start.
+     */
+    private void prefixSum() {
+        int buckets = 1 << radixBits;
+        long entries = (long) buckets * chunks;
+        int blocks = parallelism;
+        int[] blockStart = new int[blocks + 1];
+
+        forEachBlock(blocks, j -> {
+            int sum = 0;
+            for (long i = blockBound(j, blocks, entries); i < blockBound(j + 1, blocks, entries); i++) {
+                sum += histograms[(int) (i % chunks)][(int) (i / chunks)];
+            }
+            blockStart[j + 1] = sum;
+        });
+        for (int j = 0; j < blocks; j++) blockStart[j + 1] += blockStart[j];
+        forEachBlock(blocks, j -> {
+            int running = blockStart[j];
+            for (long i = blockBound(j, blocks, entries); i < blockBound(j + 1, blocks, entries); i++) {
+                int c = (int) (i % chunks), b = (int) (i / chunks);
+                offsets[c][b] = running;
+                running += histograms[c][b];
+            }
+        });
+
+        if (isPaced()) {
+            int[] totals = new int[buckets];
+            for (int[] histogram : histograms) {
+                for (int b = 0; b < buckets; b++) totals[b] += histogram[b];
+            }
+            bucketTotals = totals;
+        }
+    }
+
+    private static long blockBound(int j, int blocks, long entries) {
+        return j * entries / blocks;
+    }
+
+    private int digit(SortElement el) {
+        return ((el.getValue() - minValue) >>> shift) & mask;
+    }
+
+    private void forEachChunk(IntConsumer body) {
+        forEachBlock(chunks, body);
+    }
+}
@@ -0,0 +1,127 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Runs a SortingNetwork's layers on a fork/join pool. The layers run one after another, and within a layer
+ * the comparator slots are split into one contiguous block per worker, a parallel-for with a barrier at the end
+ * of each layer. The keys are copied into an int array that is permuted along with the elements, so comparators
+ * read contiguous ints instead of following element references, and the compare-exchange is written as min, max
+ * and conditional moves rather than a branch, so the work per comparator does not depend on the data.
+ *
+ * While paced, the array is mirrored onto the visualized list after every layer and each worker's block of
+ * the layer is shown as its region.
+ */
+public class ParallelSortingNetwork extends AbstractParallelSortAlgorithm {
+
+    private final SortingNetwork.Network network;
+
+    private SortElement[] data;
+    private int[] keys; // data's values, moved along with it so comparators never dereference an element
+    private NetworkLayers layers;
+
+    // Read by the controller thread for the overlay
+    private volatile int layer;
+
+    public ParallelSortingNetwork() {
+        this(Runtime.getRuntime().availableProcessors(), SortingNetwork.Network.BITONIC);
+    }
+
+    /**
+     * @param parallelism The number of worker threads, which is also the number of blocks per layer.
+     * @param network The network to sort with.
+     */
+    public ParallelSortingNetwork(int parallelism, SortingNetwork.Network network) {
+        super(parallelism);
+        this.network = network;
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel " + network;
+    }
+
+    @Override
+    protected void resetParallelState() {
+        this.data = null;
+        this.keys = null;
+        this.layers = null;
+        this.layer = 0;
+    }
+
+    @Override
+    protected ForkJoinTask<?> createRootTask() {
+        data = elements.toArray(new SortElement[0]);
+        keys = new int[n];
+        for (int k = 0; k < n; k++) keys[k] = data[k].getValue();
+        layers = new NetworkLayers(network, n);
+        return new RecursiveAction() {
+            @Override
+            protected void compute() {
+                runLayers();
+            }
+        };
+    }
+
+    @Override
+    protected void onSortFinished() {
+        for (int k = 0; k < n; k++) {
+            elements.set(k, data[k]);
+        }
+    }
+
+    @Override
+    protected List<String> overlayLines() {
+        NetworkLayers current = layers;
+        if (current == null) return List.of();
+        return List.of(String.format("layer %d of %d on %d workers", Math.min(layer + 1, current.layerCount()),
+                current.layerCount(), parallelism));
+    }
+
+    // Runs on a pool worker, which also takes part in each layer
+    private void runLayers() {
+        int slots = layers.slotsPerLayer();
+        int blocks = Math.min(parallelism, slots);
+        for (int l = 0; l < layers.layerCount() && !isCancelled(); l++) {
+            layer = l;
+            final int current = l;
+            forEachBlock(blocks, b -> runBlock(current, (int) ((long) b * slots / blocks),
+                    (int) ((long) (b + 1) * slots / blocks)));
+            if (isPaced()) {
+                for (int k = 0; k < n; k++) elements.set(k, data[k]);
+                workerPause();
+            }
+        }
+    }
+
+    private void runBlock(int layer, int fromSlot, int toSlot) {
+        if (isPaced()) {
+            int first = -1, last = -1;
+            for (int slot = fromSlot; slot < toSlot; slot++) {
+                int low = layers.low(layer, slot);
+                if (low < 0) continue;
+                if (first < 0) first = low;
+                last = Math.max(last, layers.high(layer, slot, low));
+            }
+            if (first >= 0) reportRegion(first, last);
+        }
+        SortElement[] a = data;
+        int[] key = keys;
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            int low = layers.low(layer, slot);
+            if (low < 0) continue;
+            int high = layers.high(layer, slot, low);
+            int x = key[low], y = key[high];
+            boolean exchange = x > y;
+            key[low] = Math.min(x, y);
+            key[high] = Math.max(x, y);
+            SortElement ex = a[low], ey = a[high];
+            a[low] = exchange ? ey : ex;
+            a[high] = exchange ? ex : ey;
+        }
+    }
+}
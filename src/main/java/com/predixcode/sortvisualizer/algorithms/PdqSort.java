@@ -0,0 +1,674 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Pattern-defeating quicksort (Orson Peters' pdqsort). The pivot is the median of three, or a pseudo-median of
+ * nine above NINTHER_THRESHOLD elements, and partitioning follows BlockQuicksort: both ends of the unpartitioned
+ * middle are scanned in blocks of BLOCK_SIZE, recording the offsets of misplaced elements in two buffers without
+ * branching on the comparisons, and then the recorded elements are swapped pairwise.
+ *
+ * On top of that:
+ * - A range whose pivot equals the element just before it (a previous pivot) is split into elements equal to the
+ *   pivot, which are final, and larger ones, so many duplicates cost linear time.
+ * - If the partition swapped nothing, both sides get a partial insertion sort that gives up after
+ *   PARTIAL_INSERTION_LIMIT moves, which finishes sorted and nearly sorted ranges in linear time.
+ * - A highly unbalanced partition (a side below 1/8) swaps a few elements of both sides around to break up
+ *   patterns, and after log2(n) of those a range is heapsorted instead, bounding the worst case at O(n log n).
+ *
+ * Small ranges are insertion sorted. The two offset buffers are shown as an overlay while they fill, and the
+ * blocks they cover are shaded as regions.
+ */
+public class PdqSort extends AbstractSortAlgorithm {
+
+    // Ranges below this size are insertion sorted
+    private static final int INSERTION_THRESHOLD = 24;
+
+    // Ranges above this size use the pseudo-median of nine
+    private static final int NINTHER_THRESHOLD = 128;
+
+    // Moves a partial insertion sort may make before it gives up
+    private static final int PARTIAL_INSERTION_LIMIT = 8;
+
+    // Elements scanned per block; pdqsort uses 64 so both offset buffers fit in one cache line each
+    private static final int BLOCK_SIZE = 64;
+
+    // Width of the offset buffer bars in the overlay
+    private static final int BAR_WIDTH = 32;
+
+    // A range still to be sorted: [begin, end), with the bad partitions it may still have
+    private static class PdqRange {
+        final int begin, end, badAllowed;
+        final boolean leftmost; // Nothing lies to the left of the range, so there is no previous pivot
+
+        PdqRange(int begin, int end, int badAllowed, boolean leftmost) {
+            this.begin = begin; this.end = end; this.badAllowed = badAllowed; this.leftmost = leftmost;
+        }
+    }
+
+    private Deque<PdqRange> rangeStack;
+    private RangeInsertionSort insertionSort;
+    private RangeHeapSort heapSort;
+
+    // The current range
+    private int begin, end, badAllowed;
+    private boolean leftmost;
+
+    // Pivot selection: compare-and-swaps of sorting networks over the samples, then a swap of the median to begin
+    private final int[] planA = new int[12];
+    private final int[] planB = new int[12];
+    private int planLength, planPos;
+    private boolean ninther;
+
+    // Partition state
+    private int pivotValue;
+    private int first, last;
+    private int pivotPos;
+    private boolean guarded;
+    private boolean alreadyPartitioned;
+
+    // Block partitioning: offsets of misplaced elements, relative to baseL and baseR
+    private final int[] offsetsL = new int[BLOCK_SIZE];
+    private final int[] offsetsR = new int[BLOCK_SIZE];
+    private int numL, numR, startL, startR;
+    private int baseL, baseR;
+    private int fillL, fillR, fillIndex;
+    private int blockL, blockR; // Sizes of the blocks the buffers were last filled from
+    private int swapCount, swapIndex;
+    private boolean regionsShown;
+
+    // Pattern-breaking swaps after a highly unbalanced partition
+    private final int[] shuffleA = new int[12];
+    private final int[] shuffleB = new int[12];
+    private int shuffleLength, shufflePos;
+
+    // Partial insertion sort of both sides after a partition that swapped nothing
+    private int partialLo, partialHi, partialCur, partialSift, partialMoves;
+    private boolean partialRightSide;
+
+    // Statistics shown in the overlay
+    private int partitions;
+    private int equalPartitions;
+    private int alreadySortedRanges;
+    private int patternShuffles;
+    private int heapSortFallbacks;
+    private boolean isSortedFlag = false;
+
+    private enum PdqSortInternalState {
+        NEXT_RANGE,          // Taking the next range off the stack and choosing how to sort it
+        CHOOSING_PIVOT,      // Running the compare-and-swaps that move the median of the samples to begin
+        SCANNING_FIRST,      // Moving first right past elements smaller than the pivot
+        SCANNING_LAST,       // Moving last left past elements not smaller than the pivot
+        FILLING_LEFT,        // Scanning the left block, recording the offsets of elements >= pivot, one per step
+        FILLING_RIGHT,       // Scanning the right block, recording the offsets of elements < pivot, one per step
+        SWAPPING_BLOCKS,     // Swapping recorded pairs of misplaced elements, one pair per step
+        FINISHING_BLOCKS,    // Moving the misplaced elements left in one buffer to the middle
+        PLACING_PIVOT,       // Swapping the pivot into place and choosing what to do with both sides
+        SHUFFLING,           // Breaking up a pattern after a highly unbalanced partition, one swap per step
+        PARTIAL_INSERTING,   // Trying to finish both sides of an already partitioned range by insertion
+        EQUAL_SCANNING_LAST, // Partitioning out copies of the pivot: moving last left past larger elements
+        EQUAL_SCANNING_FIRST,// ... and first right past elements equal to the pivot
+        INSERTION_SORTING,   // Finishing a small range
+        HEAP_SORTING         // Finishing a range that ran out of bad partitions
+    }
+    private PdqSortInternalState currentState;
+    private int n;
+
+    public PdqSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.rangeStack = new ArrayDeque<>();
+        this.insertionSort = new RangeInsertionSort(this);
+        this.heapSort = new RangeHeapSort(this);
+        this.regionsShown = false;
+        this.partitions = 0;
+        this.equalPartitions = 0;
+        this.alreadySortedRanges = 0;
+        this.patternShuffles = 0;
+        this.heapSortFallbacks = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = PdqSortInternalState.NEXT_RANGE;
+        if (!isSortedFlag) {
+            rangeStack.push(new PdqRange(0, n, 31 - Integer.numberOfLeadingZeros(n), true));
+        }
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Pdq Sort";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                clearBlocks();
+                callback.reportOverlay(List.of());
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case NEXT_RANGE -> {
+                return handleNextRange();
+            }
+            case CHOOSING_PIVOT -> {
+                return handleChoosingPivot();
+            }
+            case SCANNING_FIRST -> {
+                return handleScanningFirst();
+            }
+            case SCANNING_LAST -> {
+                return handleScanningLast();
+            }
+            case FILLING_LEFT -> {
+                return handleFillingLeft();
+            }
+            case FILLING_RIGHT -> {
+                return handleFillingRight();
+            }
+            case SWAPPING_BLOCKS -> {
+                return handleSwappingBlocks();
+            }
+            case FINISHING_BLOCKS -> {
+                return handleFinishingBlocks();
+            }
+            case PLACING_PIVOT -> {
+                return handlePlacingPivot();
+            }
+            case SHUFFLING -> {
+                return handleShuffling();
+            }
+            case PARTIAL_INSERTING -> {
+                return handlePartialInserting();
+            }
+            case EQUAL_SCANNING_LAST -> {
+                return handleEqualScanningLast();
+            }
+            case EQUAL_SCANNING_FIRST -> {
+                return handleEqualScanningFirst();
+            }
+            case INSERTION_SORTING -> {
+                if (!insertionSort.step()) currentState = PdqSortInternalState.NEXT_RANGE;
+                return true;
+            }
+            case HEAP_SORTING -> {
+                if (!heapSort.step()) currentState = PdqSortInternalState.NEXT_RANGE;
+                return true;
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    /**
+     * Gets the number of highly unbalanced partitions whose sides were shuffled during the last run.
+     * @return The pattern-breaking shuffle count.
+     */
+    public int getPatternShuffles() {
+        return patternShuffles;
+    }
+
+    public int getHeapSortFallbacks() {
+        return heapSortFallbacks;
+    }
+
+    /**
+     * Gets the number of ranges that were finished by a partial insertion sort after a partition that swapped
+     * nothing during the last run.
+     * @return The count of ranges detected as already sorted.
+     */
+    public int getAlreadySortedRanges() {
+        return alreadySortedRanges;
+    }
+
+    private boolean handleNextRange() {
+        if (rangeStack.isEmpty()) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            return false;
+        }
+        PdqRange range = rangeStack.pop();
+        begin = range.begin;
+        end = range.end;
+        badAllowed = range.badAllowed;
+        leftmost = range.leftmost;
+        int size = end - begin;
+        if (size < INSERTION_THRESHOLD) {
+            insertionSort.start(begin, end);
+            currentState = PdqSortInternalState.INSERTION_SORTING;
+            return true;
+        }
+
+        int s2 = size / 2;
+        planLength = 0;
+        planPos = 0;
+        ninther = size > NINTHER_THRESHOLD;
+        if (ninther) {
+            // Medians of three triples, then the median of those three, which is swapped to begin
+            addSort3(begin, begin + s2, end - 1);
+            addSort3(begin + 1, begin + s2 - 1, end - 2);
+            addSort3(begin + 2, begin + s2 + 1, end - 3);
+            addSort3(begin + s2 - 1, begin + s2, begin + s2 + 1);
+        } else {
+            addSort3(begin + s2, begin, end - 1); // The median lands on begin
+        }
+        currentState = PdqSortInternalState.CHOOSING_PIVOT;
+        publishOverlay();
+        return true;
+    }
+
+    private void addSort3(int a, int b, int c) {
+        addSort2(a, b);
+        addSort2(b, c);
+        addSort2(a, b);
+    }
+
+    private void addSort2(int a, int b) {
+        planA[planLength] = a;
+        planB[planLength] = b;
+        planLength++;
+    }
+
+    private boolean handleChoosingPivot() {
+        if (planPos < planLength) {
+            int a = planA[planPos], b = planB[planPos];
+            planPos++;
+            callback.reportCompare(a, b);
+            if (value(b) < value(a)) swap(a, b);
+            return true;
+        }
+        if (ninther) swap(begin, begin + (end - begin) / 2);
+        pivotValue = value(begin);
+        callback.reportElementStateChange(begin, ElementState.PIVOT);
+
+        if (!leftmost) {
+            // The element before the range is a previous pivot; if it equals this one, split off its copies
+            callback.reportCompare(begin - 1, begin);
+            if (!(value(begin - 1) < pivotValue)) {
+                equalPartitions++;
+                first = begin;
+                last = end;
+                guarded = true;
+                currentState = PdqSortInternalState.EQUAL_SCANNING_LAST;
+                return true;
+            }
+        }
+        partitions++;
+        first = begin;
+        last = end;
+        currentState = PdqSortInternalState.SCANNING_FIRST;
+        return true;
+    }
+
+    // The median of three leaves an element >= pivot at end - 1, so this scan needs no bounds check
+    private boolean handleScanningFirst() {
+        first++;
+        callback.reportCompare(first, begin);
+        if (value(first) < pivotValue) {
+            return true;
+        }
+        // If nothing smaller than the pivot was found, last may run into first
+        guarded = (first - 1 == begin);
+        currentState = PdqSortInternalState.SCANNING_LAST;
+        return true;
+    }
+
+    private boolean handleScanningLast() {
+        if (!guarded || first < last) {
+            last--;
+            callback.reportCompare(last, begin);
+            if (!(value(last) < pivotValue)) {
+                return true;
+            }
+        }
+        alreadyPartitioned = first >= last;
+        if (alreadyPartitioned) {
+            currentState = PdqSortInternalState.PLACING_PIVOT;
+            return true;
+        }
+        swap(first, last);
+        first++;
+        numL = numR = startL = startR = 0;
+        nextBlocks();
+        return true;
+    }
+
+    // Refills whichever offset buffer is empty from the unpartitioned middle [first, last), or finishes
+    private void nextBlocks() {
+        if (first >= last) {
+            currentState = PdqSortInternalState.FINISHING_BLOCKS;
+            return;
+        }
+        int unknown = last - first;
+        int leftSplit = (numL == 0) ? (numR == 0 ? unknown / 2 : unknown) : 0;
+        int rightSplit = (numR == 0) ? unknown - leftSplit : 0;
+        fillL = Math.min(leftSplit, BLOCK_SIZE);
+        fillR = Math.min(rightSplit, BLOCK_SIZE);
+        if (fillL > 0) {
+            baseL = first;
+            startL = 0;
+            blockL = fillL;
+        }
+        if (fillR > 0) {
+            baseR = last;
+            startR = 0;
+            blockR = fillR;
+        }
+        fillIndex = 0;
+        currentState = (fillL > 0) ? PdqSortInternalState.FILLING_LEFT : PdqSortInternalState.FILLING_RIGHT;
+        showBlocks();
+    }
+
+    // The offset is always written and the count only advances for an element >= pivot: no branch on the compare
+    private boolean handleFillingLeft() {
+        offsetsL[numL] = fillIndex++;
+        callback.reportCompare(first, begin);
+        numL += (value(first) < pivotValue) ? 0 : 1;
+        first++;
+        if (fillIndex == fillL) {
+            fillIndex = 0;
+            if (fillR > 0) {
+                currentState = PdqSortInternalState.FILLING_RIGHT;
+            } else {
+                startSwapping();
+            }
+        }
+        publishOverlay();
+        return true;
+    }
+
+    private boolean handleFillingRight() {
+        offsetsR[numR] = ++fillIndex;
+        last--;
+        callback.reportCompare(last, begin);
+        numR += (value(last) < pivotValue) ? 1 : 0;
+        if (fillIndex == fillR) {
+            startSwapping();
+        }
+        publishOverlay();
+        return true;
+    }
+
+    private void startSwapping() {
+        swapCount = Math.min(numL, numR);
+        swapIndex = 0;
+        if (swapCount == 0) {
+            endSwapping();
+        } else {
+            currentState = PdqSortInternalState.SWAPPING_BLOCKS;
+        }
+    }
+
+    private boolean handleSwappingBlocks() {
+        swap(baseL + offsetsL[startL + swapIndex], baseR - offsetsR[startR + swapIndex]);
+        swapIndex++;
+        if (swapIndex == swapCount) {
+            endSwapping();
+        }
+        return true;
+    }
+
+    private void endSwapping() {
+        numL -= swapCount;
+        numR -= swapCount;
+        startL += swapCount;
+        startR += swapCount;
+        publishOverlay();
+        nextBlocks();
+    }
+
+    // The middle is fully scanned; the elements still recorded in one buffer go to the boundary
+    private boolean handleFinishingBlocks() {
+        if (numL > 0) {
+            numL--;
+            last--;
+            swap(baseL + offsetsL[startL + numL], last);
+            if (numL == 0) first = last;
+            return true;
+        }
+        if (numR > 0) {
+            numR--;
+            swap(baseR - offsetsR[startR + numR], first);
+            first++;
+            if (numR == 0) last = first;
+            return true;
+        }
+        clearBlocks();
+        currentState = PdqSortInternalState.PLACING_PIVOT;
+        return true;
+    }
+
+    private boolean handlePlacingPivot() {
+        pivotPos = first - 1;
+        callback.reportElementStateChange(begin, ElementState.NORMAL);
+        if (pivotPos != begin) swap(begin, pivotPos);
+
+        int size = end - begin;
+        int leftSize = pivotPos - begin;
+        int rightSize = end - (pivotPos + 1);
+        if (leftSize < size / 8 || rightSize < size / 8) {
+            if (--badAllowed == 0) {
+                heapSortFallbacks++;
+                heapSort.start(begin, end);
+                currentState = PdqSortInternalState.HEAP_SORTING;
+                publishOverlay();
+                return true;
+            }
+            planShuffle(leftSize, rightSize);
+            if (shuffleLength > 0) {
+                patternShuffles++;
+                currentState = PdqSortInternalState.SHUFFLING;
+                return true;
+            }
+        } else if (alreadyPartitioned) {
+            partialRightSide = false;
+            startPartialInsertion(begin, pivotPos);
+            currentState = PdqSortInternalState.PARTIAL_INSERTING;
+            return true;
+        }
+        pushSides();
+        return true;
+    }
+
+    // Swaps a few elements at a quarter of each side's length into its ends, where the next pivot samples are
+    private void planShuffle(int leftSize, int rightSize) {
+        shuffleLength = 0;
+        shufflePos = 0;
+        if (leftSize >= INSERTION_THRESHOLD) {
+            int q = leftSize / 4;
+            addShuffle(begin, begin + q);
+            addShuffle(pivotPos - 1, pivotPos - q);
+            if (leftSize > NINTHER_THRESHOLD) {
+                addShuffle(begin + 1, begin + (q + 1));
+                addShuffle(begin + 2, begin + (q + 2));
+                addShuffle(pivotPos - 2, pivotPos - (q + 1));
+                addShuffle(pivotPos - 3, pivotPos - (q + 2));
+            }
+        }
+        if (rightSize >= INSERTION_THRESHOLD) {
+            int q = rightSize / 4;
+            addShuffle(pivotPos + 1, pivotPos + (1 + q));
+            addShuffle(end - 1, end - q);
+            if (rightSize > NINTHER_THRESHOLD) {
+                addShuffle(pivotPos + 2, pivotPos + (2 + q));
+                addShuffle(pivotPos + 3, pivotPos + (3 + q));
+                addShuffle(end - 2, end - (1 + q));
+                addShuffle(end - 3, end - (2 + q));
+            }
+        }
+    }
+
+    private void addShuffle(int a, int b) {
+        shuffleA[shuffleLength] = a;
+        shuffleB[shuffleLength] = b;
+        shuffleLength++;
+    }
+
+    private boolean handleShuffling() {
+        swap(shuffleA[shufflePos], shuffleB[shufflePos]);
+        shufflePos++;
+        if (shufflePos == shuffleLength) pushSides();
+        return true;
+    }
+
+    private void startPartialInsertion(int lo, int hi) {
+        partialLo = lo;
+        partialHi = hi;
+        partialCur = lo + 1;
+        partialSift = partialCur;
+        partialMoves = 0;
+    }
+
+    private boolean handlePartialInserting() {
+        if (partialCur >= partialHi) {
+            if (!partialRightSide) {
+                partialRightSide = true;
+                startPartialInsertion(pivotPos + 1, end);
+                return true;
+            }
+            // Both sides are sorted: the whole range is done
+            alreadySortedRanges++;
+            for (int k = begin; k < end; k++) callback.reportElementStateChange(k, ElementState.SORTED);
+            currentState = PdqSortInternalState.NEXT_RANGE;
+            return true;
+        }
+        if (partialSift > partialLo) {
+            callback.reportCompare(partialSift - 1, partialSift);
+            if (value(partialSift) < value(partialSift - 1)) {
+                swap(partialSift - 1, partialSift);
+                partialSift--;
+                if (++partialMoves > PARTIAL_INSERTION_LIMIT) {
+                    // Not nearly sorted after all: partition both sides as usual
+                    pushSides();
+                }
+                return true;
+            }
+        }
+        partialCur++;
+        partialSift = partialCur;
+        return true;
+    }
+
+    // Queues both sides of the pivot, the left one on top so it is sorted first
+    private void pushSides() {
+        pushRange(pivotPos + 1, end, false);
+        pushRange(begin, pivotPos, leftmost);
+        callback.reportElementStateChange(pivotPos, ElementState.SORTED);
+        currentState = PdqSortInternalState.NEXT_RANGE;
+    }
+
+    private void pushRange(int from, int to, boolean isLeftmost) {
+        if (to - from > 1) {
+            rangeStack.push(new PdqRange(from, to, badAllowed, isLeftmost));
+        } else if (to - from == 1) {
+            callback.reportElementStateChange(from, ElementState.SORTED);
+        }
+    }
+
+    // Copies of the pivot go left, larger elements right. The scan stops at begin at the latest.
+    private boolean handleEqualScanningLast() {
+        last--;
+        callback.reportCompare(last, begin);
+        if (pivotValue < value(last)) {
+            return true;
+        }
+        // The first scan for a larger element needs a bounds check if none was found at the end
+        if (guarded) guarded = (last + 1 == end);
+        currentState = PdqSortInternalState.EQUAL_SCANNING_FIRST;
+        return true;
+    }
+
+    private boolean handleEqualScanningFirst() {
+        if (!guarded || first < last) {
+            first++;
+            callback.reportCompare(first, begin);
+            if (!(pivotValue < value(first))) {
+                return true;
+            }
+        }
+        if (first < last) {
+            swap(first, last);
+            guarded = false;
+            currentState = PdqSortInternalState.EQUAL_SCANNING_LAST;
+            return true;
+        }
+        // [begin, last] all equal the previous pivot and are final
+        if (last != begin) swap(begin, last);
+        for (int k = begin; k <= last; k++) callback.reportElementStateChange(k, ElementState.SORTED);
+        pushRange(last + 1, end, false);
+        currentState = PdqSortInternalState.NEXT_RANGE;
+        return true;
+    }
+
+    private int value(int index) {
+        return elements.get(index).getValue();
+    }
+
+    // Shades the blocks the offset buffers cover
+    private void showBlocks() {
+        if (isVisualSuppressed()) return;
+        if (fillL > 0 || numL > 0) callback.reportRegion(0, baseL, baseL + blockL - 1);
+        else callback.clearRegion(0);
+        if (fillR > 0 || numR > 0) callback.reportRegion(1, baseR - blockR, baseR - 1);
+        else callback.clearRegion(1);
+        regionsShown = true;
+    }
+
+    private void clearBlocks() {
+        if (regionsShown) {
+            callback.clearRegion(0);
+            callback.clearRegion(1);
+        }
+        regionsShown = false;
+    }
+
+    private void publishOverlay() {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(List.of(
+                String.format("range %d-%d, %d bad partitions left, %d ranges pending",
+                        begin, end - 1, badAllowed, rangeStack.size()),
+                String.format("left offsets  [%s] %2d of %d", bar(numL), numL, BLOCK_SIZE),
+                String.format("right offsets [%s] %2d of %d", bar(numR), numR, BLOCK_SIZE),
+                String.format("partitions %d, pivot copies split off %d, already sorted %d",
+                        partitions, equalPartitions, alreadySortedRanges),
+                String.format("pattern shuffles %d, heapsort fallbacks %d", patternShuffles, heapSortFallbacks)));
+    }
+
+    private static String bar(int filled) {
+        int width = (filled * BAR_WIDTH + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return "#".repeat(width) + ".".repeat(BAR_WIDTH - width);
+    }
+}
@@ -4,6 +4,7 @@ package com.predixcode.sortvisualizer.algorithms;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.Random;
 
 import com.predixcode.sortvisualizer.core.StepCallback;
 import com.predixcode.sortvisualizer.ui.SortElement;
@@ -11,20 +12,49 @@ import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
 
 public class QuickSort extends AbstractSortAlgorithm {
 
+    /**
+     * How the pivot of each range is chosen. The chosen element is swapped to the end of the range,
+     * where the Lomuto partition expects it.
+     */
+    public enum PivotStrategy {
+        LAST("last element"),                  // The last element, as in textbook Lomuto quicksort
+        RANDOM("random"),                      // A uniformly random element of the range
+        MEDIAN_OF_THREE("median-of-3"),        // The median of the first, middle and last elements
+        NINTHER("ninther"),                    // Tukey's median of three medians of three, over nine spread-out elements
+        MEDIAN_OF_MEDIANS("median-of-medians"); // The BFPRT pivot, guaranteed to lie between the 30th and 70th percentiles
+
+        private final String displayName;
+
+        PivotStrategy(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
     // Structure to hold ranges for partitioning
     private static class QuickSortRange {
         int low, high;
+        int depth; // How deep the recursive version would be when sorting this range
         
-        QuickSortRange(int low, int high) {
+        QuickSortRange(int low, int high, int depth) {
             this.low = low;
             this.high = high;
+            this.depth = depth;
         }
     }
 
     private Deque<QuickSortRange> taskStack; // To simulate recursion iteratively
+    private int maxStackDepth;
     private boolean isSortedFlag = false;
     private int n;
 
+    private final PivotStrategy pivotStrategy;
+    private final Random random = new Random();
+
     // State for current partition operation
     private int pivotIndex;
     private int i; // Current index being compared
@@ -40,7 +70,14 @@ public class QuickSort extends AbstractSortAlgorithm {
     private QuickSortRange currentRange;
 
     public QuickSort() {
-        // Constructor
+        this(PivotStrategy.LAST);
+    }
+
+    /**
+     * @param pivotStrategy How each range's pivot is chosen.
+     */
+    public QuickSort(PivotStrategy pivotStrategy) {
+        this.pivotStrategy = pivotStrategy;
     }
 
     @Override
@@ -52,12 +89,14 @@ public class QuickSort extends AbstractSortAlgorithm {
     public void reset() {
         this.n = (this.elements != null) ? this.elements.size() : 0;
         this.taskStack = new ArrayDeque<>();
+        this.maxStackDepth = 0;
         this.isSortedFlag = (n <= 1);
         this.currentState = QuickSortInternalState.IDLE;
         this.currentRange = null;
 
         if (!isSortedFlag && n > 0) {
-            taskStack.push(new QuickSortRange(0, n - 1)); // Initial sort task for the whole array
+            taskStack.push(new QuickSortRange(0, n - 1, 1)); // Initial sort task for the whole array
+            maxStackDepth = 1;
             currentState = QuickSortInternalState.SELECTING_PIVOT;
         }
         
@@ -68,7 +107,20 @@ public class QuickSort extends AbstractSortAlgorithm {
 
     @Override
     public String getName() {
-        return "Quick Sort";
+        return pivotStrategy == PivotStrategy.LAST ? "Quick Sort" : "Quick Sort (" + pivotStrategy + ")";
+    }
+
+    public PivotStrategy getPivotStrategy() {
+        return pivotStrategy;
+    }
+
+    /**
+     * Gets the deepest level any range was partitioned at during the last run, which is the stack depth
+     * a recursive quicksort would have reached.
+     * @return The maximum recursion depth, 1 for the whole array.
+     */
+    public int getMaxStackDepth() {
+        return maxStackDepth;
     }
 
     @Override
@@ -128,7 +180,11 @@ public class QuickSort extends AbstractSortAlgorithm {
             return true;
         }
 
-        // Choose the rightmost element as pivot
+        // Move the chosen pivot to the rightmost position, where the partition expects it
+        int chosen = choosePivot(currentRange.low, currentRange.high);
+        if (chosen != currentRange.high) {
+            swap(chosen, currentRange.high);
+        }
         pivotIndex = currentRange.high;
         callback.reportElementStateChange(pivotIndex, ElementState.PIVOT);
         
@@ -184,18 +240,19 @@ public class QuickSort extends AbstractSortAlgorithm {
         
         // Push the two sub-partitions onto the stack (right first, then left)
         if (j + 1 < currentRange.high) {
-            taskStack.push(new QuickSortRange(j + 1, currentRange.high));
+            taskStack.push(new QuickSortRange(j + 1, currentRange.high, currentRange.depth + 1));
         } else if (j + 1 == currentRange.high) {
             // Single element sub-array on the right
             callback.reportElementStateChange(currentRange.high, ElementState.SORTED);
         }
         
         if (currentRange.low < j - 1) {
-            taskStack.push(new QuickSortRange(currentRange.low, j - 1));
+            taskStack.push(new QuickSortRange(currentRange.low, j - 1, currentRange.depth + 1));
         } else if (currentRange.low == j - 1) {
             // Single element sub-array on the left
             callback.reportElementStateChange(currentRange.low, ElementState.SORTED);
         }
+        maxStackDepth = Math.max(maxStackDepth, currentRange.depth);
         
         currentState = QuickSortInternalState.IDLE;
         callback.requestVisualUpdate();
@@ -206,4 +263,95 @@ public class QuickSort extends AbstractSortAlgorithm {
     public boolean isSorted() {
         return this.isSortedFlag;
     }
+
+    // --- Pivot selection ---
+
+    private int choosePivot(int low, int high) {
+        switch (pivotStrategy) {
+            case RANDOM -> {
+                return low + random.nextInt(high - low + 1);
+            }
+            case MEDIAN_OF_THREE -> {
+                return medianOfThree(low, low + (high - low) / 2, high);
+            }
+            case NINTHER -> {
+                int size = high - low + 1;
+                if (size < 9) return medianOfThree(low, low + (high - low) / 2, high);
+                int eighth = size / 8;
+                int mid = low + (high - low) / 2;
+                return medianOfThree(
+                        medianOfThree(low, low + eighth, low + 2 * eighth),
+                        medianOfThree(mid - eighth, mid, mid + eighth),
+                        medianOfThree(high - 2 * eighth, high - eighth, high));
+            }
+            case MEDIAN_OF_MEDIANS -> {
+                int[] candidates = new int[high - low + 1];
+                for (int k = 0; k < candidates.length; k++) candidates[k] = low + k;
+                return medianOfMedians(candidates, 0, candidates.length - 1);
+            }
+            default -> {
+                return high;
+            }
+        }
+    }
+
+    private int medianOfThree(int a, int b, int c) {
+        if (less(a, b)) {
+            if (less(b, c)) return b;
+            return less(a, c) ? c : a;
+        }
+        if (less(a, c)) return a;
+        return less(b, c) ? c : b;
+    }
+
+    /**
+     * Finds the BFPRT pivot among the element indices in candidates[lo..hi]: the median of the medians of groups
+     * of five, found recursively with select. Only the candidates array is reordered; the elements are not moved.
+     * @return The element index of the pivot.
+     */
+    private int medianOfMedians(int[] candidates, int lo, int hi) {
+        int medians = lo;
+        for (int group = lo; group <= hi; group += 5) {
+            int groupEnd = Math.min(group + 4, hi);
+            sortCandidates(candidates, group, groupEnd);
+            swapCandidates(candidates, medians++, group + (groupEnd - group) / 2);
+        }
+        return select(candidates, lo, medians - 1, lo + (medians - 1 - lo) / 2);
+    }
+
+    // Quickselect over candidate indices with the median-of-medians pivot, so it runs in linear time
+    private int select(int[] candidates, int lo, int hi, int k) {
+        while (hi - lo >= 5) {
+            int pivot = medianOfMedians(candidates, lo, hi);
+            // Three-way partition of the candidates around the pivot's value
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                if (less(candidates[i], pivot)) swapCandidates(candidates, lt++, i++);
+                else if (less(pivot, candidates[i])) swapCandidates(candidates, i, gt--);
+                else i++;
+            }
+            if (k < lt) hi = lt - 1;
+            else if (k > gt) lo = gt + 1;
+            else return candidates[k];
+        }
+        sortCandidates(candidates, lo, hi);
+        return candidates[k];
+    }
+
+    private void sortCandidates(int[] candidates, int lo, int hi) {
+        for (int a = lo + 1; a <= hi; a++) {
+            for (int b = a; b > lo && less(candidates[b], candidates[b - 1]); b--) swapCandidates(candidates, b, b - 1);
+        }
+    }
+
+    private static void swapCandidates(int[] candidates, int a, int b) {
+        int t = candidates[a];
+        candidates[a] = candidates[b];
+        candidates[b] = t;
+    }
+
+    private boolean less(int a, int b) {
+        callback.reportCompare(a, b);
+        return elements.get(a).getValue() < elements.get(b).getValue();
+    }
 }
@@ -0,0 +1,211 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Least-significant-digit radix sort with a radix of 2 to 16 bits. Each pass counts the digits of all elements,
+ * turns the counts into bucket offsets, scatters the elements into a buffer in bucket order and copies the buffer
+ * back, one element per step. The histogram of the current pass is shown as an overlay.
+ *
+ * Digits are taken from value - min, so negative values sort correctly and small ranges need fewer passes.
+ */
+public class RadixSortLSD extends AbstractSortAlgorithm {
+
+    public static final int MIN_RADIX_BITS = 2;
+    public static final int MAX_RADIX_BITS = 16;
+    public static final int DEFAULT_RADIX_BITS = 4;
+
+    private final int radixBits;
+    private final int mask;
+
+    private int[] counts;
+    private int[] offsets;
+    private SortElement[] buffer;
+    private int minValue;
+    private int passes;
+    private int pass;
+    private int index;
+    private int overlayInterval;
+    private boolean isSortedFlag = false;
+
+    private enum RadixInternalState {
+        COUNTING,     // Reading each element's digit into the histogram
+        PREFIX_SUM,   // Turning the histogram into bucket offsets
+        SCATTERING,   // Reading each element and placing it in the buffer at its bucket's offset
+        COPYING_BACK  // Writing the buffer back into the list
+    }
+    private RadixInternalState currentState;
+    private int n;
+
+    public RadixSortLSD() {
+        this(DEFAULT_RADIX_BITS);
+    }
+
+    /**
+     * @param radixBits The number of bits per digit, from MIN_RADIX_BITS to MAX_RADIX_BITS.
+     */
+    public RadixSortLSD(int radixBits) {
+        if (radixBits < MIN_RADIX_BITS || radixBits > MAX_RADIX_BITS) {
+            throw new IllegalArgumentException("Radix must be between " + MIN_RADIX_BITS + " and " + MAX_RADIX_BITS + " bits.");
+        }
+        this.radixBits = radixBits;
+        this.mask = (1 << radixBits) - 1;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.counts = new int[1 << radixBits];
+        this.offsets = new int[1 << radixBits];
+        this.buffer = new SortElement[n];
+        this.pass = 0;
+        this.index = 0;
+        this.overlayInterval = Math.max(1, n / 64);
+        this.currentState = RadixInternalState.COUNTING;
+
+        int maxValue = 0;
+        this.minValue = 0;
+        if (n > 0) {
+            minValue = Integer.MAX_VALUE;
+            maxValue = Integer.MIN_VALUE;
+            for (SortElement el : elements) {
+                minValue = Math.min(minValue, el.getValue());
+                maxValue = Math.max(maxValue, el.getValue());
+            }
+        }
+        int keyBits = 32 - Integer.numberOfLeadingZeros(maxValue - minValue);
+        this.passes = (keyBits + radixBits - 1) / radixBits;
+        this.isSortedFlag = (n <= 1 || passes == 0);
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Radix Sort LSD (" + radixBits + "-bit)";
+    }
+
+    public int getRadixBits() {
+        return radixBits;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case COUNTING -> {
+                return handleCounting();
+            }
+            case PREFIX_SUM -> {
+                return handlePrefixSum();
+            }
+            case SCATTERING -> {
+                return handleScattering();
+            }
+            case COPYING_BACK -> {
+                return handleCopyingBack();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleCounting() {
+        callback.reportRead(index);
+        counts[digit(elements.get(index))]++;
+        index++;
+        if (index == n) {
+            currentState = RadixInternalState.PREFIX_SUM;
+            publishOverlay("counted");
+        } else if (index % overlayInterval == 0) {
+            publishOverlay("counting");
+        }
+        return true;
+    }
+
+    private boolean handlePrefixSum() {
+        int sum = 0;
+        for (int b = 0; b < counts.length; b++) {
+            offsets[b] = sum;
+            sum += counts[b];
+        }
+        index = 0;
+        currentState = RadixInternalState.SCATTERING;
+        publishOverlay("scattering");
+        return true;
+    }
+
+    private boolean handleScattering() {
+        callback.reportRead(index);
+        SortElement el = elements.get(index);
+        buffer[offsets[digit(el)]++] = el;
+        index++;
+        if (index == n) {
+            index = 0;
+            currentState = RadixInternalState.COPYING_BACK;
+            publishOverlay("copying back");
+        }
+        return true;
+    }
+
+    private boolean handleCopyingBack() {
+        elements.set(index, buffer[index]);
+        callback.reportWrite(index);
+        index++;
+        if (index < n) {
+            return true;
+        }
+
+        pass++;
+        if (pass == passes) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            return false;
+        }
+        Arrays.fill(counts, 0);
+        index = 0;
+        currentState = RadixInternalState.COUNTING;
+        return true;
+    }
+
+    private int digit(SortElement el) {
+        return ((el.getValue() - minValue) >>> (pass * radixBits)) & mask;
+    }
+
+    private void publishOverlay(String phase) {
+        if (isVisualSuppressed()) return;
+        int lowBit = pass * radixBits;
+        callback.reportOverlay(HistogramOverlay.format(String.format("LSD pass %d/%d, bits %d-%d: %s",
+                pass + 1, passes, lowBit, lowBit + radixBits - 1, phase), counts));
+    }
+}
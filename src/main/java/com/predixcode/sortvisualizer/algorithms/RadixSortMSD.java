@@ -0,0 +1,279 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Most-significant-digit radix sort with a radix of 2 to 16 bits. A range is counted, scattered into a buffer by
+ * its top digit and copied back, after which each bucket is sorted on the next digit down. Buckets at or below
+ * INSERTION_THRESHOLD elements are insertion sorted instead. The histogram of the range being distributed is
+ * shown as an overlay.
+ *
+ * Digits are taken from value - min, so negative values sort correctly and small ranges need fewer digits.
+ */
+public class RadixSortMSD extends AbstractSortAlgorithm {
+
+    public static final int MIN_RADIX_BITS = RadixSortLSD.MIN_RADIX_BITS;
+    public static final int MAX_RADIX_BITS = RadixSortLSD.MAX_RADIX_BITS;
+    public static final int DEFAULT_RADIX_BITS = RadixSortLSD.DEFAULT_RADIX_BITS;
+
+    // Buckets at or below this size are insertion sorted rather than distributed again
+    private static final int INSERTION_THRESHOLD = 16;
+
+    // A range of the list still to be sorted on the digit at shift and below
+    private static class RadixRange {
+        final int lo, hi, shift; // [lo, hi)
+
+        RadixRange(int lo, int hi, int shift) {
+            this.lo = lo; this.hi = hi; this.shift = shift;
+        }
+    }
+
+    private final int radixBits;
+    private final int mask;
+
+    private Deque<RadixRange> rangeStack;
+    private RadixRange currentRange;
+    private int[] counts;
+    private int[] offsets;
+    private SortElement[] buffer;
+    private int minValue;
+    private int index;
+    private int insertionJ;
+    private int overlayInterval;
+    private boolean isSortedFlag = false;
+
+    private enum RadixInternalState {
+        NEXT_RANGE,        // Taking the next range off the stack
+        COUNTING,          // Reading each element's digit into the histogram
+        PREFIX_SUM,        // Turning the histogram into bucket offsets
+        SCATTERING,        // Reading each element and placing it in the buffer at its bucket's offset
+        COPYING_BACK,      // Writing the buffer back into the range, then queueing its buckets
+        INSERTION_SORTING  // Finishing a small range with insertion sort
+    }
+    private RadixInternalState currentState;
+    private int n;
+
+    public RadixSortMSD() {
+        this(DEFAULT_RADIX_BITS);
+    }
+
+    /**
+     * @param radixBits The number of bits per digit, from MIN_RADIX_BITS to MAX_RADIX_BITS.
+     */
+    public RadixSortMSD(int radixBits) {
+        if (radixBits < MIN_RADIX_BITS || radixBits > MAX_RADIX_BITS) {
+            throw new IllegalArgumentException("Radix must be between " + MIN_RADIX_BITS + " and " + MAX_RADIX_BITS + " bits.");
+        }
+        this.radixBits = radixBits;
+        this.mask = (1 << radixBits) - 1;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.rangeStack = new ArrayDeque<>();
+        this.currentRange = null;
+        this.counts = new int[1 << radixBits];
+        this.offsets = new int[1 << radixBits];
+        this.buffer = new SortElement[n];
+        this.overlayInterval = Math.max(1, n / 64);
+        this.currentState = RadixInternalState.NEXT_RANGE;
+
+        int maxValue = 0;
+        this.minValue = 0;
+        if (n > 0) {
+            minValue = Integer.MAX_VALUE;
+            maxValue = Integer.MIN_VALUE;
+            for (SortElement el : elements) {
+                minValue = Math.min(minValue, el.getValue());
+                maxValue = Math.max(maxValue, el.getValue());
+            }
+        }
+        int keyBits = 32 - Integer.numberOfLeadingZeros(maxValue - minValue);
+        int digits = (keyBits + radixBits - 1) / radixBits;
+        this.isSortedFlag = (n <= 1 || digits == 0);
+        if (!isSortedFlag) {
+            rangeStack.push(new RadixRange(0, n, (digits - 1) * radixBits));
+        }
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Radix Sort MSD (" + radixBits + "-bit)";
+    }
+
+    public int getRadixBits() {
+        return radixBits;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case NEXT_RANGE -> {
+                return handleNextRange();
+            }
+            case COUNTING -> {
+                return handleCounting();
+            }
+            case PREFIX_SUM -> {
+                return handlePrefixSum();
+            }
+            case SCATTERING -> {
+                return handleScattering();
+            }
+            case COPYING_BACK -> {
+                return handleCopyingBack();
+            }
+            case INSERTION_SORTING -> {
+                return handleInsertionSorting();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleNextRange() {
+        if (rangeStack.isEmpty()) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            return false;
+        }
+        currentRange = rangeStack.pop();
+        if (currentRange.hi - currentRange.lo <= INSERTION_THRESHOLD) {
+            index = currentRange.lo + 1;
+            insertionJ = index;
+            currentState = RadixInternalState.INSERTION_SORTING;
+        } else {
+            Arrays.fill(counts, 0);
+            index = currentRange.lo;
+            currentState = RadixInternalState.COUNTING;
+        }
+        return true;
+    }
+
+    private boolean handleCounting() {
+        callback.reportRead(index);
+        counts[digit(elements.get(index))]++;
+        index++;
+        if (index == currentRange.hi) {
+            currentState = RadixInternalState.PREFIX_SUM;
+            publishOverlay("counted");
+        } else if ((index - currentRange.lo) % overlayInterval == 0) {
+            publishOverlay("counting");
+        }
+        return true;
+    }
+
+    private boolean handlePrefixSum() {
+        int sum = currentRange.lo;
+        for (int b = 0; b < counts.length; b++) {
+            offsets[b] = sum;
+            sum += counts[b];
+        }
+        index = currentRange.lo;
+        currentState = RadixInternalState.SCATTERING;
+        publishOverlay("scattering");
+        return true;
+    }
+
+    private boolean handleScattering() {
+        callback.reportRead(index);
+        SortElement el = elements.get(index);
+        buffer[offsets[digit(el)]++] = el;
+        index++;
+        if (index == currentRange.hi) {
+            index = currentRange.lo;
+            currentState = RadixInternalState.COPYING_BACK;
+            publishOverlay("copying back");
+        }
+        return true;
+    }
+
+    private boolean handleCopyingBack() {
+        elements.set(index, buffer[index]);
+        callback.reportWrite(index);
+        index++;
+        if (index < currentRange.hi) {
+            return true;
+        }
+
+        // Queue the buckets so that the lowest is sorted first; buckets with nothing left to sort are final
+        int nextShift = currentRange.shift - radixBits;
+        int bucketEnd = currentRange.hi;
+        for (int b = counts.length - 1; b >= 0; b--) {
+            int bucketStart = bucketEnd - counts[b];
+            if (nextShift >= 0 && counts[b] > 1) {
+                rangeStack.push(new RadixRange(bucketStart, bucketEnd, nextShift));
+            } else {
+                for (int k = bucketStart; k < bucketEnd; k++) elements.get(k).setState(ElementState.SORTED);
+            }
+            bucketEnd = bucketStart;
+        }
+        currentState = RadixInternalState.NEXT_RANGE;
+        return true;
+    }
+
+    private boolean handleInsertionSorting() {
+        if (index >= currentRange.hi) {
+            for (int k = currentRange.lo; k < currentRange.hi; k++) elements.get(k).setState(ElementState.SORTED);
+            currentState = RadixInternalState.NEXT_RANGE;
+            return true;
+        }
+        if (insertionJ > currentRange.lo) {
+            callback.reportCompare(insertionJ - 1, insertionJ);
+            if (elements.get(insertionJ - 1).getValue() > elements.get(insertionJ).getValue()) {
+                swap(insertionJ - 1, insertionJ);
+                insertionJ--;
+                return true;
+            }
+        }
+        index++;
+        insertionJ = index;
+        return true;
+    }
+
+    private int digit(SortElement el) {
+        return ((el.getValue() - minValue) >>> currentRange.shift) & mask;
+    }
+
+    private void publishOverlay(String phase) {
+        if (isVisualSuppressed()) return;
+        callback.reportOverlay(HistogramOverlay.format(String.format("MSD range %d-%d, bits %d-%d: %s",
+                currentRange.lo, currentRange.hi - 1, currentRange.shift, currentRange.shift + radixBits - 1, phase), counts));
+    }
+}
@@ -0,0 +1,85 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Binary heapsort of one range of an algorithm's elements, run one sift-down level per step.
+ * Used as the worst-case fallback of the quicksort hybrids once a range has used up its depth budget.
+ * The elements of the range must already be the ones that belong there, since each one is marked SORTED
+ * as soon as it is extracted.
+ */
+final class RangeHeapSort {
+
+    private final AbstractSortAlgorithm owner;
+    private int lo;          // Heap index k lives at lo + k
+    private int heapSize;
+    private int nextBuildRoot;
+    private int siftNode;    // The node being sifted down, or -1 between sifts
+
+    RangeHeapSort(AbstractSortAlgorithm owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Starts sorting a new range.
+     * @param lo The first index of the range.
+     * @param hi One past the last index of the range.
+     */
+    void start(int lo, int hi) {
+        this.lo = lo;
+        this.heapSize = hi - lo;
+        this.nextBuildRoot = heapSize / 2 - 1;
+        this.siftNode = -1;
+    }
+
+    /**
+     * Runs one step: one level of a sift-down, the start of the next sift while building the heap,
+     * or moving the maximum to the end of the shrinking heap.
+     * @return true if the range needs more steps, false once it is sorted.
+     */
+    boolean step() {
+        if (siftNode >= 0) {
+            siftDownOneLevel();
+            return true;
+        }
+        if (nextBuildRoot >= 0) {
+            siftNode = nextBuildRoot--;
+            return true;
+        }
+        if (heapSize > 1) {
+            heapSize--;
+            owner.swap(lo, lo + heapSize);
+            owner.elements.get(lo + heapSize).setState(ElementState.SORTED);
+            siftNode = 0;
+            return true;
+        }
+        if (heapSize == 1) {
+            owner.elements.get(lo).setState(ElementState.SORTED);
+            heapSize = 0;
+        }
+        return false;
+    }
+
+    private void siftDownOneLevel() {
+        int child = 2 * siftNode + 1;
+        if (child >= heapSize) {
+            siftNode = -1;
+            return;
+        }
+        if (child + 1 < heapSize) {
+            owner.callback.reportCompare(lo + child, lo + child + 1);
+            if (value(child + 1) > value(child)) child++;
+        }
+        owner.callback.reportCompare(lo + siftNode, lo + child);
+        if (value(child) > value(siftNode)) {
+            owner.swap(lo + siftNode, lo + child);
+            siftNode = child;
+        } else {
+            siftNode = -1;
+        }
+    }
+
+    private int value(int heapIndex) {
+        return owner.elements.get(lo + heapIndex).getValue();
+    }
+}
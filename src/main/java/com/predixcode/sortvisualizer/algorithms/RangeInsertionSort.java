@@ -0,0 +1,54 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Insertion sort of one range of an algorithm's elements, run one comparison (and swap) per step.
+ * Used by the hybrid sorts to finish small ranges. The elements of the range must already be the ones that
+ * belong there, since they are marked SORTED when the range is done.
+ */
+final class RangeInsertionSort {
+
+    private final AbstractSortAlgorithm owner;
+    private int lo, hi; // [lo, hi)
+    private int index;
+    private int j;
+
+    RangeInsertionSort(AbstractSortAlgorithm owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Starts sorting a new range.
+     * @param lo The first index of the range.
+     * @param hi One past the last index of the range.
+     */
+    void start(int lo, int hi) {
+        this.lo = lo;
+        this.hi = hi;
+        this.index = lo + 1;
+        this.j = index;
+    }
+
+    /**
+     * Runs one step of the insertion sort.
+     * @return true if the range needs more steps, false once it is sorted.
+     */
+    boolean step() {
+        if (index >= hi) {
+            for (int k = lo; k < hi; k++) owner.elements.get(k).setState(ElementState.SORTED);
+            return false;
+        }
+        if (j > lo) {
+            owner.callback.reportCompare(j - 1, j);
+            if (owner.elements.get(j - 1).getValue() > owner.elements.get(j).getValue()) {
+                owner.swap(j - 1, j);
+                j--;
+                return true;
+            }
+        }
+        index++;
+        j = index;
+        return true;
+    }
+}
@@ -0,0 +1,322 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.predixcode.sortvisualizer.core.WorkerTelemetry;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Multi-core sample sort. A random sample of oversampling elements per bucket is sorted and every
+ * oversampling-th sample becomes a splitter, so the buckets come out nearly equal in size whatever the input
+ * order. Then four phases run on the pool:
+ * <ol>
+ *   <li>classification: each worker finds the bucket of every element of its own chunk with a branchless binary
+ *       search over the splitters and counts its chunk's buckets,</li>
+ *   <li>a prefix sum over the counts (bucket-major, then chunk) gives every chunk its own write offset in every
+ *       bucket,</li>
+ *   <li>redistribution: the workers move their chunks into a shared buffer concurrently, each bucket becoming one
+ *       contiguous range,</li>
+ *   <li>the buckets are sorted independently as parallel tasks, largest first.</li>
+ * </ol>
+ * Repeated splitters would give a bucket that holds a single value but still has to be sorted, so the splitters
+ * are deduplicated and every splitter gets an equality bucket of its own, which needs no sorting at all.
+ *
+ * Each worker's chunk or bucket is shown as its region, in the worker's color. The overlay shows the bucket sizes
+ * as they are counted, how far the largest bucket is above the ideal size, and the per-worker telemetry of the
+ * bucket sorts.
+ */
+public class SampleSort extends AbstractParallelSortAlgorithm {
+
+    public static final int DEFAULT_BUCKETS_PER_WORKER = 4;
+    public static final int DEFAULT_OVERSAMPLING = 16;
+
+    private final int bucketsPerWorker;
+    private final int oversampling;
+    private final WorkerTelemetry telemetry;
+    private final Random random = new Random();
+    private final WorkerQuickSort quickSort = new WorkerQuickSort(this);
+
+    private SortElement[] data;
+    private SortElement[] buffer;
+    private int[] classes;  // Bucket of each element, written by the classification phase
+    private int[] tree;     // Sorted splitters padded with Integer.MAX_VALUE to a power of two
+    private int[] splitters;
+    private int chunks;
+    private int bucketCount;
+    private int[][] histograms; // [chunk][bucket]
+    private int[][] offsets;    // [chunk][bucket]
+    private int[] bucketStart;  // First index of each bucket, with bucketStart[bucketCount] == n
+
+    // Read by the controller thread for the overlay
+    private volatile String phase = "";
+    private volatile int largestBucket;
+    private volatile int equalElements;
+
+    public SampleSort() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_BUCKETS_PER_WORKER, DEFAULT_OVERSAMPLING);
+    }
+
+    /**
+     * @param parallelism The number of worker threads, which is also the number of chunks.
+     * @param bucketsPerWorker The number of buckets per worker; more buckets balance the sorting phase better.
+     * @param oversampling The number of sampled elements per bucket; more samples give more even splitters.
+     */
+    public SampleSort(int parallelism, int bucketsPerWorker, int oversampling) {
+        super(parallelism);
+        if (bucketsPerWorker < 1 || oversampling < 1) {
+            throw new IllegalArgumentException("Buckets per worker and oversampling must be at least 1.");
+        }
+        this.bucketsPerWorker = bucketsPerWorker;
+        this.oversampling = oversampling;
+        this.telemetry = new WorkerTelemetry(parallelism);
+    }
+
+    @Override
+    public String getName() {
+        return "Sample Sort";
+    }
+
+    public int getBucketsPerWorker() {
+        return bucketsPerWorker;
+    }
+
+    public int getOversampling() {
+        return oversampling;
+    }
+
+    /**
+     * Gets the statistics of the bucket sorts of the current or last run.
+     * @return The per-worker telemetry.
+     */
+    public WorkerTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Gets the number of distinct splitters of the last run, each bounding a bucket and owning an equality bucket.
+     * @return The splitter count, at most parallelism * bucketsPerWorker - 1.
+     */
+    public int getSplitterCount() {
+        return (splitters != null) ? splitters.length : 0;
+    }
+
+    /**
+     * Gets the size of the largest bucket that had to be sorted, relative to the ideal n / (parallelism *
+     * bucketsPerWorker). Equality buckets are not counted, since they need no sorting.
+     * @return The imbalance factor; 1.0 means perfectly even buckets.
+     */
+    public double getBucketImbalance() {
+        return largestBucket / Math.max(1.0, (double) n / (parallelism * bucketsPerWorker));
+    }
+
+    /**
+     * Gets the number of elements that landed in equality buckets in the last run.
+     * @return The elements equal to one of the splitters.
+     */
+    public int getEqualElements() {
+        return equalElements;
+    }
+
+    @Override
+    protected void resetParallelState() {
+        this.data = null;
+        this.buffer = null;
+        this.classes = null;
+        this.histograms = null;
+        this.offsets = null;
+        this.bucketStart = null;
+        this.phase = "";
+        this.largestBucket = 0;
+        this.equalElements = 0;
+    }
+
+    @Override
+    protected ForkJoinTask<?> createRootTask() {
+        data = elements.toArray(new SortElement[0]);
+        buffer = new SortElement[n];
+        classes = new int[n];
+        chunks = parallelism;
+        chooseSplitters();
+        bucketCount = 2 * splitters.length + 1;
+        histograms = new int[chunks][bucketCount];
+        offsets = new int[chunks][bucketCount];
+        bucketStart = new int[bucketCount + 1];
+        telemetry.start();
+        return new RecursiveAction() {
+            @Override
+            protected void compute() {
+                sortAllPhases();
+            }
+        };
+    }
+
+    @Override
+    protected void onSortFinished() {
+        telemetry.stop();
+        for (int k = 0; k < n; k++) {
+            elements.set(k, data[k]);
+        }
+        phase = "done";
+    }
+
+    @Override
+    protected List<String> overlayLines() {
+        int[][] counts = histograms;
+        String currentPhase = phase;
+        if (counts == null || currentPhase.isEmpty()) return List.of();
+        int[] sizes = new int[bucketCount];
+        for (int[] histogram : counts) {
+            for (int b = 0; b < bucketCount; b++) sizes[b] += histogram[b];
+        }
+        List<String> lines = new ArrayList<>(HistogramOverlay.format(String.format(
+                "%d splitters, %d buckets (odd ones hold a single value): %s",
+                splitters.length, bucketCount, currentPhase), sizes, 0));
+        lines.add(String.format("largest bucket %d = x%.2f the ideal %d, %d elements in equality buckets",
+                largestBucket, getBucketImbalance(), n / (parallelism * bucketsPerWorker), equalElements));
+        if (currentPhase.startsWith("sorting") || currentPhase.equals("done")) {
+            lines.addAll(telemetry.toLines());
+        }
+        return lines;
+    }
+
+    // Runs on the controller thread; the sample is small enough not to need the pool
+    private void chooseSplitters() {
+        int buckets = parallelism * bucketsPerWorker;
+        int sampleSize = (int) Math.min(n, (long) buckets * oversampling);
+        int[] sample = new int[sampleSize];
+        for (int k = 0; k < sampleSize; k++) {
+            sample[k] = data[random.nextInt(n)].getValue();
+        }
+        Arrays.sort(sample);
+        int[] chosen = new int[buckets - 1];
+        int distinct = 0;
+        for (int b = 1; b < buckets && sampleSize > 0; b++) {
+            int value = sample[(int) ((long) b * sampleSize / buckets)];
+            if (distinct == 0 || value != chosen[distinct - 1]) chosen[distinct++] = value;
+        }
+        splitters = Arrays.copyOf(chosen, distinct);
+        tree = new int[Integer.highestOneBit(Math.max(1, distinct)) << 1];
+        Arrays.fill(tree, Integer.MAX_VALUE);
+        System.arraycopy(splitters, 0, tree, 0, distinct);
+    }
+
+    // Runs on a pool worker, which also takes part in each parallel phase
+    private void sortAllPhases() {
+        phase = "classifying";
+        forEachBlock(chunks, this::classifyChunk);
+        if (isCancelled()) return;
+
+        phase = "prefix sum";
+        prefixSum();
+
+        phase = "redistributing";
+        forEachBlock(chunks, this::redistributeChunk);
+        if (isCancelled()) return;
+        SortElement[] swap = data;
+        data = buffer;
+        buffer = swap;
+        if (isPaced()) {
+            for (int k = 0; k < n; k++) elements.set(k, data[k]);
+            workerPause();
+        }
+
+        phase = "sorting buckets";
+        int self = workerId();
+        List<BucketTask> tasks = new ArrayList<>();
+        for (int b = 0; b < bucketCount; b += 2) {
+            if (bucketStart[b + 1] - bucketStart[b] > 1) tasks.add(new BucketTask(b, self));
+        }
+        tasks.sort((a, c) -> Integer.compare(c.hi - c.lo, a.hi - a.lo));
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private void classifyChunk(int c) {
+        int lo = chunkStart(c, chunks), hi = chunkStart(c + 1, chunks);
+        if (hi > lo) reportRegion(lo, hi - 1);
+        int[] histogram = histograms[c];
+        boolean paced = isPaced();
+        for (int k = lo; k < hi; k++) {
+            int bucket = classify(data[k].getValue());
+            classes[k] = bucket;
+            histogram[bucket]++;
+            if (paced) {
+                workerCallback.reportRead(k);
+                workerPause();
+            }
+        }
+    }
+
+    /**
+     * Finds the bucket of a value: 2j for values between splitters j - 1 and j, and 2j + 1 for values equal to
+     * splitter j. The binary search always takes log2(tree.length) rounds, and each round only selects an offset,
+     * so the loop compiles without a branch on the comparison.
+     */
+    private int classify(int value) {
+        int base = 0;
+        for (int half = tree.length >> 1; half > 0; half >>= 1) {
+            base += (tree[base + half - 1] < value) ? half : 0;
+        }
+        int below = base + ((tree[base] < value) ? 1 : 0); // Splitters smaller than the value
+        int equal = (below < splitters.length && splitters[below] == value) ? 1 : 0;
+        return 2 * below + equal;
+    }
+
+    // Exclusive prefix sum over the counts in (bucket, chunk) order, written to offsets and bucketStart
+    private void prefixSum() {
+        int running = 0, largest = 0, equal = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b] = running;
+            for (int c = 0; c < chunks; c++) {
+                offsets[c][b] = running;
+                running += histograms[c][b];
+            }
+            int size = running - bucketStart[b];
+            if (b % 2 == 0) largest = Math.max(largest, size);
+            else equal += size;
+        }
+        bucketStart[bucketCount] = running;
+        largestBucket = largest;
+        equalElements = equal;
+    }
+
+    private void redistributeChunk(int c) {
+        int lo = chunkStart(c, chunks), hi = chunkStart(c + 1, chunks);
+        if (hi > lo) reportRegion(lo, hi - 1);
+        int[] next = offsets[c];
+        for (int k = lo; k < hi; k++) {
+            buffer[next[classes[k]]++] = data[k];
+        }
+        workerPause();
+    }
+
+    /**
+     * Sorts one bucket between two splitters on whichever worker picks it up.
+     * forkedBy is the worker that created the task, used to detect steals.
+     */
+    private class BucketTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi, forkedBy;
+
+        BucketTask(int bucket, int forkedBy) {
+            this.lo = bucketStart[bucket];
+            this.hi = bucketStart[bucket + 1];
+            this.forkedBy = forkedBy;
+        }
+
+        @Override
+        protected void compute() {
+            if (isCancelled()) return;
+            int self = workerId();
+            long start = System.nanoTime();
+            reportRegion(lo, hi - 1);
+            quickSort.sort(data, lo, hi);
+            telemetry.recordTask(self, forkedBy, System.nanoTime() - start);
+        }
+    }
+}
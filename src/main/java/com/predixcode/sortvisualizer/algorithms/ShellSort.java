@@ -1,35 +1,146 @@
-
 package com.predixcode.sortvisualizer.algorithms;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.predixcode.sortvisualizer.core.StepCallback;
 import com.predixcode.sortvisualizer.ui.SortElement;
 import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
 
+/**
+ * Shell sort: gapped insertion sort with a shrinking sequence of gaps, ending with an ordinary insertion sort
+ * (gap 1) on an array that earlier passes have made nearly sorted. The gap sequence is pluggable; it is computed
+ * once in reset() as a descending int array of the gaps below n.
+ *
+ * Each insertion takes the next element out of the list, shifts larger elements one gap to the right, one
+ * comparison and write per step, and writes it into the hole that is left.
+ */
 public class ShellSort extends AbstractSortAlgorithm {
 
+    /**
+     * The gap sequences, each producing its gaps below a given array size in descending order.
+     */
+    public enum GapSequence {
+        SHELL("Shell") {          // n/2, n/4, ..., 1: Shell's original, O(n^2) in the worst case
+            @Override
+            public int[] gaps(int n) {
+                int[] gaps = new int[Math.max(0, 31 - Integer.numberOfLeadingZeros(Math.max(1, n)))];
+                for (int k = 0, gap = n / 2; gap > 0; k++, gap /= 2) gaps[k] = gap;
+                return gaps;
+            }
+        },
+        KNUTH("Knuth") {          // 1, 4, 13, 40, ... (3^k - 1) / 2 up to n/3: O(n^1.5)
+            @Override
+            public int[] gaps(int n) {
+                long[] seq = new long[40];
+                int count = 0;
+                for (long gap = 1; gap == 1 || gap <= n / 3; gap = 3 * gap + 1) seq[count++] = gap;
+                return descendingBelow(seq, count, n);
+            }
+        },
+        SEDGEWICK("Sedgewick") {  // 1, 8, 23, 77, 281, ... 4^k + 3 * 2^(k-1) + 1: O(n^(4/3))
+            @Override
+            public int[] gaps(int n) {
+                long[] seq = new long[40];
+                int count = 0;
+                seq[count++] = 1;
+                for (int k = 1; k < 16; k++) seq[count++] = (1L << (2 * k)) + 3L * (1L << (k - 1)) + 1;
+                return descendingBelow(seq, count, n);
+            }
+        },
+        TOKUDA("Tokuda") {        // 1, 4, 9, 20, 46, 103, ... ceil((9 * (9/4)^k - 4) / 5)
+            @Override
+            public int[] gaps(int n) {
+                long[] seq = new long[40];
+                int count = 0;
+                for (int k = 0; count == 0 || seq[count - 1] < Integer.MAX_VALUE; k++) {
+                    seq[count++] = (long) Math.ceil((9 * Math.pow(2.25, k) - 4) / 5);
+                }
+                return descendingBelow(seq, count, n);
+            }
+        },
+        CIURA("Ciura") {          // 1, 4, 10, 23, 57, 132, 301, 701, 1750, then extended by a factor of 2.25
+            @Override
+            public int[] gaps(int n) {
+                long[] seq = new long[40];
+                int count = 0;
+                for (int gap : CIURA_GAPS) seq[count++] = gap;
+                while (seq[count - 1] < Integer.MAX_VALUE) {
+                    seq[count] = (long) (seq[count - 1] * 2.25);
+                    count++;
+                }
+                return descendingBelow(seq, count, n);
+            }
+        },
+        PRATT("Pratt") {          // Every 2^p * 3^q: O(n log^2 n), but many passes
+            @Override
+            public int[] gaps(int n) {
+                long[] seq = new long[32 * 20];
+                int count = 0;
+                for (long pow2 = 1; pow2 < Integer.MAX_VALUE; pow2 *= 2) {
+                    for (long gap = pow2; gap < Integer.MAX_VALUE; gap *= 3) seq[count++] = gap;
+                }
+                Arrays.sort(seq, 0, count);
+                return descendingBelow(seq, count, n);
+            }
+        };
+
+        // Ciura's experimentally found gaps, best known for n up to a few thousand
+        private static final int[] CIURA_GAPS = { 1, 4, 10, 23, 57, 132, 301, 701, 1750 };
+
+        private final String displayName;
+
+        GapSequence(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * Computes the gaps to use for an array of the given size.
+         * @param n The array size.
+         * @return The gaps below n in descending order, ending with 1 (empty if n is below 2).
+         */
+        public abstract int[] gaps(int n);
+
+        // Picks the gaps below n from an ascending sequence and reverses them
+        private static int[] descendingBelow(long[] ascending, int count, int n) {
+            int below = 0;
+            while (below < count && ascending[below] < n) below++;
+            int[] gaps = new int[below];
+            for (int k = 0; k < below; k++) gaps[k] = (int) ascending[below - 1 - k];
+            return gaps;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final GapSequence gapSequence;
+
     private int n; // Size of the array being sorted
     private boolean isSortedFlag = false;
-    private List<Integer> gaps; // Sequence of gaps
-    private int gapIndex; // Current index in the gaps list
-    private int i; // Outer loop counter
-    private int j; // Inner loop counter
-    private int temp; // Temporary value for insertion
+    private int[] gaps; // Gaps in the order they are used
+    private int gapIndex; // Current index in gaps
+    private int gap; // The current gap
+    private int i; // Next element to insert
+    private int j; // The hole the held element would go into
+    private SortElement held; // The element being inserted, out of the list while larger elements shift
 
     // Internal state for managing steps within nextStep()
     private enum ShellSortInternalState {
-        GAP_INITIALIZATION, // Initializing the gap sequence
-        OUTER_LOOP, // Starting a new pass with the current gap
-        INNER_LOOP, // Processing elements within the current gap
-        INSERTION, // Inserting an element in its correct position
-        GAP_COMPLETE // Current gap processing is complete
+        NEXT_GAP,   // Starting a pass with the next gap, or finishing
+        PICKING,    // Taking the next element of the pass out of the list
+        INSERTING   // Shifting one larger element a gap to the right per step, then writing the held element
     }
     private ShellSortInternalState currentState;
 
     public ShellSort() {
-        // Constructor
+        this(GapSequence.KNUTH);
+    }
+
+    public ShellSort(GapSequence gapSequence) {
+        this.gapSequence = gapSequence;
     }
 
     @Override
@@ -41,8 +152,10 @@ public class ShellSort extends AbstractSortAlgorithm {
     public void reset() {
         this.n = (this.elements != null) ? this.elements.size() : 0;
         this.isSortedFlag = (n <= 1); // An array of 0 or 1 elements is already sorted.
-        this.gaps = new ArrayList<>();
-        this.currentState = ShellSortInternalState.GAP_INITIALIZATION;
+        this.gaps = gapSequence.gaps(n);
+        this.gapIndex = 0;
+        this.held = null;
+        this.currentState = ShellSortInternalState.NEXT_GAP;
 
         // Visually reset all elements to NORMAL if elements and callback are present
         if (this.elements != null && this.callback != null) {
@@ -54,13 +167,22 @@ public class ShellSort extends AbstractSortAlgorithm {
 
     @Override
     public String getName() {
-        return "Shell Sort";
+        return gapSequence == GapSequence.KNUTH ? "Shell Sort" : "Shell Sort (" + gapSequence + ")";
+    }
+
+    public GapSequence getGapSequence() {
+        return gapSequence;
     }
 
     @Override
     public boolean nextStep() {
         if (isSortedFlag || callback.isStopRequested() || n == 0) {
             if (!isSortedFlag && n > 0) {
+                if (held != null) {
+                    // Stopped mid-insertion: put the held element into the hole so nothing is lost
+                    elements.set(j, held);
+                    held = null;
+                }
                 for (SortElement el : elements) {
                     if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
                 }
@@ -71,140 +193,71 @@ public class ShellSort extends AbstractSortAlgorithm {
         }
 
         switch (currentState) {
-            case GAP_INITIALIZATION:
-                return handleGapInitialization();
-                
-            case OUTER_LOOP:
-                return handleOuterLoop();
-                
-            case INNER_LOOP:
-                return handleInnerLoop();
-                
-            case INSERTION:
-                return handleInsertion();
-                
-            case GAP_COMPLETE:
-                return handleGapComplete();
-                
-            default:
+            case NEXT_GAP -> {
+                return handleNextGap();
+            }
+            case PICKING -> {
+                return handlePicking();
+            }
+            case INSERTING -> {
+                return handleInserting();
+            }
+            default -> {
                 isSortedFlag = true;
                 return false;
+            }
         }
     }
 
-    private boolean handleGapInitialization() {
-        // Initialize the gap sequence (using Knuth's sequence: h = 3*h + 1)
-        gaps.clear();
-        int gap = 1;
-        while (gap < n / 3) {
-            gap = 3 * gap + 1;
-        }
-        
-        while (gap > 0) {
-            gaps.add(gap);
-            gap = gap / 3;
-        }
-        
-        gapIndex = 0;
-        currentState = ShellSortInternalState.OUTER_LOOP;
-        return true;
-    }
-
-    private boolean handleOuterLoop() {
-        if (gapIndex < gaps.size()) {
-            int gap = gaps.get(gapIndex);
-            
-            // Reset for the current gap
+    private boolean handleNextGap() {
+        if (gapIndex < gaps.length) {
+            gap = gaps[gapIndex++];
             i = gap;
-            
-            if (i < n) {
-                // Highlight elements in the current gap
-                for (int k = 0; k < n; k++) {
-                    if (k % gap == 0) {
-                        callback.reportElementStateChange(k, ElementState.PIVOT);
-                    } else {
-                        elements.get(k).setState(ElementState.NORMAL);
-                    }
-                }
-                
-                currentState = ShellSortInternalState.INNER_LOOP;
-                callback.requestVisualUpdate();
-                return true;
-            } else {
-                // No elements to process for this gap
-                gapIndex++;
-                return true;
-            }
-        } else {
-            // All gaps processed, array is sorted
-            for (int k = 0; k < n; k++) {
-                callback.reportElementStateChange(k, ElementState.SORTED);
+            currentState = ShellSortInternalState.PICKING;
+            if (!isVisualSuppressed()) {
+                callback.reportOverlay(List.of(String.format("%s gaps: gap %d (%d of %d)",
+                        gapSequence, gap, gapIndex, gaps.length)));
             }
-            isSortedFlag = true;
-            return false;
+            return true;
         }
+        // All gaps processed, array is sorted
+        for (SortElement el : elements) el.setState(ElementState.SORTED);
+        callback.reportOverlay(List.of());
+        isSortedFlag = true;
+        return false;
     }
 
-    private boolean handleInnerLoop() {
-        int gap = gaps.get(gapIndex);
-        
+    private boolean handlePicking() {
         if (i < n) {
-            // Save the current element
-            temp = elements.get(i).getValue();
+            callback.reportElementStateChange(i, ElementState.PIVOT);
+            callback.reportRead(i);
+            held = elements.get(i);
             j = i;
-            
-            // Highlight the current element
-            callback.reportElementStateChange(i, ElementState.SWAP);
-            
-            currentState = ShellSortInternalState.INSERTION;
-            callback.requestVisualUpdate();
-            return true;
-        } else {
-            // Current gap processing is complete
-            currentState = ShellSortInternalState.GAP_COMPLETE;
-            return true;
-        }
-    }
-
-    private boolean handleInsertion() {
-        int gap = gaps.get(gapIndex);
-        
-        if (j >= gap && elements.get(j - gap).getValue() > temp) {
-            // Compare elements
-            callback.reportCompare(j, j - gap);
-            
-            // Move element
-            elements.set(j, elements.get(j - gap));
-            callback.reportElementStateChange(j, ElementState.COMPARE);
-            
-            j -= gap;
-            callback.requestVisualUpdate();
-            return true;
-        } else {
-            // Insert the element at its correct position
-            SortElement tempElement = elements.get(j);
-            tempElement.setValue(temp);
-            callback.reportElementStateChange(j, ElementState.SWAP);
-            
-            // Move to the next element
             i++;
-            currentState = ShellSortInternalState.INNER_LOOP;
+            currentState = ShellSortInternalState.INSERTING;
             callback.requestVisualUpdate();
             return true;
         }
+        currentState = ShellSortInternalState.NEXT_GAP;
+        return true;
     }
 
-    private boolean handleGapComplete() {
-        // Move to the next gap
-        gapIndex++;
-        
-        // Reset element states
-        for (int k = 0; k < n; k++) {
-            elements.get(k).setState(ElementState.NORMAL);
+    private boolean handleInserting() {
+        if (j >= gap) {
+            callback.reportCompare(j - gap, j);
+            if (elements.get(j - gap).getValue() > held.getValue()) {
+                // Shift the larger element into the hole
+                elements.set(j, elements.get(j - gap));
+                callback.reportWrite(j);
+                j -= gap;
+                return true;
+            }
         }
-        
-        currentState = ShellSortInternalState.OUTER_LOOP;
-        callback.requestVisualUpdate();
+        elements.set(j, held);
+        callback.reportWrite(j);
+        callback.reportElementStateChange(j, ElementState.NORMAL);
+        held = null;
+        currentState = ShellSortInternalState.PICKING;
         return true;
     }
 
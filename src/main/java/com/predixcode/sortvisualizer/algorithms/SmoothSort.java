@@ -0,0 +1,368 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Dijkstra's smoothsort. Like heap sort it builds a max heap in place and then takes the maximum off it n times,
+ * but the heap is a forest of Leonardo trees laid out left to right, each stored in post-order with its root at its
+ * right end. The Leonardo numbers L(0) = L(1) = 1, L(k) = L(k - 1) + L(k - 2) + 1 give the tree sizes; a tree of
+ * order k has a left subtree of order k - 1 and a right one of order k - 2. The roots of the forest are kept in
+ * ascending order, so the maximum is always the rightmost element.
+ *
+ * Growing adds one element at a time, either as a new single-node tree or as the root joining the last two trees.
+ * A tree that will later be joined into a larger one only needs a sift-down; a tree that stays a root is also
+ * "trinkled", its root swapped leftwards along the smaller roots of the forest. Shrinking removes the rightmost
+ * root and splits its tree into its two subtrees, each of which is trinkled into place. On sorted input no root
+ * ever moves and every sift stops after one comparison, so the sort approaches O(n); it is O(n log n) at worst
+ * and uses O(1) extra memory.
+ *
+ * The trees of the forest are shaded as regions, and the element being sifted or trinkled is the pivot.
+ */
+public class SmoothSort extends AbstractSortAlgorithm {
+
+    // L(44) is the first Leonardo number above Integer.MAX_VALUE, so no forest needs more orders or trees
+    private static final int MAX_ORDERS = 46;
+    private static final long[] LEONARDO = new long[MAX_ORDERS];
+
+    static {
+        LEONARDO[0] = 1;
+        LEONARDO[1] = 1;
+        for (int k = 2; k < MAX_ORDERS; k++) LEONARDO[k] = LEONARDO[k - 1] + LEONARDO[k - 2] + 1;
+    }
+
+    private int n;
+    private int index; // Next element to add while growing, or the current rightmost root while shrinking
+
+    // The forest, left to right: the order and root index of each tree
+    private final int[] orders = new int[MAX_ORDERS];
+    private final int[] roots = new int[MAX_ORDERS];
+    private int trees;
+
+    // Current trinkle: the element moves from the root of tree t leftwards
+    private int tree;
+    private boolean rootIsHeap; // Whether the moving root is already no smaller than its children
+    private int largerChild; // The larger child of the moving root, or -1 if its tree is a single node
+    private boolean trinkleRightSubtree; // While shrinking: the right subtree still has to be trinkled after this one
+
+    // Current sift-down
+    private int siftRoot;
+    private int siftOrder;
+    private boolean growing;
+
+    private long trinkleSwaps;
+    private int regionsShown;
+    private boolean isSortedFlag = false;
+
+    private enum SmoothSortInternalState {
+        GROWING,            // Adding the next element to the forest as a new tree or the root of a joined tree
+        SHRINKING,          // Removing the rightmost root and splitting its tree into its two subtrees
+        TRINKLE_CHILDREN,   // Finding the larger child of the moving root, when it is not yet a heap
+        TRINKLE_ROOT,       // Comparing the root to the left with the moving root
+        TRINKLE_CHILD,      // Comparing the root to the left with the larger child of the moving root
+        SIFT_CHILDREN,      // Sift-down: comparing the two children of the sifted element
+        SIFT_ROOT           // Sift-down: comparing the sifted element with its larger child, and swapping if smaller
+    }
+    private SmoothSortInternalState currentState;
+
+    public SmoothSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.index = 0;
+        this.trees = 0;
+        this.trinkleRightSubtree = false;
+        this.growing = true;
+        this.trinkleSwaps = 0;
+        this.regionsShown = 0;
+        this.isSortedFlag = (n <= 1);
+        this.currentState = SmoothSortInternalState.GROWING;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Smooth Sort";
+    }
+
+    /**
+     * Gets how often a root was swapped with the root to its left in the last run. Zero on sorted input.
+     * @return The number of trinkle swaps.
+     */
+    public long getTrinkleSwaps() {
+        return trinkleSwaps;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                clearForest();
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case GROWING -> {
+                return handleGrowing();
+            }
+            case SHRINKING -> {
+                return handleShrinking();
+            }
+            case TRINKLE_CHILDREN -> {
+                return handleTrinkleChildren();
+            }
+            case TRINKLE_ROOT -> {
+                return handleTrinkleRoot();
+            }
+            case TRINKLE_CHILD -> {
+                return handleTrinkleChild();
+            }
+            case SIFT_CHILDREN -> {
+                return handleSiftChildren();
+            }
+            case SIFT_ROOT -> {
+                return handleSiftRoot();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    private boolean handleGrowing() {
+        if (index == n) {
+            growing = false;
+            index = n - 1;
+            currentState = SmoothSortInternalState.SHRINKING;
+            return true;
+        }
+        if (trees >= 2 && orders[trees - 2] == orders[trees - 1] + 1) {
+            // The last two trees become the subtrees of a tree rooted at the new element
+            trees--;
+            orders[trees - 1]++;
+            roots[trees - 1] = index;
+        } else {
+            orders[trees] = (trees >= 1 && orders[trees - 1] == 1) ? 0 : 1;
+            roots[trees] = index;
+            trees++;
+        }
+        showForest();
+
+        int order = orders[trees - 1];
+        long remaining = n - 1L - index;
+        boolean joinedLater = (trees >= 2 && orders[trees - 2] == order + 1)
+                ? remaining >= 1
+                : order >= 1 && remaining >= LEONARDO[order - 1] + 1;
+        callback.reportElementStateChange(index, ElementState.PIVOT);
+        if (joinedLater) {
+            startSift(index, order);
+        } else {
+            startTrinkle(trees - 1, false);
+        }
+        index++;
+        return true;
+    }
+
+    private boolean handleShrinking() {
+        callback.reportElementStateChange(index, ElementState.SORTED);
+        if (index == 0) {
+            clearForest();
+            isSortedFlag = true;
+            callback.requestVisualUpdate();
+            return false;
+        }
+        int order = orders[trees - 1];
+        index--;
+        if (order <= 1) {
+            // A single node: the next root to the left is already the next maximum
+            trees--;
+            showForest();
+            return true;
+        }
+        // Split into the left subtree of order k - 1 and the right one of order k - 2, both valid heaps
+        orders[trees - 1] = order - 1;
+        roots[trees - 1] = (int) (index - LEONARDO[order - 2]);
+        orders[trees] = order - 2;
+        roots[trees] = index;
+        trees++;
+        showForest();
+        trinkleRightSubtree = true;
+        callback.reportElementStateChange(roots[trees - 2], ElementState.PIVOT);
+        startTrinkle(trees - 2, true);
+        return true;
+    }
+
+    private void startTrinkle(int t, boolean isHeap) {
+        tree = t;
+        rootIsHeap = isHeap;
+        continueTrinkle();
+    }
+
+    // Moves on to the next root to the left, or ends the trinkle with a sift-down where the element stopped
+    private void continueTrinkle() {
+        if (tree == 0) {
+            startSift(roots[0], orders[0]);
+            return;
+        }
+        largerChild = -1;
+        currentState = (!rootIsHeap && orders[tree] >= 2)
+                ? SmoothSortInternalState.TRINKLE_CHILDREN
+                : SmoothSortInternalState.TRINKLE_ROOT;
+    }
+
+    private boolean handleTrinkleChildren() {
+        int root = roots[tree];
+        int right = root - 1;
+        int left = (int) (right - LEONARDO[orders[tree] - 2]);
+        callback.reportCompare(left, right);
+        largerChild = (value(left) > value(right)) ? left : right;
+        currentState = SmoothSortInternalState.TRINKLE_ROOT;
+        return true;
+    }
+
+    private boolean handleTrinkleRoot() {
+        int root = roots[tree];
+        int leftRoot = roots[tree - 1];
+        callback.reportCompare(leftRoot, root);
+        if (value(leftRoot) <= value(root)) {
+            startSift(root, orders[tree]);
+            return true;
+        }
+        if (largerChild >= 0) {
+            currentState = SmoothSortInternalState.TRINKLE_CHILD;
+            return true;
+        }
+        moveLeft();
+        return true;
+    }
+
+    private boolean handleTrinkleChild() {
+        int leftRoot = roots[tree - 1];
+        callback.reportCompare(leftRoot, largerChild);
+        if (value(leftRoot) <= value(largerChild)) {
+            // The larger child will rise to the root in the sift-down, and it is no smaller than the left root
+            startSift(roots[tree], orders[tree]);
+            return true;
+        }
+        moveLeft();
+        return true;
+    }
+
+    // The larger root to the left takes this tree's root place, and the moving element continues from there
+    private void moveLeft() {
+        swap(roots[tree - 1], roots[tree]);
+        trinkleSwaps++;
+        tree--;
+        rootIsHeap = false; // The element may be smaller than the children of the root it replaced
+        continueTrinkle();
+    }
+
+    private void startSift(int root, int order) {
+        siftRoot = root;
+        siftOrder = order;
+        if (order < 2) {
+            finishSift();
+        } else {
+            currentState = SmoothSortInternalState.SIFT_CHILDREN;
+        }
+    }
+
+    private boolean handleSiftChildren() {
+        int right = siftRoot - 1;
+        int left = (int) (right - LEONARDO[siftOrder - 2]);
+        callback.reportCompare(left, right);
+        if (value(left) > value(right)) {
+            largerChild = left;
+            siftOrder -= 1;
+        } else {
+            largerChild = right;
+            siftOrder -= 2;
+        }
+        currentState = SmoothSortInternalState.SIFT_ROOT;
+        return true;
+    }
+
+    private boolean handleSiftRoot() {
+        callback.reportCompare(siftRoot, largerChild);
+        if (value(siftRoot) >= value(largerChild)) {
+            finishSift();
+            return true;
+        }
+        swap(siftRoot, largerChild);
+        siftRoot = largerChild;
+        if (siftOrder < 2) {
+            finishSift();
+        } else {
+            currentState = SmoothSortInternalState.SIFT_CHILDREN;
+        }
+        return true;
+    }
+
+    private void finishSift() {
+        callback.reportElementStateChange(siftRoot, ElementState.NORMAL);
+        if (growing) {
+            currentState = SmoothSortInternalState.GROWING;
+        } else if (trinkleRightSubtree) {
+            trinkleRightSubtree = false;
+            callback.reportElementStateChange(roots[trees - 1], ElementState.PIVOT);
+            startTrinkle(trees - 1, true);
+        } else {
+            currentState = SmoothSortInternalState.SHRINKING;
+        }
+    }
+
+    private int value(int index) {
+        return elements.get(index).getValue();
+    }
+
+    // Shades each Leonardo tree of the forest as a region, and lists the tree orders
+    private void showForest() {
+        if (isVisualSuppressed()) return;
+
+        StringBuilder forest = new StringBuilder();
+        for (int t = 0; t < trees; t++) {
+            callback.reportRegion(t, (int) (roots[t] - LEONARDO[orders[t]] + 1), roots[t]);
+        }
+        for (int id = trees; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = trees;
+        for (int t = 0; t < trees; t++) {
+            forest.append(t == 0 ? "" : " ").append("L").append(orders[t]);
+        }
+        callback.reportOverlay(List.of(
+                String.format("%s: %d trees over %d elements, %d trinkle swaps so far",
+                        growing ? "growing" : "shrinking", trees, index + 1, trinkleSwaps),
+                "orders: " + forest));
+    }
+
+    private void clearForest() {
+        callback.reportOverlay(List.of());
+        for (int id = 0; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = 0;
+    }
+}
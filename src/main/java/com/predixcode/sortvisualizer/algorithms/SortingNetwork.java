@@ -0,0 +1,140 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * Batcher's sorting networks: bitonic sort and odd-even merge sort. A network is a fixed sequence of layers of
+ * compare-exchange operations on disjoint pairs of indices, the same for every input of a given size, so the sort
+ * is data-oblivious: no comparison decides what is compared next. Both networks have log2(n) (log2(n) + 1) / 2
+ * layers; odd-even merge sort needs fewer comparators per layer.
+ *
+ * Each step runs one whole layer, and all of its comparators are highlighted together. The comparators in a
+ * layer are independent, which is what ParallelSortingNetwork exploits to run a layer across cores.
+ */
+public class SortingNetwork extends AbstractSortAlgorithm {
+
+    /**
+     * The network to sort with.
+     */
+    public enum Network {
+        BITONIC("Bitonic Sort"),                 // Merges by comparing mirror images, then half-cleaners
+        ODD_EVEN_MERGE("Odd-Even Merge Sort");   // Merges by sorting even and odd subsequences, then fixing neighbours
+
+        private final String displayName;
+
+        Network(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final Network network;
+    private NetworkLayers layers;
+    private int layer;
+    private boolean layerHighlighted;
+    private boolean isSortedFlag = false;
+    private int n;
+
+    public SortingNetwork() {
+        this(Network.BITONIC);
+    }
+
+    public SortingNetwork(Network network) {
+        this.network = network;
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.layers = new NetworkLayers(network, n);
+        this.layer = 0;
+        this.layerHighlighted = false;
+        this.isSortedFlag = (n <= 1);
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return network.toString();
+    }
+
+    public Network getNetwork() {
+        return network;
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        if (layerHighlighted) {
+            callback.reportResetStates(0, n - 1);
+            layerHighlighted = false;
+        }
+        if (layer == layers.layerCount()) {
+            for (SortElement el : elements) el.setState(ElementState.SORTED);
+            callback.reportOverlay(List.of());
+            isSortedFlag = true;
+            return false;
+        }
+
+        int slots = layers.slotsPerLayer();
+        int comparators = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            int low = layers.low(layer, slot);
+            if (low < 0) continue;
+            int high = layers.high(layer, slot, low);
+            callback.reportCompare(low, high);
+            if (elements.get(low).getValue() > elements.get(high).getValue()) {
+                swap(low, high);
+            }
+            comparators++;
+        }
+
+        if (!isVisualSuppressed()) {
+            // Every pair in the layer was compared at the same time, so show them all until the next step
+            for (int slot = 0; slot < slots; slot++) {
+                int low = layers.low(layer, slot);
+                if (low < 0) continue;
+                callback.reportElementStateChange(low, ElementState.COMPARE);
+                callback.reportElementStateChange(layers.high(layer, slot, low), ElementState.COMPARE);
+            }
+            layerHighlighted = true;
+            callback.reportOverlay(List.of(
+                    String.format("layer %d of %d: %s", layer + 1, layers.layerCount(), layers.describe(layer)),
+                    comparators + " independent comparators"));
+        }
+        layer++;
+        callback.requestVisualUpdate();
+        return true;
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+}
@@ -0,0 +1,580 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+import com.predixcode.sortvisualizer.ui.SortElement.ElementState;
+
+/**
+ * TimSort, following the structure of the JDK's implementation. The array is scanned for natural runs (strictly
+ * descending runs are reversed), runs shorter than minRun are extended with binary insertion, and runs are pushed
+ * on a stack whose lengths are kept roughly Fibonacci-like by merging whenever an invariant breaks:
+ * len[i-2] > len[i-1] + len[i] and len[i-1] > len[i].
+ *
+ * Merges first gallop to skip the part of each run that is already in place, then merge one pair at a time until
+ * one run wins MIN_GALLOP times in a row, at which point they switch to galloping: exponential search for how many
+ * elements can be copied from one run as a block. minGallop adapts to how well galloping has been paying off.
+ * Unlike the JDK, every merge copies the left run to the buffer and merges forward (mergeLo); the JDK picks
+ * whichever run is shorter to save buffer space.
+ *
+ * Runs on the stack are shown as shaded regions, and the run stack,
+ * minGallop and the current merge mode are shown as an overlay.
+ */
+public class TimSort extends AbstractSortAlgorithm {
+
+    // Arrays shorter than this are sorted as one run extended by binary insertion
+    private static final int MIN_MERGE = 32;
+    // Initial threshold for entering galloping mode
+    private static final int MIN_GALLOP = 7;
+    // Enough for any int-sized array, given the run-stack invariants
+    private static final int MAX_STACK = 49;
+
+    private int minRun;
+    private int nextRunStart;
+    private boolean allRunsFound;
+
+    // The run being found or extended
+    private int runStart, runEnd;
+    private boolean descending;
+    private int reverseLo, reverseHi;
+
+    // Binary insertion of insertIndex into [runStart, insertIndex)
+    private int insertIndex, insertLimit;
+    private int searchLeft, searchRight;
+    private int shiftIndex;
+    private SortElement pivotElement;
+
+    // Run stack
+    private final int[] runBase = new int[MAX_STACK];
+    private final int[] runLen = new int[MAX_STACK];
+    private int stackSize;
+    private int regionsShown;
+
+    // Merge of runs at mergeIndex and mergeIndex + 1
+    private SortElement[] tmp;
+    private int cursor1, cursor2, dest, len1, len2;
+    private int count1, count2;
+    private int minGallop;
+    private String mergeMode = "";
+    private boolean isSortedFlag = false;
+
+    private enum TimSortInternalState {
+        FINDING_RUN,       // Comparing the first two elements of the next run to learn its direction
+        SCANNING_RUN,      // Extending the natural run, one comparison per step
+        REVERSING_RUN,     // Reversing a strictly descending run, one swap per step
+        BINARY_SEARCHING,  // Finding where the next element of a short run goes, one comparison per step
+        INSERTING,         // Shifting the sorted part right and dropping the element in, one write per step
+        COLLAPSING,        // Checking the run-stack invariants and choosing the next merge, if any
+        MERGE_TRIMMING,    // Galloping to skip what is already in place, then moving the left run to tmp
+        MERGING,           // One-pair mode: one comparison and one write per step
+        GALLOPING_A,       // Galloping mode: copy a block from the left run (in tmp), then one element of the right run
+        GALLOPING_B        // Galloping mode: copy a block from the right run, then one element of the left run
+    }
+    private TimSortInternalState currentState;
+    private int mergeIndex;
+    private int n;
+
+    public TimSort() {
+        // Constructor
+    }
+
+    @Override
+    public void initialize(List<SortElement> elements, StepCallback callback) {
+        super.initialize(elements, callback);
+    }
+
+    @Override
+    public void reset() {
+        this.n = (this.elements != null) ? this.elements.size() : 0;
+        this.minRun = minRunLength(n);
+        this.nextRunStart = 0;
+        this.allRunsFound = false;
+        this.stackSize = 0;
+        this.regionsShown = 0;
+        this.tmp = new SortElement[n];
+        this.minGallop = MIN_GALLOP;
+        this.mergeMode = "";
+        this.isSortedFlag = (n <= 1);
+        this.currentState = TimSortInternalState.FINDING_RUN;
+
+        if (this.elements != null && this.callback != null) {
+            for (SortElement el : this.elements) el.setState(ElementState.NORMAL);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Tim Sort";
+    }
+
+    @Override
+    public boolean nextStep() {
+        if (isSortedFlag || callback.isStopRequested() || n == 0) {
+            if (!isSortedFlag && n > 0) {
+                for (SortElement el : elements) {
+                    if (el.getState() != ElementState.SORTED) el.setState(ElementState.NORMAL);
+                }
+                callback.requestVisualUpdate();
+            }
+            isSortedFlag = true;
+            return false;
+        }
+
+        switch (currentState) {
+            case FINDING_RUN -> {
+                return handleFindingRun();
+            }
+            case SCANNING_RUN -> {
+                return handleScanningRun();
+            }
+            case REVERSING_RUN -> {
+                return handleReversingRun();
+            }
+            case BINARY_SEARCHING -> {
+                return handleBinarySearching();
+            }
+            case INSERTING -> {
+                return handleInserting();
+            }
+            case COLLAPSING -> {
+                return handleCollapsing();
+            }
+            case MERGE_TRIMMING -> {
+                return handleMergeTrimming();
+            }
+            case MERGING -> {
+                return handleMerging();
+            }
+            case GALLOPING_A -> {
+                return handleGallopingA();
+            }
+            case GALLOPING_B -> {
+                return handleGallopingB();
+            }
+            default -> {
+                isSortedFlag = true;
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return this.isSortedFlag;
+    }
+
+    // --- Finding runs ---
+
+    private boolean handleFindingRun() {
+        runStart = nextRunStart;
+        if (n - runStart < 2) {
+            runEnd = runStart + 1;
+            return runFound();
+        }
+        callback.reportCompare(runStart, runStart + 1);
+        descending = value(runStart + 1) < value(runStart);
+        runEnd = runStart + 2;
+        currentState = TimSortInternalState.SCANNING_RUN;
+        showRuns();
+        return true;
+    }
+
+    private boolean handleScanningRun() {
+        if (runEnd < n) {
+            callback.reportCompare(runEnd - 1, runEnd);
+            boolean continues = descending ? value(runEnd) < value(runEnd - 1) : value(runEnd) >= value(runEnd - 1);
+            if (continues) {
+                runEnd++;
+                showRuns();
+                return true;
+            }
+        }
+        if (descending) {
+            reverseLo = runStart;
+            reverseHi = runEnd - 1;
+            currentState = TimSortInternalState.REVERSING_RUN;
+            return true;
+        }
+        return runFound();
+    }
+
+    private boolean handleReversingRun() {
+        if (reverseLo < reverseHi) {
+            swap(reverseLo++, reverseHi--);
+            return true;
+        }
+        return runFound();
+    }
+
+    // The natural run [runStart, runEnd) is ascending; extend it if it is too short, otherwise push it
+    private boolean runFound() {
+        int forced = Math.min(n - runStart, minRun);
+        if (runEnd - runStart < forced) {
+            insertLimit = runStart + forced;
+            insertIndex = runEnd;
+            beginInsertion();
+            return true;
+        }
+        return pushRun();
+    }
+
+    // --- Binary insertion ---
+
+    private void beginInsertion() {
+        pivotElement = elements.get(insertIndex);
+        searchLeft = runStart;
+        searchRight = insertIndex;
+        currentState = TimSortInternalState.BINARY_SEARCHING;
+    }
+
+    private boolean handleBinarySearching() {
+        int mid = (searchLeft + searchRight) >>> 1;
+        callback.reportCompare(insertIndex, mid);
+        if (pivotElement.getValue() < value(mid)) searchRight = mid;
+        else searchLeft = mid + 1;
+        if (searchLeft >= searchRight) {
+            shiftIndex = insertIndex;
+            currentState = TimSortInternalState.INSERTING;
+        }
+        return true;
+    }
+
+    private boolean handleInserting() {
+        if (shiftIndex > searchLeft) {
+            write(shiftIndex, elements.get(shiftIndex - 1));
+            shiftIndex--;
+            return true;
+        }
+        if (searchLeft != insertIndex) write(searchLeft, pivotElement);
+        insertIndex++;
+        runEnd = insertIndex;
+        showRuns();
+        if (insertIndex < insertLimit) {
+            beginInsertion();
+            return true;
+        }
+        return pushRun();
+    }
+
+    private boolean pushRun() {
+        runBase[stackSize] = runStart;
+        runLen[stackSize] = runEnd - runStart;
+        stackSize++;
+        nextRunStart = runEnd;
+        allRunsFound = (nextRunStart >= n);
+        currentState = TimSortInternalState.COLLAPSING;
+        showRuns();
+        return true;
+    }
+
+    // --- Keeping the run stack balanced ---
+
+    private boolean handleCollapsing() {
+        if (!allRunsFound) {
+            // Merge while the invariants are broken, then go back to finding runs
+            int i = stackSize - 2;
+            if (i >= 0 && ((i > 0 && runLen[i - 1] <= runLen[i] + runLen[i + 1])
+                    || (i > 1 && runLen[i - 2] <= runLen[i] + runLen[i - 1]))) {
+                if (runLen[i - 1] < runLen[i + 1]) i--;
+                return beginMerge(i);
+            } else if (i >= 0 && runLen[i] <= runLen[i + 1]) {
+                return beginMerge(i);
+            }
+            currentState = TimSortInternalState.FINDING_RUN;
+            return true;
+        }
+
+        // All runs found: merge everything that is left, smaller neighbours first
+        if (stackSize > 1) {
+            int i = stackSize - 2;
+            if (i > 0 && runLen[i - 1] < runLen[i + 1]) i--;
+            return beginMerge(i);
+        }
+        for (SortElement el : elements) el.setState(ElementState.SORTED);
+        clearRunDisplay();
+        isSortedFlag = true;
+        return false;
+    }
+
+    private boolean beginMerge(int i) {
+        mergeIndex = i;
+        currentState = TimSortInternalState.MERGE_TRIMMING;
+        return true;
+    }
+
+    // --- Merging ---
+
+    private boolean handleMergeTrimming() {
+        int i = mergeIndex;
+        int base1 = runBase[i];
+        len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        len2 = runLen[i + 1];
+
+        // The merged run replaces both; if they were the second and third from the top, the top run moves down
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // Elements of the left run that are <= the right run's first element are already in place
+        int k = gallopRight(value(base2), base2, false, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        // Elements of the right run that are >= the left run's last element are already in place
+        if (len1 > 0) len2 = gallopLeft(value(base1 + len1 - 1), base1 + len1 - 1, false, base2, len2, len2 - 1);
+        if (len1 == 0 || len2 == 0) {
+            return mergeDone();
+        }
+
+        for (int m = 0; m < len1; m++) {
+            callback.reportRead(base1 + m);
+            tmp[m] = elements.get(base1 + m);
+        }
+        cursor1 = 0;
+        cursor2 = base2;
+        dest = base1;
+
+        // After trimming, the right run's first element is the smallest of all
+        write(dest++, elements.get(cursor2++));
+        if (--len2 == 0 || len1 == 1) {
+            return finishMerge();
+        }
+        count1 = 0;
+        count2 = 0;
+        mergeMode = "one pair at a time";
+        currentState = TimSortInternalState.MERGING;
+        showRuns();
+        return true;
+    }
+
+    private boolean handleMerging() {
+        callback.reportCompare(cursor2, dest);
+        if (value(cursor2) < tmp[cursor1].getValue()) {
+            write(dest++, elements.get(cursor2++));
+            count2++;
+            count1 = 0;
+            if (--len2 == 0) return finishMerge();
+        } else {
+            write(dest++, tmp[cursor1++]);
+            count1++;
+            count2 = 0;
+            if (--len1 == 1) return finishMerge();
+        }
+        if ((count1 | count2) >= minGallop) {
+            mergeMode = "galloping";
+            currentState = TimSortInternalState.GALLOPING_A;
+            showRuns();
+        }
+        return true;
+    }
+
+    private boolean handleGallopingA() {
+        count1 = gallopRight(value(cursor2), cursor2, true, cursor1, len1, 0);
+        if (count1 != 0) {
+            for (int m = 0; m < count1; m++) write(dest + m, tmp[cursor1 + m]);
+            dest += count1;
+            cursor1 += count1;
+            len1 -= count1;
+            if (len1 <= 1) return finishMerge();
+        }
+        write(dest++, elements.get(cursor2++));
+        if (--len2 == 0) return finishMerge();
+        currentState = TimSortInternalState.GALLOPING_B;
+        showRuns();
+        return true;
+    }
+
+    private boolean handleGallopingB() {
+        count2 = gallopLeft(tmp[cursor1].getValue(), dest, false, cursor2, len2, 0);
+        if (count2 != 0) {
+            for (int m = 0; m < count2; m++) write(dest + m, elements.get(cursor2 + m));
+            dest += count2;
+            cursor2 += count2;
+            len2 -= count2;
+            if (len2 == 0) return finishMerge();
+        }
+        write(dest++, tmp[cursor1++]);
+        if (--len1 == 1) return finishMerge();
+
+        minGallop--;
+        if (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP) {
+            currentState = TimSortInternalState.GALLOPING_A;
+        } else {
+            // Galloping stopped paying off; make it harder to re-enter
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2;
+            count1 = 0;
+            count2 = 0;
+            mergeMode = "one pair at a time";
+            currentState = TimSortInternalState.MERGING;
+        }
+        showRuns();
+        return true;
+    }
+
+    // Copies whatever is left once one run has (almost) run out
+    private boolean finishMerge() {
+        if (len1 == 1) {
+            // The left run's last element is the largest, so it goes after the rest of the right run
+            for (int m = 0; m < len2; m++) write(dest + m, elements.get(cursor2 + m));
+            write(dest + len2, tmp[cursor1]);
+        } else {
+            for (int m = 0; m < len1; m++) write(dest + m, tmp[cursor1 + m]);
+        }
+        minGallop = Math.max(1, minGallop);
+        return mergeDone();
+    }
+
+    private boolean mergeDone() {
+        mergeMode = "";
+        currentState = TimSortInternalState.COLLAPSING;
+        showRuns();
+        return true;
+    }
+
+    // --- Galloping searches (as in the JDK, on either the list or tmp) ---
+
+    /**
+     * Finds where key goes in the sorted range [base, base + len): the first position whose value is >= key.
+     * The search starts at base + hint and gallops outwards before finishing with a binary search.
+     */
+    private int gallopLeft(int key, int keyIndex, boolean inTmp, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key > probe(keyIndex, inTmp, base + hint)) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > probe(keyIndex, inTmp, base + hint + ofs)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs; // int overflow
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= probe(keyIndex, inTmp, base + hint - ofs)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > probe(keyIndex, inTmp, base + m)) lastOfs = m + 1;
+            else ofs = m;
+        }
+        return ofs;
+    }
+
+    /**
+     * Like gallopLeft, but returns the first position whose value is > key, so equal values stay on the left.
+     */
+    private int gallopRight(int key, int keyIndex, boolean inTmp, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key < probe(keyIndex, inTmp, base + hint)) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < probe(keyIndex, inTmp, base + hint - ofs)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= probe(keyIndex, inTmp, base + hint + ofs)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < probe(keyIndex, inTmp, base + m)) ofs = m;
+            else lastOfs = m + 1;
+        }
+        return ofs;
+    }
+
+    // Reads a value for a galloping comparison and reports the comparison; tmp has no on-screen position of its own
+    private int probe(int keyIndex, boolean inTmp, int index) {
+        if (inTmp) {
+            callback.reportCompare(keyIndex, keyIndex);
+            return tmp[index].getValue();
+        }
+        callback.reportCompare(keyIndex, index);
+        return value(index);
+    }
+
+    // --- Helpers ---
+
+    private int value(int index) {
+        return elements.get(index).getValue();
+    }
+
+    private void write(int index, SortElement el) {
+        elements.set(index, el);
+        callback.reportWrite(index);
+    }
+
+    /**
+     * Computes the JDK's minimum run length: n itself below MIN_MERGE, otherwise a value in [MIN_MERGE / 2, MIN_MERGE]
+     * such that n / minRun is, or is just below, a power of two, which keeps the final merges balanced.
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    // Shows the run stack, plus the run being found, as shaded regions and as overlay text
+    private void showRuns() {
+        if (isVisualSuppressed()) return;
+
+        List<String> lines = new ArrayList<>();
+        lines.add("minRun " + minRun + ", minGallop " + minGallop);
+        StringBuilder stack = new StringBuilder("runs:");
+        for (int i = 0; i < stackSize; i++) stack.append(' ').append(runLen[i]);
+        boolean pending = currentState == TimSortInternalState.SCANNING_RUN || currentState == TimSortInternalState.REVERSING_RUN
+                || currentState == TimSortInternalState.BINARY_SEARCHING || currentState == TimSortInternalState.INSERTING;
+        if (pending) stack.append(" (+").append(runEnd - runStart).append(" scanning)");
+        lines.add(stack.toString());
+        if (currentState == TimSortInternalState.GALLOPING_A || currentState == TimSortInternalState.GALLOPING_B) {
+            lines.add("merge: galloping, last blocks " + count1 + " from left run, " + count2 + " from right run");
+        } else if (!mergeMode.isEmpty()) {
+            lines.add("merge: " + mergeMode);
+        }
+        callback.reportOverlay(lines);
+
+        int shown = 0;
+        for (int i = 0; i < stackSize; i++) callback.reportRegion(shown++, runBase[i], runBase[i] + runLen[i] - 1);
+        if (pending) callback.reportRegion(shown++, runStart, runEnd - 1);
+        for (int id = shown; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = shown;
+    }
+
+    private void clearRunDisplay() {
+        callback.reportOverlay(List.of());
+        for (int id = 0; id < regionsShown; id++) callback.clearRegion(id);
+        regionsShown = 0;
+    }
+}
@@ -13,10 +13,12 @@ public class TreeSort extends AbstractSortAlgorithm {
     // Inner class for BST Node
     private static class Node {
         SortElement elementData; // Store the SortElement itself
+        int originalIndex; // Where the element was in `elements` while the tree is built
         Node left, right;
 
-        Node(SortElement item) {
+        Node(SortElement item, int index) {
             elementData = item;
+            originalIndex = index;
             left = right = null;
         }
     }
@@ -160,9 +162,9 @@ public class TreeSort extends AbstractSortAlgorithm {
     private Node insertRec(Node rootNode, SortElement elementToInsert, int originalIdx) {
         if (rootNode == null) {
 
-            return new Node(elementToInsert);
+            return new Node(elementToInsert, originalIdx);
         }
-        // For visualization: callback.reportCompare(elementToInsert.originalIndex, rootNode.elementData.originalIndex);
+        callback.reportCompare(originalIdx, rootNode.originalIndex);
         if (elementToInsert.getValue() < rootNode.elementData.getValue()) {
             rootNode.left = insertRec(rootNode.left, elementToInsert, originalIdx);
         } else if (elementToInsert.getValue() >= rootNode.elementData.getValue()) { // Allow duplicates, place in right subtree
@@ -197,6 +199,7 @@ public class TreeSort extends AbstractSortAlgorithm {
         // Place the node's data into the elements list at currentIndexToPlace
         // The SortElement from the tree node is placed back into the main list.
         elements.set(currentIndexToPlace, nodeToVisit.elementData);
+        callback.reportWrite(currentIndexToPlace);
         callback.reportElementStateChange(currentIndexToPlace, ElementState.SORTED);
         // For visualization: also highlight nodeToVisit.elementData in tree if drawn separately
         
@@ -0,0 +1,164 @@
+package com.predixcode.sortvisualizer.algorithms;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Three-way quicksort of one range of a parallel algorithm's private array, run to completion on the calling worker.
+ * The pivot is the median of three, or Tukey's ninther above NINTHER_THRESHOLD elements, and small ranges are
+ * insertion sorted. Like IntroSort, a range that has used up its depth budget of partitions is heapsorted, so
+ * adversarial inputs stay O(n log n). While the owner is paced, every swap and write is mirrored onto the visualized
+ * list and reported. Used by the fork/join sorts for their partitions and for the ranges they finish sequentially.
+ */
+final class WorkerQuickSort {
+
+    // Ranges at or below this size are insertion sorted
+    static final int INSERTION_THRESHOLD = 16;
+    // Ranges above this size take the ninther as their pivot
+    static final int NINTHER_THRESHOLD = 128;
+
+    private final AbstractParallelSortAlgorithm owner;
+
+    WorkerQuickSort(AbstractParallelSortAlgorithm owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Gets the depth budget of IntroSort for a range: 2 log2(size) partitions.
+     * @param size The size of the range.
+     * @return The number of partitions allowed before falling back to heapsort.
+     */
+    static int depthLimit(int size) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, size)));
+    }
+
+    /**
+     * Sorts data[lo, hi) with the full depth budget of its size.
+     * @param data The array to sort in.
+     * @param lo The first index of the range.
+     * @param hi One past the last index of the range.
+     */
+    void sort(SortElement[] data, int lo, int hi) {
+        sort(data, lo, hi, depthLimit(hi - lo));
+    }
+
+    /**
+     * Sorts data[lo, hi), recursing into the smaller side to bound the stack depth, and heapsorts any range
+     * reached after depth partitions.
+     * @param data The array to sort in.
+     * @param lo The first index of the range.
+     * @param hi One past the last index of the range.
+     * @param depth The number of partitions left before falling back to heapsort.
+     */
+    void sort(SortElement[] data, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- <= 0) {
+                heapSort(data, lo, hi);
+                return;
+            }
+            int[] equal = partition(data, lo, hi);
+            if (equal[0] - lo < hi - equal[1] - 1) {
+                sort(data, lo, equal[0], depth);
+                lo = equal[1] + 1;
+            } else {
+                sort(data, equal[1] + 1, hi, depth);
+                hi = equal[0];
+            }
+        }
+        insertionSort(data, lo, hi);
+    }
+
+    /**
+     * Three-way partitions data[lo, hi) around the median of three or the ninther of the range.
+     * @return {first, last}: the inclusive bounds of the elements equal to the pivot.
+     */
+    int[] partition(SortElement[] data, int lo, int hi) {
+        int pivot = data[choosePivot(data, lo, hi)].getValue();
+        int lt = lo, i = lo, gt = hi - 1;
+        while (i <= gt) {
+            int value = data[i].getValue();
+            if (value < pivot) swap(data, lt++, i++);
+            else if (value > pivot) swap(data, i, gt--);
+            else i++;
+        }
+        return new int[] {lt, gt};
+    }
+
+    private int choosePivot(SortElement[] data, int lo, int hi) {
+        int last = hi - 1;
+        int mid = lo + (last - lo) / 2;
+        if (hi - lo <= NINTHER_THRESHOLD) return medianOfThree(data, lo, mid, last);
+        int eighth = (hi - lo) / 8;
+        return medianOfThree(data,
+                medianOfThree(data, lo, lo + eighth, lo + 2 * eighth),
+                medianOfThree(data, mid - eighth, mid, mid + eighth),
+                medianOfThree(data, last - 2 * eighth, last - eighth, last));
+    }
+
+    private static int medianOfThree(SortElement[] data, int a, int b, int c) {
+        int va = data[a].getValue(), vb = data[b].getValue(), vc = data[c].getValue();
+        if (va < vb) {
+            if (vb < vc) return b;
+            return (va < vc) ? c : a;
+        }
+        if (va < vc) return a;
+        return (vb < vc) ? c : b;
+    }
+
+    // Binary max-heap with heap index k at lo + k
+    private void heapSort(SortElement[] data, int lo, int hi) {
+        int size = hi - lo;
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(data, lo, root, size);
+        }
+        for (int end = size - 1; end > 0 && !owner.isCancelled(); end--) {
+            swap(data, lo, lo + end);
+            siftDown(data, lo, 0, end);
+        }
+    }
+
+    private void siftDown(SortElement[] data, int lo, int node, int size) {
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= size) return;
+            if (child + 1 < size && data[lo + child + 1].getValue() > data[lo + child].getValue()) child++;
+            if (data[lo + node].getValue() >= data[lo + child].getValue()) return;
+            swap(data, lo + node, lo + child);
+            node = child;
+        }
+    }
+
+    private void insertionSort(SortElement[] data, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            SortElement key = data[i];
+            int j = i - 1;
+            while (j >= lo && data[j].getValue() > key.getValue()) {
+                write(data, j + 1, data[j]);
+                j--;
+            }
+            if (j + 1 != i) write(data, j + 1, key);
+        }
+    }
+
+    private void swap(SortElement[] data, int i, int j) {
+        if (i == j) return;
+        SortElement temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+        if (owner.isPaced()) {
+            owner.elements.set(i, data[i]);
+            owner.elements.set(j, data[j]);
+            owner.workerCallback.reportSwap(i, j);
+            owner.workerPause();
+        }
+    }
+
+    // Stores into data and, when paced, mirrors the write onto the visualized list
+    private void write(SortElement[] data, int index, SortElement value) {
+        data[index] = value;
+        if (owner.isPaced()) {
+            owner.elements.set(index, value);
+            owner.workerCallback.reportWrite(index);
+            owner.workerPause();
+        }
+    }
+}
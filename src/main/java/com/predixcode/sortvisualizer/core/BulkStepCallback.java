@@ -0,0 +1,150 @@
+package com.predixcode.sortvisualizer.core;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * StepCallback that stands in for the real one while an algorithm runs steps in bulk.
+ * Reports are either counted or dropped, never forwarded; stop requests are still taken from the real callback.
+ * The report counters are LongAdders, since the workers of a parallel algorithm report concurrently.
+ */
+public class BulkStepCallback implements StepCallback {
+
+    private StepCallback delegate;
+    private boolean counting;
+
+    private long steps; // Only counted by the bulk loop's own thread
+    private final LongAdder compares = new LongAdder();
+    private final LongAdder heldCompares = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    /**
+     * Points this callback at the real callback for the duration of a bulk run.
+     * @param delegate The callback whose stop requests are honoured.
+     * @param counting true to count reports, false to drop them without counting.
+     */
+    public void attach(StepCallback delegate, boolean counting) {
+        this.delegate = delegate;
+        this.counting = counting;
+    }
+
+    /**
+     * Counts one executed step that left more work to do. Called by the bulk loop rather than by the algorithm,
+     * and counted in every mode.
+     */
+    public void countStep() {
+        steps++;
+    }
+
+    @Override
+    public void reportCompare(int index1, int index2) {
+        if (counting) compares.increment();
+    }
+
+    @Override
+    public void reportSwap(int index1, int index2) {
+        if (counting) swaps.increment();
+    }
+
+    @Override
+    public void reportRead(int index) {
+        if (counting) reads.increment();
+    }
+
+    @Override
+    public void reportWrite(int index) {
+        if (counting) writes.increment();
+    }
+
+    @Override
+    public void reportHeldCompare(int index) {
+        if (counting) {
+            compares.increment();
+            heldCompares.increment();
+        }
+    }
+
+    @Override
+    public void reportElementStateChange(int index, SortElement.ElementState newState) {
+        // Visual only, dropped
+    }
+
+    @Override
+    public void reportResetStates(int startIndex, int endIndex) {
+        // Visual only, dropped
+    }
+
+    @Override
+    public void reportResetStates(int... indices) {
+        // Visual only, dropped
+    }
+
+    @Override
+    public void reportOverlay(List<String> lines) {
+        // Visual only, dropped
+    }
+
+    @Override
+    public int getAnimationDelayMs() {
+        return 0;
+    }
+
+    @Override
+    public boolean isStopRequested() {
+        return delegate != null && delegate.isStopRequested();
+    }
+
+    @Override
+    public void reportSortCompleted() {
+        if (delegate != null) delegate.reportSortCompleted();
+    }
+
+    @Override
+    public void requestVisualUpdate() {
+        // The caller of runSteps decides when to repaint
+    }
+
+    /**
+     * Clears all counters. Called when the owning algorithm is reset.
+     */
+    public void resetCounts() {
+        steps = 0;
+        compares.reset();
+        heldCompares.reset();
+        swaps.reset();
+        reads.reset();
+        writes.reset();
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getCompares() {
+        return compares.sum();
+    }
+
+    /**
+     * Gets how many of the comparisons were with a held element, each standing for one element read instead of two.
+     * @return The held comparison count, included in getCompares().
+     */
+    public long getHeldCompares() {
+        return heldCompares.sum();
+    }
+
+    public long getSwaps() {
+        return swaps.sum();
+    }
+
+    public long getReads() {
+        return reads.sum();
+    }
+
+    public long getWrites() {
+        return writes.sum();
+    }
+}
@@ -0,0 +1,29 @@
+package com.predixcode.sortvisualizer.core;
+
+/**
+ * StepCallback that may be called from several worker threads at the same time.
+ * Parallel algorithms report through this interface, and additionally tell it which
+ * region of the array each worker is currently working on.
+ */
+public interface ConcurrentStepCallback extends StepCallback {
+
+    /**
+     * Reports the region a worker is currently working on, replacing its previous region.
+     * @param workerId A small, stable id for the worker (0, 1, 2, ...).
+     * @param startIndex Inclusive start index of the region.
+     * @param endIndex Inclusive end index of the region.
+     */
+    void reportWorkerRegion(int workerId, int startIndex, int endIndex);
+
+    /**
+     * Reports that a worker is idle and no longer owns a region.
+     * @param workerId The id previously passed to reportWorkerRegion.
+     */
+    void clearWorkerRegion(int workerId);
+
+    /**
+     * Checks whether the sort is paused. Workers wait while it is, since they do not go through nextStep().
+     * @return true while paused.
+     */
+    boolean isPaused();
+}
@@ -0,0 +1,96 @@
+package com.predixcode.sortvisualizer.core;
+
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * A fixed-size List view over SortElements that reports every positional read and write to a StepCallback.
+ * This lets unmodified sorts (Collections.sort, List.sort, library sorts) run against the visualizer
+ * or the headless counters without knowing about either.
+ *
+ * Note that the JDK's List.sort copies the list into an array via the iterator, sorts the array,
+ * and writes the result back with ListIterator.set. Through this view it therefore shows up as
+ * n reads, the comparisons made by the instrumented comparator, and n ordered writes.
+ */
+public class InstrumentedList extends AbstractList<SortElement> implements RandomAccess {
+
+    private final List<SortElement> backing;
+    private final StepCallback callback;
+
+    // Current position of every element, so comparisons made on array copies can be reported by index
+    private final Map<SortElement, Integer> positions;
+
+    /**
+     * Wraps a list of SortElements. The wrapped list must not change size while the view is in use.
+     * @param backing The list whose get/set calls are reported.
+     * @param callback The StepCallback that receives the reads, writes and comparisons.
+     */
+    public InstrumentedList(List<SortElement> backing, StepCallback callback) {
+        if (backing == null) {
+            throw new IllegalArgumentException("Backing list cannot be null.");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("StepCallback cannot be null.");
+        }
+        this.backing = backing;
+        this.callback = callback;
+        this.positions = new IdentityHashMap<>(backing.size() * 2);
+        for (int k = 0; k < backing.size(); k++) {
+            positions.put(backing.get(k), k);
+        }
+    }
+
+    @Override
+    public SortElement get(int index) {
+        SortElement element = backing.get(index);
+        callback.reportRead(index);
+        return element;
+    }
+
+    @Override
+    public SortElement set(int index, SortElement element) {
+        SortElement previous = backing.set(index, element);
+        positions.put(element, index);
+        callback.reportWrite(index);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return backing.size();
+    }
+
+    /**
+     * Wraps a comparator so that every comparison is reported to the callback.
+     * Elements are reported at the index they currently occupy in this list; while a sort works
+     * on a private array copy, that is still where the compared bars are drawn.
+     * @param comparator The comparator used by the sort.
+     * @return A comparator with the same ordering that reports each comparison.
+     */
+    public Comparator<SortElement> instrument(Comparator<SortElement> comparator) {
+        return (a, b) -> {
+            callback.reportCompare(indexOf(a), indexOf(b));
+            return comparator.compare(a, b);
+        };
+    }
+
+    /**
+     * Wraps the natural value ordering of SortElements so that every comparison is reported.
+     * @return An instrumented comparator on SortElement values.
+     */
+    public Comparator<SortElement> valueComparator() {
+        return instrument(Comparator.comparingInt(SortElement::getValue));
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Integer position = positions.get(o);
+        return (position != null) ? position : -1;
+    }
+}
@@ -3,12 +3,15 @@ package com.predixcode.sortvisualizer.core;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.predixcode.sortvisualizer.algorithms.Algorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
 import com.predixcode.sortvisualizer.sound.MusicalNote; // Added import
 import com.predixcode.sortvisualizer.sound.ScaleType;   // Added import
 import com.predixcode.sortvisualizer.sound.ToneGenerator;
@@ -20,7 +23,7 @@ import com.predixcode.sortvisualizer.ui.SortPanel;
 
 import javafx.application.Platform;
 
-public class SortController implements StepCallback {
+public class SortController implements ConcurrentStepCallback {
 
     private final SortPanel sortPanel;
     private ControlPanel controlPanel;
@@ -32,13 +35,23 @@ public class SortController implements StepCallback {
     private Thread sortThread;
     private final AtomicBoolean isSortingActive = new AtomicBoolean(false);
     private final AtomicBoolean isPaused = new AtomicBoolean(false);
+    private final AtomicBoolean isFastForward = new AtomicBoolean(false);
+    private final AtomicBoolean isSkipToEndRequested = new AtomicBoolean(false);
     private int animationDelayMs = 100;
 
+    // Time spent in runSteps() between repaints while fast-forwarding or skipping (about one 60 Hz frame)
+    private static final long BULK_FRAME_BUDGET_NANOS = 16_000_000L;
+
     public static final int DEFAULT_ARRAY_SIZE = 50;
     public static final int DEFAULT_MIN_VALUE = 1;
     public static final int DEFAULT_MAX_VALUE = 200;
 
     private Set<Integer> lastTransientStateIndices = new HashSet<>();
+    // Written by the workers of parallel algorithms, read whenever a repaint is requested
+    private final Map<Integer, int[]> workerRegions = new ConcurrentHashMap<>();
+    // Written by sequential algorithms on the sort thread, read whenever a repaint is requested
+    private final Map<Integer, int[]> regions = new ConcurrentHashMap<>();
+    private volatile List<String> overlayLines = List.of();
 
     // Sound related fields
     private ToneGenerator toneGenerator;
@@ -209,6 +222,34 @@ public class SortController implements StepCallback {
         });
     }
 
+    @Override
+    public void reportRead(int index) {
+        if (activeSortElements == null || index < 0 || index >= activeSortElements.size()) return;
+
+        Platform.runLater(() -> {
+            resetLastTransientStates();
+            activeSortElements.get(index).setState(ElementState.COMPARE);
+            lastTransientStateIndices.add(index);
+        });
+    }
+
+    @Override
+    public void reportWrite(int index) {
+        if (activeSortElements == null || index < 0 || index >= activeSortElements.size()) return;
+
+        if (soundEnabled && toneGenerator != null) {
+            // The write has already happened, so this is the value that just landed at index
+            int valueWritten = activeSortElements.get(index).getValue();
+            toneGenerator.playToneOnChannel(1, valueWritten, arrayManager.getMaxValueInCurrentArray(), TONE_DURATION_MS_SWAP);
+        }
+
+        Platform.runLater(() -> {
+            resetLastTransientStates();
+            activeSortElements.get(index).setState(ElementState.SWAP);
+            lastTransientStateIndices.add(index);
+        });
+    }
+
     @Override
     public void reportElementStateChange(int index, ElementState newState) {
         if (activeSortElements == null || index < 0 || index >= activeSortElements.size()) return;
@@ -262,6 +303,31 @@ public class SortController implements StepCallback {
         });
     }
 
+    @Override
+    public void reportWorkerRegion(int workerId, int startIndex, int endIndex) {
+        workerRegions.put(workerId, new int[] {startIndex, endIndex});
+    }
+
+    @Override
+    public void clearWorkerRegion(int workerId) {
+        workerRegions.remove(workerId);
+    }
+
+    @Override
+    public void reportRegion(int regionId, int startIndex, int endIndex) {
+        regions.put(regionId, new int[] {startIndex, endIndex});
+    }
+
+    @Override
+    public void clearRegion(int regionId) {
+        regions.remove(regionId);
+    }
+
+    @Override
+    public void reportOverlay(List<String> lines) {
+        this.overlayLines = List.copyOf(lines);
+    }
+
     @Override
     public int getAnimationDelayMs() {
         return this.animationDelayMs;
@@ -338,7 +404,13 @@ public class SortController implements StepCallback {
             for (SortElement el : activeSortElements) {
                 elementsCopy.add(new SortElement(el.getValue(), el.getState()));
             }
+            final Map<Integer, int[]> workerRegionsCopy = Map.copyOf(workerRegions);
+            final Map<Integer, int[]> regionsCopy = Map.copyOf(regions);
+            final List<String> overlay = overlayLines;
             Platform.runLater(() -> {
+                sortPanel.setWorkerRegions(workerRegionsCopy);
+                sortPanel.setRegions(regionsCopy);
+                sortPanel.setOverlayLines(overlay);
                 sortPanel.updateElements(elementsCopy);
             });
         }
@@ -379,6 +451,9 @@ public class SortController implements StepCallback {
         
         final int maxValue = (this.arrayManager != null) ? this.arrayManager.getMaxValueInCurrentArray() : 1;
         this.lastTransientStateIndices.clear(); // Clear any lingering transient states
+        this.workerRegions.clear();
+        this.regions.clear();
+        this.overlayLines = List.of();
 
         if (sortPanel != null) {
             // Create a defensive copy for the UI thread
@@ -388,6 +463,9 @@ public class SortController implements StepCallback {
             }
             Platform.runLater(() -> {
                 sortPanel.setMaxValueForScaling(maxValue);
+                sortPanel.setWorkerRegions(Map.of());
+                sortPanel.setRegions(Map.of());
+                sortPanel.setOverlayLines(List.of());
                 sortPanel.updateElements(elementsCopy);
             });
         } else {
@@ -435,7 +513,11 @@ public class SortController implements StepCallback {
         }
         if (isSortingActive.compareAndSet(false, true)) {
             isPaused.set(false);
+            isSkipToEndRequested.set(false);
             lastTransientStateIndices.clear(); // Clear before sort starts
+            workerRegions.clear();
+            regions.clear();
+            overlayLines = List.of();
             if (controlPanel != null) Platform.runLater(controlPanel::disableControlsDuringSort);
 
             // Pass a copy of the current elements to the algorithm
@@ -458,6 +540,22 @@ public class SortController implements StepCallback {
                             Thread.sleep(100); // Polling delay while paused
                             continue;
                         }
+                        if (isSkipToEndRequested.get()) {
+                            // Run to completion with reports dropped; still return between frames to honour pause/stop
+                            moreSteps = currentAlgorithm.runSteps(Long.MAX_VALUE, BULK_FRAME_BUDGET_NANOS, CallbackMode.SUPPRESSED);
+                            if (!moreSteps) {
+                                clearTransientStatesAfterBulkRun();
+                                requestVisualUpdate();
+                            }
+                            continue;
+                        }
+                        if (isFastForward.get()) {
+                            // One repaint per frame instead of one per step, with reports only counted
+                            moreSteps = currentAlgorithm.runSteps(Long.MAX_VALUE, BULK_FRAME_BUDGET_NANOS, CallbackMode.COUNT_ONLY);
+                            clearTransientStatesAfterBulkRun();
+                            requestVisualUpdate();
+                            continue;
+                        }
                         moreSteps = currentAlgorithm.nextStep();
                         requestVisualUpdate(); // Update UI after each step
                         if (moreSteps && isSortingActive.get()) { // Only sleep if more steps and not stopped
@@ -481,10 +579,14 @@ public class SortController implements StepCallback {
                 } finally {
                     boolean wasAlgorithmStillMarkedAsSorting = isSortingActive.getAndSet(false); // Ensure isSortingActive is false
                     isPaused.set(false); // Reset pause state
+                    workerRegions.clear();
+                    regions.clear();
                     
                     // Final UI update and control re-enabling
                     Platform.runLater(() -> {
                         if (controlPanel != null) controlPanel.enableControls();
+                        sortPanel.setWorkerRegions(Map.of());
+                        sortPanel.setRegions(Map.of());
                         
                         // Ensure the visual state reflects the outcome
                         if (currentAlgorithm != null && currentAlgorithm.isSorted()) {
@@ -566,6 +668,40 @@ public class SortController implements StepCallback {
         }
     }
 
+    /**
+     * Finishes the running sort as fast as possible: steps run in bulk with all reports dropped,
+     * and the panel is repainted once the algorithm completes.
+     */
+    public void skipToEnd() {
+        if (isSortingActive.get()) {
+            isSkipToEndRequested.set(true);
+            System.out.println("Skipping to end of sort.");
+        }
+    }
+
+    /**
+     * Enables or disables fast-forward. While enabled, the animation delay is ignored and steps run in bulk,
+     * with one repaint per frame instead of one per step.
+     * @param enabled true to fast-forward.
+     */
+    public void setFastForward(boolean enabled) {
+        isFastForward.set(enabled);
+        System.out.println("Fast-forward " + (enabled ? "enabled" : "disabled") + ".");
+    }
+
+    public boolean isFastForward() {
+        return isFastForward.get();
+    }
+
+    // Bulk runs drop the reports that would normally clear compare/swap highlights, so clear them here
+    private void clearTransientStatesAfterBulkRun() {
+        for (SortElement el : activeSortElements) {
+            if (el.getState() == ElementState.COMPARE || el.getState() == ElementState.SWAP) {
+                el.setState(ElementState.NORMAL);
+            }
+        }
+    }
+
     public void setAnimationDelay(int delay) {
         this.animationDelayMs = Math.max(0, delay); // Ensure non-negative
         System.out.println("Animation delay set to: " + this.animationDelayMs + "ms");
@@ -579,6 +715,7 @@ public class SortController implements StepCallback {
         return isSortingActive.get();
     }
 
+    @Override
     public boolean isPaused() {
         return isPaused.get();
     }
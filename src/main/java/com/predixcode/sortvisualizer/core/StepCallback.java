@@ -1,9 +1,16 @@
 package com.predixcode.sortvisualizer.core;
 
+import java.util.List;
+
 import com.predixcode.sortvisualizer.ui.SortElement;
 
 /**
  * Interface for algorithms to communicate back to the SortController during step-by-step execution.
+ *
+ * Element accesses are accounted for separately, so that reads and writes can be weighed differently: a reported
+ * comparison stands for two element reads, a comparison with a held element for one, a reported swap for two reads
+ * and two writes, and reportRead and reportWrite for one access each. An algorithm that moves elements other than
+ * through a swap must report every such write with reportWrite, or its write count is incomplete.
  */
 public interface StepCallback {
 
@@ -24,6 +31,30 @@ public interface StepCallback {
      */
     void reportSwap(int index1, int index2);
 
+    /**
+     * Reports that the element at an index was read from the list being sorted, other than for a comparison or a swap.
+     * Emitted by InstrumentedList so that sorts we do not control can still be visualized and counted.
+     * @param index Index of the element that was read.
+     */
+    void reportRead(int index);
+
+    /**
+     * Reports that an element was written to an index of the list being sorted, other than by a swap.
+     * Emitted by InstrumentedList, and by algorithms that move elements themselves, after the write has been performed.
+     * @param index Index of the element that was written.
+     */
+    void reportWrite(int index);
+
+    /**
+     * Reports that the element at an index is being compared with an element the algorithm holds outside the list,
+     * such as the one a cycle carries. Stands for one comparison but a single element read, since the held element
+     * is not read from the list again. Shown as a read of the index by default.
+     * @param index Index of the element compared with the held one.
+     */
+    default void reportHeldCompare(int index) {
+        reportRead(index);
+    }
+
     /**
      * Reports a change in the state of a single element.
      * Useful for marking elements as pivots, sorted, etc.
@@ -46,6 +77,31 @@ public interface StepCallback {
      */
     void reportResetStates(int... indices);
 
+    /**
+     * Reports lines of text to show over the bars, such as live statistics, replacing any previous overlay.
+     * @param lines The lines to show, or an empty list to remove the overlay.
+     */
+    void reportOverlay(List<String> lines);
+
+    /**
+     * Shades a region of the array that stands for part of a sequential algorithm's structure, such as a run, a
+     * bucket or a heap level, replacing the region previously reported under the same id. Parallel algorithms show
+     * what their workers own with ConcurrentStepCallback.reportWorkerRegion instead. Ignored by default.
+     * @param regionId A small id for the region (0, 1, 2, ...).
+     * @param startIndex Inclusive start index of the region.
+     * @param endIndex Inclusive end index of the region.
+     */
+    default void reportRegion(int regionId, int startIndex, int endIndex) {
+        // Nothing to draw on
+    }
+
+    /**
+     * Removes a region reported with reportRegion. Ignored by default.
+     * @param regionId The id previously passed to reportRegion.
+     */
+    default void clearRegion(int regionId) {
+        // Nothing to draw on
+    }
 
     /**
      * Gets the current animation delay in milliseconds.
@@ -0,0 +1,120 @@
+package com.predixcode.sortvisualizer.core;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Makes any StepCallback safe to call from several worker threads by serializing every call.
+ * Worker regions are forwarded only if the wrapped callback understands them.
+ */
+public class SynchronizedStepCallback implements ConcurrentStepCallback {
+
+    private final StepCallback delegate;
+
+    private SynchronizedStepCallback(StepCallback delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns a callback that is safe to share between worker threads.
+     * @param callback The callback to wrap.
+     * @return The callback itself if it is already a ConcurrentStepCallback, otherwise a synchronized wrapper.
+     */
+    public static ConcurrentStepCallback wrap(StepCallback callback) {
+        if (callback instanceof ConcurrentStepCallback concurrent) {
+            return concurrent;
+        }
+        return new SynchronizedStepCallback(callback);
+    }
+
+    @Override
+    public synchronized void reportCompare(int index1, int index2) {
+        delegate.reportCompare(index1, index2);
+    }
+
+    @Override
+    public synchronized void reportSwap(int index1, int index2) {
+        delegate.reportSwap(index1, index2);
+    }
+
+    @Override
+    public synchronized void reportRead(int index) {
+        delegate.reportRead(index);
+    }
+
+    @Override
+    public synchronized void reportWrite(int index) {
+        delegate.reportWrite(index);
+    }
+
+    @Override
+    public synchronized void reportHeldCompare(int index) {
+        delegate.reportHeldCompare(index);
+    }
+
+    @Override
+    public synchronized void reportElementStateChange(int index, SortElement.ElementState newState) {
+        delegate.reportElementStateChange(index, newState);
+    }
+
+    @Override
+    public synchronized void reportResetStates(int startIndex, int endIndex) {
+        delegate.reportResetStates(startIndex, endIndex);
+    }
+
+    @Override
+    public synchronized void reportResetStates(int... indices) {
+        delegate.reportResetStates(indices);
+    }
+
+    @Override
+    public synchronized void reportOverlay(List<String> lines) {
+        delegate.reportOverlay(lines);
+    }
+
+    @Override
+    public synchronized int getAnimationDelayMs() {
+        return delegate.getAnimationDelayMs();
+    }
+
+    @Override
+    public synchronized boolean isStopRequested() {
+        return delegate.isStopRequested();
+    }
+
+    @Override
+    public synchronized void reportSortCompleted() {
+        delegate.reportSortCompleted();
+    }
+
+    @Override
+    public synchronized void requestVisualUpdate() {
+        delegate.requestVisualUpdate();
+    }
+
+    @Override
+    public synchronized void reportRegion(int regionId, int startIndex, int endIndex) {
+        delegate.reportRegion(regionId, startIndex, endIndex);
+    }
+
+    @Override
+    public synchronized void clearRegion(int regionId) {
+        delegate.clearRegion(regionId);
+    }
+
+    @Override
+    public void reportWorkerRegion(int workerId, int startIndex, int endIndex) {
+        // Not forwarded: the delegate is not a ConcurrentStepCallback, or wrap() would have returned it
+    }
+
+    @Override
+    public void clearWorkerRegion(int workerId) {
+        // Not forwarded, see reportWorkerRegion
+    }
+
+    @Override
+    public boolean isPaused() {
+        return false; // Plain callbacks have no notion of pausing
+    }
+}
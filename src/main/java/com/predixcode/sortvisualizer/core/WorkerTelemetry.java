@@ -0,0 +1,150 @@
+package com.predixcode.sortvisualizer.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-worker statistics for fork/join algorithms: tasks executed, tasks stolen from the worker that forked them,
+ * and time spent working. Each worker only writes its own counters, so no locking is needed; readers may see
+ * slightly stale values, which is fine for a live overlay.
+ */
+public class WorkerTelemetry {
+
+    /** Passed as the forking worker for tasks submitted from outside the pool. */
+    public static final int NO_WORKER = -1;
+
+    private static class Counters {
+        volatile long tasks;
+        volatile long steals;
+        volatile long busyNanos;
+    }
+
+    private final int parallelism;
+    private final Map<Integer, Counters> counters = new ConcurrentHashMap<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    /**
+     * @param parallelism The pool size; at least this many workers are always listed, even if some never ran a task.
+     */
+    public WorkerTelemetry(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Clears all counters and starts the clock. Called when the root task is submitted.
+     */
+    public void start() {
+        counters.clear();
+        endNanos = 0;
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops the clock. Called once the root task has completed.
+     */
+    public void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Records one executed task. Must be called from the worker identified by workerId.
+     * @param workerId The worker that ran the task.
+     * @param forkedBy The worker that forked the task, or NO_WORKER; a task run by any other worker counts as stolen.
+     * @param busyNanos Time the task spent working, excluding time spent waiting for its subtasks.
+     */
+    public void recordTask(int workerId, int forkedBy, long busyNanos) {
+        Counters c = counters.computeIfAbsent(workerId, id -> new Counters());
+        c.tasks++;
+        if (forkedBy != NO_WORKER && forkedBy != workerId) c.steals++;
+        c.busyNanos += busyNanos;
+    }
+
+    /**
+     * Gets the number of workers to report on: the pool size, or more if the pool added compensating threads.
+     * @return The worker count.
+     */
+    public int getWorkerCount() {
+        int highest = parallelism - 1;
+        for (int id : counters.keySet()) highest = Math.max(highest, id);
+        return highest + 1;
+    }
+
+    public long getTasks(int workerId) {
+        Counters c = counters.get(workerId);
+        return (c != null) ? c.tasks : 0;
+    }
+
+    public long getSteals(int workerId) {
+        Counters c = counters.get(workerId);
+        return (c != null) ? c.steals : 0;
+    }
+
+    public long getBusyNanos(int workerId) {
+        Counters c = counters.get(workerId);
+        return (c != null) ? c.busyNanos : 0;
+    }
+
+    /**
+     * Gets the time a worker spent not working since the clock was started.
+     * @param workerId The worker.
+     * @return The idle time in nanoseconds.
+     */
+    public long getIdleNanos(int workerId) {
+        return Math.max(0, getElapsedNanos() - getBusyNanos(workerId));
+    }
+
+    /**
+     * Gets the time since start(), up to stop() if the clock has been stopped.
+     * @return The elapsed time in nanoseconds, or 0 if never started.
+     */
+    public long getElapsedNanos() {
+        if (startNanos == 0) return 0;
+        return ((endNanos != 0) ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    public long getTotalTasks() {
+        long total = 0;
+        for (Counters c : counters.values()) total += c.tasks;
+        return total;
+    }
+
+    public long getTotalSteals() {
+        long total = 0;
+        for (Counters c : counters.values()) total += c.steals;
+        return total;
+    }
+
+    /**
+     * Gets the busiest worker's busy time divided by the mean busy time over all workers.
+     * 1.0 means the work was spread perfectly evenly; the pool size means one worker did everything.
+     * @return The imbalance factor, or 1.0 if nothing has run yet.
+     */
+    public double getImbalance() {
+        int workers = getWorkerCount();
+        long max = 0, total = 0;
+        for (int id = 0; id < workers; id++) {
+            long busy = getBusyNanos(id);
+            max = Math.max(max, busy);
+            total += busy;
+        }
+        return (total == 0) ? 1.0 : max / ((double) total / workers);
+    }
+
+    /**
+     * Formats the statistics as a small table, one row per worker, for the SortPanel overlay or the console.
+     * @return The table lines.
+     */
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-7s %8s %7s %9s %9s", "worker", "tasks", "steals", "busy ms", "idle ms"));
+        for (int id = 0; id < getWorkerCount(); id++) {
+            lines.add(String.format("%-7d %8d %7d %9.1f %9.1f", id, getTasks(id), getSteals(id),
+                    getBusyNanos(id) / 1_000_000.0, getIdleNanos(id) / 1_000_000.0));
+        }
+        lines.add(String.format("%-7s %8d %7d   imbalance x%.2f", "total", getTotalTasks(), getTotalSteals(), getImbalance()));
+        return lines;
+    }
+}
@@ -0,0 +1,49 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm;
+import com.predixcode.sortvisualizer.algorithms.BubbleSort;
+import com.predixcode.sortvisualizer.algorithms.CocktailSort;
+import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.algorithms.InsertionSort;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.QuickSort;
+import com.predixcode.sortvisualizer.algorithms.ShellSort;
+import com.predixcode.sortvisualizer.algorithms.TreeSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Records the reads, writes and comparisons of JDK sorts and of our own algorithms on the same input,
+ * by running all of them against an InstrumentedList.
+ */
+public class AccessProfileSuite implements BenchmarkSuite {
+
+    @Override
+    public String getName() {
+        return "access-profile";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Reads, writes and compares of JDK sorts and our algorithms through an InstrumentedList";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        for (int size : HeadlessBenchmark.parseSizes(args, 500, 2_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size);
+            out.println(HeadlessEngine.profile("List.sort (TimSort)", List::sort, input));
+
+            Algorithm[] algorithms = {
+                new BubbleSort(), new CocktailSort(), new InsertionSort(), new ShellSort(),
+                new QuickSort(), new MergeSort(), new HeapSort(), new TreeSort()
+            };
+            for (Algorithm algorithm : algorithms) {
+                out.println(HeadlessEngine.runInstrumented(algorithm, input));
+            }
+        }
+    }
+}
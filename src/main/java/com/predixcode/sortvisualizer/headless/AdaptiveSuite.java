@@ -0,0 +1,43 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.TimSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares TimSort with MergeSort and the JDK's List.sort on random and presorted inputs. TimSort's comparisons
+ * drop to about n on sorted input and stay well below MergeSort's on nearly sorted and run-structured input,
+ * while MergeSort does close to the same work whatever the order.
+ */
+public class AdaptiveSuite implements BenchmarkSuite {
+
+    @Override
+    public String getName() {
+        return "adaptive";
+    }
+
+    @Override
+    public String getDescription() {
+        return "TimSort versus MergeSort and List.sort on random, sorted, reversed and nearly sorted inputs";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            HeadlessEngine.run(new TimSort(), warm);
+            HeadlessEngine.run(new MergeSort(), warm);
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000)) {
+            for (InputDistribution distribution : InputDistribution.values()) {
+                List<SortElement> input = distribution.generate(size);
+                out.println("-- n = " + size + ", " + distribution);
+                out.println(HeadlessEngine.run(new TimSort(), input));
+                out.println(HeadlessEngine.run(new MergeSort(), input));
+                out.println(HeadlessEngine.profile("List.sort (TimSort)", List::sort, input));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.BottomUpMergeSort;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.TimSort;
+import com.predixcode.sortvisualizer.core.BulkStepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Measures how much an algorithm allocates, split into what reset() allocates up front and what the steps
+ * allocate while sorting, using the JVM's per-thread allocation counter. Runs are bulk runs in COUNT_ONLY mode,
+ * so the callback itself allocates nothing. Each time is the best of a few runs on the same input.
+ */
+public class AllocationSuite implements BenchmarkSuite {
+
+    private static final int RUNS_PER_POINT = 3;
+
+    private static final List<Supplier<AbstractSortAlgorithm>> ALGORITHMS = List.of(
+            MergeSort::new, BottomUpMergeSort::new, TimSort::new);
+
+    @Override
+    public String getName() {
+        return "allocation";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Bytes allocated by reset() and per step, with time, for the merge sorts";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        // More rounds than usual, so escape analysis has settled before allocations are counted
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), 5, warm -> {
+            for (Supplier<AbstractSortAlgorithm> algorithm : ALGORITHMS) {
+                HeadlessEngine.runBulk(algorithm.get(), warm, CallbackMode.COUNT_ONLY);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size);
+            for (Supplier<AbstractSortAlgorithm> factory : ALGORITHMS) {
+                Measurement best = HeadlessEngine.best(RUNS_PER_POINT, () -> measure(factory.get(), input),
+                        m -> m.result.getElapsedNanos());
+                out.printf("%-28s n=%-9d %10.2f ms  reset %,14d B  steps %,16d B  %8.2f B/step %s%n",
+                        best.result.getName(), size, best.result.getElapsedMillis(), best.resetBytes, best.stepBytes,
+                        (double) best.stepBytes / Math.max(1, best.result.getSteps()),
+                        best.result.isSorted() ? "" : "NOT SORTED");
+            }
+        }
+    }
+
+    /**
+     * The bytes one bulk run allocated, split at the end of reset(), with its counts and timing.
+     */
+    static final class Measurement {
+        final long resetBytes;
+        final long stepBytes;
+        final RunResult result;
+
+        Measurement(long resetBytes, long stepBytes, RunResult result) {
+            this.resetBytes = resetBytes;
+            this.stepBytes = stepBytes;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Runs an algorithm to completion in COUNT_ONLY mode on a copy of the input and measures what it allocates.
+     * @param algorithm The algorithm to run.
+     * @param input The input, which is copied and left untouched.
+     * @return The allocation split, counts and timing of the run.
+     */
+    static Measurement measure(AbstractSortAlgorithm algorithm, List<SortElement> input) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<SortElement> elements = HeadlessEngine.copyOf(input);
+        CountingStepCallback counts = new CountingStepCallback();
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        algorithm.initialize(elements, counts);
+        long afterReset = threads.getCurrentThreadAllocatedBytes();
+        algorithm.runSteps(Long.MAX_VALUE, Long.MAX_VALUE, CallbackMode.COUNT_ONLY);
+        long elapsed = System.nanoTime() - start;
+        long afterSteps = threads.getCurrentThreadAllocatedBytes();
+
+        BulkStepCallback bulk = algorithm.getBulkCounts();
+        RunResult result = new RunResult(algorithm.getName(), input.size(), bulk.getSteps(), bulk.getCompares(),
+                bulk.getHeldCompares(), bulk.getSwaps(), bulk.getReads(), bulk.getWrites(), elapsed,
+                HeadlessEngine.verify(input, elements));
+        return new Measurement(afterReset - before, afterSteps - afterReset, result);
+    }
+}
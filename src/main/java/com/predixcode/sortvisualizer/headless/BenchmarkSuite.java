@@ -0,0 +1,28 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+
+/**
+ * A named group of headless measurements that HeadlessBenchmark can run from the command line.
+ */
+public interface BenchmarkSuite {
+
+    /**
+     * Gets the name used to select this suite on the command line.
+     * @return The suite name, for example "access-profile".
+     */
+    String getName();
+
+    /**
+     * Gets a one-line description shown in the suite listing.
+     * @return The description.
+     */
+    String getDescription();
+
+    /**
+     * Runs the suite and prints its results.
+     * @param args Suite-specific arguments, typically array sizes.
+     * @param out Where to print the results.
+     */
+    void run(String[] args, PrintStream out);
+}
@@ -0,0 +1,82 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.BubbleSort;
+import com.predixcode.sortvisualizer.algorithms.CocktailSort;
+import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.algorithms.InsertionSort;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.QuickSort;
+import com.predixcode.sortvisualizer.algorithms.TreeSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares one nextStep() call per loop iteration against runSteps() in each CallbackMode,
+ * with Arrays.sort on a primitive copy of the same input as the native reference.
+ */
+public class BulkStepsSuite implements BenchmarkSuite {
+
+    // Quadratic algorithms are skipped above this size
+    private static final int QUADRATIC_LIMIT = 5_000;
+
+    private static final List<Supplier<AbstractSortAlgorithm>> N_LOG_N = List.of(
+            QuickSort::new, MergeSort::new, TreeSort::new);
+    private static final List<Supplier<AbstractSortAlgorithm>> QUADRATIC = List.of(
+            BubbleSort::new, CocktailSort::new, InsertionSort::new, HeapSort::new);
+
+    @Override
+    public String getName() {
+        return "bulk-steps";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Per-step loop versus runSteps() with FULL, COUNT_ONLY and SUPPRESSED callbacks";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(1_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            for (Supplier<AbstractSortAlgorithm> algorithm : N_LOG_N) {
+                HeadlessEngine.run(algorithm.get(), warm);
+                HeadlessEngine.runBulk(algorithm.get(), warm, CallbackMode.SUPPRESSED);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 2_000, 50_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size);
+            out.printf("%-28s n=%-9d %44.2f ms%n", "Arrays.sort(int[]) native", size, nativeMillis(input));
+            for (Supplier<AbstractSortAlgorithm> algorithm : N_LOG_N) {
+                runAllModes(algorithm, input, out);
+            }
+            if (size <= QUADRATIC_LIMIT) {
+                for (Supplier<AbstractSortAlgorithm> algorithm : QUADRATIC) {
+                    runAllModes(algorithm, input, out);
+                }
+            }
+        }
+    }
+
+    private void runAllModes(Supplier<AbstractSortAlgorithm> algorithm, List<SortElement> input, PrintStream out) {
+        out.println(HeadlessEngine.run(algorithm.get(), input));
+        for (CallbackMode mode : CallbackMode.values()) {
+            out.println(HeadlessEngine.runBulk(algorithm.get(), input, mode));
+        }
+    }
+
+    private double nativeMillis(List<SortElement> input) {
+        int[] values = new int[input.size()];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = input.get(k).getValue();
+        }
+        long start = System.nanoTime();
+        Arrays.sort(values);
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
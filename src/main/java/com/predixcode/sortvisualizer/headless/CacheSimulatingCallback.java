@@ -0,0 +1,102 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.util.Arrays;
+
+/**
+ * CountingStepCallback that also feeds every index an algorithm compares, swaps, reads or writes through a
+ * simulated two-level cache, as if the values were a plain int array: 4-byte elements, 64-byte lines, an 8-way
+ * 32 KiB L1 and an 8-way 1 MiB L2, both LRU. The miss counts show how local an algorithm's accesses are,
+ * independent of the boxing and list indirection of the real run and of the machine it runs on.
+ */
+public class CacheSimulatingCallback extends CountingStepCallback {
+
+    private static final int ELEMENT_BYTES = 4;
+    private static final int LINE_BYTES = 64;
+    private static final int WAYS = 8;
+
+    private final CacheLevel l1 = new CacheLevel(32 * 1024);
+    private final CacheLevel l2 = new CacheLevel(1024 * 1024);
+    private long accesses;
+
+    @Override
+    public void reportCompare(int index1, int index2) {
+        super.reportCompare(index1, index2);
+        access(index1);
+        access(index2);
+    }
+
+    @Override
+    public void reportSwap(int index1, int index2) {
+        super.reportSwap(index1, index2);
+        access(index1);
+        access(index2);
+    }
+
+    @Override
+    public void reportRead(int index) {
+        super.reportRead(index);
+        access(index);
+    }
+
+    @Override
+    public void reportHeldCompare(int index) {
+        super.reportHeldCompare(index);
+        access(index);
+    }
+
+    @Override
+    public void reportWrite(int index) {
+        super.reportWrite(index);
+        access(index);
+    }
+
+    private void access(int index) {
+        accesses++;
+        long line = (long) index * ELEMENT_BYTES / LINE_BYTES;
+        if (!l1.access(line)) {
+            l2.access(line);
+        }
+    }
+
+    public long getAccesses() {
+        return accesses;
+    }
+
+    public long getL1Misses() {
+        return l1.misses;
+    }
+
+    public long getL2Misses() {
+        return l2.misses;
+    }
+
+    /**
+     * One set-associative LRU cache level. Each set keeps its line tags ordered from most to least recently used.
+     */
+    private static final class CacheLevel {
+        private final long[] tags;
+        private final int sets;
+        private long misses;
+
+        CacheLevel(int capacityBytes) {
+            this.sets = capacityBytes / LINE_BYTES / WAYS;
+            this.tags = new long[sets * WAYS];
+            Arrays.fill(tags, -1);
+        }
+
+        // Touches a line and reports whether it was cached
+        boolean access(long line) {
+            int base = (int) (line % sets) * WAYS;
+            int way = 0;
+            while (way < WAYS && tags[base + way] != line) way++;
+            boolean hit = way < WAYS;
+            if (!hit) {
+                misses++;
+                way = WAYS - 1; // Evict the least recently used line
+            }
+            System.arraycopy(tags, base, tags, base + 1, way);
+            tags[base] = line;
+            return hit;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.util.List;
+
+import com.predixcode.sortvisualizer.core.StepCallback;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * StepCallback for headless runs. It never touches the UI and only counts what the algorithm reports,
+ * so algorithms and instrumented lists run at full speed.
+ */
+public class CountingStepCallback implements StepCallback {
+
+    private long compares;
+    private long heldCompares;
+    private long swaps;
+    private long reads;
+    private long writes;
+    private long stateChanges;
+    private long visualUpdates;
+    private volatile boolean stopRequested;
+
+    @Override
+    public void reportCompare(int index1, int index2) {
+        compares++;
+    }
+
+    @Override
+    public void reportSwap(int index1, int index2) {
+        swaps++;
+    }
+
+    @Override
+    public void reportRead(int index) {
+        reads++;
+    }
+
+    @Override
+    public void reportWrite(int index) {
+        writes++;
+    }
+
+    @Override
+    public void reportHeldCompare(int index) {
+        compares++;
+        heldCompares++;
+    }
+
+    @Override
+    public void reportElementStateChange(int index, SortElement.ElementState newState) {
+        stateChanges++;
+    }
+
+    @Override
+    public void reportResetStates(int startIndex, int endIndex) {
+        // Visual only, nothing to count
+    }
+
+    @Override
+    public void reportResetStates(int... indices) {
+        // Visual only, nothing to count
+    }
+
+    @Override
+    public void reportOverlay(List<String> lines) {
+        // Visual only, nothing to count
+    }
+
+    @Override
+    public int getAnimationDelayMs() {
+        return 0;
+    }
+
+    @Override
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    @Override
+    public void reportSortCompleted() {
+        // The engine detects completion from nextStep() returning false
+    }
+
+    @Override
+    public void requestVisualUpdate() {
+        visualUpdates++;
+    }
+
+    /**
+     * Asks the running algorithm to stop at its next step.
+     */
+    public void requestStop() {
+        this.stopRequested = true;
+    }
+
+    /**
+     * Clears all counters and any pending stop request.
+     */
+    public void reset() {
+        compares = 0;
+        heldCompares = 0;
+        swaps = 0;
+        reads = 0;
+        writes = 0;
+        stateChanges = 0;
+        visualUpdates = 0;
+        stopRequested = false;
+    }
+
+    public long getCompares() {
+        return compares;
+    }
+
+    /**
+     * Gets how many of the comparisons were with a held element, each standing for one element read instead of two.
+     * @return The held comparison count, included in getCompares().
+     */
+    public long getHeldCompares() {
+        return heldCompares;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getStateChanges() {
+        return stateChanges;
+    }
+
+    public long getVisualUpdates() {
+        return visualUpdates;
+    }
+}
@@ -0,0 +1,62 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.BucketSort;
+import com.predixcode.sortvisualizer.algorithms.BucketSort.InnerSort;
+import com.predixcode.sortvisualizer.algorithms.CountingSort;
+import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.algorithms.IntroSort;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.RadixSortLSD;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares Counting Sort and Bucket Sort with comparison sorts at large n on the visualizer's values, which span
+ * only a couple of hundred, so every input suits a distribution sort. All algorithms run in bulk counting their
+ * reports; compares, swaps, reads and writes are printed per element next to the time.
+ */
+public class DistributionSortSuite implements BenchmarkSuite {
+
+    private static final List<Supplier<AbstractSortAlgorithm>> ALGORITHMS = List.of(
+            CountingSort::new,
+            BucketSort::new,
+            () -> new BucketSort(BucketSort.AUTO_BUCKETS, InnerSort.HEAP),
+            () -> new BucketSort(16, InnerSort.HEAP),
+            () -> new RadixSortLSD(8),
+            MergeSort::new,
+            IntroSort::new,
+            HeapSort::new);
+
+    @Override
+    public String getName() {
+        return "distribution";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Counting sort and bucket sort versus comparison sorts on bounded values at large n";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), ALGORITHMS, CallbackMode.COUNT_ONLY);
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            double n = Math.max(1, size);
+            out.println("-- n = " + size);
+            out.printf("   %-50s %10s %10s %8s %8s %8s %8s%n", "algorithm", "ms", "ns/el", "cmp/n", "swaps/n", "reads/n",
+                    "writes/n");
+            for (Supplier<AbstractSortAlgorithm> algorithm : ALGORITHMS) {
+                RunResult r = HeadlessEngine.runBulk(algorithm.get(), input, CallbackMode.COUNT_ONLY);
+                out.printf("   %-50s %10.2f %10.1f %8.2f %8.2f %8.2f %8.2f %s%n", r.getName(), r.getElapsedMillis(),
+                        r.getElapsedNanos() / n, r.getCompares() / n, r.getSwaps() / n, r.getReads() / n,
+                        r.getWrites() / n, r.isSorted() ? "" : "NOT SORTED");
+            }
+        }
+    }
+}
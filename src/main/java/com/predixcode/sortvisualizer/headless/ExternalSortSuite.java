@@ -0,0 +1,69 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.ExternalMergeSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Runs ExternalMergeSort over a grid of RAM budgets and fan-ins and reports its I/O: the initial runs, the merge
+ * passes next to the ceil(log_k(R)) the model predicts, and the bytes read and written. Every pass reads and writes
+ * each record once, so the bytes per record show the number of passes over the data directly; halving the RAM adds
+ * runs, and a larger fan-in takes passes away again.
+ */
+public class ExternalSortSuite implements BenchmarkSuite {
+
+    private static final int[] MEMORY_DIVISORS = {4, 16, 64, 256};
+    private static final int[] FAN_INS = {2, 4, 16};
+
+    @Override
+    public String getName() {
+        return "external";
+    }
+
+    @Override
+    public String getDescription() {
+        return "ExternalMergeSort I/O for RAM budgets of 1/4 to 1/256 of the input and fan-ins of 2, 4 and 16";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            for (int fanIn : FAN_INS) {
+                HeadlessEngine.runBulk(new ExternalMergeSort(1.0 / 16, fanIn), warm, CallbackMode.COUNT_ONLY);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            double n = Math.max(1, size);
+            out.printf("-- n = %d, random, %d bytes per record%n", size, ExternalMergeSort.RECORD_BYTES);
+            out.printf("   %-8s %6s %8s %6s %8s %8s %10s %10s %10s %10s %10s%n", "RAM", "fan-in", "records", "runs",
+                    "merges", "model", "MiB read", "MiB write", "bytes/rec", "cmp/n", "ms");
+            for (int divisor : MEMORY_DIVISORS) {
+                for (int fanIn : FAN_INS) {
+                    ExternalMergeSort algorithm = new ExternalMergeSort(1.0 / divisor, fanIn);
+                    RunResult r = HeadlessEngine.runBulk(algorithm, input, CallbackMode.COUNT_ONLY);
+                    out.printf("   %-8s %6d %8d %6d %8d %8d %10.2f %10.2f %10.2f %10.2f %10.2f %s%n", "1/" + divisor,
+                            fanIn, algorithm.getMemoryRecords(), algorithm.getInitialRuns(),
+                            algorithm.getMergePasses(), predictedMergePasses(algorithm.getInitialRuns(), fanIn),
+                            mebibytes(algorithm.getBytesRead()), mebibytes(algorithm.getBytesWritten()),
+                            (algorithm.getBytesRead() + algorithm.getBytesWritten()) / n, r.getCompares() / n,
+                            r.getElapsedMillis(), r.isSorted() ? "" : "NOT SORTED");
+                }
+            }
+        }
+    }
+
+    // ceil(log_k(runs)), counted without floating point
+    private static int predictedMergePasses(int runs, int fanIn) {
+        int passes = 0;
+        for (long width = 1; width < runs; width *= fanIn) passes++;
+        return passes;
+    }
+
+    private static double mebibytes(long bytes) {
+        return bytes / (1024.0 * 1024);
+    }
+}
@@ -0,0 +1,104 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command-line entry point for headless runs. Usage:
+ * <pre>
+ *   HeadlessBenchmark                      lists the available suites
+ *   HeadlessBenchmark &lt;suite&gt; [sizes...]   runs one suite, optionally with custom array sizes
+ * </pre>
+ */
+public final class HeadlessBenchmark {
+
+    private static final List<BenchmarkSuite> SUITES = new ArrayList<>();
+
+    static {
+        SUITES.add(new AccessProfileSuite());
+        SUITES.add(new BulkStepsSuite());
+        SUITES.add(new ParallelSpeedupSuite());
+        SUITES.add(new ParallelQuickSortSuite());
+        SUITES.add(new RadixSuite());
+        SUITES.add(new ParallelRadixSuite());
+        SUITES.add(new AdaptiveSuite());
+        SUITES.add(new PivotSuite());
+        SUITES.add(new AllocationSuite());
+        SUITES.add(new InPlaceMergeSuite());
+        SUITES.add(new TreeSortSuite());
+        SUITES.add(new HeapSuite());
+        SUITES.add(new ShellGapSuite());
+        SUITES.add(new InsertionSuite());
+        SUITES.add(new SortingNetworkSuite());
+        addIfBuilt("com.predixcode.sortvisualizer.headless.VectorSuite");
+        SUITES.add(new DistributionSortSuite());
+        SUITES.add(new PdqSuite());
+        SUITES.add(new SampleSortSuite());
+        SUITES.add(new SmoothSortSuite());
+        SUITES.add(new WriteCostSuite());
+        SUITES.add(new TurtleSuite());
+        SUITES.add(new KWayMergeSuite());
+        SUITES.add(new ExternalSortSuite());
+    }
+
+    // Suites that only the matching Maven profile compiles are looked up by name, so the default build does not need them
+    private static void addIfBuilt(String className) {
+        try {
+            SUITES.add((BenchmarkSuite) Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            // Not compiled in this build
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create suite " + className, e);
+        }
+    }
+
+    public static void main(String[] args) {
+        PrintStream out = System.out;
+        if (args.length == 0) {
+            printSuites(out);
+            return;
+        }
+        String[] suiteArgs = Arrays.copyOfRange(args, 1, args.length);
+        for (BenchmarkSuite suite : SUITES) {
+            if (suite.getName().equals(args[0])) {
+                out.println("== " + suite.getName() + ": " + suite.getDescription());
+                suite.run(suiteArgs, out);
+                return;
+            }
+        }
+        System.err.println("Unknown suite: " + args[0]);
+        printSuites(System.err);
+    }
+
+    private static void printSuites(PrintStream out) {
+        out.println("Available suites:");
+        for (BenchmarkSuite suite : SUITES) {
+            out.printf("  %-20s %s%n", suite.getName(), suite.getDescription());
+        }
+    }
+
+    /**
+     * Parses array sizes from suite arguments, falling back to defaults when none are given.
+     * @param args The suite arguments.
+     * @param defaults The sizes to use when args is empty.
+     * @return The sizes to run.
+     */
+    public static int[] parseSizes(String[] args, int... defaults) {
+        if (args.length == 0) {
+            return defaults;
+        }
+        int[] sizes = new int[args.length];
+        for (int k = 0; k < args.length; k++) {
+            sizes[k] = Integer.parseInt(args[k]);
+            if (sizes[k] < 0) {
+                throw new IllegalArgumentException("Size cannot be negative.");
+            }
+        }
+        return sizes;
+    }
+
+    // Private constructor to prevent instantiation
+    private HeadlessBenchmark() {}
+}
@@ -0,0 +1,250 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.core.BulkStepCallback;
+import com.predixcode.sortvisualizer.core.ArrayManager;
+import com.predixcode.sortvisualizer.core.InstrumentedList;
+import com.predixcode.sortvisualizer.core.SortController;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Runs algorithms without the JavaFX UI, at full speed, and collects what they report.
+ * Every run works on its own copy of the input, so the same input can be fed to several sorts.
+ */
+public final class HeadlessEngine {
+
+    public static final int WARM_UP_ROUNDS = 3;
+
+    /**
+     * Generates a random input the same way the visualizer does.
+     * @param size The number of elements.
+     * @return A new list of random SortElements in [DEFAULT_MIN_VALUE, DEFAULT_MAX_VALUE).
+     */
+    public static List<SortElement> randomInput(int size) {
+        return new ArrayManager(size, SortController.DEFAULT_MIN_VALUE, SortController.DEFAULT_MAX_VALUE).getSortElements();
+    }
+
+    /**
+     * Runs an algorithm step by step until it reports completion.
+     * @param algorithm The algorithm to run.
+     * @param input The input, which is copied and left untouched.
+     * @return The counts and timing of the run.
+     */
+    public static RunResult run(Algorithm algorithm, List<SortElement> input) {
+        return run(algorithm, input, false);
+    }
+
+    /**
+     * Runs an algorithm step by step on an InstrumentedList, so that its list reads and writes are counted too.
+     * @param algorithm The algorithm to run.
+     * @param input The input, which is copied and left untouched.
+     * @return The counts and timing of the run.
+     */
+    public static RunResult runInstrumented(Algorithm algorithm, List<SortElement> input) {
+        return run(algorithm, input, true);
+    }
+
+    private static RunResult run(Algorithm algorithm, List<SortElement> input, boolean instrumented) {
+        CountingStepCallback counts = new CountingStepCallback();
+        List<SortElement> elements = copyOf(input);
+        List<SortElement> target = instrumented ? new InstrumentedList(elements, counts) : elements;
+
+        long start = System.nanoTime();
+        algorithm.initialize(target, counts);
+        long steps = 0;
+        while (algorithm.nextStep()) {
+            steps++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new RunResult(algorithm.getName(), input.size(), steps, counts, elapsed, verify(input, elements));
+    }
+
+    /**
+     * Runs an algorithm to completion with a single runSteps() call, the way "skip to end" does.
+     * In COUNT_ONLY mode the counts come from the algorithm's bulk counters; in SUPPRESSED mode only steps are counted.
+     * @param algorithm The algorithm to run.
+     * @param input The input, which is copied and left untouched.
+     * @param mode How reports are handled during the run.
+     * @return The counts and timing of the run.
+     */
+    public static RunResult runBulk(AbstractSortAlgorithm algorithm, List<SortElement> input, CallbackMode mode) {
+        CountingStepCallback counts = new CountingStepCallback();
+        List<SortElement> elements = copyOf(input);
+
+        long start = System.nanoTime();
+        algorithm.initialize(elements, counts);
+        algorithm.runSteps(Long.MAX_VALUE, Long.MAX_VALUE, mode);
+        long elapsed = System.nanoTime() - start;
+
+        BulkStepCallback bulk = algorithm.getBulkCounts();
+        String name = algorithm.getName() + " [" + mode + "]";
+        if (mode == CallbackMode.FULL) {
+            return new RunResult(name, input.size(), bulk.getSteps(), counts, elapsed, verify(input, elements));
+        }
+        return new RunResult(name, input.size(), bulk.getSteps(), bulk.getCompares(), bulk.getHeldCompares(),
+                bulk.getSwaps(), bulk.getReads(), bulk.getWrites(), elapsed, verify(input, elements));
+    }
+
+    /**
+     * Runs an ordinary, unmodified sort against an InstrumentedList at full speed.
+     * The sort receives the list and a comparator on element values; both report to the counters.
+     * @param name The name to report the sort under.
+     * @param sorter The sort to profile, for example {@code List::sort}.
+     * @param input The input, which is copied and left untouched.
+     * @return The reads, writes, compares and timing of the sort.
+     */
+    public static RunResult profile(String name, BiConsumer<List<SortElement>, Comparator<SortElement>> sorter,
+                                    List<SortElement> input) {
+        CountingStepCallback counts = new CountingStepCallback();
+        List<SortElement> elements = copyOf(input);
+        InstrumentedList instrumented = new InstrumentedList(elements, counts);
+
+        long start = System.nanoTime();
+        sorter.accept(instrumented, instrumented.valueComparator());
+        long elapsed = System.nanoTime() - start;
+
+        return new RunResult(name, input.size(), 0, counts, elapsed, verify(input, elements));
+    }
+
+    /**
+     * Runs a sort over a plain int array of the input's values, for kernels that work below the Algorithm
+     * interface. Nothing is counted, so only the time and whether the result is right are reported.
+     * @param name The name to report the sort under.
+     * @param sorter The sort to time, for example {@code Arrays::sort}.
+     * @param input The input, whose values are copied into a new array.
+     * @return The timing of the sort, with all counts zero.
+     */
+    public static RunResult profileArray(String name, Consumer<int[]> sorter, List<SortElement> input) {
+        int[] values = new int[input.size()];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = input.get(k).getValue();
+        }
+        int[] expected = values.clone();
+
+        long start = System.nanoTime();
+        sorter.accept(values);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(expected);
+        return new RunResult(name, input.size(), 0, new CountingStepCallback(), elapsed, Arrays.equals(expected, values));
+    }
+
+    /**
+     * Repeats a measurement and keeps the fastest, which is the one least disturbed by GC and scheduling.
+     * @param runs The number of runs, at least one.
+     * @param measurement Makes one run and returns what it measured.
+     * @param elapsedNanos Gets the time a measurement took.
+     * @return The fastest measurement.
+     */
+    public static <T> T best(int runs, Supplier<T> measurement, ToLongFunction<T> elapsedNanos) {
+        T best = measurement.get();
+        for (int run = 1; run < runs; run++) {
+            T result = measurement.get();
+            if (elapsedNanos.applyAsLong(result) < elapsedNanos.applyAsLong(best)) best = result;
+        }
+        return best;
+    }
+
+    /**
+     * Repeats a run and keeps the fastest.
+     * @param runs The number of runs, at least one.
+     * @param run Makes one run, for example {@code () -> runBulk(algorithm, input, mode)}.
+     * @return The fastest run.
+     */
+    public static RunResult best(int runs, Supplier<RunResult> run) {
+        return best(runs, run, RunResult::getElapsedNanos);
+    }
+
+    /**
+     * Gives the JIT a chance to compile the code under test before anything is measured, by doing a round of work on
+     * a throwaway input a few times and discarding the results.
+     * @param input The input for the warm-up rounds.
+     * @param rounds The number of rounds.
+     * @param round One round of work on the input.
+     */
+    public static void warmUp(List<SortElement> input, int rounds, Consumer<List<SortElement>> round) {
+        for (int k = 0; k < rounds; k++) {
+            round.accept(input);
+        }
+    }
+
+    /**
+     * Warms up a set of algorithms with WARM_UP_ROUNDS bulk runs of each.
+     * @param input The input for the warm-up runs.
+     * @param algorithms Factories for the algorithms, which get a new instance per run.
+     * @param mode The mode the algorithms will be measured in.
+     */
+    public static void warmUp(List<SortElement> input, List<Supplier<AbstractSortAlgorithm>> algorithms, CallbackMode mode) {
+        warmUp(input, WARM_UP_ROUNDS, warm -> {
+            for (Supplier<AbstractSortAlgorithm> algorithm : algorithms) {
+                runBulk(algorithm.get(), warm, mode);
+            }
+        });
+    }
+
+    /**
+     * Makes a deep copy of a list of SortElements. Some algorithms rewrite element values,
+     * so sharing element objects between runs is not safe.
+     * @param input The list to copy.
+     * @return A new list of new SortElements with the same values.
+     */
+    public static List<SortElement> copyOf(List<SortElement> input) {
+        List<SortElement> copy = new ArrayList<>(input.size());
+        for (SortElement el : input) {
+            copy.add(new SortElement(el.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Checks that the output is in order and holds exactly the input's values.
+     * @param input The list the sort started from.
+     * @param output The list the sort produced.
+     * @return true if output is a sorted permutation of input.
+     */
+    public static boolean verify(List<SortElement> input, List<SortElement> output) {
+        if (input.size() != output.size() || !isSorted(output)) {
+            return false;
+        }
+        int[] expected = new int[input.size()];
+        for (int k = 0; k < expected.length; k++) {
+            expected[k] = input.get(k).getValue();
+        }
+        Arrays.sort(expected);
+        for (int k = 0; k < expected.length; k++) {
+            if (expected[k] != output.get(k).getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a list is in non-decreasing order of value.
+     * @param elements The list to check.
+     * @return true if sorted.
+     */
+    public static boolean isSorted(List<SortElement> elements) {
+        for (int k = 1; k < elements.size(); k++) {
+            if (elements.get(k - 1).getValue() > elements.get(k).getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Private constructor to prevent instantiation
+    private HeadlessEngine() {}
+}
@@ -0,0 +1,67 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares heap sort on binary, ternary, 4-ary and 8-ary heaps, each with the classic and the bottom-up
+ * sift-down. Times are the best of a few bulk runs in COUNT_ONLY mode; comparisons, swaps and the misses of a
+ * simulated int-array cache (see CacheSimulatingCallback) come from one more run that reports every access.
+ */
+public class HeapSuite implements BenchmarkSuite {
+
+    private static final int RUNS_PER_POINT = 3;
+    private static final int[] ARITIES = { 2, 3, 4, 8 };
+
+    @Override
+    public String getName() {
+        return "heaps";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Heap sort on 2, 3, 4 and 8-ary heaps, classic and bottom-up: time, comparisons and simulated cache misses";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            for (HeapSort heap : variants()) {
+                HeadlessEngine.runBulk(heap, warm, CallbackMode.COUNT_ONLY);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            double n = Math.max(1, size);
+            out.println("-- n = " + size);
+            out.printf("   %-28s %10s %8s %8s %10s %10s%n", "", "ms", "cmp/n", "swp/n", "L1 miss/n", "L2 miss/n");
+            for (HeapSort heap : variants()) {
+                RunResult best = HeadlessEngine.best(RUNS_PER_POINT,
+                        () -> HeadlessEngine.runBulk(heap, input, CallbackMode.COUNT_ONLY));
+
+                CacheSimulatingCallback cache = new CacheSimulatingCallback();
+                List<SortElement> elements = HeadlessEngine.copyOf(input);
+                heap.initialize(elements, cache);
+                heap.runSteps(Long.MAX_VALUE, Long.MAX_VALUE, CallbackMode.FULL);
+
+                out.printf("   %-28s %10.2f %8.2f %8.2f %10.3f %10.3f %s%n", heap.getName(), best.getElapsedMillis(),
+                        cache.getCompares() / n, cache.getSwaps() / n, cache.getL1Misses() / n, cache.getL2Misses() / n,
+                        best.isSorted() && HeadlessEngine.verify(input, elements) ? "" : "NOT SORTED");
+            }
+        }
+    }
+
+    private static List<HeapSort> variants() {
+        List<HeapSort> variants = new ArrayList<>();
+        for (int arity : ARITIES) {
+            variants.add(new HeapSort(arity, false));
+            variants.add(new HeapSort(arity, true));
+        }
+        return variants;
+    }
+}
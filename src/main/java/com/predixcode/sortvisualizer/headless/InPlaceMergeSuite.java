@@ -0,0 +1,53 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.InPlaceMergeSort;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.headless.AllocationSuite.Measurement;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares the buffer-free InPlaceMergeSort with MergeSort: the memory each allocates, and its comparisons,
+ * swaps, reads and writes per element. MergeSort's reads are elements copied from the list into its buffer and
+ * its writes are elements copied back; the in-place sort moves elements only by swapping, two list writes each.
+ */
+public class InPlaceMergeSuite implements BenchmarkSuite {
+
+    @Override
+    public String getName() {
+        return "in-place-merge";
+    }
+
+    @Override
+    public String getDescription() {
+        return "In-place stable merge sort versus MergeSort: memory, and accesses per element";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            AllocationSuite.measure(new InPlaceMergeSort(), warm);
+            AllocationSuite.measure(new MergeSort(), warm);
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size);
+            out.printf("   %-22s %10s %14s %8s %8s %8s %8s %8s%n", "", "ms", "extra bytes", "cmp/n", "swp/n",
+                    "rd/n", "wr/n", "steps/n");
+            InPlaceMergeSort inPlace = new InPlaceMergeSort();
+            printRow(out, AllocationSuite.measure(inPlace, input), size);
+            out.println("   (" + inPlace.getMaxStackSize() + " pending merge frames at most)");
+            printRow(out, AllocationSuite.measure(new MergeSort(), input), size);
+        }
+    }
+
+    private void printRow(PrintStream out, Measurement m, int size) {
+        RunResult r = m.result;
+        double n = Math.max(1, size);
+        out.printf("   %-22s %10.2f %,14d %8.2f %8.2f %8.2f %8.2f %8.2f %s%n", r.getName(), r.getElapsedMillis(),
+                m.resetBytes + m.stepBytes, r.getCompares() / n, r.getSwaps() / n, r.getReads() / n,
+                r.getWrites() / n, r.getSteps() / n, r.isSorted() ? "" : "NOT SORTED");
+    }
+}
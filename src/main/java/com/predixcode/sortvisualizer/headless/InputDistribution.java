@@ -0,0 +1,93 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Input shapes for headless suites. All of them draw their values the same way the visualizer does,
+ * so only the order of the values differs.
+ */
+public enum InputDistribution {
+
+    RANDOM("random") {
+        @Override
+        public List<SortElement> generate(int size) {
+            return HeadlessEngine.randomInput(size);
+        }
+    },
+    SORTED("sorted") {
+        @Override
+        public List<SortElement> generate(int size) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            input.sort(Comparator.comparingInt(SortElement::getValue));
+            return input;
+        }
+    },
+    REVERSED("reversed") {
+        @Override
+        public List<SortElement> generate(int size) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            input.sort(Comparator.comparingInt(SortElement::getValue).reversed());
+            return input;
+        }
+    },
+    NEARLY_SORTED("nearly sorted") {
+        @Override
+        public List<SortElement> generate(int size) {
+            // Sorted, then about 1% of the elements swapped with a random partner
+            List<SortElement> input = SORTED.generate(size);
+            Random random = new Random();
+            for (int k = 0; k < size / 100; k++) {
+                Collections.swap(input, random.nextInt(size), random.nextInt(size));
+            }
+            return input;
+        }
+    },
+    ORGAN_PIPE("organ pipe") {
+        @Override
+        public List<SortElement> generate(int size) {
+            // Ascending to the middle, then descending; defeats pivots taken from the ends and the middle
+            List<SortElement> input = SORTED.generate(size);
+            List<SortElement> pipe = new ArrayList<>(size);
+            for (int k = 0; k < size; k += 2) pipe.add(input.get(k));
+            for (int k = size - 1 - (size % 2 == 0 ? 0 : 1); k > 0; k -= 2) pipe.add(input.get(k));
+            return pipe;
+        }
+    },
+    SORTED_RUNS("16 sorted runs") {
+        @Override
+        public List<SortElement> generate(int size) {
+            // Random data with 16 consecutive stretches sorted, alternately ascending and descending
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            for (int r = 0; r < 16; r++) {
+                List<SortElement> run = input.subList(r * size / 16, (r + 1) * size / 16);
+                Comparator<SortElement> order = Comparator.comparingInt(SortElement::getValue);
+                run.sort(r % 2 == 0 ? order : order.reversed());
+            }
+            return input;
+        }
+    };
+
+    private final String displayName;
+
+    InputDistribution(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Generates a new input of this shape.
+     * @param size The number of elements.
+     * @return A new, modifiable list of new SortElements.
+     */
+    public abstract List<SortElement> generate(int size);
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,58 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.InsertionSort;
+import com.predixcode.sortvisualizer.algorithms.InsertionSort.SearchMode;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares InsertionSort's linear scan with its binary and galloping searches on random, nearly sorted, sorted
+ * and reversed inputs. Comparisons and moves (writes) are printed per element, separately: the searches cut
+ * comparisons but move exactly as much. The last column adds a cost of one microsecond per comparison to the
+ * measured time, as an estimate for keys that are expensive to compare.
+ */
+public class InsertionSuite implements BenchmarkSuite {
+
+    private static final double EXPENSIVE_COMPARE_MILLIS = 0.001;
+
+    private static final InputDistribution[] DISTRIBUTIONS = {
+            InputDistribution.RANDOM, InputDistribution.NEARLY_SORTED, InputDistribution.SORTED, InputDistribution.REVERSED };
+
+    @Override
+    public String getName() {
+        return "insertion";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Insertion sort with linear, binary and galloping search: compares and moves per element, and time";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(5_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            for (SearchMode mode : SearchMode.values()) {
+                HeadlessEngine.runBulk(new InsertionSort(mode), warm, CallbackMode.COUNT_ONLY);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 1_000, 10_000)) {
+            double n = Math.max(1, size);
+            for (InputDistribution distribution : DISTRIBUTIONS) {
+                List<SortElement> input = distribution.generate(size);
+                out.println("-- n = " + size + ", " + distribution);
+                out.printf("   %-12s %10s %10s %10s %10s %16s%n", "search", "cmp/n", "moves/n", "steps/n", "ms",
+                        "ms at 1us/cmp");
+                for (SearchMode mode : SearchMode.values()) {
+                    RunResult r = HeadlessEngine.runBulk(new InsertionSort(mode), input, CallbackMode.COUNT_ONLY);
+                    out.printf("   %-12s %10.2f %10.2f %10.2f %10.2f %16.2f %s%n", mode, r.getCompares() / n,
+                            r.getWrites() / n, r.getSteps() / n, r.getElapsedMillis(),
+                            r.getElapsedMillis() + r.getCompares() * EXPENSIVE_COMPARE_MILLIS,
+                            r.isSorted() ? "" : "NOT SORTED");
+                }
+            }
+        }
+    }
+}
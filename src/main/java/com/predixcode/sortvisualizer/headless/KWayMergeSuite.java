@@ -0,0 +1,64 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.BottomUpMergeSort;
+import com.predixcode.sortvisualizer.algorithms.KWayMergeSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Shows how the loser tree of KWayMergeSort scales with k. For each k it reports the comparisons per element output
+ * by a merge, which grow like log2(k), next to the number of passes over the data, which shrink like log_k(n), and
+ * the element accesses per element that those passes cost. The total comparisons stay close to n log2 n whatever k
+ * is, so a larger k buys fewer passes at almost no extra comparisons, until the tree no longer fits in cache.
+ * BottomUpMergeSort, the two-way merge without a tree, is the reference row.
+ */
+public class KWayMergeSuite implements BenchmarkSuite {
+
+    private static final int[] WAYS = {2, 3, 4, 8, 16, 32, 64};
+
+    @Override
+    public String getName() {
+        return "k-way";
+    }
+
+    @Override
+    public String getDescription() {
+        return "KWayMergeSort for k from 2 to 64: comparisons per output element, passes and accesses";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            HeadlessEngine.runBulk(new BottomUpMergeSort(), warm, CallbackMode.COUNT_ONLY);
+            for (int ways : WAYS) {
+                HeadlessEngine.runBulk(new KWayMergeSort(ways), warm, CallbackMode.COUNT_ONLY);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            double n = Math.max(1, size);
+            out.println("-- n = " + size + ", random");
+            out.printf("   %-36s %6s %10s %10s %10s %10s %10s%n", "algorithm", "passes", "cmp/out", "log2 k",
+                    "cmp/n", "access/n", "ms");
+            RunResult reference = HeadlessEngine.runBulk(new BottomUpMergeSort(), input, CallbackMode.COUNT_ONLY);
+            out.printf("   %-36s %6s %10s %10s %10.2f %10.2f %10.2f %s%n", reference.getName(), "", "", "",
+                    reference.getCompares() / n, accesses(reference) / n, reference.getElapsedMillis(),
+                    reference.isSorted() ? "" : "NOT SORTED");
+            for (int ways : WAYS) {
+                KWayMergeSort algorithm = new KWayMergeSort(ways);
+                RunResult r = HeadlessEngine.runBulk(algorithm, input, CallbackMode.COUNT_ONLY);
+                double perOutput = (double) algorithm.getMergeCompares() / Math.max(1, algorithm.getMergedElements());
+                out.printf("   %-36s %6d %10.2f %10.2f %10.2f %10.2f %10.2f %s%n", r.getName(), algorithm.getPasses(),
+                        perOutput, Math.log(ways) / Math.log(2), r.getCompares() / n, accesses(r) / n,
+                        r.getElapsedMillis(), r.isSorted() ? "" : "NOT SORTED");
+            }
+        }
+    }
+
+    private static long accesses(RunResult r) {
+        return r.getElementReads() + r.getElementWrites();
+    }
+}
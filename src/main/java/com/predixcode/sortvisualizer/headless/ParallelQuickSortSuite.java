@@ -0,0 +1,73 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.predixcode.sortvisualizer.algorithms.ParallelQuickSort;
+import com.predixcode.sortvisualizer.core.WorkerTelemetry;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Runs ParallelQuickSort on all cores over random and skewed inputs at several cutoffs, and prints the
+ * per-worker telemetry of each run to show how pivot quality and task granularity affect load balance.
+ * Besides the usual distributions, whose values repeat, it sorts permutations of 1..n in sorted, reversed and
+ * random order: with all values distinct, a bad pivot cannot be rescued by the three-way partition.
+ */
+public class ParallelQuickSortSuite implements BenchmarkSuite {
+
+    private static final int[] CUTOFFS = {ParallelQuickSort.DEFAULT_CUTOFF, 1_024, 16_384};
+
+    @Override
+    public String getName() {
+        return "parallel-quicksort";
+    }
+
+    @Override
+    public String getDescription() {
+        return "ParallelQuickSort task counts, steals and idle time per worker on random and skewed inputs";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(50_000), HeadlessEngine.WARM_UP_ROUNDS,
+                warm -> HeadlessEngine.run(new ParallelQuickSort(cores, ParallelQuickSort.DEFAULT_CUTOFF), warm));
+        for (int size : HeadlessBenchmark.parseSizes(args, 1_000_000)) {
+            Map<String, List<SortElement>> inputs = new LinkedHashMap<>();
+            for (InputDistribution distribution : InputDistribution.values()) {
+                inputs.put(distribution.toString(), distribution.generate(size));
+            }
+            inputs.put("sorted distinct", distinct(size, false));
+            inputs.put("reversed distinct", distinct(size, true));
+            List<SortElement> shuffled = distinct(size, false);
+            Collections.shuffle(shuffled);
+            inputs.put("random distinct", shuffled);
+            for (Map.Entry<String, List<SortElement>> entry : inputs.entrySet()) {
+                List<SortElement> input = entry.getValue();
+                for (int cutoff : CUTOFFS) {
+                    ParallelQuickSort algorithm = new ParallelQuickSort(cores, cutoff);
+                    RunResult result = HeadlessEngine.run(algorithm, input);
+                    WorkerTelemetry telemetry = algorithm.getTelemetry();
+                    out.printf("-- n = %d, %s, p = %d, cutoff = %d: %.2f ms %s%n", size, entry.getKey(), cores, cutoff,
+                            result.getElapsedMillis(), result.isSorted() ? "" : "NOT SORTED");
+                    for (String line : telemetry.toLines()) {
+                        out.println("   " + line);
+                    }
+                }
+            }
+        }
+    }
+
+    // The values 1..size, ascending or descending
+    private static List<SortElement> distinct(int size, boolean reversed) {
+        List<SortElement> input = new ArrayList<>(size);
+        for (int k = 1; k <= size; k++) {
+            input.add(new SortElement(reversed ? size + 1 - k : k));
+        }
+        return input;
+    }
+}
@@ -0,0 +1,44 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.ParallelMergeSort;
+import com.predixcode.sortvisualizer.algorithms.ParallelRadixSortLSD;
+import com.predixcode.sortvisualizer.algorithms.RadixSortLSD;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Times ParallelRadixSortLSD on 1..N cores against the sequential RadixSortLSD, with ParallelMergeSort on the same
+ * input for comparison. The parallel radix sort's throughput is the ceiling the other algorithms are measured against.
+ */
+public class ParallelRadixSuite implements BenchmarkSuite {
+
+    @Override
+    public String getName() {
+        return "parallel-radix";
+    }
+
+    @Override
+    public String getDescription() {
+        return "ParallelRadixSortLSD throughput and speedup on 1..N cores, with ParallelMergeSort for comparison";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(50_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            HeadlessEngine.run(new ParallelRadixSortLSD(), warm);
+            HeadlessEngine.runBulk(new RadixSortLSD(ParallelRadixSortLSD.DEFAULT_RADIX_BITS), warm, CallbackMode.SUPPRESSED);
+        });
+        int bits = ParallelRadixSortLSD.DEFAULT_RADIX_BITS;
+        for (int size : HeadlessBenchmark.parseSizes(args, 1_000_000, 4_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size + ", " + Runtime.getRuntime().availableProcessors() + " cores available");
+            RunResult sequential = HeadlessEngine.runBulk(new RadixSortLSD(bits), input, CallbackMode.SUPPRESSED);
+            out.println(sequential);
+            ParallelSpeedupSuite.printScaling(cores -> new ParallelRadixSortLSD(cores, bits), input, sequential, out);
+            ParallelSpeedupSuite.printScaling(ParallelMergeSort::new, input, sequential, out);
+        }
+    }
+}
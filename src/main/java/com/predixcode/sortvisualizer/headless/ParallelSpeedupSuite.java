@@ -0,0 +1,83 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.ParallelMergeSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Times ParallelMergeSort with 1, 2, 4, ... up to all available cores, against the sequential MergeSort
+ * run in bulk with callbacks suppressed. Each time is the best of a few runs on the same input.
+ */
+public class ParallelSpeedupSuite implements BenchmarkSuite {
+
+    private static final int RUNS_PER_POINT = 3;
+
+    @Override
+    public String getName() {
+        return "parallel-speedup";
+    }
+
+    @Override
+    public String getDescription() {
+        return "ParallelMergeSort on 1..N cores versus the sequential MergeSort";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(50_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            HeadlessEngine.run(new ParallelMergeSort(), warm);
+            HeadlessEngine.runBulk(new MergeSort(), warm, CallbackMode.SUPPRESSED);
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size + ", " + Runtime.getRuntime().availableProcessors() + " cores available");
+            RunResult sequential = HeadlessEngine.best(RUNS_PER_POINT,
+                    () -> HeadlessEngine.runBulk(new MergeSort(), input, CallbackMode.SUPPRESSED));
+            out.println(sequential);
+            printScaling(ParallelMergeSort::new, input, sequential, out);
+        }
+    }
+
+    /**
+     * Times a parallel algorithm at every core count and prints its throughput, and its speedup over a sequential
+     * baseline and over itself on one core.
+     * @param factory Creates the algorithm for a given parallelism.
+     * @param input The input to sort.
+     * @param sequential The sequential baseline run.
+     * @param out Where to print.
+     */
+    static void printScaling(IntFunction<? extends AbstractSortAlgorithm> factory, List<SortElement> input,
+                             RunResult sequential, PrintStream out) {
+        double singleCoreMillis = 0;
+        for (int cores : coreCounts()) {
+            RunResult result = HeadlessEngine.best(RUNS_PER_POINT,
+                    () -> HeadlessEngine.run(factory.apply(cores), input));
+            if (cores == 1) singleCoreMillis = result.getElapsedMillis();
+            out.printf("%-36s p=%-3d %10.2f ms %8.1f M/s  x%-6.2f vs sequential  x%-6.2f vs p=1 %s%n",
+                    result.getName(), cores, result.getElapsedMillis(), input.size() / (result.getElapsedMillis() * 1_000.0),
+                    sequential.getElapsedMillis() / result.getElapsedMillis(),
+                    singleCoreMillis / result.getElapsedMillis(), result.isSorted() ? "" : "NOT SORTED");
+        }
+    }
+
+    /**
+     * Gets the core counts to measure: the powers of two below the number of available cores, then that number itself.
+     * @return The core counts in increasing order, starting at 1.
+     */
+    static int[] coreCounts() {
+        int available = Runtime.getRuntime().availableProcessors();
+        int count = 1;
+        for (int p = 1; p < available; p *= 2) count++;
+        int[] counts = new int[count];
+        int k = 0;
+        for (int p = 1; p < available; p *= 2) counts[k++] = p;
+        counts[k] = available;
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.DualPivotQuickSort;
+import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.algorithms.IntroSort;
+import com.predixcode.sortvisualizer.algorithms.PdqSort;
+import com.predixcode.sortvisualizer.algorithms.QuickSort;
+import com.predixcode.sortvisualizer.algorithms.QuickSort.PivotStrategy;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares PdqSort with QuickSort, HeapSort and the other unstable hybrids on every input distribution, printing
+ * comparisons and swaps per element and time. QuickSort runs with a random pivot, the one strategy whose Lomuto
+ * partitioning stays usable on organ-pipe input at this size. PdqSort's row also shows how often it found a
+ * range already sorted, shuffled a pattern and fell back to heapsort.
+ */
+public class PdqSuite implements BenchmarkSuite {
+
+    private static final List<Supplier<AbstractSortAlgorithm>> ALGORITHMS = List.of(
+            PdqSort::new,
+            () -> new QuickSort(PivotStrategy.RANDOM),
+            HeapSort::new,
+            IntroSort::new,
+            DualPivotQuickSort::new);
+
+    @Override
+    public String getName() {
+        return "pdq";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Pattern-defeating quicksort versus QuickSort, HeapSort and the hybrids on every input distribution";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), ALGORITHMS, CallbackMode.COUNT_ONLY);
+        for (int size : HeadlessBenchmark.parseSizes(args, 20_000, 200_000)) {
+            double n = Math.max(1, size);
+            for (InputDistribution distribution : InputDistribution.values()) {
+                List<SortElement> input = distribution.generate(size);
+                out.println("-- n = " + size + ", " + distribution);
+                out.printf("   %-28s %10s %10s %10s%n", "algorithm", "cmp/n", "swaps/n", "ms");
+                for (Supplier<AbstractSortAlgorithm> supplier : ALGORITHMS) {
+                    AbstractSortAlgorithm algorithm = supplier.get();
+                    RunResult r = HeadlessEngine.runBulk(algorithm, input, CallbackMode.COUNT_ONLY);
+                    String notes = (algorithm instanceof PdqSort pdq)
+                            ? String.format("  sorted ranges %d, shuffles %d, heapsorts %d",
+                                    pdq.getAlreadySortedRanges(), pdq.getPatternShuffles(), pdq.getHeapSortFallbacks())
+                            : "";
+                    out.printf("   %-28s %10.2f %10.2f %10.2f%s %s%n", algorithm.getName(), r.getCompares() / n,
+                            r.getSwaps() / n, r.getElapsedMillis(), notes, r.isSorted() ? "" : "NOT SORTED");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.QuickSort;
+import com.predixcode.sortvisualizer.algorithms.QuickSort.PivotStrategy;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Runs QuickSort with every pivot strategy over every input distribution and prints a table of comparisons,
+ * swaps and the maximum recursion depth a recursive quicksort would reach. Comparisons made while choosing the pivot are included, so the cost of
+ * the more careful strategies shows up next to what they save in partitioning.
+ */
+public class PivotSuite implements BenchmarkSuite {
+
+    @Override
+    public String getName() {
+        return "pivots";
+    }
+
+    @Override
+    public String getDescription() {
+        return "QuickSort compares, swaps and max recursion depth per pivot strategy and input distribution";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        for (int size : HeadlessBenchmark.parseSizes(args, 20_000)) {
+            for (InputDistribution distribution : InputDistribution.values()) {
+                List<SortElement> input = distribution.generate(size);
+                out.println("-- n = " + size + ", " + distribution);
+                out.printf("   %-20s %14s %12s %10s %10s%n", "pivot", "compares", "swaps", "max depth", "ms");
+                for (PivotStrategy strategy : PivotStrategy.values()) {
+                    QuickSort algorithm = new QuickSort(strategy);
+                    RunResult result = HeadlessEngine.run(algorithm, input);
+                    out.printf("   %-20s %14d %12d %10d %10.2f %s%n", strategy, result.getCompares(), result.getSwaps(),
+                            algorithm.getMaxStackDepth(), result.getElapsedMillis(), result.isSorted() ? "" : "NOT SORTED");
+                }
+            }
+        }
+    }
+}
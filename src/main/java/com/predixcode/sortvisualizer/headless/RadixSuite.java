@@ -0,0 +1,58 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.RadixSortLSD;
+import com.predixcode.sortvisualizer.algorithms.RadixSortMSD;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares LSD and MSD radix sort at several radix widths with comparison sorts on the visualizer's bounded values.
+ * All step-based algorithms run in bulk with callbacks suppressed. The time per element stays flat for the radix
+ * sorts as n grows, while it grows with log n for the comparison sorts.
+ */
+public class RadixSuite implements BenchmarkSuite {
+
+    private static final List<Supplier<AbstractSortAlgorithm>> ALGORITHMS = List.of(
+            () -> new RadixSortLSD(2), () -> new RadixSortLSD(4), () -> new RadixSortLSD(8), () -> new RadixSortLSD(16),
+            () -> new RadixSortMSD(4), () -> new RadixSortMSD(8),
+            MergeSort::new);
+
+    @Override
+    public String getName() {
+        return "radix";
+    }
+
+    @Override
+    public String getDescription() {
+        return "LSD/MSD radix sort at 2-16 bit radixes versus comparison sorts, time per element as n grows";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), ALGORITHMS, CallbackMode.SUPPRESSED);
+        for (int size : HeadlessBenchmark.parseSizes(args, 250_000, 1_000_000, 4_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size);
+            for (Supplier<AbstractSortAlgorithm> algorithm : ALGORITHMS) {
+                RunResult result = HeadlessEngine.runBulk(algorithm.get(), input, CallbackMode.SUPPRESSED);
+                printRow(out, result.getName(), size, result.getElapsedNanos(), result.isSorted());
+            }
+            List<SortElement> copy = HeadlessEngine.copyOf(input);
+            long start = System.nanoTime();
+            copy.sort(Comparator.comparingInt(SortElement::getValue));
+            printRow(out, "List.sort (TimSort)", size, System.nanoTime() - start, HeadlessEngine.verify(input, copy));
+        }
+    }
+
+    private void printRow(PrintStream out, String name, int size, long elapsedNanos, boolean sorted) {
+        out.printf("%-36s n=%-9d %10.2f ms %8.1f ns/element %s%n", name, size, elapsedNanos / 1_000_000.0,
+                (double) elapsedNanos / Math.max(1, size), sorted ? "" : "NOT SORTED");
+    }
+}
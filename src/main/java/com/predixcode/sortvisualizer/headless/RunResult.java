@@ -0,0 +1,118 @@
+package com.predixcode.sortvisualizer.headless;
+
+/**
+ * Outcome of a single headless run: what was sorted, how long it took and what the sort reported.
+ */
+public class RunResult {
+
+    private final String name;
+    private final int size;
+    private final long steps;
+    private final long compares;
+    private final long heldCompares;
+    private final long swaps;
+    private final long reads;
+    private final long writes;
+    private final long elapsedNanos;
+    private final boolean sorted;
+
+    public RunResult(String name, int size, long steps, CountingStepCallback counts, long elapsedNanos, boolean sorted) {
+        this(name, size, steps, counts.getCompares(), counts.getHeldCompares(), counts.getSwaps(), counts.getReads(),
+                counts.getWrites(), elapsedNanos, sorted);
+    }
+
+    public RunResult(String name, int size, long steps, long compares, long heldCompares, long swaps, long reads,
+                     long writes, long elapsedNanos, boolean sorted) {
+        this.name = name;
+        this.size = size;
+        this.steps = steps;
+        this.compares = compares;
+        this.heldCompares = heldCompares;
+        this.swaps = swaps;
+        this.reads = reads;
+        this.writes = writes;
+        this.elapsedNanos = elapsedNanos;
+        this.sorted = sorted;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of nextStep() calls, or 0 for sorts that do not run step by step.
+     * @return The step count.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getCompares() {
+        return compares;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * Gets the element reads of the run under StepCallback's accounting: two per comparison and per swap, one per
+     * comparison with a held element, plus the reads reported on their own.
+     * @return The element read count.
+     */
+    public long getElementReads() {
+        return 2 * compares - heldCompares + 2 * swaps + reads;
+    }
+
+    /**
+     * Gets the element writes of the run under StepCallback's accounting: two per swap, plus the writes reported
+     * on their own.
+     * @return The element write count.
+     */
+    public long getElementWrites() {
+        return 2 * swaps + writes;
+    }
+
+    /**
+     * Gets the cost of the run's element accesses when a write costs writeCost reads, as on flash or NVM.
+     * @param writeCost The cost of one write relative to one read.
+     * @return The weighted access count.
+     */
+    public double getWeightedCost(double writeCost) {
+        return getElementReads() + writeCost * getElementWrites();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Checks whether the run produced a sorted permutation of its input.
+     * @return true if the output was verified.
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s n=%-9d steps=%-11d cmp=%-11d swp=%-10d rd=%-11d wr=%-11d %10.2f ms %s",
+                name, size, steps, compares, swaps, reads, writes, getElapsedMillis(), sorted ? "" : "NOT SORTED");
+    }
+}
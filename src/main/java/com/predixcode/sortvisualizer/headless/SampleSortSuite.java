@@ -0,0 +1,64 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.IntroSort;
+import com.predixcode.sortvisualizer.algorithms.ParallelMergeSort;
+import com.predixcode.sortvisualizer.algorithms.ParallelQuickSort;
+import com.predixcode.sortvisualizer.algorithms.SampleSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Times SampleSort on 1..N cores against the sequential IntroSort, with ParallelQuickSort and ParallelMergeSort on
+ * the same input, then shows how the oversampling factor drives the bucket imbalance on every input distribution.
+ */
+public class SampleSortSuite implements BenchmarkSuite {
+
+    private static final int[] OVERSAMPLING = {1, 4, SampleSort.DEFAULT_OVERSAMPLING, 64};
+
+    @Override
+    public String getName() {
+        return "sample-sort";
+    }
+
+    @Override
+    public String getDescription() {
+        return "SampleSort speedup on 1..N cores and bucket imbalance versus oversampling on every distribution";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(50_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            HeadlessEngine.run(new SampleSort(), warm);
+            HeadlessEngine.runBulk(new IntroSort(), warm, CallbackMode.SUPPRESSED);
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size + ", " + cores + " cores available");
+            RunResult sequential = HeadlessEngine.runBulk(new IntroSort(), input, CallbackMode.SUPPRESSED);
+            out.println(sequential);
+            ParallelSpeedupSuite.printScaling(p -> new SampleSort(p, SampleSort.DEFAULT_BUCKETS_PER_WORKER,
+                    SampleSort.DEFAULT_OVERSAMPLING), input, sequential, out);
+            ParallelSpeedupSuite.printScaling(p -> new ParallelQuickSort(p, ParallelQuickSort.DEFAULT_CUTOFF), input,
+                    sequential, out);
+            ParallelSpeedupSuite.printScaling(ParallelMergeSort::new, input, sequential, out);
+
+            out.printf("-- bucket imbalance, p = %d, %d buckets per worker%n", cores, SampleSort.DEFAULT_BUCKETS_PER_WORKER);
+            out.printf("   %-16s %12s %10s %12s %14s %10s%n", "distribution", "oversampling", "splitters",
+                    "imbalance", "equal elements", "ms");
+            for (InputDistribution distribution : InputDistribution.values()) {
+                List<SortElement> distributed = distribution.generate(size);
+                for (int oversampling : OVERSAMPLING) {
+                    SampleSort algorithm = new SampleSort(cores, SampleSort.DEFAULT_BUCKETS_PER_WORKER, oversampling);
+                    RunResult r = HeadlessEngine.run(algorithm, distributed);
+                    out.printf("   %-16s %12d %10d %11.2fx %14d %10.2f %s%n", distribution, oversampling,
+                            algorithm.getSplitterCount(), algorithm.getBucketImbalance(), algorithm.getEqualElements(),
+                            r.getElapsedMillis(), r.isSorted() ? "" : "NOT SORTED");
+                }
+            }
+        }
+    }
+}
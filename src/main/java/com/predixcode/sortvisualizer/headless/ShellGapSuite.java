@@ -0,0 +1,48 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.ShellSort;
+import com.predixcode.sortvisualizer.algorithms.ShellSort.GapSequence;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Sweeps ShellSort's gap sequences across array sizes on random input, printing the number of passes,
+ * comparisons, comparisons per n log2 n, and time. Runs are bulk runs in COUNT_ONLY mode on the same input
+ * for every sequence.
+ */
+public class ShellGapSuite implements BenchmarkSuite {
+
+    @Override
+    public String getName() {
+        return "shell-gaps";
+    }
+
+    @Override
+    public String getDescription() {
+        return "ShellSort compares and time per gap sequence (Shell, Knuth, Sedgewick, Tokuda, Ciura, Pratt) and size";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            for (GapSequence sequence : GapSequence.values()) {
+                HeadlessEngine.runBulk(new ShellSort(sequence), warm, CallbackMode.COUNT_ONLY);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 1_000, 10_000, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            double nLogN = Math.max(1, size * (Math.log(size) / Math.log(2)));
+            out.println("-- n = " + size);
+            out.printf("   %-12s %7s %16s %12s %10s%n", "gaps", "passes", "compares", "cmp/nlog2n", "ms");
+            for (GapSequence sequence : GapSequence.values()) {
+                RunResult result = HeadlessEngine.runBulk(new ShellSort(sequence), input, CallbackMode.COUNT_ONLY);
+                out.printf("   %-12s %7d %,16d %12.3f %10.2f %s%n", sequence, sequence.gaps(size).length,
+                        result.getCompares(), result.getCompares() / nLogN, result.getElapsedMillis(),
+                        result.isSorted() ? "" : "NOT SORTED");
+            }
+        }
+    }
+}
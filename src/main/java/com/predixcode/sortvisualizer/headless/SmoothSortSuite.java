@@ -0,0 +1,80 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.algorithms.InsertionSort;
+import com.predixcode.sortvisualizer.algorithms.SmoothSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares SmoothSort with HeapSort and InsertionSort as the input goes from sorted to random: sorted input with
+ * 0, 1, 10 and 100 random swaps per thousand elements, then fully random input. HeapSort does the same work
+ * whatever the order; SmoothSort and InsertionSort both approach n comparisons on sorted input, but only
+ * SmoothSort stays O(n log n) as the disorder grows. InsertionSort is left out of the random row, where it is
+ * quadratic.
+ */
+public class SmoothSortSuite implements BenchmarkSuite {
+
+    private static final int[] SWAPS_PER_THOUSAND = {0, 1, 10, 100};
+
+    private static final List<Supplier<AbstractSortAlgorithm>> ALGORITHMS = List.of(
+            SmoothSort::new,
+            HeapSort::new,
+            () -> new HeapSort(2, true),
+            InsertionSort::new);
+
+    @Override
+    public String getName() {
+        return "smooth";
+    }
+
+    @Override
+    public String getDescription() {
+        return "SmoothSort versus HeapSort and InsertionSort on sorted, nearly sorted and random inputs";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(nearlySorted(20_000, 10), ALGORITHMS, CallbackMode.COUNT_ONLY);
+        for (int size : HeadlessBenchmark.parseSizes(args, 10_000, 100_000)) {
+            for (int swaps : SWAPS_PER_THOUSAND) {
+                printRow(String.format("n = %d, sorted with %d swaps per thousand", size, swaps),
+                        nearlySorted(size, swaps), true, out);
+            }
+            printRow("n = " + size + ", random", HeadlessEngine.randomInput(size), false, out);
+        }
+    }
+
+    private void printRow(String title, List<SortElement> input, boolean withInsertion, PrintStream out) {
+        double n = Math.max(1, input.size());
+        out.println("-- " + title);
+        out.printf("   %-28s %10s %10s %10s %10s%n", "algorithm", "cmp/n", "swaps/n", "writes/n", "ms");
+        for (Supplier<AbstractSortAlgorithm> supplier : ALGORITHMS) {
+            AbstractSortAlgorithm algorithm = supplier.get();
+            if (!withInsertion && algorithm instanceof InsertionSort) continue;
+            RunResult r = HeadlessEngine.runBulk(algorithm, input, CallbackMode.COUNT_ONLY);
+            String notes = (algorithm instanceof SmoothSort smooth)
+                    ? String.format("  trinkle swaps %d", smooth.getTrinkleSwaps())
+                    : "";
+            out.printf("   %-28s %10.2f %10.2f %10.2f %10.2f%s %s%n", algorithm.getName(), r.getCompares() / n,
+                    r.getSwaps() / n, r.getWrites() / n, r.getElapsedMillis(), notes, r.isSorted() ? "" : "NOT SORTED");
+        }
+    }
+
+    // Sorted input with swapsPerThousand * size / 1000 pairs of random positions swapped
+    private static List<SortElement> nearlySorted(int size, int swapsPerThousand) {
+        List<SortElement> input = InputDistribution.SORTED.generate(size);
+        Random random = new Random();
+        for (long k = 0; k < (long) size * swapsPerThousand / 1_000; k++) {
+            Collections.swap(input, random.nextInt(size), random.nextInt(size));
+        }
+        return input;
+    }
+}
@@ -0,0 +1,47 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.ParallelSortingNetwork;
+import com.predixcode.sortvisualizer.algorithms.SortingNetwork;
+import com.predixcode.sortvisualizer.algorithms.SortingNetwork.Network;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Times the bitonic and odd-even merge sorting networks on 1, 2, 4, ... up to all available cores against the
+ * step-by-step SortingNetwork run in bulk with callbacks suppressed. A network does the same comparisons
+ * whatever the input, so its time depends only on n and the number of cores.
+ */
+public class SortingNetworkSuite implements BenchmarkSuite {
+
+    @Override
+    public String getName() {
+        return "networks";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Bitonic and odd-even merge sorting networks with parallel layers on 1..N cores";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(50_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            for (Network network : Network.values()) {
+                HeadlessEngine.run(new ParallelSortingNetwork(Runtime.getRuntime().availableProcessors(), network), warm);
+                HeadlessEngine.runBulk(new SortingNetwork(network), warm, CallbackMode.SUPPRESSED);
+            }
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            out.println("-- n = " + size + ", " + Runtime.getRuntime().availableProcessors() + " cores available");
+            for (Network network : Network.values()) {
+                RunResult sequential = HeadlessEngine.runBulk(new SortingNetwork(network), input, CallbackMode.COUNT_ONLY);
+                out.println(sequential);
+                ParallelSpeedupSuite.printScaling(cores -> new ParallelSortingNetwork(cores, network), input, sequential, out);
+            }
+        }
+    }
+}
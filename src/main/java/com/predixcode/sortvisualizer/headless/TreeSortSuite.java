@@ -0,0 +1,65 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.BalancedTreeSort;
+import com.predixcode.sortvisualizer.algorithms.TreeSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares TreeSort's unbalanced tree with BalancedTreeSort's AVL tree. On sorted, reversed and nearly sorted
+ * input the unbalanced tree degenerates into a list, so each insertion walks all earlier elements (and its
+ * recursive insert can overflow the thread stack), while the AVL tree stays within 1.44 log2 n levels.
+ * Runs are bulk runs in COUNT_ONLY mode, and each time is the best of a few runs on the same input.
+ */
+public class TreeSortSuite implements BenchmarkSuite {
+
+    private static final int RUNS_PER_POINT = 3;
+
+    private static final InputDistribution[] DISTRIBUTIONS = {
+            InputDistribution.SORTED, InputDistribution.NEARLY_SORTED, InputDistribution.REVERSED, InputDistribution.RANDOM };
+
+    @Override
+    public String getName() {
+        return "tree-sort";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Unbalanced TreeSort versus AVL BalancedTreeSort on sorted, nearly sorted, reversed and random inputs";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(20_000), HeadlessEngine.WARM_UP_ROUNDS, warm -> {
+            HeadlessEngine.runBulk(new TreeSort(), warm, CallbackMode.COUNT_ONLY);
+            HeadlessEngine.runBulk(new BalancedTreeSort(), warm, CallbackMode.COUNT_ONLY);
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 2_000, 10_000)) {
+            for (InputDistribution distribution : DISTRIBUTIONS) {
+                List<SortElement> input = distribution.generate(size);
+                out.println("-- n = " + size + ", " + distribution);
+
+                RunResult unbalanced = null;
+                try {
+                    unbalanced = HeadlessEngine.best(RUNS_PER_POINT,
+                            () -> HeadlessEngine.runBulk(new TreeSort(), input, CallbackMode.COUNT_ONLY));
+                    out.println(unbalanced);
+                } catch (StackOverflowError e) {
+                    out.printf("%-28s n=%-9d stack overflow in the recursive insert%n", new TreeSort().getName(), size);
+                }
+
+                BalancedTreeSort avl = new BalancedTreeSort();
+                RunResult balanced = HeadlessEngine.best(RUNS_PER_POINT,
+                        () -> HeadlessEngine.runBulk(avl, input, CallbackMode.COUNT_ONLY));
+                out.println(balanced);
+                out.printf("   AVL height %d, %d rotations%s%n", avl.getTreeHeight(), avl.getRotationCount(),
+                        unbalanced == null ? ""
+                                : String.format(", %.1fx the speed of the unbalanced tree",
+                                        (double) unbalanced.getElapsedNanos() / Math.max(1, balanced.getElapsedNanos())));
+            }
+        }
+    }
+}
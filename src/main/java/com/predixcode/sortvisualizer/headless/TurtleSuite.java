@@ -0,0 +1,112 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.BubbleSort;
+import com.predixcode.sortvisualizer.algorithms.CocktailSort;
+import com.predixcode.sortvisualizer.algorithms.CombSort;
+import com.predixcode.sortvisualizer.algorithms.GnomeSort;
+import com.predixcode.sortvisualizer.algorithms.InsertionSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Measures what eliminating turtles buys over BubbleSort. Bubble sort moves a large value ("rabbit") to the end in
+ * one pass, but a small value near the end ("turtle") only one place per pass, so a handful of turtles costs as many
+ * passes as there are places to cover. CocktailSort catches turtles on its backward passes, the gnome sorts carry
+ * each element back as far as it has to go, and CombSort moves turtles most of the way in its wide early passes.
+ * CombSort runs with its default shrink factor and a few others to show how sensitive it is to the factor.
+ *
+ * Besides random and reversed input there are two nearly sorted inputs: one percent turtles (the smallest values
+ * moved to the end) and one percent rabbits (the largest values moved to the front). Every row shows its comparisons
+ * and time relative to BubbleSort.
+ */
+public class TurtleSuite implements BenchmarkSuite {
+
+    private static final double[] SHRINK_FACTORS = {1.1, 1.5, 2.0};
+
+    private static final List<Supplier<AbstractSortAlgorithm>> ALGORITHMS = buildAlgorithms();
+
+    private static List<Supplier<AbstractSortAlgorithm>> buildAlgorithms() {
+        List<Supplier<AbstractSortAlgorithm>> algorithms = new ArrayList<>();
+        algorithms.add(BubbleSort::new);
+        algorithms.add(CocktailSort::new);
+        algorithms.add(GnomeSort::new);
+        algorithms.add(() -> new GnomeSort(GnomeSort.Mode.OPTIMIZED));
+        algorithms.add(InsertionSort::new);
+        algorithms.add(CombSort::new);
+        for (double shrink : SHRINK_FACTORS) {
+            algorithms.add(() -> new CombSort(shrink));
+        }
+        return algorithms;
+    }
+
+    @Override
+    public String getName() {
+        return "turtles";
+    }
+
+    @Override
+    public String getDescription() {
+        return "CombSort, GnomeSort and CocktailSort against BubbleSort on inputs with turtles and rabbits";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(2_000), ALGORITHMS, CallbackMode.COUNT_ONLY);
+        for (int size : HeadlessBenchmark.parseSizes(args, 10_000)) {
+            printRow(String.format("n = %d, random", size), HeadlessEngine.randomInput(size), out);
+            printRow(String.format("n = %d, reversed", size), InputDistribution.REVERSED.generate(size), out);
+            printRow(String.format("n = %d, sorted with 1%% turtles", size), withTurtles(size), out);
+            printRow(String.format("n = %d, sorted with 1%% rabbits", size), withRabbits(size), out);
+        }
+    }
+
+    private void printRow(String title, List<SortElement> input, PrintStream out) {
+        double n = Math.max(1, input.size());
+        out.println("-- " + title);
+        out.printf("   %-38s %10s %10s %10s %10s %10s %10s%n", "algorithm", "cmp/n", "swaps/n", "passes", "ms",
+                "cmp x", "time x");
+        RunResult bubble = null;
+        for (Supplier<AbstractSortAlgorithm> supplier : ALGORITHMS) {
+            AbstractSortAlgorithm algorithm = supplier.get();
+            RunResult r = HeadlessEngine.runBulk(algorithm, input, CallbackMode.COUNT_ONLY);
+            if (bubble == null) bubble = r;
+            String passes = (algorithm instanceof CombSort comb) ? String.valueOf(comb.getPasses()) : "";
+            String notes = (algorithm instanceof CombSort comb)
+                    ? String.format("  %.0f%% of swaps at gaps above 1",
+                            100.0 * comb.getTurtleSwaps() / Math.max(1, r.getSwaps()))
+                    : "";
+            out.printf("   %-38s %10.2f %10.2f %10s %10.2f %10.2f %10.2f%s %s%n", r.getName(), r.getCompares() / n,
+                    r.getSwaps() / n, passes, r.getElapsedMillis(), ratio(bubble.getCompares(), r.getCompares()),
+                    ratio(bubble.getElapsedMillis(), r.getElapsedMillis()), notes, r.isSorted() ? "" : "NOT SORTED");
+        }
+    }
+
+    // How many times fewer of something a run needed than BubbleSort did
+    private static double ratio(double bubble, double other) {
+        return bubble / Math.max(other, 1e-9);
+    }
+
+    // Sorted input with its smallest hundredth moved to the end
+    private static List<SortElement> withTurtles(int size) {
+        List<SortElement> sorted = InputDistribution.SORTED.generate(size);
+        int turtles = Math.min(Math.max(1, size / 100), size);
+        List<SortElement> input = new ArrayList<>(sorted.subList(turtles, size));
+        input.addAll(sorted.subList(0, turtles));
+        return input;
+    }
+
+    // Sorted input with its largest hundredth moved to the front
+    private static List<SortElement> withRabbits(int size) {
+        List<SortElement> sorted = InputDistribution.SORTED.generate(size);
+        int rabbits = Math.min(Math.max(1, size / 100), size);
+        List<SortElement> input = new ArrayList<>(sorted.subList(size - rabbits, size));
+        input.addAll(sorted.subList(0, size - rabbits));
+        return input;
+    }
+}
@@ -0,0 +1,276 @@
+package com.predixcode.sortvisualizer.headless;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Benchmark-only int sort: blocks of 8, 16 or 32 ints are sorted by a bitonic sorting network, and the sorted
+ * blocks are then merged bottom-up with a branchless merge that ping-pongs between the array and one buffer.
+ *
+ * The vectorized kernel keeps a block in one to four registers of the Vector API (jdk.incubator.vector), or several
+ * blocks in one register when a register is wider than a block. A layer of the network inside a register is one
+ * lane permutation, a lane-wise min and max, and a blend that keeps the max in the upper lane of each comparator;
+ * a layer between registers is a plain min and max of two registers. The scalar kernel runs the same network one
+ * comparator at a time, so the two differ only in how the comparators are executed.
+ *
+ * Needs {@code --add-modules jdk.incubator.vector} both to compile and to run, so only the vector Maven profile
+ * ({@code mvn -Pvector compile}) builds it.
+ */
+public final class VectorBlockSort {
+
+    public static final int[] BLOCK_SIZES = { 8, 16, 32 };
+
+    // A block spans at most this many registers
+    private static final int MAX_REGISTERS = 4;
+
+    // The species has to be a constant for the JIT to turn vector operations into vector instructions
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    // Lane i trades with lane i ^ x, indexed by x
+    private static final VectorShuffle<Integer>[] PARTNER = partners();
+    // Lanes i with i & bit set keep the max, indexed by bit
+    private static final VectorMask<Integer>[] UPPER = upperMasks();
+    private static final VectorShuffle<Integer> REVERSE = VectorShuffle.fromOp(SPECIES, i -> LANES - 1 - i);
+
+    private final int blockSize;
+    private final boolean vectorized;
+    private final int registers; // Registers per block, 1 when a register holds one or more whole blocks
+    private final int chunk; // Elements loaded per kernel call: one register, or one block of several registers
+
+    private int[] buffer = new int[0];
+
+    /**
+     * Creates a block sort.
+     * @param blockSize The block size, one of BLOCK_SIZES.
+     * @param vectorized Whether to run the block network on vector registers or one comparator at a time.
+     */
+    public VectorBlockSort(int blockSize, boolean vectorized) {
+        if (blockSize != 8 && blockSize != 16 && blockSize != 32) {
+            throw new IllegalArgumentException("Block size must be 8, 16 or 32: " + blockSize);
+        }
+        if (vectorized && !isVectorizable(blockSize)) {
+            throw new IllegalArgumentException("Blocks of " + blockSize + " need at least "
+                    + (blockSize / MAX_REGISTERS * Integer.SIZE) + "-bit vectors, this machine has "
+                    + SPECIES.vectorBitSize());
+        }
+        this.blockSize = blockSize;
+        this.vectorized = vectorized;
+        this.registers = Math.max(1, blockSize / LANES);
+        this.chunk = Math.max(blockSize, LANES);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" }) // Generic arrays cannot be created directly
+    private static VectorShuffle<Integer>[] partners() {
+        VectorShuffle<Integer>[] partner = new VectorShuffle[LANES];
+        for (int x = 1; x < LANES; x++) {
+            int xor = x;
+            partner[x] = VectorShuffle.fromOp(SPECIES, i -> i ^ xor);
+        }
+        return partner;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static VectorMask<Integer>[] upperMasks() {
+        VectorMask<Integer>[] upper = new VectorMask[LANES];
+        for (int bit = 1; bit < LANES; bit <<= 1) {
+            boolean[] keepsMax = new boolean[LANES];
+            for (int i = 0; i < LANES; i++) keepsMax[i] = (i & bit) != 0;
+            upper[bit] = VectorMask.fromArray(SPECIES, keepsMax, 0);
+        }
+        return upper;
+    }
+
+    public String getName() {
+        return (vectorized ? "SIMD" : "Scalar") + " blocks of " + blockSize;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Gets the number of int lanes per register the vectorized kernel uses.
+     * @return The lane count of the preferred vector species on this machine. Narrower blocks are sorted several to a
+     * register.
+     */
+    public static int getLanes() {
+        return LANES;
+    }
+
+    /**
+     * Gets the vector species the vectorized kernel runs on.
+     * @return The preferred int species on this machine.
+     */
+    public static VectorSpecies<Integer> getSpecies() {
+        return SPECIES;
+    }
+
+    /**
+     * Checks whether the vectorized kernel can sort blocks of a size on this machine, which needs a block to fit in
+     * MAX_REGISTERS registers.
+     * @param blockSize The block size, one of BLOCK_SIZES.
+     * @return true if a vectorized VectorBlockSort can be created for the block size.
+     */
+    public static boolean isVectorizable(int blockSize) {
+        return blockSize <= LANES * MAX_REGISTERS;
+    }
+
+    /**
+     * Sorts an array: sorts every block, then merges them.
+     * @param a The array to sort.
+     */
+    public void sort(int[] a) {
+        sortBlocks(a);
+        mergeBlocks(a);
+    }
+
+    /**
+     * Sorts each full block of the array on its own, and the elements after the last full block by insertion.
+     * @param a The array whose blocks to sort.
+     */
+    public void sortBlocks(int[] a) {
+        int base = 0;
+        if (vectorized) {
+            for (int end = a.length - chunk; base <= end; base += chunk) {
+                if (registers == 1) {
+                    sortRegister(IntVector.fromArray(SPECIES, a, base), blockSize).intoArray(a, base);
+                } else if (registers == 2) {
+                    sortTwoRegisters(a, base);
+                } else {
+                    sortFourRegisters(a, base);
+                }
+            }
+        }
+        // Blocks that do not fill a whole chunk, or all of them in the scalar kernel
+        for (int end = a.length - blockSize; base <= end; base += blockSize) {
+            scalarBlock(a, base);
+        }
+        insertionSort(a, base, a.length);
+    }
+
+    /**
+     * Merges the sorted blocks of an array bottom-up, doubling the run width on each pass.
+     * @param a The array whose blocks were sorted by sortBlocks.
+     */
+    public void mergeBlocks(int[] a) {
+        int n = a.length;
+        if (buffer.length < n) buffer = new int[n];
+        int[] src = a, dst = buffer;
+        for (int width = blockSize; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n), hi = Math.min(lo + 2 * width, n);
+                merge(src, dst, lo, mid, hi);
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+
+    // One comparator layer inside a register: lane i against lane i ^ x, where lanes with bit set keep the max
+    private static IntVector exchange(IntVector v, int x, int bit) {
+        IntVector w = v.rearrange(PARTNER[x]);
+        return v.min(w).blend(v.max(w), UPPER[bit]);
+    }
+
+    // The bitonic network over each group of size lanes of a register, or the whole register
+    private static IntVector sortRegister(IntVector v, int size) {
+        for (int s = 2; s <= size; s <<= 1) {
+            v = exchange(v, s - 1, s >> 1); // The flip: lane i against the mirrored lane of its group
+            for (int d = s >> 2; d > 0; d >>= 1) v = exchange(v, d, d);
+        }
+        return v;
+    }
+
+    // The half-cleaners inside a register, which sort any bitonic sequence
+    private static IntVector mergeRegister(IntVector v) {
+        for (int d = LANES >> 1; d > 0; d >>= 1) v = exchange(v, d, d);
+        return v;
+    }
+
+    private static void sortTwoRegisters(int[] a, int base) {
+        IntVector v0 = sortRegister(IntVector.fromArray(SPECIES, a, base), LANES);
+        IntVector v1 = sortRegister(IntVector.fromArray(SPECIES, a, base + LANES), LANES);
+        // The flip pairs lane i of v0 with lane LANES-1-i of v1. The upper half comes out reversed, which is
+        // still bitonic, so the half-cleaners sort it without reversing it back.
+        IntVector r1 = v1.rearrange(REVERSE);
+        mergeRegister(v0.min(r1)).intoArray(a, base);
+        mergeRegister(v0.max(r1)).intoArray(a, base + LANES);
+    }
+
+    private static void sortFourRegisters(int[] a, int base) {
+        IntVector v0 = sortRegister(IntVector.fromArray(SPECIES, a, base), LANES);
+        IntVector v1 = sortRegister(IntVector.fromArray(SPECIES, a, base + LANES), LANES);
+        IntVector v2 = sortRegister(IntVector.fromArray(SPECIES, a, base + 2 * LANES), LANES);
+        IntVector v3 = sortRegister(IntVector.fromArray(SPECIES, a, base + 3 * LANES), LANES);
+
+        // Merge the pairs (v0, v1) and (v2, v3) into two sorted runs of two registers
+        IntVector r1 = v1.rearrange(REVERSE);
+        IntVector r3 = v3.rearrange(REVERSE);
+        IntVector w0 = mergeRegister(v0.min(r1));
+        IntVector w1 = mergeRegister(v0.max(r1));
+        IntVector w2 = mergeRegister(v2.min(r3));
+        IntVector w3 = mergeRegister(v2.max(r3));
+
+        // The flip across all four: w0 against reversed w3, w1 against reversed w2. The upper pair comes out
+        // reversed in both registers, so the half-cleaner between them still pairs matching positions.
+        IntVector rw3 = w3.rearrange(REVERSE);
+        IntVector rw2 = w2.rearrange(REVERSE);
+        IntVector lo0 = w0.min(rw3), hi3 = w0.max(rw3);
+        IntVector lo1 = w1.min(rw2), hi2 = w1.max(rw2);
+        mergeRegister(lo0.min(lo1)).intoArray(a, base);
+        mergeRegister(lo0.max(lo1)).intoArray(a, base + LANES);
+        mergeRegister(hi2.min(hi3)).intoArray(a, base + 2 * LANES);
+        mergeRegister(hi2.max(hi3)).intoArray(a, base + 3 * LANES);
+    }
+
+    // The same bitonic network as the vectorized kernel, one comparator at a time
+    private void scalarBlock(int[] a, int base) {
+        for (int s = 2; s <= blockSize; s <<= 1) {
+            for (int i = 0; i < blockSize; i++) {
+                if ((i & (s >> 1)) == 0) compareExchange(a, base + i, base + (i ^ (s - 1)));
+            }
+            for (int d = s >> 2; d > 0; d >>= 1) {
+                for (int i = 0; i < blockSize; i++) {
+                    if ((i & d) == 0) compareExchange(a, base + i, base + (i ^ d));
+                }
+            }
+        }
+    }
+
+    private static void compareExchange(int[] a, int lo, int hi) {
+        int x = a[lo], y = a[hi];
+        a[lo] = Math.min(x, y);
+        a[hi] = Math.max(x, y);
+    }
+
+    private static void insertionSort(int[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int key = a[i];
+            int j = i - 1;
+            while (j >= from && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    // Merges src[lo, mid) and src[mid, hi) into dst[lo, hi), taking from the left on ties so the merge is stable
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            int x = src[i], y = src[j];
+            boolean takeRight = y < x;
+            dst[k++] = takeRight ? y : x;
+            i += takeRight ? 0 : 1;
+            j += takeRight ? 1 : 0;
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+}
@@ -0,0 +1,122 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.SortingNetwork;
+import com.predixcode.sortvisualizer.algorithms.SortingNetwork.Network;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Compares VectorBlockSort's SIMD block kernels with the same network run one comparator at a time, first the
+ * block kernels on their own and then with the merge of the blocks, against Arrays.sort on the same int values
+ * and against Merge Sort and the Bitonic Sort network run in bulk as Algorithms.
+ *
+ * The Vector API is an incubator module, so this suite is only built by the vector Maven profile
+ * ({@code mvn -Pvector compile}) and needs {@code --add-modules jdk.incubator.vector} on the java command line; it
+ * says so instead of running without it. Block sizes that do not fit in the registers of the preferred species are
+ * skipped with a note.
+ */
+public class VectorSuite implements BenchmarkSuite {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final int RUNS_PER_POINT = 5;
+
+    @Override
+    public String getName() {
+        return "simd";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Vector API sorting-network kernels for blocks of 8, 16 and 32 ints, merged, against scalar sorts";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            out.println("The Vector API is not available: run java with --add-modules " + VECTOR_MODULE);
+            return;
+        }
+        int[] blockSizes = vectorizableBlockSizes(out);
+        // More rounds than usual, so the kernels have been vectorized before they are timed
+        HeadlessEngine.warmUp(HeadlessEngine.randomInput(100_000), 5, warm -> {
+            for (int blockSize : blockSizes) {
+                HeadlessEngine.profileArray("", new VectorBlockSort(blockSize, true)::sort, warm);
+                HeadlessEngine.profileArray("", new VectorBlockSort(blockSize, false)::sort, warm);
+            }
+            HeadlessEngine.profileArray("", Arrays::sort, warm);
+        });
+        for (int size : HeadlessBenchmark.parseSizes(args, 100_000, 1_000_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            double n = Math.max(1, size);
+            out.println("-- n = " + size + ", vector species " + VectorBlockSort.getSpecies());
+
+            out.println("   block kernels only:");
+            out.printf("   %-8s %6s %14s %14s %10s%n", "block", "lanes", "scalar ns/el", "SIMD ns/el", "speedup");
+            for (int blockSize : blockSizes) {
+                VectorBlockSort scalar = new VectorBlockSort(blockSize, false);
+                VectorBlockSort simd = new VectorBlockSort(blockSize, true);
+                long scalarNanos = kernelNanos(scalar, input);
+                long simdNanos = kernelNanos(simd, input);
+                out.printf("   %-8d %6d %14.2f %14.2f %9.2fx %s%n", blockSize, VectorBlockSort.getLanes(), scalarNanos / n,
+                        simdNanos / n, (double) scalarNanos / Math.max(1, simdNanos),
+                        scalarNanos < 0 || simdNanos < 0 ? "BLOCKS NOT SORTED" : "");
+            }
+
+            out.println("   full sorts:");
+            print(HeadlessEngine.best(RUNS_PER_POINT,
+                    () -> HeadlessEngine.profileArray("Arrays.sort(int[])", Arrays::sort, input)), n, out);
+            for (int blockSize : blockSizes) {
+                for (boolean vectorized : new boolean[] { false, true }) {
+                    VectorBlockSort sort = new VectorBlockSort(blockSize, vectorized);
+                    print(HeadlessEngine.best(RUNS_PER_POINT,
+                            () -> HeadlessEngine.profileArray(sort.getName() + " + merge", sort::sort, input)), n, out);
+                }
+            }
+            print(HeadlessEngine.runBulk(new MergeSort(), input, CallbackMode.SUPPRESSED), n, out);
+            print(HeadlessEngine.runBulk(new SortingNetwork(Network.BITONIC), input, CallbackMode.SUPPRESSED), n, out);
+        }
+    }
+
+    // The block sizes the SIMD kernel can hold in registers of the species it uses, noting the ones left out
+    private static int[] vectorizableBlockSizes(PrintStream out) {
+        List<Integer> sizes = new ArrayList<>();
+        for (int blockSize : VectorBlockSort.BLOCK_SIZES) {
+            if (VectorBlockSort.isVectorizable(blockSize)) {
+                sizes.add(blockSize);
+            } else {
+                out.printf("Skipping blocks of %d: they do not fit in the registers of %s%n", blockSize,
+                        VectorBlockSort.getSpecies());
+            }
+        }
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void print(RunResult r, double n, PrintStream out) {
+        out.printf("   %-26s %10.2f ms %10.2f ns/el %s%n", r.getName(), r.getElapsedMillis(),
+                r.getElapsedNanos() / n, r.isSorted() ? "" : "NOT SORTED");
+    }
+
+    // Times sortBlocks alone, keeping the fastest run; negative if some block came out unsorted
+    private static long kernelNanos(VectorBlockSort sort, List<SortElement> input) {
+        int[] values = new int[input.size()];
+        for (int k = 0; k < values.length; k++) values[k] = input.get(k).getValue();
+        long best = Long.MAX_VALUE;
+        int[] work = null;
+        for (int run = 0; run < RUNS_PER_POINT; run++) {
+            work = values.clone();
+            long start = System.nanoTime();
+            sort.sortBlocks(work);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        for (int k = 1; k < work.length; k++) {
+            if (k % sort.getBlockSize() != 0 && work[k - 1] > work[k]) return -1;
+        }
+        return best;
+    }
+}
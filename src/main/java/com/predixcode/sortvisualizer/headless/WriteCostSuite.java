@@ -0,0 +1,129 @@
+package com.predixcode.sortvisualizer.headless;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.predixcode.sortvisualizer.algorithms.AbstractSortAlgorithm;
+import com.predixcode.sortvisualizer.algorithms.Algorithm.CallbackMode;
+import com.predixcode.sortvisualizer.algorithms.BalancedTreeSort;
+import com.predixcode.sortvisualizer.algorithms.BottomUpMergeSort;
+import com.predixcode.sortvisualizer.algorithms.BubbleSort;
+import com.predixcode.sortvisualizer.algorithms.BucketSort;
+import com.predixcode.sortvisualizer.algorithms.CocktailSort;
+import com.predixcode.sortvisualizer.algorithms.CombSort;
+import com.predixcode.sortvisualizer.algorithms.CountingSort;
+import com.predixcode.sortvisualizer.algorithms.CycleSort;
+import com.predixcode.sortvisualizer.algorithms.DualPivotQuickSort;
+import com.predixcode.sortvisualizer.algorithms.ExternalMergeSort;
+import com.predixcode.sortvisualizer.algorithms.GnomeSort;
+import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.algorithms.InPlaceMergeSort;
+import com.predixcode.sortvisualizer.algorithms.InsertionSort;
+import com.predixcode.sortvisualizer.algorithms.IntroSort;
+import com.predixcode.sortvisualizer.algorithms.KWayMergeSort;
+import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.PdqSort;
+import com.predixcode.sortvisualizer.algorithms.QuickSort;
+import com.predixcode.sortvisualizer.algorithms.RadixSortLSD;
+import com.predixcode.sortvisualizer.algorithms.RadixSortMSD;
+import com.predixcode.sortvisualizer.algorithms.ShellSort;
+import com.predixcode.sortvisualizer.algorithms.SmoothSort;
+import com.predixcode.sortvisualizer.algorithms.SortingNetwork;
+import com.predixcode.sortvisualizer.algorithms.TimSort;
+import com.predixcode.sortvisualizer.algorithms.TreeSort;
+import com.predixcode.sortvisualizer.ui.SortElement;
+
+/**
+ * Ranks the sequential algorithms by the cost of their element accesses when a write costs more than a read, as
+ * on flash or NVM. Each algorithm runs in bulk counting its reports, which RunResult folds into element reads and
+ * writes (see StepCallback); the cost is reads plus the write cost times writes. The write cost defaults to
+ * DEFAULT_WRITE_COST and can be set with a --write-cost=N argument before the sizes. Each row also shows the rank
+ * the algorithm would have if writes cost the same as reads.
+ *
+ * The parallel algorithms are left out, since they only report accesses while animated.
+ */
+public class WriteCostSuite implements BenchmarkSuite {
+
+    public static final double DEFAULT_WRITE_COST = 10.0;
+    private static final String WRITE_COST_OPTION = "--write-cost=";
+
+    private static final List<Supplier<AbstractSortAlgorithm>> ALGORITHMS = List.of(
+            CycleSort::new,
+            BubbleSort::new,
+            CocktailSort::new,
+            CombSort::new,
+            GnomeSort::new,
+            InsertionSort::new,
+            ShellSort::new,
+            QuickSort::new,
+            DualPivotQuickSort::new,
+            IntroSort::new,
+            PdqSort::new,
+            MergeSort::new,
+            BottomUpMergeSort::new,
+            KWayMergeSort::new,
+            ExternalMergeSort::new,
+            InPlaceMergeSort::new,
+            TimSort::new,
+            HeapSort::new,
+            SmoothSort::new,
+            TreeSort::new,
+            BalancedTreeSort::new,
+            SortingNetwork::new,
+            RadixSortLSD::new,
+            RadixSortMSD::new,
+            CountingSort::new,
+            BucketSort::new);
+
+    @Override
+    public String getName() {
+        return "write-cost";
+    }
+
+    @Override
+    public String getDescription() {
+        return "All sequential algorithms ranked by element reads plus weighted writes ([--write-cost=N] [sizes...])";
+    }
+
+    @Override
+    public void run(String[] args, PrintStream out) {
+        double writeCost = DEFAULT_WRITE_COST;
+        List<String> sizeArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(WRITE_COST_OPTION)) {
+                writeCost = Double.parseDouble(arg.substring(WRITE_COST_OPTION.length()));
+                if (writeCost < 0) {
+                    throw new IllegalArgumentException("Write cost cannot be negative.");
+                }
+            } else {
+                sizeArgs.add(arg);
+            }
+        }
+
+        for (int size : HeadlessBenchmark.parseSizes(sizeArgs.toArray(new String[0]), 1_000, 4_000)) {
+            List<SortElement> input = HeadlessEngine.randomInput(size);
+            double n = Math.max(1, size);
+            List<RunResult> results = new ArrayList<>();
+            for (Supplier<AbstractSortAlgorithm> algorithm : ALGORITHMS) {
+                results.add(HeadlessEngine.runBulk(algorithm.get(), input, CallbackMode.COUNT_ONLY));
+            }
+            List<RunResult> byEqualCost = new ArrayList<>(results);
+            byEqualCost.sort(Comparator.comparingDouble(r -> r.getWeightedCost(1.0)));
+            final double cost = writeCost;
+            results.sort(Comparator.comparingDouble(r -> r.getWeightedCost(cost)));
+
+            out.printf("-- n = %d, a write costs %.1f reads%n", size, writeCost);
+            out.printf("   %4s %-40s %10s %10s %10s %12s %10s%n", "rank", "algorithm", "cmp/n", "reads/n", "writes/n",
+                    "cost/n", "rank at 1x");
+            for (int rank = 0; rank < results.size(); rank++) {
+                RunResult r = results.get(rank);
+                out.printf("   %4d %-40s %10.2f %10.2f %10.2f %12.2f %10d %s%n", rank + 1, r.getName(),
+                        r.getCompares() / n, r.getElementReads() / n, r.getElementWrites() / n,
+                        r.getWeightedCost(writeCost) / n, byEqualCost.indexOf(r) + 1, r.isSorted() ? "" : "NOT SORTED");
+            }
+        }
+    }
+}
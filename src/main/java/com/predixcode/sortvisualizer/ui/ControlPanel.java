@@ -1,14 +1,38 @@
 package com.predixcode.sortvisualizer.ui;
 
 import com.predixcode.sortvisualizer.algorithms.Algorithm;
+import com.predixcode.sortvisualizer.algorithms.BalancedTreeSort;
 import com.predixcode.sortvisualizer.algorithms.BogoSort;
+import com.predixcode.sortvisualizer.algorithms.BottomUpMergeSort;
 import com.predixcode.sortvisualizer.algorithms.BubbleSort;
+import com.predixcode.sortvisualizer.algorithms.BucketSort;
 import com.predixcode.sortvisualizer.algorithms.CocktailSort;
+import com.predixcode.sortvisualizer.algorithms.CombSort;
+import com.predixcode.sortvisualizer.algorithms.CountingSort;
+import com.predixcode.sortvisualizer.algorithms.CycleSort;
+import com.predixcode.sortvisualizer.algorithms.DualPivotQuickSort;
+import com.predixcode.sortvisualizer.algorithms.ExternalMergeSort;
+import com.predixcode.sortvisualizer.algorithms.GnomeSort;
 import com.predixcode.sortvisualizer.algorithms.HeapSort;
+import com.predixcode.sortvisualizer.algorithms.InPlaceMergeSort;
 import com.predixcode.sortvisualizer.algorithms.InsertionSort;
+import com.predixcode.sortvisualizer.algorithms.InstrumentedListSort;
+import com.predixcode.sortvisualizer.algorithms.IntroSort;
+import com.predixcode.sortvisualizer.algorithms.KWayMergeSort;
 import com.predixcode.sortvisualizer.algorithms.MergeSort;
+import com.predixcode.sortvisualizer.algorithms.ParallelMergeSort;
+import com.predixcode.sortvisualizer.algorithms.ParallelQuickSort;
+import com.predixcode.sortvisualizer.algorithms.ParallelRadixSortLSD;
+import com.predixcode.sortvisualizer.algorithms.ParallelSortingNetwork;
+import com.predixcode.sortvisualizer.algorithms.PdqSort;
 import com.predixcode.sortvisualizer.algorithms.QuickSort;
+import com.predixcode.sortvisualizer.algorithms.RadixSortLSD;
+import com.predixcode.sortvisualizer.algorithms.RadixSortMSD;
+import com.predixcode.sortvisualizer.algorithms.SampleSort;
 import com.predixcode.sortvisualizer.algorithms.ShellSort;
+import com.predixcode.sortvisualizer.algorithms.SmoothSort;
+import com.predixcode.sortvisualizer.algorithms.SortingNetwork;
+import com.predixcode.sortvisualizer.algorithms.TimSort;
 import com.predixcode.sortvisualizer.algorithms.TreeSort;
 import com.predixcode.sortvisualizer.core.SortController;
 import com.predixcode.sortvisualizer.sound.MusicalNote; // Import new enum
@@ -41,6 +65,8 @@ public class ControlPanel extends VBox {
     private final Button resetButton;
     private final Button stopButton;
     private Button pauseResumeButton;
+    private Button fastForwardButton;
+    private Button skipToEndButton;
     private final Slider speedSlider;
     private TextField arraySizeField;
     private Label speedValueLabel;
@@ -69,13 +95,57 @@ public class ControlPanel extends VBox {
     static {
         AVAILABLE_ALGORITHMS.add(new BubbleSort());
         AVAILABLE_ALGORITHMS.add(new InsertionSort());
+        AVAILABLE_ALGORITHMS.add(new InsertionSort(InsertionSort.SearchMode.BINARY));
+        AVAILABLE_ALGORITHMS.add(new InsertionSort(InsertionSort.SearchMode.GALLOPING));
         AVAILABLE_ALGORITHMS.add(new QuickSort());
+        AVAILABLE_ALGORITHMS.add(new QuickSort(QuickSort.PivotStrategy.RANDOM));
+        AVAILABLE_ALGORITHMS.add(new QuickSort(QuickSort.PivotStrategy.MEDIAN_OF_THREE));
+        AVAILABLE_ALGORITHMS.add(new QuickSort(QuickSort.PivotStrategy.NINTHER));
+        AVAILABLE_ALGORITHMS.add(new QuickSort(QuickSort.PivotStrategy.MEDIAN_OF_MEDIANS));
         AVAILABLE_ALGORITHMS.add(new MergeSort());
+        AVAILABLE_ALGORITHMS.add(new BottomUpMergeSort());
+        AVAILABLE_ALGORITHMS.add(new KWayMergeSort());
+        AVAILABLE_ALGORITHMS.add(new KWayMergeSort(16));
+        AVAILABLE_ALGORITHMS.add(new ExternalMergeSort());
+        AVAILABLE_ALGORITHMS.add(new ExternalMergeSort(1.0 / 64, 2));
+        AVAILABLE_ALGORITHMS.add(new InPlaceMergeSort());
         AVAILABLE_ALGORITHMS.add(new TreeSort());
+        AVAILABLE_ALGORITHMS.add(new BalancedTreeSort());
         AVAILABLE_ALGORITHMS.add(new BogoSort());
         AVAILABLE_ALGORITHMS.add(new CocktailSort());
+        AVAILABLE_ALGORITHMS.add(new CombSort());
+        AVAILABLE_ALGORITHMS.add(new CombSort(2.0));
+        AVAILABLE_ALGORITHMS.add(new GnomeSort());
+        AVAILABLE_ALGORITHMS.add(new GnomeSort(GnomeSort.Mode.OPTIMIZED));
+        AVAILABLE_ALGORITHMS.add(new CycleSort());
         AVAILABLE_ALGORITHMS.add(new HeapSort());
+        AVAILABLE_ALGORITHMS.add(new HeapSort(2, true));
+        AVAILABLE_ALGORITHMS.add(new HeapSort(4, false));
+        AVAILABLE_ALGORITHMS.add(new HeapSort(4, true));
+        AVAILABLE_ALGORITHMS.add(new HeapSort(8, false));
+        AVAILABLE_ALGORITHMS.add(new SmoothSort());
         AVAILABLE_ALGORITHMS.add(new ShellSort());
+        AVAILABLE_ALGORITHMS.add(new ShellSort(ShellSort.GapSequence.SHELL));
+        AVAILABLE_ALGORITHMS.add(new ShellSort(ShellSort.GapSequence.CIURA));
+        AVAILABLE_ALGORITHMS.add(new ShellSort(ShellSort.GapSequence.PRATT));
+        AVAILABLE_ALGORITHMS.add(new InstrumentedListSort("List.sort (TimSort)", List::sort));
+        AVAILABLE_ALGORITHMS.add(new ParallelMergeSort());
+        AVAILABLE_ALGORITHMS.add(new ParallelQuickSort());
+        AVAILABLE_ALGORITHMS.add(new RadixSortLSD());
+        AVAILABLE_ALGORITHMS.add(new RadixSortMSD());
+        AVAILABLE_ALGORITHMS.add(new ParallelRadixSortLSD());
+        AVAILABLE_ALGORITHMS.add(new SampleSort());
+        AVAILABLE_ALGORITHMS.add(new CountingSort());
+        AVAILABLE_ALGORITHMS.add(new BucketSort());
+        AVAILABLE_ALGORITHMS.add(new BucketSort(16, BucketSort.InnerSort.INSERTION));
+        AVAILABLE_ALGORITHMS.add(new BucketSort(16, BucketSort.InnerSort.HEAP));
+        AVAILABLE_ALGORITHMS.add(new TimSort());
+        AVAILABLE_ALGORITHMS.add(new IntroSort());
+        AVAILABLE_ALGORITHMS.add(new DualPivotQuickSort());
+        AVAILABLE_ALGORITHMS.add(new PdqSort());
+        AVAILABLE_ALGORITHMS.add(new SortingNetwork(SortingNetwork.Network.BITONIC));
+        AVAILABLE_ALGORITHMS.add(new SortingNetwork(SortingNetwork.Network.ODD_EVEN_MERGE));
+        AVAILABLE_ALGORITHMS.add(new ParallelSortingNetwork());
     }
 
     public ControlPanel() {
@@ -143,7 +213,25 @@ public class ControlPanel extends VBox {
         });
         stopButton.setDisable(true);
 
-        HBox mainActionButtonsBox = new HBox(10, startButton, pauseResumeButton, stopButton);
+        fastForwardButton = createStyledButton("Fast Forward", Theme.PRIMARY_COLOR);
+        fastForwardButton.setOnAction(event -> {
+            if (sortController != null) {
+                boolean enable = !sortController.isFastForward();
+                sortController.setFastForward(enable);
+                fastForwardButton.setText(enable ? "Normal Speed" : "Fast Forward");
+            }
+        });
+
+        skipToEndButton = createStyledButton("Skip to End", Theme.PRIMARY_COLOR);
+        skipToEndButton.setOnAction(event -> {
+            if (sortController != null) {
+                sortController.skipToEnd();
+                skipToEndButton.setDisable(true);
+            }
+        });
+        skipToEndButton.setDisable(true);
+
+        HBox mainActionButtonsBox = new HBox(10, startButton, pauseResumeButton, stopButton, fastForwardButton, skipToEndButton);
         mainActionButtonsBox.setAlignment(Pos.CENTER);
         
         Label speedLabel = new Label("Animation Delay (ms):");
@@ -555,6 +643,7 @@ public class ControlPanel extends VBox {
         startButton.setDisable(true);
         pauseResumeButton.setDisable(false);
         stopButton.setDisable(false);
+        skipToEndButton.setDisable(false);
         
         // Disable all sound configuration during sort
         soundEnabledCheckbox.setDisable(true);
@@ -578,6 +667,7 @@ public class ControlPanel extends VBox {
         pauseResumeButton.setText("Pause");
         isPausedForButtonState = false;
         stopButton.setDisable(true);
+        skipToEndButton.setDisable(true);
         speedSlider.setDisable(false);
         
         // Enable sound configuration according to current state
@@ -22,6 +22,11 @@ public class SortPanel extends Pane {
     private final Canvas canvas;
     private final GraphicsContext gc;
     private final List<SortElement> elements;
+    private Map<Integer, int[]> workerRegions = Map.of(); // Worker id -> {start, end}, both inclusive
+    private Map<Integer, int[]> regions = Map.of(); // Region id -> {start, end}, both inclusive
+    private List<String> overlayLines = List.of();
+
+    private static final double OVERLAY_LINE_HEIGHT = 15.0;
     private int maxValueForScaling = 100; // Default max value, updated by SortController
 
     private static final double BAR_GAP_PERCENTAGE = 0.1; // 10% gap between bars
@@ -104,6 +109,32 @@ public class SortPanel extends Pane {
         redraw();
     }
 
+    /**
+     * Sets the regions that the workers of a parallel algorithm are working on. They are drawn behind the bars,
+     * one color per worker, on the next redraw.
+     * @param regions Worker id to {start, end} (inclusive); an empty map draws no regions.
+     */
+    public synchronized void setWorkerRegions(Map<Integer, int[]> regions) {
+        this.workerRegions = (regions != null) ? regions : Map.of();
+    }
+
+    /**
+     * Sets the regions that stand for a sequential algorithm's structure, such as runs or buckets. They are drawn
+     * behind the bars in a few alternating muted shades, with a line at each region's edges, on the next redraw.
+     * @param regions Region id to {start, end} (inclusive); an empty map draws no regions.
+     */
+    public synchronized void setRegions(Map<Integer, int[]> regions) {
+        this.regions = (regions != null) ? regions : Map.of();
+    }
+
+    /**
+     * Sets the lines of text drawn in the top-left corner, over the bars, on the next redraw.
+     * @param lines The lines to draw; an empty list draws no overlay.
+     */
+    public synchronized void setOverlayLines(List<String> lines) {
+        this.overlayLines = (lines != null) ? lines : List.of();
+    }
+
     /**
      * Clears the canvas to the background color.
      * This method should be called from the JavaFX Application Thread.
@@ -156,6 +187,26 @@ public class SortPanel extends Pane {
         if (barWidth < 1.0 && numElements > 0) barWidth = 1.0;
         if (barWidth > totalBarWidth * (1.0 - barGapPercentage / 2) ) barWidth = totalBarWidth * (1.0 - barGapPercentage / 2);
 
+        for (Map.Entry<Integer, int[]> region : workerRegions.entrySet()) {
+            int start = Math.max(0, region.getValue()[0]);
+            int end = Math.min(numElements - 1, region.getValue()[1]);
+            if (start > end) continue;
+            gc.setFill(Theme.WORKER_REGION_COLORS[region.getKey() % Theme.WORKER_REGION_COLORS.length]);
+            gc.fillRect(start * totalBarWidth, 0, (end - start + 1) * totalBarWidth, canvasHeight);
+        }
+
+        gc.setStroke(Theme.REGION_EDGE_COLOR);
+        gc.setLineWidth(1.0);
+        for (Map.Entry<Integer, int[]> region : regions.entrySet()) {
+            int start = Math.max(0, region.getValue()[0]);
+            int end = Math.min(numElements - 1, region.getValue()[1]);
+            if (start > end) continue;
+            gc.setFill(Theme.REGION_COLORS[region.getKey() % Theme.REGION_COLORS.length]);
+            gc.fillRect(start * totalBarWidth, 0, (end - start + 1) * totalBarWidth, canvasHeight);
+            gc.strokeLine(start * totalBarWidth, 0, start * totalBarWidth, canvasHeight);
+            gc.strokeLine((end + 1) * totalBarWidth, 0, (end + 1) * totalBarWidth, canvasHeight);
+        }
+
         double x = (totalBarWidth - barWidth) / 2.0;
 
         for (SortElement element : elements) {
@@ -189,6 +240,29 @@ public class SortPanel extends Pane {
             
             x += totalBarWidth;
         }
+
+        drawOverlay();
+    }
+
+    private void drawOverlay() {
+        if (overlayLines.isEmpty()) {
+            return;
+        }
+        int longestLine = 0;
+        for (String line : overlayLines) longestLine = Math.max(longestLine, line.length());
+        // Monospaced glyphs are roughly 0.6 of the font size wide
+        double width = longestLine * Theme.FONT_OVERLAY.getSize() * 0.6 + 2 * Theme.PADDING_MEDIUM;
+        double height = overlayLines.size() * OVERLAY_LINE_HEIGHT + 2 * Theme.PADDING_SMALL;
+
+        gc.setFill(Theme.OVERLAY_BACKGROUND_COLOR);
+        gc.fillRect(Theme.PADDING_SMALL, Theme.PADDING_SMALL, width, height);
+        gc.setFill(Theme.OVERLAY_TEXT_COLOR);
+        gc.setFont(Theme.FONT_OVERLAY);
+        double y = Theme.PADDING_SMALL + OVERLAY_LINE_HEIGHT;
+        for (String line : overlayLines) {
+            gc.fillText(line, Theme.PADDING_SMALL + Theme.PADDING_MEDIUM, y);
+            y += OVERLAY_LINE_HEIGHT;
+        }
     }
 
     /**
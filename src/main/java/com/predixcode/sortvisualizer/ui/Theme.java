@@ -34,10 +34,27 @@ public class Theme {
     public static final Color BAR_SORTED_COLOR = SECONDARY_COLOR; // Greenish when sorted
     public static final Color BAR_PIVOT_COLOR = Color.ORANGE; // For algorithms like QuickSort
 
+    // --- Worker Region Colors (parallel algorithms, drawn translucent behind the bars) ---
+    public static final Color[] WORKER_REGION_COLORS = {
+        Color.web("#E06C75", 0.25), Color.web("#98C379", 0.25), Color.web("#C678DD", 0.25), Color.web("#E5C07B", 0.25),
+        Color.web("#56B6C2", 0.25), Color.web("#D19A66", 0.25), Color.web("#61AFEF", 0.25), Color.web("#BE5046", 0.25)
+    };
+
+    // --- Region Colors (structure of sequential algorithms: runs, buckets, heap levels) ---
+    public static final Color[] REGION_COLORS = {
+        Color.web("#ABB2BF", 0.16), Color.web("#5C6370", 0.22), Color.web("#ABB2BF", 0.08), Color.web("#5C6370", 0.12)
+    };
+    public static final Color REGION_EDGE_COLOR = Color.web("#ABB2BF", 0.5);
+
+    // --- Overlay Colors (statistics drawn over the bars) ---
+    public static final Color OVERLAY_BACKGROUND_COLOR = Color.web("#282c34", 0.8);
+    public static final Color OVERLAY_TEXT_COLOR = TEXT_COLOR_LIGHT;
+
     // --- Fonts ---
     public static final Font FONT_DEFAULT = Font.font("Arial", FontWeight.NORMAL, 14);
     public static final Font FONT_TITLE = Font.font("Arial", FontWeight.BOLD, 20);
     public static final Font FONT_BUTTON = Font.font("Arial", FontWeight.SEMI_BOLD, 13);
+    public static final Font FONT_OVERLAY = Font.font("Monospaced", FontWeight.NORMAL, 12); // Column-aligned statistics
 
     // --- Spacing and Padding ---
     public static final double PADDING_SMALL = 5.0;